@@ -0,0 +1,116 @@
+package systems.beep.benchmark;
+
+import systems.beep.crossfire.ChannelBuilder;
+import systems.beep.crossfire.frame.ChannelsFrame;
+import systems.beep.crossfire.frame.LinkStatisticsFrame;
+import systems.beep.crossfire.frame.sub.Address;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.helper.CRCHelper;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Well-formed sample frames shared by the benchmarks.
+ * <p>
+ * Frames are generated once with a valid CRC so every benchmark decodes the same
+ * realistic input.
+ * </p>
+ */
+final class BenchmarkFrames {
+
+    private BenchmarkFrames() {
+        // Prevents instantiation
+    }
+
+    /**
+     * Returns a sample frame of the given type.
+     *
+     * @param frameType the frame type.
+     * @return the frame bytes, starting with the sync byte and ending with the CRC.
+     */
+    static byte[] sample(final FrameType frameType) {
+        return switch (frameType) {
+            case RC_CHANNELS_PACKED -> ChannelsFrame.builder()
+                    .setAddress(Address.FLIGHT_CONTROLLER)
+                    .setChannels(ChannelBuilder.builder().setThrottle(1200).build())
+                    .build();
+            case LINK_LINK_STATISTICS -> LinkStatisticsFrame.builder()
+                    .setAddress(Address.FLIGHT_CONTROLLER)
+                    .setUplinkRSSI1(70)
+                    .setUplinkLinkQuality(100)
+                    .setDownlinkLinkQuality(100)
+                    .build();
+            case GPS -> frame(frameType, new byte[15]);
+            case VARIO -> frame(frameType, new byte[2]);
+            case BATTERY_SENSOR -> frame(frameType, new byte[]{0x00, (byte) 0xA8, 0x00, 0x12, 0x00, 0x01, 0x40, 0x5A});
+            case ATTITUDE -> frame(frameType, new byte[]{0x00, 0x22, (byte) 0xFF, (byte) 0xA9, 0x3C, 0x10});
+            case FLIGHT_MODE -> frame(frameType, new byte[]{'A', 'C', 'R', 'O', 0x00});
+            case DEVICE_INFO -> frame(frameType, concat(
+                    new byte[]{Address.RADIO_TRANSMITTER.getValue(), Address.CRSF_TRANSMITTER.getValue()},
+                    new byte[]{'E', 'L', 'R', 'S', 0x00},
+                    new byte[]{'E', 'L', 'R', 'S', 0x00, 0x00, 0x00, 0x00, 0x00, 0x03, 0x04, 0x00, 0x10, 0x01}));
+            case RADIO_ID -> frame(frameType, new byte[]{Address.RADIO_TRANSMITTER.getValue(),
+                    Address.FLIGHT_CONTROLLER.getValue(), FrameType.OPEN_TX_SYNC.getValue(),
+                    0x00, 0x00, 0x4E, 0x20, 0x00, 0x00, 0x00, 0x10, 0x00, 0x00});
+            case PARAMETER_SETTINGS_ENTRY -> frame(frameType, new byte[]{Address.RADIO_TRANSMITTER.getValue(),
+                    Address.CRSF_TRANSMITTER.getValue(), 0x01, 0x00, 0x00, 0x09, 'R', 'a', 't', 'e', 0x00, 0x00});
+            default -> frame(frameType, new byte[2]);
+        };
+    }
+
+    /**
+     * Returns a stream of consecutive frames cycling through a realistic telemetry mix.
+     *
+     * @param count the number of frames in the stream.
+     * @return the concatenated frames.
+     */
+    static byte[] stream(final int count) {
+        FrameType[] mix = {
+                FrameType.RC_CHANNELS_PACKED,
+                FrameType.LINK_LINK_STATISTICS,
+                FrameType.RC_CHANNELS_PACKED,
+                FrameType.BATTERY_SENSOR,
+                FrameType.RC_CHANNELS_PACKED,
+                FrameType.ATTITUDE,
+                FrameType.RC_CHANNELS_PACKED,
+                FrameType.GPS
+        };
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        for (int i = 0; i < count; i++) {
+            stream.writeBytes(sample(mix[i % mix.length]));
+        }
+
+        return stream.toByteArray();
+    }
+
+    /**
+     * Wraps a payload into a frame addressed to the flight controller.
+     *
+     * @param frameType the frame type.
+     * @param payload   the payload following the type byte.
+     * @return the frame bytes with a valid CRC.
+     */
+    private static byte[] frame(final FrameType frameType, final byte[] payload) {
+        byte[] result = new byte[payload.length + 4];
+
+        result[0] = Address.FLIGHT_CONTROLLER.getValue();
+        result[1] = (byte) (payload.length + 2);
+        result[2] = frameType.getValue();
+        System.arraycopy(payload, 0, result, 3, payload.length);
+        result[result.length - 1] = CRCHelper.D5(result, 2, result.length - 1);
+
+        return result;
+    }
+
+    private static byte[] concat(final byte[]... parts) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        for (byte[] part : parts) {
+            stream.writeBytes(part);
+        }
+
+        return stream.toByteArray();
+    }
+
+}
@@ -0,0 +1,123 @@
+package systems.beep.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import systems.beep.crossfire.ChannelBuilder;
+import systems.beep.crossfire.frame.ChannelsFrame;
+import systems.beep.crossfire.frame.DevicePingFrame;
+import systems.beep.crossfire.frame.LinkStatisticsFrame;
+import systems.beep.crossfire.frame.ParameterReadFrame;
+import systems.beep.crossfire.frame.ParameterWriteFrame;
+import systems.beep.crossfire.frame.sub.Address;
+import systems.beep.transport.OutboundBatch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding of every outbound frame builder, including setting the fields, and
+ * encoding a tick of frames into an {@link OutboundBatch}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuilderBenchmark {
+
+    private final int[] channels = ChannelBuilder.builder().setThrottle(1200).build();
+
+    // Builder reused across ticks, as a sender keeps one per link
+    private final ChannelsFrame.ChannelsFrameBuilder channelsBuilder = ChannelsFrame.builder()
+            .setAddress(Address.FLIGHT_CONTROLLER)
+            .setChannels(channels);
+
+    // Room for one channels frame per link of a 32-link tick
+    private final OutboundBatch batch = new OutboundBatch(32 * 26);
+
+    @Benchmark
+    public int[] channelBuilder() {
+        return ChannelBuilder.builder()
+                .setRoll(1500)
+                .setPitch(1500)
+                .setThrottle(1200)
+                .setYaw(1500)
+                .setArmed(true)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] channelsFrame() {
+        return ChannelsFrame.builder()
+                .setAddress(Address.FLIGHT_CONTROLLER)
+                .setChannels(channels)
+                .build();
+    }
+
+    /**
+     * Encodes a tick of 32 channels frames into one reusable direct buffer, without allocating.
+     */
+    @Benchmark
+    public int channelsFrameBatch() {
+        batch.clear();
+
+        for (int i = 0; i < 32; i++) {
+            batch.add(channelsBuilder);
+        }
+
+        return batch.getFrameCount();
+    }
+
+    @Benchmark
+    public byte[] devicePingFrame() {
+        return DevicePingFrame.builder()
+                .setSource(Address.RADIO_TRANSMITTER)
+                .setDestination(Address.BROADCAST)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] linkStatisticsFrame() {
+        return LinkStatisticsFrame.builder()
+                .setAddress(Address.FLIGHT_CONTROLLER)
+                .setUplinkRSSI1(70)
+                .setUplinkRSSI2(72)
+                .setUplinkLinkQuality(100)
+                .setUplinkSNR(10)
+                .setActiveAntenna(0)
+                .setRadioFrequencyMode(4)
+                .setUplinkPower(3)
+                .setDownlinkRSSI(60)
+                .setDownlinkLinkQuality(100)
+                .setDownlinkSNR(8)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] parameterReadFrame() {
+        return ParameterReadFrame.builder()
+                .setSource(Address.RADIO_TRANSMITTER)
+                .setDestination(Address.CRSF_TRANSMITTER)
+                .setFieldIndex(1)
+                .setChunkIndex(0)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] parameterWriteFrame() {
+        return ParameterWriteFrame.builder()
+                .setSource(Address.RADIO_TRANSMITTER)
+                .setDestination(Address.CRSF_TRANSMITTER)
+                .setFieldIndex(1)
+                .setValue(2)
+                .build();
+    }
+
+}
@@ -0,0 +1,115 @@
+package systems.beep.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import systems.beep.helper.CRC8;
+import systems.beep.helper.CRCHelper;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the table-driven CRC-8 of {@link CRCHelper} and {@link CRC8} against the
+ * previous bitwise implementation, which copied the range before computing it.
+ * <p>
+ * Run with {@code ./gradlew :benchmarks:jmh}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CRCHelperBenchmark {
+
+    // Frame length, from the smallest CRSF frame to the largest
+    @Param({"4", "26", "64"})
+    private int length;
+
+    private byte[] data;
+
+    private ByteBuffer direct;
+
+    private final CRC8 crc = CRC8.D5();
+
+    @Setup
+    public void setUp() {
+        data = new byte[length];
+        new Random(42).nextBytes(data);
+
+        direct = ByteBuffer.allocateDirect(length).put(data).flip();
+    }
+
+    @Benchmark
+    public byte bitwise() {
+        return BitwiseCRC.D5(data, 2, length - 1);
+    }
+
+    @Benchmark
+    public byte table() {
+        return CRCHelper.D5(data, 2, length - 1);
+    }
+
+    @Benchmark
+    public byte tableDirectBuffer() {
+        return CRCHelper.D5(direct, 2, length - 1);
+    }
+
+    @Benchmark
+    public byte incremental() {
+        crc.reset();
+
+        for (int i = 2; i < length - 1; i++) {
+            crc.update(data[i]);
+        }
+
+        return crc.getCRC();
+    }
+
+    /**
+     * The bitwise CRC-8 implementation that {@link CRCHelper} used before it switched
+     * to lookup tables, kept as a reference point.
+     */
+    static final class BitwiseCRC {
+
+        private BitwiseCRC() {
+            // Prevents instantiation
+        }
+
+        static byte D5(byte[] data, int start, int end) {
+            return crc8(Arrays.copyOfRange(data, start, end), 0xD5);
+        }
+
+        private static byte crc8(byte[] data, int polynomial) {
+            byte crc = 0;
+
+            for (byte b : data) {
+                crc ^= b;
+
+                for (int i = 0; i < 8; i++) {
+                    if ((crc & 0x80) != 0) {
+                        crc = (byte) ((crc << 1) ^ polynomial);
+                    } else {
+                        crc <<= 1;
+                    }
+                }
+            }
+
+            return crc;
+        }
+
+    }
+
+}
@@ -0,0 +1,98 @@
+package systems.beep.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import systems.beep.crossfire.frame.ChannelsFrame;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.helper.TelemetryHelper;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the RC channel codec: bit packing, bit unpacking and the full
+ * {@link ChannelsFrame#getChannels()} decode including conversion to microseconds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChannelsBenchmark {
+
+    private final int[] channels = new int[16];
+
+    private final byte[] payload = new byte[22];
+
+    private final int[] decoded = new int[ChannelsFrame.CHANNEL_COUNT];
+
+    private final int[] microseconds = new int[ChannelsFrame.CHANNEL_COUNT];
+
+    private ChannelsFrame channelsFrame;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < channels.length; i++) {
+            channels[i] = 172 + i * 100;
+        }
+
+        TelemetryHelper.packChannels(channels, payload);
+        TelemetryHelper.convertCRSFToMicroseconds(channels, microseconds, channels.length);
+        channelsFrame = new ChannelsFrame(BenchmarkFrames.sample(FrameType.RC_CHANNELS_PACKED));
+    }
+
+    @Benchmark
+    public byte[] packChannels() {
+        TelemetryHelper.packChannels(channels, payload);
+        return payload;
+    }
+
+    @Benchmark
+    public int[] unpackChannels() {
+        TelemetryHelper.unpackChannels(payload, channels);
+        return channels;
+    }
+
+    @Benchmark
+    public int[] getChannels() {
+        return channelsFrame.getChannels();
+    }
+
+    @Benchmark
+    public int[] getChannelsIntoArray() {
+        return channelsFrame.getChannels(decoded);
+    }
+
+    @Benchmark
+    public int[] convertCRSFToMicroseconds() {
+        int[] result = Arrays.copyOf(channels, channels.length);
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = TelemetryHelper.convertCRSFToMicroseconds(result[i]);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public int[] convertCRSFToMicrosecondsBulk() {
+        TelemetryHelper.convertCRSFToMicroseconds(channels, decoded, channels.length);
+        return decoded;
+    }
+
+    @Benchmark
+    public int[] convertMicrosecondsToCRSFBulk() {
+        TelemetryHelper.convertMicrosecondsToCRSF(microseconds, decoded, microseconds.length);
+        return decoded;
+    }
+
+}
@@ -0,0 +1,133 @@
+package systems.beep.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.processor.DecodeMode;
+import systems.beep.processor.FrameBuffer;
+import systems.beep.processor.FrameProcessor;
+import systems.beep.processor.IFrameProcessor;
+import systems.beep.processor.StreamingFrameProcessor;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures ingestion of a frame stream delivered in chunks of various sizes, as a serial
+ * port or socket would deliver it. Scores are per frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameBufferBenchmark {
+
+    // Number of frames in the stream fed per invocation
+    private static final int FRAMES = 64;
+
+    // Bytes delivered per read, from byte-at-a-time UARTs to large socket reads
+    @Param({"1", "16", "64", "512"})
+    private int chunkSize;
+
+    private byte[] stream;
+
+    // The stream split into chunks up front, so that no allocation is attributed to the processors
+    private byte[][] chunks;
+
+    private FrameBuffer frameBuffer;
+
+    private FrameProcessor copyProcessor;
+
+    private FrameProcessor flyweightProcessor;
+
+    private StreamingFrameProcessor streamingCopyProcessor;
+
+    private StreamingFrameProcessor streamingFlyweightProcessor;
+
+    @Setup
+    public void setUp() {
+        stream = BenchmarkFrames.stream(FRAMES);
+        chunks = new byte[(stream.length + chunkSize - 1) / chunkSize][];
+
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = Arrays.copyOfRange(stream, i * chunkSize, Math.min(stream.length, (i + 1) * chunkSize));
+        }
+
+        frameBuffer = new FrameBuffer();
+        copyProcessor = new FrameProcessor(DecodeMode.COPY);
+        flyweightProcessor = new FrameProcessor(DecodeMode.FLYWEIGHT);
+        streamingCopyProcessor = new StreamingFrameProcessor(DecodeMode.COPY);
+        streamingFlyweightProcessor = new StreamingFrameProcessor(DecodeMode.FLYWEIGHT);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public void getFrame(final Blackhole blackhole) {
+        for (int offset = 0; offset < stream.length; ) {
+            offset += frameBuffer.addData(stream, offset, Math.min(chunkSize, stream.length - offset));
+
+            while (frameBuffer.isFrameAvailable()) {
+                blackhole.consume(frameBuffer.getFrame());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public void nextFrame(final Blackhole blackhole) {
+        for (int offset = 0; offset < stream.length; ) {
+            offset += frameBuffer.addData(stream, offset, Math.min(chunkSize, stream.length - offset));
+
+            while (frameBuffer.isFrameAvailable()) {
+                blackhole.consume(frameBuffer.nextFrame());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public void processCopy(final Blackhole blackhole) {
+        process(copyProcessor, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public void processFlyweight(final Blackhole blackhole) {
+        process(flyweightProcessor, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public void streamingCopy(final Blackhole blackhole) {
+        process(streamingCopyProcessor, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public void streamingFlyweight(final Blackhole blackhole) {
+        process(streamingFlyweightProcessor, blackhole);
+    }
+
+    private void process(final IFrameProcessor processor, final Blackhole blackhole) {
+        Consumer<CRSFFrame> consumer = blackhole::consume;
+
+        for (byte[] chunk : chunks) {
+            processor.processData(chunk, consumer);
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package systems.beep.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.exception.CorruptedPackageException;
+import systems.beep.processor.DecodeStatus;
+import systems.beep.processor.FrameDispatcher;
+import systems.beep.processor.FrameFactory;
+import systems.beep.processor.FrameViewFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding of a single complete frame for every frame type the factory knows,
+ * both into a new frame and into a reusable view, and skipping it in a dispatcher where
+ * no handler subscribed to its type. Rejecting a corrupted frame is measured both through
+ * the throwing factory and through the status-returning decode path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameFactoryBenchmark {
+
+    @Param({
+            "GPS",
+            "VARIO",
+            "BATTERY_SENSOR",
+            "LINK_LINK_STATISTICS",
+            "RC_CHANNELS_PACKED",
+            "ATTITUDE",
+            "FLIGHT_MODE",
+            "DEVICE_INFO",
+            "PARAMETER_SETTINGS_ENTRY",
+            "RADIO_ID",
+            "HEARTBEAT"
+    })
+    private FrameType frameType;
+
+    private byte[] frame;
+
+    private byte[] corruptedFrame;
+
+    private final FrameViewFactory frameViewFactory = new FrameViewFactory();
+
+    private final FrameDispatcher frameDispatcher = new FrameDispatcher();
+
+    @Setup
+    public void setUp() {
+        frame = BenchmarkFrames.sample(frameType);
+        corruptedFrame = frame.clone();
+        corruptedFrame[corruptedFrame.length - 1] ^= 0x01;
+    }
+
+    @Benchmark
+    public CRSFFrame generateFrame() {
+        return FrameFactory.generateFrame(frame);
+    }
+
+    @Benchmark
+    public CRSFFrame wrapFrame() {
+        return frameViewFactory.wrapFrame(frame, 0, frame.length);
+    }
+
+    @Benchmark
+    public boolean dispatchUnsubscribed() {
+        return frameDispatcher.dispatch(frame, 0, frame.length);
+    }
+
+    @Benchmark
+    public CRSFFrame generateCorruptedFrame() {
+        try {
+            return FrameFactory.generateFrame(corruptedFrame);
+        } catch (CorruptedPackageException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public DecodeStatus decodeCorruptedFrame() {
+        return frameViewFactory.decode(corruptedFrame, 0, corruptedFrame.length);
+    }
+
+}
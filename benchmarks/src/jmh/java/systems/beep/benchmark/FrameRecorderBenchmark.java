@@ -0,0 +1,67 @@
+package systems.beep.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.recording.FrameRecorder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures appending frames to a memory-mapped flight recorder, including segment rolls.
+ * Scores are per frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameRecorderBenchmark {
+
+    private Path directory;
+
+    private FrameRecorder recorder;
+
+    private byte[] frame;
+
+    private long timestamp;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("crsf-recorder");
+        recorder = FrameRecorder.builder().setDirectory(directory).build();
+        frame = BenchmarkFrames.sample(FrameType.RC_CHANNELS_PACKED);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        recorder.close();
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void append() {
+        recorder.append(7, timestamp++, frame, 0, frame.length);
+    }
+
+}
@@ -0,0 +1,70 @@
+package systems.beep.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import systems.beep.crossfire.frame.sub.Address;
+import systems.beep.helper.SyncHelper;
+import systems.beep.processor.StreamingFrameProcessor;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures finding the next sync byte after a burst of noise with {@link SyncHelper}, and a
+ * streaming processor skipping the same noise.
+ * <p>
+ * Run with {@code ./gradlew :benchmarks:jmh}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyncScanBenchmark {
+
+    // Noise bytes preceding the sync byte, from a short glitch to a long burst in a capture
+    @Param({"64", "4096", "1048576"})
+    private int length;
+
+    private byte[] data;
+
+    private final StreamingFrameProcessor processor = new StreamingFrameProcessor();
+
+    @Setup
+    public void setUp() {
+        data = new byte[length + 1];
+        new Random(42).nextBytes(data);
+
+        for (int i = 0; i < length; i++) {
+            if (Address.isSyncByte(data[i])) {
+                data[i] = 0;
+            }
+        }
+
+        data[length] = Address.FLIGHT_CONTROLLER.getValue();
+    }
+
+    @Benchmark
+    public int indexOfSync() {
+        return SyncHelper.indexOfSync(data, 0, data.length);
+    }
+
+    @Benchmark
+    public int streamingProcessor() {
+        processor.flush();
+        processor.processData(data, frame -> { });
+        return processor.getFrameProcessedCount();
+    }
+
+}
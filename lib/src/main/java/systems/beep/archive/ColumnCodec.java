@@ -0,0 +1,141 @@
+package systems.beep.archive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes columns of integers as zig-zag varints of the differences between consecutive values.
+ * <p>
+ * Telemetry fields change slowly from one frame to the next, so differences are small; zig-zag
+ * maps small negative differences to small positive numbers, and the varint stores those in as
+ * few bytes as they need, seven bits per byte. Most fields take one byte per value.
+ * </p>
+ * <p>
+ * Timestamps grow by a nearly constant interval instead, so they are counted in a coarser unit
+ * and stored as the differences between consecutive intervals: frames of a table arriving with
+ * less than 64 units of jitter take one byte each.
+ * </p>
+ */
+final class ColumnCodec {
+
+    /**
+     * Largest encoded size of a value.
+     */
+    static final int MAX_VALUE_SIZE = 10;
+
+    private ColumnCodec() {
+        // Prevents instantiation
+    }
+
+    /**
+     * Encodes values, the first one as a difference from zero.
+     *
+     * @param values the values.
+     * @param count  the number of values to encode.
+     * @param out    the buffer to write to, with room for {@code count * MAX_VALUE_SIZE} bytes.
+     */
+    static void encode(final long[] values, final int count, final ByteBuffer out) {
+        long previous = 0;
+
+        for (int i = 0; i < count; i++) {
+            put(values[i] - previous, out);
+            previous = values[i];
+        }
+    }
+
+    /**
+     * Encodes timestamps as differences between consecutive intervals, counted in a unit.
+     * <p>
+     * The first timestamp is stored as an interval from zero and the second as an interval from the first.
+     * </p>
+     *
+     * @param values the timestamps, multiples of the unit.
+     * @param count  the number of timestamps to encode.
+     * @param unit   the unit, in the timestamps' unit.
+     * @param out    the buffer to write to, with room for {@code count * MAX_VALUE_SIZE} bytes.
+     */
+    static void encodeTimestamps(final long[] values, final int count, final long unit, final ByteBuffer out) {
+        long previous = 0;
+        long interval = 0;
+
+        for (int i = 0; i < count; i++) {
+            long value = values[i] / unit;
+
+            put(value - previous - interval, out);
+            interval = value - previous;
+            previous = value;
+        }
+    }
+
+    /**
+     * Decodes values written by {@link #encode(long[], int, ByteBuffer)}.
+     *
+     * @param in     the buffer to read from.
+     * @param count  the number of values to decode.
+     * @param values the array receiving the values.
+     * @throws IllegalArgumentException if a value is malformed.
+     */
+    static void decode(final ByteBuffer in, final int count, final long[] values) {
+        long previous = 0;
+
+        for (int i = 0; i < count; i++) {
+            previous += get(in);
+            values[i] = previous;
+        }
+    }
+
+    /**
+     * Decodes timestamps written by {@link #encodeTimestamps(long[], int, long, ByteBuffer)}.
+     *
+     * @param in     the buffer to read from.
+     * @param count  the number of timestamps to decode.
+     * @param unit   the unit the timestamps were encoded with.
+     * @param values the array receiving the timestamps.
+     * @throws IllegalArgumentException if a value is malformed.
+     */
+    static void decodeTimestamps(final ByteBuffer in, final int count, final long unit, final long[] values) {
+        long previous = 0;
+        long interval = 0;
+
+        for (int i = 0; i < count; i++) {
+            interval += get(in);
+            previous += interval;
+            values[i] = previous * unit;
+        }
+    }
+
+    /**
+     * Writes a value as a zig-zag varint.
+     */
+    private static void put(final long value, final ByteBuffer out) {
+        long zigZag = (value << 1) ^ (value >> 63);
+
+        while ((zigZag & ~0x7FL) != 0) {
+            out.put((byte) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+
+        out.put((byte) zigZag);
+    }
+
+    /**
+     * Reads a zig-zag varint.
+     */
+    private static long get(final ByteBuffer in) {
+        long zigZag = 0;
+        int shift = 0;
+        byte b;
+
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed varint.");
+            }
+
+            b = in.get();
+            zigZag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+}
@@ -0,0 +1,321 @@
+package systems.beep.archive;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads selected columns of an archive written by {@link TelemetryArchiver}.
+ * <p>
+ * A scan reads the header and column directory of each block, skips the blocks of other tables
+ * and the blocks whose minimum and maximum rule out the filter range, and then reads and decodes
+ * only the requested columns of the remaining blocks. The bytes of other columns are never read.
+ * Instances are not thread-safe.
+ * </p>
+ */
+public class TelemetryArchiveReader implements Closeable {
+
+    private final FileChannel channel;
+
+    private final long end;
+
+    private final ByteBuffer header = ByteBuffer.allocate(TelemetryArchiver.BLOCK_HEADER_SIZE);
+
+    private final ByteBuffer directory = ByteBuffer.allocate(255 * TelemetryArchiver.DIRECTORY_ENTRY_SIZE);
+
+    // Encoded bytes of the column being decoded, grown as needed
+    private ByteBuffer encoded = ByteBuffer.allocate(4096);
+
+    // Decoded filter column, grown as needed
+    private long[] filterValues = new long[0];
+
+    private TelemetryArchiveReader(final FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.end = endOfBlocks(channel);
+    }
+
+    /**
+     * Opens an archive.
+     * <p>
+     * The reader sees the blocks complete at the time it is opened.
+     * </p>
+     *
+     * @param path the archive file.
+     * @return the reader.
+     * @throws IOException if the archive cannot be read or belongs to another format.
+     */
+    public static TelemetryArchiveReader open(final Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            ByteBuffer fileHeader = ByteBuffer.allocate(TelemetryArchiver.HEADER_SIZE);
+
+            if (channel.read(fileHeader, 0) < TelemetryArchiver.HEADER_SIZE
+                    || fileHeader.getInt(0) != TelemetryArchiver.MAGIC
+                    || fileHeader.getInt(4) != TelemetryArchiver.VERSION) {
+                throw new IOException("Not a telemetry archive");
+            }
+
+            return new TelemetryArchiveReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Visits every row of a table.
+     *
+     * @param table    the table to read.
+     * @param columns  the columns to decode, all belonging to the table.
+     * @param consumer the consumer of decoded blocks.
+     * @return the number of rows visited.
+     * @throws IOException              if the archive cannot be read.
+     * @throws IllegalArgumentException if a column does not belong to the table.
+     */
+    public long scan(final TelemetryTable table, final TelemetryColumn[] columns,
+                     final BlockConsumer consumer) throws IOException {
+        return scan(table, null, Long.MIN_VALUE, Long.MAX_VALUE, columns, consumer);
+    }
+
+    /**
+     * Visits the rows of a table whose filter column lies in a range.
+     * <p>
+     * Filtering on {@link TelemetryColumn#TIMESTAMP} selects a time range; filtering on
+     * {@link TelemetryColumn#LINK_ID} with equal bounds selects one link.
+     * </p>
+     *
+     * @param table    the table to read.
+     * @param filter   the column to filter on, or null to visit every row.
+     * @param min      the smallest value of the filter column to match, inclusive.
+     * @param max      the largest value of the filter column to match, inclusive.
+     * @param columns  the columns to decode, all belonging to the table.
+     * @param consumer the consumer of decoded blocks.
+     * @return the number of rows visited.
+     * @throws IOException              if the archive cannot be read.
+     * @throws IllegalArgumentException if a column does not belong to the table.
+     */
+    public long scan(final TelemetryTable table, final TelemetryColumn filter, final long min, final long max,
+                     final TelemetryColumn[] columns, final BlockConsumer consumer) throws IOException {
+        checkColumn(table, filter);
+
+        for (TelemetryColumn column : columns) {
+            checkColumn(table, column);
+        }
+
+        long[][] values = new long[columns.length][];
+        long rowsVisited = 0;
+        long position = TelemetryArchiver.HEADER_SIZE;
+
+        while (position < end) {
+            readFully(header.clear(), position);
+
+            long next = position + Integer.BYTES + header.getInt(0);
+            byte type = header.get(4);
+            int rows = header.getInt(5);
+            int columnCount = header.get(9) & 0xFF;
+            int resolution = header.getInt(10);
+            int linkId = header.getInt(14);
+
+            // The link is stored once per block, so filtering on it never needs rows checked
+            if (type != table.getFrameType().getValue()
+                    || filter == TelemetryColumn.LINK_ID && (linkId < min || linkId > max)) {
+                position = next;
+                continue;
+            }
+
+            long dataStart = position + TelemetryArchiver.BLOCK_HEADER_SIZE
+                    + (long) columnCount * TelemetryArchiver.DIRECTORY_ENTRY_SIZE;
+
+            readFully(directory.clear().limit(columnCount * TelemetryArchiver.DIRECTORY_ENTRY_SIZE),
+                    position + TelemetryArchiver.BLOCK_HEADER_SIZE);
+
+            boolean filterRows = false;
+
+            if (filter != null && filter != TelemetryColumn.LINK_ID) {
+                int entry = findEntry(filter, columnCount);
+
+                if (directory.getLong(entry + 9) < min || directory.getLong(entry + 1) > max) {
+                    position = next;
+                    continue;
+                }
+
+                // Only a block straddling a bound needs its rows checked
+                filterRows = directory.getLong(entry + 1) < min || directory.getLong(entry + 9) > max;
+
+                if (filterRows) {
+                    if (filterValues.length < rows) {
+                        filterValues = new long[rows];
+                    }
+
+                    decodeColumn(entry, dataStart, rows, resolution, filterValues);
+                }
+            }
+
+            for (int i = 0; i < columns.length; i++) {
+                if (values[i] == null || values[i].length < rows) {
+                    values[i] = new long[rows];
+                }
+
+                if (columns[i] == TelemetryColumn.LINK_ID) {
+                    Arrays.fill(values[i], 0, rows, linkId);
+                } else {
+                    decodeColumn(findEntry(columns[i], columnCount), dataStart, rows, resolution, values[i]);
+                }
+            }
+
+            int matching = rows;
+
+            if (filterRows) {
+                matching = 0;
+
+                for (int row = 0; row < rows; row++) {
+                    if (filterValues[row] >= min && filterValues[row] <= max) {
+                        for (long[] column : values) {
+                            column[matching] = column[row];
+                        }
+
+                        matching++;
+                    }
+                }
+            }
+
+            if (matching > 0) {
+                consumer.accept(values, matching);
+                rowsVisited += matching;
+            }
+
+            position = next;
+        }
+
+        return rowsVisited;
+    }
+
+    /**
+     * Closes the archive.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Finds the end of the last complete block of an archive.
+     *
+     * @param channel the archive.
+     * @return the position following the last complete block.
+     * @throws IOException if the archive cannot be read.
+     */
+    static long endOfBlocks(final FileChannel channel) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        long size = channel.size();
+        long position = TelemetryArchiver.HEADER_SIZE;
+
+        while (position + TelemetryArchiver.BLOCK_HEADER_SIZE <= size) {
+            length.clear();
+
+            if (channel.read(length, position) < Integer.BYTES) {
+                break;
+            }
+
+            long next = position + Integer.BYTES + length.getInt(0);
+
+            if (length.getInt(0) < TelemetryArchiver.BLOCK_HEADER_SIZE || next > size) {
+                break;
+            }
+
+            position = next;
+        }
+
+        return position;
+    }
+
+    private static void checkColumn(final TelemetryTable table, final TelemetryColumn column) {
+        if (column != null && column.getTable() != null && column.getTable() != table) {
+            throw new IllegalArgumentException("Column " + column + " does not belong to " + table + ".");
+        }
+    }
+
+    /**
+     * Finds a column in the directory of the current block.
+     *
+     * @return the offset of its entry in the directory.
+     */
+    private int findEntry(final TelemetryColumn column, final int columnCount) throws IOException {
+        for (int i = 0; i < columnCount; i++) {
+            int entry = i * TelemetryArchiver.DIRECTORY_ENTRY_SIZE;
+
+            if ((directory.get(entry) & 0xFF) == column.ordinal()) {
+                return entry;
+            }
+        }
+
+        throw new IOException("Block lacks column " + column);
+    }
+
+    /**
+     * Reads and decodes one column of the current block.
+     */
+    private void decodeColumn(final int entry, final long dataStart, final int rows, final int resolution,
+                              final long[] values) throws IOException {
+        long offset = dataStart;
+
+        for (int i = 0; i < entry; i += TelemetryArchiver.DIRECTORY_ENTRY_SIZE) {
+            offset += directory.getInt(i + 17);
+        }
+
+        int size = directory.getInt(entry + 17);
+
+        if (encoded.capacity() < size) {
+            encoded = ByteBuffer.allocate(size);
+        }
+
+        readFully(encoded.clear().limit(size), offset);
+        if ((directory.get(entry) & 0xFF) == TelemetryColumn.TIMESTAMP.ordinal()) {
+            ColumnCodec.decodeTimestamps(encoded.flip(), rows, resolution, values);
+        } else {
+            ColumnCodec.decode(encoded.flip(), rows, values);
+        }
+    }
+
+    private void readFully(final ByteBuffer buffer, final long position) throws IOException {
+        long at = position;
+
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, at);
+
+            if (read < 0) {
+                throw new EOFException("Unexpected end of archive");
+            }
+
+            at += read;
+        }
+    }
+
+    /**
+     * Receives decoded blocks of a scan.
+     */
+    @FunctionalInterface
+    public interface BlockConsumer {
+
+        /**
+         * Receives the matching rows of a block.
+         * <p>
+         * The arrays are reused by the next block and must not be kept.
+         * </p>
+         *
+         * @param columns the decoded values, one array per requested column in the requested order.
+         * @param rows    the number of valid rows in each array.
+         */
+        void accept(long[][] columns, int rows);
+
+    }
+
+}
@@ -0,0 +1,516 @@
+package systems.beep.archive;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.processor.LinkFrameConsumer;
+import systems.beep.recording.FrameLogReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Converts a stream of telemetry frames into a compact columnar archive.
+ * <p>
+ * The {@code TelemetryArchiver} keeps only the decoded fields of the frames listed in
+ * {@link TelemetryTable}; other frames are ignored. Rows are buffered per table and link, and
+ * written as blocks of a configured number of rows, each field being stored as its own column
+ * encoded by {@link ColumnCodec}. Keeping every link in its own blocks means consecutive rows
+ * follow one vehicle, so their differences stay small; the link is stored once in the block header
+ * rather than as a column. Every block records the minimum and maximum of each column, so a
+ * {@link TelemetryArchiveReader} can skip blocks that cannot match a query and read only the
+ * columns it needs.
+ * </p>
+ * <p>
+ * Timestamps are stored as differences between consecutive intervals. They are kept to the
+ * nanosecond by default; a coarser resolution can be chosen to trade reception jitter for size,
+ * in which case timestamps are rounded down to it, directory minimum and maximum included.
+ * </p>
+ * <p>
+ * The archive file starts with an 8-byte header (magic, version) followed by blocks:
+ * </p>
+ * <pre>
+ *  offset  size      field
+ *  0       4         block length, excluding this field
+ *  4       1         frame type of the table
+ *  5       4         number of rows
+ *  9       1         number of columns
+ *  10      4         timestamp resolution in nanoseconds
+ *  14      4         link the rows were received on
+ *  18      21 * n    per column: column identifier (1), minimum (8), maximum (8), encoded size (4)
+ *  ...               encoded columns, in the order of the directory
+ * </pre>
+ * <p>
+ * Blocks are self-contained, so an existing archive is appended to; a block left incomplete by a
+ * crash is discarded when the archive is reopened. Rows still buffered reach the file on
+ * {@link #flush()} or {@link #close()}. Instances are not thread-safe.
+ * </p>
+ */
+public class TelemetryArchiver implements LinkFrameConsumer, Closeable {
+
+    /**
+     * Default number of rows per block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    /**
+     * Default timestamp resolution in nanoseconds, which keeps timestamps as they are given.
+     */
+    public static final long DEFAULT_TIMESTAMP_RESOLUTION = 1;
+
+    static final int MAGIC = 0x43525441;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 8;
+
+    static final int BLOCK_HEADER_SIZE = 18;
+
+    static final int DIRECTORY_ENTRY_SIZE = 21;
+
+    private final FileChannel channel;
+
+    private final int blockSize;
+
+    private final long timestampResolution;
+
+    private final LongSupplier clock;
+
+    // Rows waiting to be written, indexed by table ordinal and link, created as links show up
+    private final TableBuffer[][] tables;
+
+    // Block being encoded, large enough for the widest table
+    private final ByteBuffer block;
+
+    private final byte[] frame = new byte[CRSFFrame.FRAME_MAX_SIZE];
+
+    private long rowCount = 0;
+
+    private long blockCount = 0;
+
+    private TelemetryArchiver(final FileChannel channel, final int blockSize, final long timestampResolution,
+                              final LongSupplier clock) {
+        this.channel = channel;
+        this.blockSize = blockSize;
+        this.timestampResolution = timestampResolution;
+        this.clock = clock;
+        this.tables = new TableBuffer[TelemetryTable.values().length][0];
+
+        int maxColumns = 0;
+
+        for (TelemetryTable table : TelemetryTable.values()) {
+            maxColumns = Math.max(maxColumns, TelemetryColumn.columnsOf(table).length);
+        }
+
+        this.block = ByteBuffer.allocate(BLOCK_HEADER_SIZE
+                + maxColumns * (DIRECTORY_ENTRY_SIZE + blockSize * ColumnCodec.MAX_VALUE_SIZE));
+    }
+
+    /**
+     * Returns a new instance of {@code TelemetryArchiverBuilder} for building a {@code TelemetryArchiver}.
+     *
+     * @return a new {@code TelemetryArchiverBuilder}.
+     */
+    public static TelemetryArchiverBuilder builder() {
+        return new TelemetryArchiverBuilder();
+    }
+
+    /**
+     * Archives a decoded frame with the current time.
+     *
+     * @param linkId the link the frame was received on.
+     * @param frame  the frame to archive.
+     */
+    @Override
+    public void accept(final int linkId, final CRSFFrame frame) {
+        append(linkId, clock.getAsLong(), frame);
+    }
+
+    /**
+     * Archives a frame.
+     *
+     * @param linkId    the link the frame was received on.
+     * @param timestamp the reception time in nanoseconds since the epoch.
+     * @param frame     the frame to archive.
+     * @return true if the frame was archived, false if its type is not archived or it is too short.
+     * @throws IllegalStateException if a completed block cannot be written.
+     */
+    public boolean append(final int linkId, final long timestamp, final CRSFFrame frame) {
+        int length = frame.getRawLength();
+
+        if (length > this.frame.length) {
+            return false;
+        }
+
+        frame.copyTo(this.frame, 0);
+
+        return append(linkId, timestamp, this.frame, 0, length);
+    }
+
+    /**
+     * Archives raw frame bytes.
+     *
+     * @param linkId    the link the frame was received on.
+     * @param timestamp the reception time in nanoseconds since the epoch.
+     * @param data      the array holding the frame.
+     * @param offset    the offset of the frame's sync byte.
+     * @param length    the raw length of the frame.
+     * @return true if the frame was archived, false if its type is not archived or it is too short.
+     * @throws IllegalArgumentException if the link is negative.
+     * @throws IllegalStateException    if a completed block cannot be written.
+     */
+    public boolean append(final int linkId, final long timestamp, final byte[] data, final int offset, final int length) {
+        if (linkId < 0) {
+            throw new IllegalArgumentException("Link must not be negative.");
+        }
+
+        if (length < 3) {
+            return false;
+        }
+
+        TelemetryTable table = TelemetryTable.fromType(data[offset + 2]);
+
+        if (table == null || length < table.getMinLength()) {
+            return false;
+        }
+
+        TableBuffer buffer = bufferOf(table, linkId);
+        int row = buffer.rows;
+
+        buffer.values[0][row] = timestamp - Math.floorMod(timestamp, timestampResolution);
+
+        for (int i = 1; i < buffer.columns.length; i++) {
+            buffer.values[i][row] = buffer.columns[i].extract(data, offset);
+        }
+
+        buffer.rows++;
+        rowCount++;
+
+        if (buffer.rows == blockSize) {
+            try {
+                writeBlock(buffer);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot write block", e);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Archives every frame of a log written by {@link systems.beep.recording.FrameRecorder}.
+     *
+     * @param directory the log directory.
+     * @return the number of frames archived.
+     * @throws IOException if the log cannot be read or a block cannot be written.
+     */
+    public long appendLog(final Path directory) throws IOException {
+        long archived = 0;
+
+        try (FrameLogReader reader = FrameLogReader.open(directory)) {
+            while (reader.next()) {
+                int length = reader.copyFrame(frame, 0);
+
+                if (append(reader.getLinkId(), reader.getTimestamp(), frame, 0, length)) {
+                    archived++;
+                }
+            }
+        }
+
+        return archived;
+    }
+
+    /**
+     * Writes the rows buffered for every table as blocks, even if they are not full.
+     *
+     * @throws IOException if a block cannot be written.
+     */
+    public void flush() throws IOException {
+        for (TableBuffer[] links : tables) {
+            for (TableBuffer buffer : links) {
+                if (buffer != null && buffer.rows > 0) {
+                    writeBlock(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of rows archived, including buffered rows.
+     *
+     * @return the row count.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of blocks written by this archiver.
+     *
+     * @return the block count.
+     */
+    public long getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Writes the buffered rows and closes the archive.
+     *
+     * @throws IOException if a block cannot be written or closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeBlock(final TableBuffer buffer) throws IOException {
+        TelemetryColumn[] columns = buffer.columns;
+        int directory = BLOCK_HEADER_SIZE;
+
+        block.clear();
+        block.position(directory + columns.length * DIRECTORY_ENTRY_SIZE);
+
+        for (int i = 0; i < columns.length; i++) {
+            long[] values = buffer.values[i];
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+
+            for (int row = 0; row < buffer.rows; row++) {
+                min = Math.min(min, values[row]);
+                max = Math.max(max, values[row]);
+            }
+
+            int start = block.position();
+
+            if (columns[i] == TelemetryColumn.TIMESTAMP) {
+                ColumnCodec.encodeTimestamps(values, buffer.rows, timestampResolution, block);
+            } else {
+                ColumnCodec.encode(values, buffer.rows, block);
+            }
+
+            int entry = directory + i * DIRECTORY_ENTRY_SIZE;
+
+            block.put(entry, (byte) columns[i].ordinal());
+            block.putLong(entry + 1, min);
+            block.putLong(entry + 9, max);
+            block.putInt(entry + 17, block.position() - start);
+        }
+
+        block.putInt(0, block.position() - Integer.BYTES);
+        block.put(4, buffer.table.getFrameType().getValue());
+        block.putInt(5, buffer.rows);
+        block.put(9, (byte) columns.length);
+        block.putInt(10, (int) timestampResolution);
+        block.putInt(14, buffer.linkId);
+        block.flip();
+
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+
+        buffer.rows = 0;
+        blockCount++;
+    }
+
+    /**
+     * Returns the rows buffered for a table and link, creating them on the first row of the link.
+     *
+     * @param table  the table.
+     * @param linkId the link.
+     * @return the buffer.
+     */
+    private TableBuffer bufferOf(final TelemetryTable table, final int linkId) {
+        TableBuffer[] links = tables[table.ordinal()];
+
+        if (linkId >= links.length) {
+            links = Arrays.copyOf(links, Math.max(linkId + 1, links.length * 2));
+            tables[table.ordinal()] = links;
+        }
+
+        if (links[linkId] == null) {
+            links[linkId] = new TableBuffer(table, linkId, blockSize);
+        }
+
+        return links[linkId];
+    }
+
+    /**
+     * Opens an archive for appending, creating it or discarding an incomplete last block.
+     *
+     * @param path the archive file.
+     * @return the channel, positioned at the end of the last complete block.
+     * @throws IOException if the file cannot be opened or belongs to another format.
+     */
+    private static FileChannel openArchive(final Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+            if (channel.size() < HEADER_SIZE) {
+                channel.truncate(0);
+                header.putInt(MAGIC).putInt(VERSION).flip();
+                channel.write(header, 0);
+                channel.position(HEADER_SIZE);
+                return channel;
+            }
+
+            channel.read(header, 0);
+
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a telemetry archive");
+            }
+
+            long end = TelemetryArchiveReader.endOfBlocks(channel);
+
+            channel.truncate(end);
+            channel.position(end);
+
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Rows of one table and link waiting to be written, stored column by column.
+     */
+    private static final class TableBuffer {
+
+        private final TelemetryTable table;
+
+        private final int linkId;
+
+        // Stored columns: every column of the table but the link, which the block header holds
+        private final TelemetryColumn[] columns;
+
+        private final long[][] values;
+
+        private int rows = 0;
+
+        private TableBuffer(final TelemetryTable table, final int linkId, final int blockSize) {
+            this.table = table;
+            this.linkId = linkId;
+            TelemetryColumn[] all = TelemetryColumn.columnsOf(table);
+            this.columns = new TelemetryColumn[all.length - 1];
+
+            int stored = 0;
+
+            for (TelemetryColumn column : all) {
+                if (column != TelemetryColumn.LINK_ID) {
+                    columns[stored++] = column;
+                }
+            }
+
+            this.values = new long[columns.length][blockSize];
+        }
+
+    }
+
+    /**
+     * Builder class for constructing {@code TelemetryArchiver} instances.
+     * This builder allows setting the archive file, the block size, the timestamp resolution and the clock.
+     */
+    public static class TelemetryArchiverBuilder {
+
+        private Path path;
+
+        private int blockSize = DEFAULT_BLOCK_SIZE;
+
+        private long timestampResolution = DEFAULT_TIMESTAMP_RESOLUTION;
+
+        private LongSupplier clock;
+
+        /**
+         * Sets the archive file, which is created if it does not exist and appended to otherwise.
+         *
+         * @param path the archive file.
+         * @return the current {@code TelemetryArchiverBuilder} instance.
+         */
+        public TelemetryArchiverBuilder setPath(final Path path) {
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Sets the number of rows per block. Defaults to {@link #DEFAULT_BLOCK_SIZE}.
+         * Larger blocks compress slightly better; smaller blocks prune more precisely.
+         *
+         * @param blockSize the number of rows per block.
+         * @return the current {@code TelemetryArchiverBuilder} instance.
+         */
+        public TelemetryArchiverBuilder setBlockSize(final int blockSize) {
+            this.blockSize = blockSize;
+            return this;
+        }
+
+        /**
+         * Sets the resolution timestamps are rounded down to. Defaults to {@link #DEFAULT_TIMESTAMP_RESOLUTION},
+         * which is lossless. A coarser resolution drops reception jitter below it, so steady frames
+         * take fewer bytes per row: about one at a millisecond.
+         *
+         * @param timestampResolutionNanos the timestamp resolution in nanoseconds.
+         * @return the current {@code TelemetryArchiverBuilder} instance.
+         */
+        public TelemetryArchiverBuilder setTimestampResolution(final long timestampResolutionNanos) {
+            this.timestampResolution = timestampResolutionNanos;
+            return this;
+        }
+
+        /**
+         * Sets the source of timestamps, in nanoseconds since the epoch, for frames archived
+         * through {@link #accept(int, CRSFFrame)}. Defaults to the wall clock at opening advanced
+         * by {@link System#nanoTime()}.
+         *
+         * @param clock the clock.
+         * @return the current {@code TelemetryArchiverBuilder} instance.
+         */
+        public TelemetryArchiverBuilder setClock(final LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Opens the archiver.
+         *
+         * @return the archiver, positioned at the end of the archive.
+         * @throws IOException              if the archive cannot be opened.
+         * @throws IllegalArgumentException if the path is missing, the block size is not between 1 and 65536
+         *                                  or the timestamp resolution is not between 1 ns and 1 s.
+         */
+        public TelemetryArchiver build() throws IOException {
+            if (path == null) {
+                throw new IllegalArgumentException("Path must be set.");
+            }
+
+            if (blockSize < 1 || blockSize > 65536) {
+                throw new IllegalArgumentException("Block size must be between 1 and 65536.");
+            }
+
+            if (timestampResolution < 1 || timestampResolution > 1_000_000_000) {
+                throw new IllegalArgumentException("Timestamp resolution must be between 1 and 1000000000 nanoseconds.");
+            }
+
+            LongSupplier result = clock;
+
+            if (result == null) {
+                long base = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+                result = () -> base + System.nanoTime();
+            }
+
+            return new TelemetryArchiver(openArchive(path), blockSize, timestampResolution, result);
+        }
+
+    }
+
+}
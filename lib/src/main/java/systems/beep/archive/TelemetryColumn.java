@@ -0,0 +1,257 @@
+package systems.beep.archive;
+
+import systems.beep.helper.TelemetryHelper;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A field stored as a column of a {@link TelemetryTable}.
+ * <p>
+ * Values are kept as integers in the units of the wire format, so archiving is lossless;
+ * {@link #getScale()} converts them to the unit named in each column's description.
+ * {@link #TIMESTAMP} and {@link #LINK_ID} belong to every table.
+ * </p>
+ * <p>
+ * The position of a constant is its identifier in archive files: new columns are added at the end.
+ * </p>
+ */
+public enum TelemetryColumn {
+
+    /**
+     * Reception time in nanoseconds since the epoch, rounded down to the timestamp resolution of the archive.
+     */
+    TIMESTAMP(null, 1, (data, offset) -> 0),
+
+    /**
+     * Link the frame was received on, stored once per block rather than per row.
+     */
+    LINK_ID(null, 1, (data, offset) -> 0),
+
+    /**
+     * Latitude in degrees.
+     */
+    GPS_LATITUDE(TelemetryTable.GPS, 1e-7, (data, offset) -> signed(data, offset + 3, 4)),
+
+    /**
+     * Longitude in degrees.
+     */
+    GPS_LONGITUDE(TelemetryTable.GPS, 1e-7, (data, offset) -> signed(data, offset + 7, 4)),
+
+    /**
+     * Ground speed in km/h.
+     */
+    GPS_GROUND_SPEED(TelemetryTable.GPS, 0.1, (data, offset) -> unsigned(data, offset + 11, 2)),
+
+    /**
+     * Heading in degrees.
+     */
+    GPS_HEADING(TelemetryTable.GPS, 0.01, (data, offset) -> unsigned(data, offset + 13, 2)),
+
+    /**
+     * Altitude in meters.
+     */
+    GPS_ALTITUDE(TelemetryTable.GPS, 1, (data, offset) -> unsigned(data, offset + 15, 2) - 1000),
+
+    /**
+     * Number of satellites in view.
+     */
+    GPS_SATELLITES(TelemetryTable.GPS, 1, (data, offset) -> unsigned(data, offset + 17, 1)),
+
+    /**
+     * Battery voltage in volts.
+     */
+    BATTERY_VOLTAGE(TelemetryTable.BATTERY, 0.1, (data, offset) -> unsigned(data, offset + 3, 2)),
+
+    /**
+     * Battery current in amperes.
+     */
+    BATTERY_CURRENT(TelemetryTable.BATTERY, 0.1, (data, offset) -> unsigned(data, offset + 5, 2)),
+
+    /**
+     * Consumed capacity in mAh.
+     */
+    BATTERY_FUEL(TelemetryTable.BATTERY, 1, (data, offset) -> unsigned(data, offset + 7, 3)),
+
+    /**
+     * Remaining charge in percent.
+     */
+    BATTERY_REMAINING(TelemetryTable.BATTERY, 1, (data, offset) -> unsigned(data, offset + 10, 1)),
+
+    /**
+     * Pitch in radians.
+     */
+    ATTITUDE_PITCH(TelemetryTable.ATTITUDE, 1e-4, (data, offset) -> signed(data, offset + 3, 2)),
+
+    /**
+     * Roll in radians.
+     */
+    ATTITUDE_ROLL(TelemetryTable.ATTITUDE, 1e-4, (data, offset) -> signed(data, offset + 5, 2)),
+
+    /**
+     * Yaw in radians.
+     */
+    ATTITUDE_YAW(TelemetryTable.ATTITUDE, 1e-4, (data, offset) -> signed(data, offset + 7, 2)),
+
+    /**
+     * Uplink RSSI of the first antenna in dBm.
+     */
+    LINK_UPLINK_RSSI_1(TelemetryTable.LINK_STATISTICS, -1, (data, offset) -> unsigned(data, offset + 3, 1)),
+
+    /**
+     * Uplink RSSI of the second antenna in dBm.
+     */
+    LINK_UPLINK_RSSI_2(TelemetryTable.LINK_STATISTICS, -1, (data, offset) -> unsigned(data, offset + 4, 1)),
+
+    /**
+     * Uplink link quality in percent.
+     */
+    LINK_UPLINK_QUALITY(TelemetryTable.LINK_STATISTICS, 1, (data, offset) -> unsigned(data, offset + 5, 1)),
+
+    /**
+     * Uplink signal-to-noise ratio in dB.
+     */
+    LINK_UPLINK_SNR(TelemetryTable.LINK_STATISTICS, 1, (data, offset) -> signed(data, offset + 6, 1)),
+
+    /**
+     * Active antenna.
+     */
+    LINK_ACTIVE_ANTENNA(TelemetryTable.LINK_STATISTICS, 1, (data, offset) -> unsigned(data, offset + 7, 1)),
+
+    /**
+     * RF mode.
+     */
+    LINK_RF_MODE(TelemetryTable.LINK_STATISTICS, 1, (data, offset) -> unsigned(data, offset + 8, 1)),
+
+    /**
+     * Uplink transmit power level.
+     */
+    LINK_UPLINK_POWER(TelemetryTable.LINK_STATISTICS, 1, (data, offset) -> unsigned(data, offset + 9, 1)),
+
+    /**
+     * Downlink RSSI in dBm.
+     */
+    LINK_DOWNLINK_RSSI(TelemetryTable.LINK_STATISTICS, -1, (data, offset) -> unsigned(data, offset + 10, 1)),
+
+    /**
+     * Downlink link quality in percent.
+     */
+    LINK_DOWNLINK_QUALITY(TelemetryTable.LINK_STATISTICS, 1, (data, offset) -> unsigned(data, offset + 11, 1)),
+
+    /**
+     * Downlink signal-to-noise ratio in dB.
+     */
+    LINK_DOWNLINK_SNR(TelemetryTable.LINK_STATISTICS, 1, (data, offset) -> signed(data, offset + 12, 1)),
+
+    /**
+     * Barometric altitude in meters.
+     */
+    BAROMETER_ALTITUDE(TelemetryTable.BAROMETER, 0.1, TelemetryColumn::barometerDecimeters);
+
+    private static final Map<TelemetryTable, TelemetryColumn[]> COLUMNS = new EnumMap<>(TelemetryTable.class);
+
+    static {
+        for (TelemetryTable table : TelemetryTable.values()) {
+            List<TelemetryColumn> columns = new ArrayList<>();
+
+            for (TelemetryColumn column : values()) {
+                if (column.table == null || column.table == table) {
+                    columns.add(column);
+                }
+            }
+
+            COLUMNS.put(table, columns.toArray(new TelemetryColumn[0]));
+        }
+    }
+
+    private final TelemetryTable table;
+
+    private final double scale;
+
+    private final FieldExtractor extractor;
+
+    TelemetryColumn(final TelemetryTable table, final double scale, final FieldExtractor extractor) {
+        this.table = table;
+        this.scale = scale;
+        this.extractor = extractor;
+    }
+
+    /**
+     * Returns the table this column belongs to.
+     *
+     * @return the table, or null for the columns shared by every table.
+     */
+    public TelemetryTable getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the factor converting stored values to the unit of the column.
+     *
+     * @return the scale.
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Converts a stored value to the unit of the column.
+     *
+     * @param value the stored value.
+     * @return the value in the unit of the column.
+     */
+    public double toUnit(final long value) {
+        return value * scale;
+    }
+
+    /**
+     * Returns the columns of a table, in storage order. The array is shared and must not be modified.
+     *
+     * @param table the table.
+     * @return the columns.
+     */
+    static TelemetryColumn[] columnsOf(final TelemetryTable table) {
+        return COLUMNS.get(table);
+    }
+
+    /**
+     * Reads the value of this column from a raw frame of its table.
+     *
+     * @param data   the array holding the frame.
+     * @param offset the offset of the frame's sync byte.
+     * @return the stored value.
+     */
+    long extract(final byte[] data, final int offset) {
+        return extractor.extract(data, offset);
+    }
+
+    private static long unsigned(final byte[] data, final int offset, final int size) {
+        return TelemetryHelper.binaryToInt(data, offset, offset + size) & 0xFFFFFFFFL;
+    }
+
+    private static long signed(final byte[] data, final int offset, final int size) {
+        int shift = Integer.SIZE - size * Byte.SIZE;
+
+        return TelemetryHelper.binaryToInt(data, offset, offset + size) << shift >> shift;
+    }
+
+    /**
+     * Decodes the altitude like {@link TelemetryHelper#getBarometerAltitude(byte[])}, without allocating.
+     */
+    private static long barometerDecimeters(final byte[] data, final int offset) {
+        int raw = (int) unsigned(data, offset + 3, 2);
+
+        // High bit set: meters; otherwise decimeters offset by 10000
+        return (raw & 0x8000) != 0 ? (raw & 0x7FFF) * 10L : raw - 10000L;
+    }
+
+    @FunctionalInterface
+    private interface FieldExtractor {
+
+        long extract(byte[] data, int offset);
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package systems.beep.archive;
+
+import systems.beep.crossfire.frame.sub.FrameType;
+
+/**
+ * The telemetry frame types kept by a {@link TelemetryArchiver}, each stored as a table of
+ * {@link TelemetryColumn columns}.
+ */
+public enum TelemetryTable {
+
+    /**
+     * Position, speed, heading, altitude and satellite count from {@link FrameType#GPS} frames.
+     */
+    GPS(FrameType.GPS, 19),
+
+    /**
+     * Voltage, current, consumed capacity and remaining charge from {@link FrameType#BATTERY_SENSOR} frames.
+     */
+    BATTERY(FrameType.BATTERY_SENSOR, 12),
+
+    /**
+     * Pitch, roll and yaw from {@link FrameType#ATTITUDE} frames.
+     */
+    ATTITUDE(FrameType.ATTITUDE, 10),
+
+    /**
+     * Signal strength, quality and radio settings from {@link FrameType#LINK_LINK_STATISTICS} frames.
+     */
+    LINK_STATISTICS(FrameType.LINK_LINK_STATISTICS, 14),
+
+    /**
+     * Barometric altitude from {@link FrameType#BARO_ALTITUDE} frames.
+     */
+    BAROMETER(FrameType.BARO_ALTITUDE, 6);
+
+    private static final TelemetryTable[] LOOKUP = new TelemetryTable[256];
+
+    static {
+        for (TelemetryTable table : values()) {
+            LOOKUP[table.frameType.getValue() & 0xFF] = table;
+        }
+    }
+
+    private final FrameType frameType;
+
+    private final int minLength;
+
+    TelemetryTable(final FrameType frameType, final int minLength) {
+        this.frameType = frameType;
+        this.minLength = minLength;
+    }
+
+    /**
+     * Returns the table that keeps frames of the given type.
+     *
+     * @param type the frame type byte.
+     * @return the table, or null if frames of this type are not archived.
+     */
+    public static TelemetryTable fromType(final byte type) {
+        return LOOKUP[type & 0xFF];
+    }
+
+    /**
+     * Returns the frame type kept in this table.
+     *
+     * @return the frame type.
+     */
+    public FrameType getFrameType() {
+        return frameType;
+    }
+
+    /**
+     * Returns the columns of this table, starting with {@link TelemetryColumn#TIMESTAMP} and
+     * {@link TelemetryColumn#LINK_ID}.
+     *
+     * @return a new array of the columns, in identifier order.
+     */
+    public TelemetryColumn[] getColumns() {
+        return TelemetryColumn.columnsOf(this).clone();
+    }
+
+    /**
+     * Returns the smallest raw frame, including sync, length and CRC bytes, holding every field.
+     *
+     * @return the minimum raw frame length.
+     */
+    int getMinLength() {
+        return minLength;
+    }
+
+}
@@ -11,6 +11,23 @@ package systems.beep.crossfire.frame;
  */
 public class AttitudeFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code AttitudeFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public AttitudeFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code AttitudeFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new AttitudeFrame();
+    }
+
     /**
      * Constructs an {@code AttitudeFrame} from the raw data received in a CRSF packet.
      *
@@ -51,7 +68,7 @@ public class AttitudeFrame extends CRSFFrame {
      * @return the pitch angle in radians/10000.
      */
     public float getPitch() {
-        return (float) (((short) ((rawData[3] << 8) | (rawData[5] & 0xFF)) / 1000.0f) * DEGREES / 10);
+        return (float) (((short) ((rawByte(3) << 8) | (rawByte(5) & 0xFF)) / 1000.0f) * DEGREES / 10);
     }
 
     /**
@@ -61,7 +78,7 @@ public class AttitudeFrame extends CRSFFrame {
      * @return the roll angle in radians/10000.
      */
     public float getRoll() {
-        return (float) (((short) ((rawData[5] << 8) | (rawData[6] & 0xFF)) / 1000.0f) * DEGREES / 10);
+        return (float) (((short) ((rawByte(5) << 8) | (rawByte(6) & 0xFF)) / 1000.0f) * DEGREES / 10);
     }
 
     /**
@@ -71,7 +88,7 @@ public class AttitudeFrame extends CRSFFrame {
      * @return the yaw angle in radians/10000.
      */
     public float getYaw() {
-        return (float) (((short) ((rawData[7] << 8) | (rawData[8] & 0xFF)) / 1000.0f) * DEGREES / 10);
+        return (float) (((short) ((rawByte(7) << 8) | (rawByte(8) & 0xFF)) / 1000.0f) * DEGREES / 10);
     }
 
     /**
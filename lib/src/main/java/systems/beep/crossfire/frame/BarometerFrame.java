@@ -16,6 +16,23 @@ import java.util.Arrays;
  */
 public class BarometerFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code BarometerFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public BarometerFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code BarometerFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new BarometerFrame();
+    }
+
     /**
      * Constructs a {@code BarometerFrame} from the raw data received in a CRSF packet.
      *
@@ -56,7 +73,7 @@ public class BarometerFrame extends CRSFFrame {
      * @return the altitude in meters.
      */
     public float getAltitude() {
-        return TelemetryHelper.getBarometerAltitude(Arrays.copyOfRange(rawData, 3, 5));
+        return TelemetryHelper.getBarometerAltitude(Arrays.copyOfRange(rawBuffer(), rawOffset() + 3, rawOffset() + 5));
     }
 
     /**
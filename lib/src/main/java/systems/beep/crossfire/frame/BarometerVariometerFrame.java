@@ -17,6 +17,23 @@ import java.util.Arrays;
  */
 public class BarometerVariometerFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code BarometerVariometerFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public BarometerVariometerFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code BarometerVariometerFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new BarometerVariometerFrame();
+    }
+
     /**
      * Constructs a {@code BarometerVariometerFrame} from the raw data received in a CRSF packet.
      *
@@ -58,7 +75,7 @@ public class BarometerVariometerFrame extends CRSFFrame {
      * @return the altitude in meters.
      */
     public float getAltitude() {
-        return TelemetryHelper.getBarometerAltitude(Arrays.copyOfRange(rawData, 3, 5));
+        return TelemetryHelper.getBarometerAltitude(Arrays.copyOfRange(rawBuffer(), rawOffset() + 3, rawOffset() + 5));
     }
 
     /**
@@ -70,7 +87,7 @@ public class BarometerVariometerFrame extends CRSFFrame {
      * @return the vertical speed in meters per second.
      */
     public float getVerticalSpeed() {
-        return ((short) ((rawData[5] << 8) | (rawData[6] & 0xFF))) / 100.0f;
+        return ((short) ((rawByte(5) << 8) | (rawByte(6) & 0xFF))) / 100.0f;
     }
 
 }
@@ -1,6 +1,6 @@
 package systems.beep.crossfire.frame;
 
-import java.nio.ByteBuffer;
+import systems.beep.helper.TelemetryHelper;
 
 /**
  * Represents a CRSF (Crossfire) protocol frame for battery sensor telemetry data.
@@ -14,6 +14,23 @@ import java.nio.ByteBuffer;
  */
 public class BatteryFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code BatteryFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public BatteryFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code BatteryFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new BatteryFrame();
+    }
+
     /**
      * Constructs a {@code BatteryFrame} from the raw data received in a CRSF packet.
      *
@@ -58,7 +75,7 @@ public class BatteryFrame extends CRSFFrame {
      * @return the voltage in volts.
      */
     public double getVoltage() {
-        short value = (short) ((rawData[3] & 0xFF) | ((rawData[4] & 0xFF) << 8));
+        short value = (short) ((rawByte(3) & 0xFF) | ((rawByte(4) & 0xFF) << 8));
         return Short.reverseBytes(value) / 10.0;
     }
 
@@ -71,7 +88,7 @@ public class BatteryFrame extends CRSFFrame {
      * @return the current in amperes.
      */
     public double getCurrent() {
-        short value = (short) ((rawData[5] & 0xFF) | ((rawData[6] & 0xFF) << 8));
+        short value = (short) ((rawByte(5) & 0xFF) | ((rawByte(6) & 0xFF) << 8));
         return Short.reverseBytes(value) / 10.0;
     }
 
@@ -83,7 +100,7 @@ public class BatteryFrame extends CRSFFrame {
      * @return the used capacity in milliamp-hours.
      */
     public double getFuel() {
-        return ByteBuffer.wrap(new byte[]{0, rawData[7], rawData[8], rawData[9]}).getInt();
+        return TelemetryHelper.binaryToInt(rawBuffer(), rawOffset() + 7, rawOffset() + 10);
     }
 
     /**
@@ -93,7 +110,7 @@ public class BatteryFrame extends CRSFFrame {
      * @return the remaining battery percentage.
      */
     public float getRemaining() {
-        return rawData[10];
+        return rawByte(10);
     }
 
     /**
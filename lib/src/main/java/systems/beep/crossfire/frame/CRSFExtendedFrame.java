@@ -18,6 +18,13 @@ public abstract class CRSFExtendedFrame extends CRSFFrame {
      */
     public static final int MIN_SIZE = 6;
 
+    /**
+     * Constructs an unbound {@code CRSFExtendedFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    protected CRSFExtendedFrame() {
+        super();
+    }
+
     /**
      * Constructs a CRSFExtendedFrame with the given raw data.
      *
@@ -34,10 +41,13 @@ public abstract class CRSFExtendedFrame extends CRSFFrame {
      * @throws IncorrectAddressException if the destination address is invalid.
      */
     public Address getDestination() {
-        return Arrays.stream(Address.values())
-                .filter(item -> item.getValue() == rawData[3])
-                .findAny()
-                .orElseThrow(IncorrectAddressException::new);
+        Address result = Address.fromByte(rawByte(3));
+
+        if (result == Address.UNKNOWN) {
+            throw new IncorrectAddressException();
+        }
+
+        return result;
     }
 
     /**
@@ -47,10 +57,13 @@ public abstract class CRSFExtendedFrame extends CRSFFrame {
      * @throws IncorrectAddressException if the source address is invalid.
      */
     public Address getSource() {
-        return Arrays.stream(Address.values())
-                .filter(item -> item.getValue() == rawData[4])
-                .findAny()
-                .orElseThrow(IncorrectAddressException::new);
+        Address result = Address.fromByte(rawByte(4));
+
+        if (result == Address.UNKNOWN) {
+            throw new IncorrectAddressException();
+        }
+
+        return result;
     }
 
     /**
@@ -60,10 +73,13 @@ public abstract class CRSFExtendedFrame extends CRSFFrame {
      * @throws IncorrectFrameTypeException if the frame type is invalid.
      */
     public FrameType getExtendedFrameType() {
-        return Arrays.stream(FrameType.values())
-                .filter(item -> item.getValue() == rawData[5])
-                .findAny()
-                .orElseThrow(IncorrectFrameTypeException::new);
+        FrameType result = FrameType.fromByte(rawByte(5));
+
+        if (result == FrameType.UNKNOWN) {
+            throw new IncorrectFrameTypeException();
+        }
+
+        return result;
     }
 
     /**
@@ -72,7 +88,7 @@ public abstract class CRSFExtendedFrame extends CRSFFrame {
      * @return a byte array containing the data from the frame.
      */
     public byte[] getData() {
-        return Arrays.copyOfRange(rawData, 6, rawData.length);
+        return Arrays.copyOfRange(rawBuffer(), rawOffset() + 6, rawOffset() + getRawLength());
     }
 
 }
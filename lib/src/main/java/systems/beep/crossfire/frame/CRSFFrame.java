@@ -7,11 +7,30 @@ import systems.beep.exception.IncorrectAddressException;
 import systems.beep.exception.IncorrectFrameTypeException;
 import systems.beep.helper.CRCHelper;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
  * Represents a CRSF frame containing raw data and providing methods to
  * validate and access frame properties such as type, address, and data.
+ * <p>
+ * A frame either owns its byte array or is a reusable view over a region
+ * of a larger buffer, bound with {@link #wrap(byte[], int, int)}. Views handed out by a processor in
+ * flyweight mode are only valid until the consumer callback returns; use
+ * {@link #copy()} to retain one.
+ * </p>
+ * <p>
+ * Frames built from a byte array and frames returned by {@link #copy()} own their
+ * bytes and cannot be rebound. A frame built from a byte array keeps that array
+ * without copying it, so it only stays unchanged as long as neither the caller nor
+ * a holder of {@link #getRawData()} writes to the array. Only frames constructed
+ * unbound are views.
+ * </p>
+ * <p>
+ * Subclasses read their fields through {@link #rawByte(int)}, or through
+ * {@link #rawBuffer()} and {@link #rawOffset()} for helpers taking an array, so
+ * that the binding can only be changed by {@link #wrap(byte[], int, int, boolean)}.
+ * </p>
  */
 public abstract class CRSFFrame {
 
@@ -30,10 +49,26 @@ public abstract class CRSFFrame {
      */
     protected static final double DEGREES = 180.0 / Math.PI;
 
+    // Raw data of the frame, or the buffer the frame is a view over
+    private byte[] rawData;
+
+    // Index of the first frame byte in rawData
+    private int offset;
+
+    // Number of frame bytes in rawData
+    private int length;
+
+    // Whether this frame is a view that may be rebound with wrap()
+    private boolean view;
+
     /**
-     * Raw data of the frame
+     * Constructs an unbound frame view, which must be bound with
+     * {@link #wrap(byte[], int, int)} before it is used.
      */
-    protected final byte[] rawData;
+    protected CRSFFrame() {
+        this.rawData = new byte[0];
+        this.view = true;
+    }
 
     /**
      * Constructs a CRSFFrame with the provided raw data.
@@ -43,12 +78,171 @@ public abstract class CRSFFrame {
      */
     protected CRSFFrame(final byte[] data) throws CorruptedPackageException {
         this.rawData = data;
+        this.offset = 0;
+        this.length = data.length;
+        this.view = false;
 
         if (!checkCRC()) {
             throw new CorruptedPackageException("CRC check failed");
         }
     }
 
+    /**
+     * Binds this frame as a view over a region of a buffer without copying it.
+     * <p>
+     * The view is valid only for as long as the underlying bytes are left untouched.
+     * </p>
+     *
+     * @param data   the buffer holding the frame.
+     * @param offset the index of the first frame byte.
+     * @param length the number of frame bytes.
+     * @return this frame.
+     * @throws CorruptedPackageException if the CRC check fails.
+     * @throws IllegalStateException     if this frame owns its bytes and is not a view.
+     */
+    public CRSFFrame wrap(final byte[] data, final int offset, final int length) throws CorruptedPackageException {
+        return wrap(data, offset, length, true);
+    }
+
+    /**
+     * Binds this frame as a view over a region of a buffer without copying it, optionally
+     * skipping the CRC check.
+     * <p>
+     * Skipping the check is meant for decoders that already validated the CRC while the
+     * bytes were being received. A frame failing the check keeps its previous binding.
+     * </p>
+     *
+     * @param data      the buffer holding the frame.
+     * @param offset    the index of the first frame byte.
+     * @param length    the number of frame bytes.
+     * @param verifyCRC whether the CRC is checked.
+     * @return this frame.
+     * @throws CorruptedPackageException if the CRC is checked and the check fails.
+     * @throws IllegalStateException     if this frame owns its bytes and is not a view.
+     */
+    public CRSFFrame wrap(final byte[] data, final int offset, final int length, final boolean verifyCRC)
+            throws CorruptedPackageException {
+        if (!view) {
+            throw new IllegalStateException("Only frame views can be rebound.");
+        }
+
+        byte[] previousData = rawData;
+        int previousOffset = this.offset;
+        int previousLength = this.length;
+
+        this.rawData = data;
+        this.offset = offset;
+        this.length = length;
+
+        if (verifyCRC && !checkCRC()) {
+            this.rawData = previousData;
+            this.offset = previousOffset;
+            this.length = previousLength;
+
+            throw new CorruptedPackageException("CRC check failed");
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns a frame of the same type that owns a private copy of this frame's bytes.
+     * <p>
+     * This is how a view is detached from the buffer it points into when it has to be
+     * retained after the consumer callback returns. The copy is not a view: it cannot be
+     * rebound, so it is safe to share.
+     * </p>
+     *
+     * @return a detached copy of this frame.
+     */
+    public CRSFFrame copy() {
+        CRSFFrame result = newView();
+
+        result.rawData = Arrays.copyOfRange(rawData, offset, offset + length);
+        result.offset = 0;
+        result.length = length;
+        result.view = false;
+
+        return result;
+    }
+
+    /**
+     * Creates an unbound view of the same class as this frame, used by {@link #copy()}.
+     * <p>
+     * Subclasses supporting {@link #copy()} override this method; the default fails.
+     * </p>
+     *
+     * @return a new unbound frame.
+     * @throws UnsupportedOperationException if the subclass does not override this method.
+     */
+    protected CRSFFrame newView() {
+        throw new UnsupportedOperationException(getClass().getName() + " does not override newView(), so it cannot be copied.");
+    }
+
+    /**
+     * Retrieves a frame byte.
+     *
+     * @param index the index of the byte within the frame, the sync byte being at 0.
+     * @return the frame byte.
+     */
+    protected final byte rawByte(final int index) {
+        return rawData[offset + index];
+    }
+
+    /**
+     * Retrieves the buffer holding the frame, for helpers reading fields from an array.
+     * <p>
+     * The frame starts at {@link #rawOffset()} in the buffer. The buffer must not be modified.
+     * </p>
+     *
+     * @return the buffer holding the frame.
+     */
+    protected final byte[] rawBuffer() {
+        return rawData;
+    }
+
+    /**
+     * Retrieves the index of the first frame byte in {@link #rawBuffer()}.
+     *
+     * @return the index of the sync byte in the buffer.
+     */
+    protected final int rawOffset() {
+        return offset;
+    }
+
+    /**
+     * Copies the frame bytes into the given array.
+     *
+     * @param destination the destination array.
+     * @param position    the index in the destination array to copy to.
+     * @return the number of bytes copied.
+     */
+    public int copyTo(final byte[] destination, final int position) {
+        System.arraycopy(rawData, offset, destination, position, length);
+        return length;
+    }
+
+    /**
+     * Copies the frame bytes into the given buffer at its current position and advances the position.
+     *
+     * @param destination the destination buffer.
+     * @return the number of bytes copied.
+     * @throws java.nio.BufferOverflowException if the buffer has not enough remaining space.
+     */
+    public int copyTo(final ByteBuffer destination) {
+        destination.put(rawData, offset, length);
+        return length;
+    }
+
+    /**
+     * Retrieves the frame type byte without resolving or validating it.
+     *
+     * @return the raw frame type byte.
+     */
+    public byte getRawType() {
+        return rawData[offset + 2];
+    }
+
     /**
      * Retrieves the frame type from the frame.
      *
@@ -56,10 +250,13 @@ public abstract class CRSFFrame {
      * @throws IncorrectFrameTypeException if the frame type is invalid.
      */
     public FrameType getType() {
-        return Arrays.stream(FrameType.values())
-                .filter(item -> item.getValue() == rawData[2])
-                .findAny()
-                .orElseThrow(IncorrectFrameTypeException::new);
+        FrameType result = FrameType.fromByte(rawData[offset + 2]);
+
+        if (result == FrameType.UNKNOWN) {
+            throw new IncorrectFrameTypeException();
+        }
+
+        return result;
     }
 
     /**
@@ -69,19 +266,41 @@ public abstract class CRSFFrame {
      * @throws IncorrectAddressException if the address is invalid.
      */
     public Address getAddress() {
-        return Arrays.stream(Address.values())
-                .filter(item -> item.getValue() == rawData[0])
-                .findAny()
-                .orElseThrow(IncorrectAddressException::new);
+        Address result = Address.fromByte(rawData[offset]);
+
+        if (result == Address.UNKNOWN) {
+            throw new IncorrectAddressException();
+        }
+
+        return result;
     }
 
     /**
      * Retrieves the raw data of the frame.
+     * <p>
+     * A frame owning its bytes returns its own array without copying it, as it always has,
+     * so writing to that array changes the frame. A view returns a copy of its bytes, since
+     * the buffer it points into is reused; use {@link #copyTo(byte[], int)} to avoid the
+     * allocation.
+     * </p>
      *
-     * @return the raw byte array of the frame.
+     * @return the raw bytes of the frame.
      */
     public byte[] getRawData() {
-        return rawData;
+        if (!view) {
+            return rawData;
+        }
+
+        return Arrays.copyOfRange(rawData, offset, offset + length);
+    }
+
+    /**
+     * Retrieves the number of raw bytes making up the frame as received.
+     *
+     * @return the raw frame length in bytes.
+     */
+    public int getRawLength() {
+        return length;
     }
 
     /**
@@ -90,7 +309,7 @@ public abstract class CRSFFrame {
      * @return a byte array containing the data from the frame.
      */
     public byte[] getData() {
-        return Arrays.copyOfRange(rawData, 2, rawData.length);
+        return Arrays.copyOfRange(rawData, offset + 2, offset + length);
     }
 
     /**
@@ -99,7 +318,7 @@ public abstract class CRSFFrame {
      * @return true if the CRC is valid, false otherwise.
      */
     public boolean checkCRC() {
-        return CRCHelper.D5(rawData, 2, rawData.length - 1) == rawData[rawData.length - 1];
+        return CRCHelper.D5(rawData, offset + 2, offset + length - 1) == rawData[offset + length - 1];
     }
 
     /**
@@ -108,7 +327,7 @@ public abstract class CRSFFrame {
      * @return the size of the frame in bytes.
      */
     public int getFrameSize() {
-        return rawData.length;
+        return length;
     }
 
     /**
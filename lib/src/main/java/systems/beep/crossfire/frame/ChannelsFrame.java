@@ -5,6 +5,7 @@ import systems.beep.crossfire.frame.sub.FrameType;
 import systems.beep.helper.CRCHelper;
 import systems.beep.helper.TelemetryHelper;
 
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 
@@ -21,6 +22,28 @@ import java.util.Arrays;
  */
 public class ChannelsFrame extends CRSFFrame {
 
+    /**
+     * Number of RC channels carried by the frame.
+     */
+    public static final int CHANNEL_COUNT = 16;
+
+    /**
+     * Constructs an unbound {@code ChannelsFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public ChannelsFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code ChannelsFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new ChannelsFrame();
+    }
+
     /**
      * Constructs a {@code ChannelsFrame} from the given raw byte array.
      *
@@ -61,14 +84,46 @@ public class ChannelsFrame extends CRSFFrame {
      * @return an array containing the channel data in microseconds.
      */
     public int[] getChannels() {
-        int[] result = new int[16];
-        TelemetryHelper.unpackChannels(Arrays.copyOfRange(rawData, 3, rawData.length - 1), result);
+        int[] result = new int[CHANNEL_COUNT];
+        TelemetryHelper.unpackChannels(rawBuffer(), rawOffset() + 3, result);
+        TelemetryHelper.convertCRSFToMicroseconds(result, result, CHANNEL_COUNT);
+
+        return result;
+    }
 
-        for (int i = 0; i < result.length; i++) {
-            result[i] = TelemetryHelper.convertCRSFToMicroseconds(result[i]);
+    /**
+     * Retrieves the RC channel data in microseconds into a caller-supplied array.
+     * <p>
+     * The channels are unpacked straight from the frame bytes and nothing is allocated.
+     * Unlike {@link #getChannels()} this method does not throw on out-of-range values;
+     * they are converted with {@link TelemetryHelper#convertCRSFToMicrosecondsUnchecked(int)}.
+     * </p>
+     *
+     * @param out an array of at least {@link #CHANNEL_COUNT} elements to receive the channel data.
+     * @return the given array.
+     */
+    public int[] getChannels(final int[] out) {
+        getRawChannels(out);
+
+        for (int i = 0; i < CHANNEL_COUNT; i++) {
+            out[i] = TelemetryHelper.convertCRSFToMicrosecondsUnchecked(out[i]);
         }
 
-        return result;
+        return out;
+    }
+
+    /**
+     * Retrieves the raw 11-bit CRSF channel values into a caller-supplied array.
+     * <p>
+     * The channels are unpacked straight from the frame bytes and nothing is allocated.
+     * </p>
+     *
+     * @param out an array of at least {@link #CHANNEL_COUNT} elements to receive the channel data.
+     * @return the given array.
+     */
+    public int[] getRawChannels(final int[] out) {
+        TelemetryHelper.unpackChannels(rawBuffer(), rawOffset() + 3, out);
+        return out;
     }
 
     /**
@@ -76,7 +131,7 @@ public class ChannelsFrame extends CRSFFrame {
      * This builder allows setting the address and the RC channels data, then
      * generates a byte array representing the channels frame.
      */
-    public static class ChannelsFrameBuilder {
+    public static class ChannelsFrameBuilder implements FrameEncoder {
 
         private Address address;
 
@@ -105,10 +160,7 @@ public class ChannelsFrame extends CRSFFrame {
             this.channels = new byte[22];
             int[] convertedChannels = new int[channels.length];
 
-            for (int i = 0; i < channels.length; i++) {
-                convertedChannels[i] = TelemetryHelper.convertMicrosecondsToCRSF(channels[i]);
-            }
-
+            TelemetryHelper.convertMicrosecondsToCRSF(channels, convertedChannels, channels.length);
             TelemetryHelper.packChannels(convertedChannels, this.channels);
             return this;
         }
@@ -121,23 +173,48 @@ public class ChannelsFrame extends CRSFFrame {
          * @return a byte array containing the constructed frame.
          */
         public byte[] build() {
-            int packetSize = channels.length + 4;
-            int payloadSize = channels.length + 2;
+            byte[] result = new byte[getEncodedLength()];
 
-            byte[] result = new byte[packetSize];
+            encode(ByteBuffer.wrap(result));
 
-            result[0] = address.getValue();
-            result[1] = (byte) payloadSize;
-            result[2] = FrameType.RC_CHANNELS_PACKED.getValue();
+            return result;
+        }
 
-            ByteBuffer buffer = ByteBuffer.wrap(result);
-            buffer.position(3);
+        /**
+         * Returns the raw length of the channels frame.
+         *
+         * @return the encoded length in bytes.
+         */
+        @Override
+        public int getEncodedLength() {
+            return channels.length + 4;
+        }
+
+        /**
+         * Writes the channels frame into a buffer at its current position, without allocating.
+         *
+         * @param buffer the buffer to write into.
+         * @return the number of bytes written.
+         * @throws BufferOverflowException if the frame does not fit in the buffer.
+         */
+        @Override
+        public int encode(final ByteBuffer buffer) {
+            int packetSize = getEncodedLength();
+            int start = buffer.position();
+
+            if (buffer.remaining() < packetSize) {
+                throw new BufferOverflowException();
+            }
+
+            buffer.put(address.getValue());
+            buffer.put((byte) (channels.length + 2));
+            buffer.put(FrameType.RC_CHANNELS_PACKED.getValue());
             buffer.put(this.channels);
 
             // Calculate the CRC and set it in the last byte
-            result[packetSize - 1] = CRCHelper.D5(result, 2, result.length - 1);
+            buffer.put(CRCHelper.D5(buffer, start + 2, start + packetSize - 1));
 
-            return result;
+            return packetSize;
         }
     }
 
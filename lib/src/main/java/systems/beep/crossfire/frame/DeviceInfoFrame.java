@@ -19,7 +19,22 @@ import java.util.Arrays;
  */
 public class DeviceInfoFrame extends CRSFExtendedFrame {
 
-    private final int offset; // Offset used for parsing the device info data
+    /**
+     * Constructs an unbound {@code DeviceInfoFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public DeviceInfoFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code DeviceInfoFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new DeviceInfoFrame();
+    }
 
     /**
      * Constructs a DeviceInfoFrame with the provided raw data.
@@ -28,8 +43,6 @@ public class DeviceInfoFrame extends CRSFExtendedFrame {
      */
     public DeviceInfoFrame(final byte[] rawData) {
         super(rawData);
-        // Find the offset to extract the correct device name from the data
-        offset = systems.beep.helper.TelemetryHelper.findOffset(getData()) + 1;
     }
 
     /**
@@ -54,7 +67,7 @@ public class DeviceInfoFrame extends CRSFExtendedFrame {
      * @return the device's display name as a string.
      */
     public String getDeviceName() {
-        return new String(Arrays.copyOfRange(getData(), 0, offset - 1));
+        return new String(Arrays.copyOfRange(rawBuffer(), rawOffset() + 6, rawOffset() + infoOffset() - 1));
     }
 
     /**
@@ -63,7 +76,7 @@ public class DeviceInfoFrame extends CRSFExtendedFrame {
      * @return the serial number as a string.
      */
     public String getSerialNumber() {
-        return new String(Arrays.copyOfRange(getData(), offset, offset + 4));
+        return new String(Arrays.copyOfRange(rawBuffer(), rawOffset() + infoOffset(), rawOffset() + infoOffset() + 4));
     }
 
     /**
@@ -72,7 +85,8 @@ public class DeviceInfoFrame extends CRSFExtendedFrame {
      * @return the hardware version formatted as a string (e.g., "1.0.0").
      */
     public String getHardwareVersion() {
-        return String.format("%d.%d.%d", getData()[offset + 5], getData()[offset + 6], getData()[offset + 7]);
+        int position = infoOffset();
+        return String.format("%d.%d.%d", rawByte(position + 5), rawByte(position + 6), rawByte(position + 7));
     }
 
     /**
@@ -81,7 +95,8 @@ public class DeviceInfoFrame extends CRSFExtendedFrame {
      * @return the software version formatted as a string (e.g., "1.0.0").
      */
     public String getSoftwareVersion() {
-        return String.format("%d.%d.%d", getData()[offset + 9], getData()[offset + 10], getData()[offset + 11]);
+        int position = infoOffset();
+        return String.format("%d.%d.%d", rawByte(position + 9), rawByte(position + 10), rawByte(position + 11));
     }
 
     /**
@@ -90,7 +105,7 @@ public class DeviceInfoFrame extends CRSFExtendedFrame {
      * @return the number of fields as an integer.
      */
     public int getFieldCount() {
-        return getData()[offset + 12];
+        return rawByte(infoOffset() + 12);
     }
 
     /**
@@ -99,7 +114,22 @@ public class DeviceInfoFrame extends CRSFExtendedFrame {
      * @return the parameter version as an integer.
      */
     public int getParameterVersion() {
-        return getData()[offset + 13];
+        return rawByte(infoOffset() + 13);
+    }
+
+    /**
+     * Finds where the device information following the null-terminated device name starts.
+     *
+     * @return the index in the frame of the first byte after the device name terminator.
+     */
+    private int infoOffset() {
+        for (int i = 6; i < getRawLength(); i++) {
+            if (rawByte(i) == 0) {
+                return i + 1;
+            }
+        }
+
+        return 6;
     }
 
 }
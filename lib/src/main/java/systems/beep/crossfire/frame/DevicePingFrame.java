@@ -4,6 +4,9 @@ import systems.beep.crossfire.frame.sub.Address;
 import systems.beep.crossfire.frame.sub.FrameType;
 import systems.beep.helper.CRCHelper;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 /**
  * Represents a device ping frame that initiates a communication
  * request to a device.
@@ -17,6 +20,23 @@ import systems.beep.helper.CRCHelper;
  */
 public class DevicePingFrame extends CRSFExtendedFrame {
 
+    /**
+     * Constructs an unbound {@code DevicePingFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public DevicePingFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code DevicePingFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new DevicePingFrame();
+    }
+
     /**
      * Constructs a DevicePingFrame using the provided raw data.
      *
@@ -60,7 +80,7 @@ public class DevicePingFrame extends CRSFExtendedFrame {
     /**
      * Builder class for constructing a DevicePingFrame.
      */
-    public static class DevicePingFrameBuilder {
+    public static class DevicePingFrameBuilder implements FrameEncoder {
 
         private Address source;        // The source address of the frame
 
@@ -94,17 +114,47 @@ public class DevicePingFrame extends CRSFExtendedFrame {
          * @return the constructed byte array for the frame.
          */
         public byte[] build() {
-            byte[] result = new byte[6];
+            byte[] result = new byte[getEncodedLength()];
 
-            result[0] = FRAME_SYNC_BYTE; // Sync byte
-            result[1] = 4; // Payload size (excluding sync byte)
-            result[2] = FrameType.DEVICE_PING.getValue(); // Frame type
-            result[3] = destination.getValue(); // Destination address
-            result[4] = source.getValue(); // Source address
-            result[5] = CRCHelper.D5(result, 2, result.length - 1); // CRC
+            encode(ByteBuffer.wrap(result));
 
             return result;
         }
+
+        /**
+         * Returns the raw length of the DevicePingFrame.
+         *
+         * @return the encoded length in bytes.
+         */
+        @Override
+        public int getEncodedLength() {
+            return 6;
+        }
+
+        /**
+         * Writes the DevicePingFrame into a buffer at its current position, without allocating.
+         *
+         * @param buffer the buffer to write into.
+         * @return the number of bytes written.
+         * @throws BufferOverflowException if the frame does not fit in the buffer.
+         */
+        @Override
+        public int encode(final ByteBuffer buffer) {
+            int start = buffer.position();
+
+            if (buffer.remaining() < 6) {
+                throw new BufferOverflowException();
+            }
+
+            buffer.put(FRAME_SYNC_BYTE); // Sync byte
+            buffer.put((byte) 4); // Payload size (excluding sync byte)
+            buffer.put(FrameType.DEVICE_PING.getValue()); // Frame type
+            buffer.put(destination.getValue()); // Destination address
+            buffer.put(source.getValue()); // Source address
+            buffer.put(CRCHelper.D5(buffer, start + 2, start + 5)); // CRC
+
+            return 6;
+        }
     }
 
 }
@@ -16,6 +16,23 @@ package systems.beep.crossfire.frame;
  */
 public class FlightModeFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code FlightModeFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public FlightModeFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code FlightModeFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new FlightModeFrame();
+    }
+
     /**
      * Constructs a FlightModeFrame using the provided raw data.
      *
@@ -48,11 +65,11 @@ public class FlightModeFrame extends CRSFFrame {
      */
     public String getMode() {
         // Ensure that there is enough data to extract the mode
-        if (rawData.length < 4) {
+        if (getRawLength() < 4) {
             throw new IllegalArgumentException("Insufficient raw data to extract mode.");
         }
         // Extract mode from rawData (starting from index 2 to the second last byte)
-        return new String(rawData, 2, rawData.length - 4);
+        return new String(rawBuffer(), rawOffset() + 2, getRawLength() - 4);
     }
 
     /**
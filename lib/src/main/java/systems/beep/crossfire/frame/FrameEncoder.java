@@ -0,0 +1,33 @@
+package systems.beep.crossfire.frame;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes a CRSF (Crossfire) frame into a caller-supplied buffer.
+ * <p>
+ * Frame builders implement this interface alongside their {@code build()} method, so outbound
+ * frames can be encoded straight into a reusable or direct buffer, such as the buffer of a
+ * {@link systems.beep.transport.OutboundBatch}, without allocating an array per frame.
+ * </p>
+ */
+public interface FrameEncoder {
+
+    /**
+     * Returns the raw length of the frame this encoder writes, including sync, length and CRC bytes.
+     *
+     * @return the encoded length in bytes.
+     */
+    int getEncodedLength();
+
+    /**
+     * Writes the frame into a buffer at its current position and advances the position past it.
+     * Nothing is written if the frame does not fit.
+     *
+     * @param buffer the buffer to write into.
+     * @return the number of bytes written.
+     * @throws BufferOverflowException if the buffer has less than {@link #getEncodedLength()} bytes remaining.
+     */
+    int encode(ByteBuffer buffer);
+
+}
@@ -15,6 +15,23 @@ import systems.beep.helper.TelemetryHelper;
  */
 public class GPSFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code GPSFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public GPSFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code GPSFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new GPSFrame();
+    }
+
     /**
      * Constructs a GPSFrame using the provided raw data.
      *
@@ -57,7 +74,7 @@ public class GPSFrame extends CRSFFrame {
      * @return the latitude in degrees, where the raw value is multiplied by 1e7 and stored in big-endian format.
      */
     public double getLatitude() {
-        return (double) TelemetryHelper.binaryToInt(rawData, 3, 7) / 10_000_000;
+        return (double) TelemetryHelper.binaryToInt(rawBuffer(), rawOffset() + 3, rawOffset() + 7) / 10_000_000;
     }
 
     /**
@@ -66,7 +83,7 @@ public class GPSFrame extends CRSFFrame {
      * @return the longitude in degrees, where the raw value is multiplied by 1e7 and stored in big-endian format.
      */
     public double getLongitude() {
-        return (double) TelemetryHelper.binaryToInt(rawData, 7, 11) / 10_000_000;
+        return (double) TelemetryHelper.binaryToInt(rawBuffer(), rawOffset() + 7, rawOffset() + 11) / 10_000_000;
     }
 
     /**
@@ -75,7 +92,7 @@ public class GPSFrame extends CRSFFrame {
      * @return the ground speed in km/h, where the raw value is multiplied by 10 and stored in big-endian format.
      */
     public double getGroundSpeed() {
-        return (double) TelemetryHelper.binaryToShort(rawData, 11, 13) / 100;
+        return (double) TelemetryHelper.binaryToShort(rawBuffer(), rawOffset() + 11, rawOffset() + 13) / 100;
     }
 
     /**
@@ -84,7 +101,7 @@ public class GPSFrame extends CRSFFrame {
      * @return the heading in degrees, where the raw value is multiplied by 100 and stored in big-endian format.
      */
     public double getHeading() {
-        return (double) TelemetryHelper.binaryToShort(rawData, 13, 15) / 100;
+        return (double) TelemetryHelper.binaryToShort(rawBuffer(), rawOffset() + 13, rawOffset() + 15) / 100;
     }
 
     /**
@@ -93,7 +110,7 @@ public class GPSFrame extends CRSFFrame {
      * @return the GPS altitude in meters, adjusted by subtracting 1000 meters, with values stored in big-endian format.
      */
     public int getAltitude() {
-        return (int) TelemetryHelper.binaryToShort(rawData, 15, 17) - 1000;
+        return (int) TelemetryHelper.binaryToShort(rawBuffer(), rawOffset() + 15, rawOffset() + 17) - 1000;
     }
 
     /**
@@ -102,7 +119,7 @@ public class GPSFrame extends CRSFFrame {
      * @return the count of satellites.
      */
     public int getSatellites() {
-        return rawData[17];
+        return rawByte(17);
     }
 
     /**
@@ -14,6 +14,23 @@ package systems.beep.crossfire.frame;
  */
 public class HeartbeatFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code HeartbeatFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public HeartbeatFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code HeartbeatFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new HeartbeatFrame();
+    }
+
     /**
      * Constructs a HeartbeatFrame using the provided raw data.
      *
@@ -43,7 +60,7 @@ public class HeartbeatFrame extends CRSFFrame {
      */
     public int getOriginDeviceAddress() {
         // Assuming the origin device address is stored at a specific index in the rawData
-        return rawData[3]; // Adjust the index based on the actual protocol specification
+        return rawByte(3); // Adjust the index based on the actual protocol specification
     }
 
     /**
@@ -14,6 +14,23 @@ import systems.beep.helper.FormatHelper;
  */
 public class HexFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code HexFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public HexFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code HexFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new HexFrame();
+    }
+
     /**
      * Constructs a HexFrame using the provided raw data.
      *
@@ -32,7 +49,7 @@ public class HexFrame extends CRSFFrame {
     @Override
     public String toString() {
         return "HexFrame |" +
-                " Data: " + FormatHelper.byteArrayToHexSpaced(rawData);
+                " Data: " + FormatHelper.byteArrayToHexSpaced(getRawData());
     }
 
     /**
@@ -13,6 +13,23 @@ package systems.beep.crossfire.frame;
  */
 public class LinkRXFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code LinkRXFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public LinkRXFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code LinkRXFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new LinkRXFrame();
+    }
+
     /**
      * Constructs a LinkRXFrame using the provided raw data.
      *
@@ -48,27 +65,27 @@ public class LinkRXFrame extends CRSFFrame {
     /**
      * Retrieves the uplink RSSI (Received Signal Strength Indicator) percent.
      *
-     * @return the uplink RSSI percent extracted from rawData[4].
+     * @return the uplink RSSI percent extracted from frame byte 4.
      * @throws IllegalArgumentException if the raw data length is insufficient for RSSI retrieval.
      */
     public int getUplinkRSSI() {
-        if (rawData.length < 5) {
+        if (getRawLength() < 5) {
             throw new IllegalArgumentException("Invalid raw data length for RSSI retrieval.");
         }
-        return rawData[4];
+        return rawByte(4);
     }
 
     /**
      * Retrieves the downlink power index.
      *
-     * @return the downlink power index extracted from rawData[7].
+     * @return the downlink power index extracted from frame byte 7.
      * @throws IllegalArgumentException if the raw data length is insufficient for downlink power retrieval.
      */
     public int getDownlinkPower() {
-        if (rawData.length < 8) {
+        if (getRawLength() < 8) {
             throw new IllegalArgumentException("Invalid raw data length for downlink power retrieval.");
         }
-        return rawData[7];
+        return rawByte(7);
     }
 
     /**
@@ -4,6 +4,9 @@ import systems.beep.crossfire.frame.sub.Address;
 import systems.beep.crossfire.frame.sub.FrameType;
 import systems.beep.helper.CRCHelper;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 /**
  * Represents a LinkStatistics frame in the CRSF protocol.
  * <p>
@@ -17,6 +20,23 @@ import systems.beep.helper.CRCHelper;
  */
 public class LinkStatisticsFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code LinkStatisticsFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public LinkStatisticsFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code LinkStatisticsFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new LinkStatisticsFrame();
+    }
+
     /**
      * Constructs a LinkStatisticsFrame using the provided raw data.
      *
@@ -31,6 +51,25 @@ public class LinkStatisticsFrame extends CRSFFrame {
         }
     }
 
+    /**
+     * Binds this frame as a view over a region of a buffer and validates its length.
+     *
+     * @param data      the buffer holding the frame.
+     * @param offset    the index of the first frame byte.
+     * @param length    the number of frame bytes.
+     * @param verifyCRC whether the CRC is checked.
+     * @return this frame.
+     * @throws IllegalArgumentException if the frame is shorter than {@link #getFrameSize()}.
+     */
+    @Override
+    public CRSFFrame wrap(final byte[] data, final int offset, final int length, final boolean verifyCRC) {
+        if (length < getFrameSize()) {
+            throw new IllegalArgumentException("Invalid raw data length.");
+        }
+
+        return super.wrap(data, offset, length, verifyCRC);
+    }
+
     /**
      * Creates a builder for constructing a LinkStatisticsFrame.
      *
@@ -78,7 +117,7 @@ public class LinkStatisticsFrame extends CRSFFrame {
      * @return the RSSI in dBm for the first uplink antenna.
      */
     public int getUplinkRSSI1() {
-        return rawData[3] * -1;  // Convert to dBm
+        return rawByte(3) * -1;  // Convert to dBm
     }
 
     /**
@@ -87,7 +126,7 @@ public class LinkStatisticsFrame extends CRSFFrame {
      * @return the RSSI in dBm for the second uplink antenna.
      */
     public int getUplinkRSSI2() {
-        return rawData[4] * -1;  // Convert to dBm
+        return rawByte(4) * -1;  // Convert to dBm
     }
 
     /**
@@ -96,7 +135,7 @@ public class LinkStatisticsFrame extends CRSFFrame {
      * @return the uplink link quality as a percentage.
      */
     public int getUplinkLinkQuality() {
-        return rawData[5];
+        return rawByte(5);
     }
 
     /**
@@ -105,7 +144,7 @@ public class LinkStatisticsFrame extends CRSFFrame {
      * @return the uplink SNR in dB.
      */
     public int getUplinkSNR() {
-        return rawData[6];
+        return rawByte(6);
     }
 
     /**
@@ -114,7 +153,7 @@ public class LinkStatisticsFrame extends CRSFFrame {
      * @return 0 for Antenna 1, 1 for Antenna 2.
      */
     public int getActiveAntenna() {
-        return rawData[7];
+        return rawByte(7);
     }
 
     /**
@@ -123,7 +162,7 @@ public class LinkStatisticsFrame extends CRSFFrame {
      * @return the RF mode identifier.
      */
     public int getRadioFrequencyMode() {
-        return rawData[8];
+        return rawByte(8);
     }
 
     /**
@@ -132,7 +171,7 @@ public class LinkStatisticsFrame extends CRSFFrame {
      * @return the transmitting power in milli watts (mW).
      */
     public int getUplinkPower() {
-        return rawData[9];
+        return rawByte(9);
     }
 
     /**
@@ -141,7 +180,7 @@ public class LinkStatisticsFrame extends CRSFFrame {
      * @return the RSSI in dBm for the downlink.
      */
     public int getDownlinkRSSI() {
-        return rawData[10] * -1;  // Convert to dBm
+        return rawByte(10) * -1;  // Convert to dBm
     }
 
     /**
@@ -150,7 +189,7 @@ public class LinkStatisticsFrame extends CRSFFrame {
      * @return the downlink link quality as a percentage.
      */
     public int getDownlinkLinkQuality() {
-        return rawData[11];
+        return rawByte(11);
     }
 
     /**
@@ -159,13 +198,13 @@ public class LinkStatisticsFrame extends CRSFFrame {
      * @return the downlink SNR in dB.
      */
     public int getDownlinkSNR() {
-        return rawData[12];
+        return rawByte(12);
     }
 
     /**
      * Builder class for constructing a LinkStatisticsFrame.
      */
-    public static class LinkStatisticsBuilder {
+    public static class LinkStatisticsBuilder implements FrameEncoder {
 
         private Address address;
 
@@ -318,29 +357,58 @@ public class LinkStatisticsFrame extends CRSFFrame {
          * @return a byte array representing the constructed LinkStatistics frame.
          */
         public byte[] build() {
-            int packetSize = 14; // Fixed packet size
-            int payloadSize = packetSize - 2;  // Address + size byte
+            byte[] result = new byte[getEncodedLength()];
 
-            byte[] result = new byte[packetSize];
+            encode(ByteBuffer.wrap(result));
 
-            result[0] = address.getValue();
-            result[1] = (byte) payloadSize;
-            result[2] = FrameType.LINK_LINK_STATISTICS.getValue();
-
-            result[3] = (byte) uplinkRSSI1;
-            result[4] = (byte) uplinkRSSI2;
-            result[5] = (byte) uplinkLinkQuality;
-            result[6] = (byte) uplinkSNR;
-            result[7] = (byte) activeAntenna;
-            result[8] = (byte) radioFrequencyMode;
-            result[9] = (byte) uplinkPower;
-            result[10] = (byte) downlinkRSSI;
-            result[11] = (byte) downlinkLinkQuality;
-            result[12] = (byte) downlinkSNR;
+            return result;
+        }
 
-            result[packetSize - 1] = CRCHelper.D5(result, 2, result.length - 1);
+        /**
+         * Returns the raw length of the LinkStatistics frame.
+         *
+         * @return the encoded length in bytes.
+         */
+        @Override
+        public int getEncodedLength() {
+            return 14; // Fixed packet size
+        }
 
-            return result;
+        /**
+         * Writes the LinkStatistics frame into a buffer at its current position, without allocating.
+         *
+         * @param buffer the buffer to write into.
+         * @return the number of bytes written.
+         * @throws BufferOverflowException if the frame does not fit in the buffer.
+         */
+        @Override
+        public int encode(final ByteBuffer buffer) {
+            int packetSize = getEncodedLength();
+            int payloadSize = packetSize - 2;  // Address + size byte
+            int start = buffer.position();
+
+            if (buffer.remaining() < packetSize) {
+                throw new BufferOverflowException();
+            }
+
+            buffer.put(address.getValue());
+            buffer.put((byte) payloadSize);
+            buffer.put(FrameType.LINK_LINK_STATISTICS.getValue());
+
+            buffer.put((byte) uplinkRSSI1);
+            buffer.put((byte) uplinkRSSI2);
+            buffer.put((byte) uplinkLinkQuality);
+            buffer.put((byte) uplinkSNR);
+            buffer.put((byte) activeAntenna);
+            buffer.put((byte) radioFrequencyMode);
+            buffer.put((byte) uplinkPower);
+            buffer.put((byte) downlinkRSSI);
+            buffer.put((byte) downlinkLinkQuality);
+            buffer.put((byte) downlinkSNR);
+
+            buffer.put(CRCHelper.D5(buffer, start + 2, start + packetSize - 1));
+
+            return packetSize;
         }
     }
 
@@ -13,6 +13,23 @@ package systems.beep.crossfire.frame;
  */
 public class LinkTXFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code LinkTXFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public LinkTXFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code LinkTXFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new LinkTXFrame();
+    }
+
     /**
      * Constructs a LinkTXFrame using the provided raw data.
      *
@@ -27,6 +44,25 @@ public class LinkTXFrame extends CRSFFrame {
         }
     }
 
+    /**
+     * Binds this frame as a view over a region of a buffer and validates its length.
+     *
+     * @param data      the buffer holding the frame.
+     * @param offset    the index of the first frame byte.
+     * @param length    the number of frame bytes.
+     * @param verifyCRC whether the CRC is checked.
+     * @return this frame.
+     * @throws IllegalArgumentException if the frame is shorter than {@link #getFrameSize()}.
+     */
+    @Override
+    public CRSFFrame wrap(final byte[] data, final int offset, final int length, final boolean verifyCRC) {
+        if (length < getFrameSize()) {
+            throw new IllegalArgumentException("Invalid raw data length.");
+        }
+
+        return super.wrap(data, offset, length, verifyCRC);
+    }
+
     /**
      * Returns the size of the LinkTX frame.
      *
@@ -57,7 +93,7 @@ public class LinkTXFrame extends CRSFFrame {
      * @return the downlink RSSI as a percentage.
      */
     public int getDownloadRSSI() {
-        return rawData[4];
+        return rawByte(4);
     }
 
     /**
@@ -66,7 +102,7 @@ public class LinkTXFrame extends CRSFFrame {
      * @return the uplink RF power index.
      */
     public int getUplinkPower() {
-        return rawData[7];  // Consider using an enum to represent possible values
+        return rawByte(7);  // Consider using an enum to represent possible values
     }
 
     /**
@@ -76,7 +112,7 @@ public class LinkTXFrame extends CRSFFrame {
      * @return the uplink packet rate in FPS.
      */
     public int getUplinkFPS() {
-        return rawData[8];  // Value represents FPS / 10
+        return rawByte(8);  // Value represents FPS / 10
     }
 
     /**
@@ -1,7 +1,6 @@
 package systems.beep.crossfire.frame;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import systems.beep.helper.TelemetryHelper;
 
 /**
  * Represents an OpenTx synchronization frame in the CRSF protocol.
@@ -16,6 +15,23 @@ import java.nio.ByteOrder;
  */
 public class OpenTxSyncFrame extends CRSFExtendedFrame {
 
+    /**
+     * Constructs an unbound {@code OpenTxSyncFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public OpenTxSyncFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code OpenTxSyncFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new OpenTxSyncFrame();
+    }
+
     /**
      * Constructs an OpenTxSyncFrame using the provided raw data.
      *
@@ -30,6 +46,25 @@ public class OpenTxSyncFrame extends CRSFExtendedFrame {
         }
     }
 
+    /**
+     * Binds this frame as a view over a region of a buffer and validates its length.
+     *
+     * @param data      the buffer holding the frame.
+     * @param offset    the index of the first frame byte.
+     * @param length    the number of frame bytes.
+     * @param verifyCRC whether the CRC is checked.
+     * @return this frame.
+     * @throws IllegalArgumentException if the frame is shorter than {@link #getFrameSize()}.
+     */
+    @Override
+    public CRSFFrame wrap(final byte[] data, final int offset, final int length, final boolean verifyCRC) {
+        if (length < getFrameSize()) {
+            throw new IllegalArgumentException("Invalid raw data length for OpenTxSyncFrame.");
+        }
+
+        return super.wrap(data, offset, length, verifyCRC);
+    }
+
     /**
      * Returns the size of the OpenTxSync frame.
      *
@@ -59,7 +94,7 @@ public class OpenTxSyncFrame extends CRSFExtendedFrame {
      * @return the rate value in microseconds.
      */
     public int getRate() {
-        return ByteBuffer.wrap(getData(), 0, 4).order(ByteOrder.BIG_ENDIAN).getInt();
+        return TelemetryHelper.binaryToInt(rawBuffer(), rawOffset() + 6, rawOffset() + 10);
     }
 
     /**
@@ -77,7 +112,7 @@ public class OpenTxSyncFrame extends CRSFExtendedFrame {
      * @return the offset value in microseconds.
      */
     public int getOffset() {
-        return ByteBuffer.wrap(getData(), 4, 4).order(ByteOrder.BIG_ENDIAN).getInt();
+        return TelemetryHelper.binaryToInt(rawBuffer(), rawOffset() + 10, rawOffset() + 14);
     }
 
 }
@@ -4,6 +4,9 @@ import systems.beep.crossfire.frame.sub.Address;
 import systems.beep.crossfire.frame.sub.FrameType;
 import systems.beep.helper.CRCHelper;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 /**
  * Represents a CRSF (Crossfire) protocol extended frame for reading parameter details.
  * <p>
@@ -15,6 +18,23 @@ import systems.beep.helper.CRCHelper;
  */
 public class ParameterReadFrame extends CRSFExtendedFrame {
 
+    /**
+     * Constructs an unbound {@code ParameterReadFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public ParameterReadFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code ParameterReadFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new ParameterReadFrame();
+    }
+
     /**
      * Constructs a {@code ParameterReadFrame} using the provided raw data.
      *
@@ -61,7 +81,7 @@ public class ParameterReadFrame extends CRSFExtendedFrame {
      * This builder allows setting the source, destination, field index, and chunk index
      * for the frame and generates the byte array representing the parameter read frame.
      */
-    public static class ParameterReadFrameBuilder {
+    public static class ParameterReadFrameBuilder implements FrameEncoder {
 
         private Address source;
 
@@ -123,20 +143,50 @@ public class ParameterReadFrame extends CRSFExtendedFrame {
          * @return a byte array containing the constructed parameter read frame.
          */
         public byte[] build() {
-            byte[] result = new byte[8];
+            byte[] result = new byte[getEncodedLength()];
 
-            result[0] = destination.getValue();
-            result[1] = 6;
-            result[2] = FrameType.PARAMETER_SETTINGS_READ.getValue();
-            result[3] = destination.getValue();
-            result[4] = source.getValue();
-            result[5] = (byte) fieldIndex;
-            result[6] = (byte) chunkIndex;
-            result[7] = CRCHelper.D5(result, 2, result.length - 1);
+            encode(ByteBuffer.wrap(result));
 
             return result;
         }
 
+        /**
+         * Returns the raw length of the {@code ParameterReadFrame}.
+         *
+         * @return the encoded length in bytes.
+         */
+        @Override
+        public int getEncodedLength() {
+            return 8;
+        }
+
+        /**
+         * Writes the {@code ParameterReadFrame} into a buffer at its current position, without allocating.
+         *
+         * @param buffer the buffer to write into.
+         * @return the number of bytes written.
+         * @throws BufferOverflowException if the frame does not fit in the buffer.
+         */
+        @Override
+        public int encode(final ByteBuffer buffer) {
+            int start = buffer.position();
+
+            if (buffer.remaining() < 8) {
+                throw new BufferOverflowException();
+            }
+
+            buffer.put(destination.getValue());
+            buffer.put((byte) 6);
+            buffer.put(FrameType.PARAMETER_SETTINGS_READ.getValue());
+            buffer.put(destination.getValue());
+            buffer.put(source.getValue());
+            buffer.put((byte) fieldIndex);
+            buffer.put((byte) chunkIndex);
+            buffer.put(CRCHelper.D5(buffer, start + 2, start + 7));
+
+            return 8;
+        }
+
     }
 
 }
@@ -21,6 +21,23 @@ import java.util.Arrays;
  */
 public class ParameterSettingsEntryFrame extends CRSFExtendedFrame {
 
+    /**
+     * Constructs an unbound {@code ParameterSettingsEntryFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public ParameterSettingsEntryFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code ParameterSettingsEntryFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new ParameterSettingsEntryFrame();
+    }
+
     /**
      * Constructs a {@code ParameterSettingsEntryFrame} using the provided raw data.
      *
@@ -37,7 +54,7 @@ public class ParameterSettingsEntryFrame extends CRSFExtendedFrame {
      */
     @Override
     public byte[] getData() {
-        return Arrays.copyOfRange(rawData, 5, rawData.length);
+        return Arrays.copyOfRange(rawBuffer(), rawOffset() + 5, rawOffset() + getRawLength());
     }
 
     /**
@@ -47,7 +64,7 @@ public class ParameterSettingsEntryFrame extends CRSFExtendedFrame {
      * @return the field index.
      */
     public int getFieldIndex() {
-        return getData()[0];
+        return rawByte(5);
     }
 
     /**
@@ -57,7 +74,7 @@ public class ParameterSettingsEntryFrame extends CRSFExtendedFrame {
      * @return the number of chunks remaining.
      */
     public int getChunksRemaining() {
-        return getData()[1];
+        return rawByte(6);
     }
 
     /**
@@ -67,7 +84,7 @@ public class ParameterSettingsEntryFrame extends CRSFExtendedFrame {
      * @return the parent ID.
      */
     public int getParentId() {
-        return getData()[2];
+        return rawByte(7);
     }
 
     /**
@@ -78,7 +95,7 @@ public class ParameterSettingsEntryFrame extends CRSFExtendedFrame {
      * @return the {@link CRSFFieldType} representing the data type of the field.
      */
     public CRSFFieldType getDataType() {
-        return (getData()[3] < 15) ? CRSFFieldType.values()[getData()[3]] : CRSFFieldType.CRSF_OUT_OF_RANGE;
+        return (rawByte(8) < 15) ? CRSFFieldType.values()[rawByte(8)] : CRSFFieldType.CRSF_OUT_OF_RANGE;
     }
 
     /**
@@ -88,7 +105,7 @@ public class ParameterSettingsEntryFrame extends CRSFExtendedFrame {
      * @return a byte array containing the label or value data for the parameter.
      */
     public byte[] getBuffer() {
-        return Arrays.copyOfRange(getData(), 4, getData().length - 1);
+        return Arrays.copyOfRange(rawBuffer(), rawOffset() + 9, rawOffset() + getRawLength() - 1);
     }
 
     /**
@@ -4,6 +4,9 @@ import systems.beep.crossfire.frame.sub.Address;
 import systems.beep.crossfire.frame.sub.FrameType;
 import systems.beep.helper.CRCHelper;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 /**
  * Represents a CRSF (Crossfire) protocol extended frame for writing or executing a command parameter.
  * <p>
@@ -18,6 +21,23 @@ import systems.beep.helper.CRCHelper;
  */
 public class ParameterWriteFrame extends CRSFExtendedFrame {
 
+    /**
+     * Constructs an unbound {@code ParameterWriteFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public ParameterWriteFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code ParameterWriteFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new ParameterWriteFrame();
+    }
+
     /**
      * Constructs a {@code ParameterWriteFrame} using the provided raw data.
      *
@@ -64,7 +84,7 @@ public class ParameterWriteFrame extends CRSFExtendedFrame {
      * This builder allows setting the source, destination, field index, and value
      * for the frame and generates the byte array representing the parameter write frame.
      */
-    public static class ParameterWriteFrameBuilder {
+    public static class ParameterWriteFrameBuilder implements FrameEncoder {
 
         private Address source;
         private Address destination;
@@ -123,20 +143,50 @@ public class ParameterWriteFrame extends CRSFExtendedFrame {
          * @return a byte array containing the constructed parameter write frame.
          */
         public byte[] build() {
-            byte[] result = new byte[8];
+            byte[] result = new byte[getEncodedLength()];
 
-            result[0] = FRAME_SYNC_BYTE;
-            result[1] = 8;
-            result[2] = FrameType.PARAMETER_SETTINGS_WRITE.getValue();
-            result[3] = destination.getValue();
-            result[4] = source.getValue();
-            result[5] = (byte) fieldIndex;
-            result[6] = (byte) value;
-            result[7] = CRCHelper.D5(result, 2, result.length - 1);
+            encode(ByteBuffer.wrap(result));
 
             return result;
         }
 
+        /**
+         * Returns the raw length of the {@code ParameterWriteFrame}.
+         *
+         * @return the encoded length in bytes.
+         */
+        @Override
+        public int getEncodedLength() {
+            return 8;
+        }
+
+        /**
+         * Writes the {@code ParameterWriteFrame} into a buffer at its current position, without allocating.
+         *
+         * @param buffer the buffer to write into.
+         * @return the number of bytes written.
+         * @throws BufferOverflowException if the frame does not fit in the buffer.
+         */
+        @Override
+        public int encode(final ByteBuffer buffer) {
+            int start = buffer.position();
+
+            if (buffer.remaining() < 8) {
+                throw new BufferOverflowException();
+            }
+
+            buffer.put(FRAME_SYNC_BYTE);
+            buffer.put((byte) 8);
+            buffer.put(FrameType.PARAMETER_SETTINGS_WRITE.getValue());
+            buffer.put(destination.getValue());
+            buffer.put(source.getValue());
+            buffer.put((byte) fieldIndex);
+            buffer.put((byte) value);
+            buffer.put(CRCHelper.D5(buffer, start + 2, start + 7));
+
+            return 8;
+        }
+
     }
 
 }
@@ -12,6 +12,23 @@ package systems.beep.crossfire.frame;
  */
 public class SubsetChannelsFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code SubsetChannelsFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public SubsetChannelsFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code SubsetChannelsFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new SubsetChannelsFrame();
+    }
+
     /**
      * Constructs a SubsetChannelsFrame using the provided raw data.
      *
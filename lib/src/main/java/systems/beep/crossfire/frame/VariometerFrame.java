@@ -13,6 +13,23 @@ package systems.beep.crossfire.frame;
  */
 public class VariometerFrame extends CRSFFrame {
 
+    /**
+     * Constructs an unbound {@code VariometerFrame} view to be bound with {@link #wrap(byte[], int, int)}.
+     */
+    public VariometerFrame() {
+        super();
+    }
+
+    /**
+     * Creates an unbound {@code VariometerFrame} view.
+     *
+     * @return a new unbound frame.
+     */
+    @Override
+    protected CRSFFrame newView() {
+        return new VariometerFrame();
+    }
+
     /**
      * Constructs a VariometerFrame using the provided raw data.
      *
@@ -50,7 +67,7 @@ public class VariometerFrame extends CRSFFrame {
      * @return the vertical speed in cm/s. For example, a speed of 1.5 m/s is represented as 150 cm/s.
      */
     public double getVerticalSpeed() {
-        short value = (short) ((rawData[3] & 0xFF) | ((rawData[4] & 0xFF) << 8));
+        short value = (short) ((rawByte(3) & 0xFF) | ((rawByte(4) & 0xFF) << 8));
         return Short.reverseBytes(value);
     }
 
@@ -1,5 +1,7 @@
 package systems.beep.crossfire.frame.sub;
 
+import java.util.Arrays;
+
 /**
  * Represents the various addresses used in the CRSF (Crossfire) protocol.
  * Each address corresponds to a specific type of device or reserved address
@@ -101,7 +103,33 @@ public enum Address {
      * Non-standard source address used by ExpressLRS Lua scripts.
      * Corresponds to {@code CRSF_ADDRESS_ELRS_LUA}.
      */
-    ELRS_LUA(0xEF);
+    ELRS_LUA(0xEF),
+
+    /**
+     * Sentinel returned by {@link #fromByte(byte)} for a byte that does not match any
+     * known address. It is never produced by a valid frame.
+     */
+    UNKNOWN(0xFF);
+
+    // Lookup table mapping every unsigned byte value to its address
+    private static final Address[] LOOKUP = new Address[256];
+
+    // Lookup table of the bytes a frame may start with
+    private static final boolean[] SYNC = new boolean[256];
+
+    static {
+        Arrays.fill(LOOKUP, UNKNOWN);
+
+        for (Address item : values()) {
+            if (item != UNKNOWN) {
+                LOOKUP[item.value & 0xFF] = item;
+            }
+        }
+
+        for (Address item : new Address[]{FLIGHT_CONTROLLER, RADIO_TRANSMITTER, CRSF_RECEIVER, CRSF_TRANSMITTER}) {
+            SYNC[item.value & 0xFF] = true;
+        }
+    }
 
     private final byte value;
 
@@ -123,4 +151,32 @@ public enum Address {
         return value;
     }
 
-}
\ No newline at end of file
+    /**
+     * Resolves the address for a byte value.
+     * <p>
+     * The lookup is a single array access and never allocates or throws, which makes
+     * it suitable for the decode path.
+     * </p>
+     *
+     * @param value the byte value read from a frame.
+     * @return the matching address, or {@link #UNKNOWN} if the value is not recognized.
+     */
+    public static Address fromByte(final byte value) {
+        return LOOKUP[value & 0xFF];
+    }
+
+    /**
+     * Tells whether a byte may start a frame on the wire.
+     * <p>
+     * Frames start with the sync byte {@code 0xC8} or with the address of the device they are
+     * sent to: the radio transmitter, a receiver or a transmitter module.
+     * </p>
+     *
+     * @param value the byte value read from the stream.
+     * @return true if the byte is a valid sync or address byte; false otherwise.
+     */
+    public static boolean isSyncByte(final byte value) {
+        return SYNC[value & 0xFF];
+    }
+
+}
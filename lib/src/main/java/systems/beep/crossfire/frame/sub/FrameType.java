@@ -1,5 +1,7 @@
 package systems.beep.crossfire.frame.sub;
 
+import java.util.Arrays;
+
 /**
  * Represents the various frame types used in the CRSF (Crossfire) protocol.
  * Each frame type corresponds to a specific type of data or command that can be sent
@@ -171,7 +173,26 @@ public enum FrameType {
     /**
      * Frame used for OpenTX synchronization.
      */
-    OPEN_TX_SYNC(0x10);
+    OPEN_TX_SYNC(0x10),
+
+    /**
+     * Sentinel returned by {@link #fromByte(byte)} for a byte that does not match any
+     * known frame type. It is never produced by a valid frame.
+     */
+    UNKNOWN(0xFF);
+
+    // Lookup table mapping every unsigned byte value to its frame type
+    private static final FrameType[] LOOKUP = new FrameType[256];
+
+    static {
+        Arrays.fill(LOOKUP, UNKNOWN);
+
+        for (FrameType item : values()) {
+            if (item != UNKNOWN) {
+                LOOKUP[item.value & 0xFF] = item;
+            }
+        }
+    }
 
     private final byte value;
 
@@ -193,4 +214,18 @@ public enum FrameType {
         return value;
     }
 
+    /**
+     * Resolves the frame type for a byte value.
+     * <p>
+     * The lookup is a single array access and never allocates or throws, which makes
+     * it suitable for the decode path.
+     * </p>
+     *
+     * @param value the byte value read from a frame.
+     * @return the matching frame type, or {@link #UNKNOWN} if the value is not recognized.
+     */
+    public static FrameType fromByte(final byte value) {
+        return LOOKUP[value & 0xFF];
+    }
+
 }
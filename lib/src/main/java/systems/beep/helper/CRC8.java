@@ -0,0 +1,123 @@
+package systems.beep.helper;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * A stateful CRC-8 checksum that is updated incrementally as bytes arrive.
+ * <p>
+ * The {@code CRC8} class lets a parser fold each byte into the checksum the moment
+ * it is received, so a frame can be validated as soon as its last byte lands instead
+ * of recomputing the CRC over the whole frame. It uses the same lookup tables as
+ * {@link CRCHelper} and implements {@link Checksum}, so it can be used wherever a
+ * {@code java.util.zip} checksum is expected.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class CRC8 implements Checksum {
+
+    private final byte[] table;
+
+    private int crc = 0;
+
+    private CRC8(final byte[] table) {
+        this.table = table;
+    }
+
+    /**
+     * Creates a checksum using the D5 polynomial, which CRSF uses for frame validation.
+     *
+     * @return a new checksum in its initial state.
+     */
+    public static CRC8 D5() {
+        return new CRC8(CRCHelper.D5_TABLE);
+    }
+
+    /**
+     * Creates a checksum using the BA polynomial, which CRSF uses for command frames.
+     *
+     * @return a new checksum in its initial state.
+     */
+    public static CRC8 BA() {
+        return new CRC8(CRCHelper.BA_TABLE);
+    }
+
+    /**
+     * Updates the checksum with a single byte.
+     *
+     * @param b the byte to fold into the checksum; only the low eight bits are used.
+     */
+    @Override
+    public void update(int b) {
+        crc = table[(crc ^ b) & 0xFF];
+    }
+
+    /**
+     * Updates the checksum with a range of an array.
+     *
+     * @param data   the byte array containing the data.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     */
+    @Override
+    public void update(byte[] data, int offset, int length) {
+        int value = crc;
+
+        for (int i = offset; i < offset + length; i++) {
+            value = table[(value ^ data[i]) & 0xFF];
+        }
+
+        crc = value;
+    }
+
+    /**
+     * Updates the checksum with the remaining bytes of a buffer.
+     * <p>
+     * Heap and direct buffers are both read in place without copying. On return the
+     * buffer position equals its limit.
+     * </p>
+     *
+     * @param buffer the buffer containing the data.
+     */
+    @Override
+    public void update(ByteBuffer buffer) {
+        int value = crc;
+
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            value = table[(value ^ buffer.get(i)) & 0xFF];
+        }
+
+        crc = value;
+        buffer.position(buffer.limit());
+    }
+
+    /**
+     * Returns the current checksum value.
+     *
+     * @return the checksum in the low eight bits.
+     */
+    @Override
+    public long getValue() {
+        return crc & 0xFF;
+    }
+
+    /**
+     * Returns the current checksum as it appears on the wire.
+     *
+     * @return the checksum as a byte.
+     */
+    public byte getCRC() {
+        return (byte) crc;
+    }
+
+    /**
+     * Resets the checksum to its initial state.
+     */
+    @Override
+    public void reset() {
+        crc = 0;
+    }
+
+}
@@ -1,6 +1,6 @@
 package systems.beep.helper;
 
-import java.util.Arrays;
+import java.nio.ByteBuffer;
 
 /**
  * A utility class for calculating CRC (Cyclic Redundancy Check) values
@@ -10,15 +10,24 @@ import java.util.Arrays;
  * The {@code CRCHelper} class is designed to be used statically and does
  * not allow instantiation. It provides two main methods for computing
  * CRC-8 checksums: {@link #BA(byte[], int, int)} and {@link #D5(byte[], int, int)}.
+ * Both use precomputed 256-entry tables and read the data in place, from
+ * arrays as well as heap or direct {@link ByteBuffer}s. For checksums that
+ * are built up as bytes arrive, see {@link CRC8}.
  * </p>
  */
 public class CRCHelper {
 
     // BA polynomial used for CRC-8 calculation
-    private static final byte[] BA_POLYNOMIAL = {(byte) 0xBA};
+    static final int BA_POLYNOMIAL = 0xBA;
 
     // D5 polynomial used for CRC-8 calculation
-    private static final byte[] D5_POLYNOMIAL = {(byte) 0xD5};
+    static final int D5_POLYNOMIAL = 0xD5;
+
+    // Lookup table for the BA polynomial
+    static final byte[] BA_TABLE = createTable(BA_POLYNOMIAL);
+
+    // Lookup table for the D5 polynomial
+    static final byte[] D5_TABLE = createTable(D5_POLYNOMIAL);
 
     // Private constructor to prevent instantiation
     private CRCHelper() {
@@ -39,7 +48,7 @@ public class CRCHelper {
         if (start < 0 || end > data.length || start >= end) {
             throw new IllegalArgumentException("Invalid range for CRC calculation.");
         }
-        return crc8(Arrays.copyOfRange(data, start, end), BA_POLYNOMIAL);
+        return crc8(BA_TABLE, data, start, end);
     }
 
     /**
@@ -56,32 +65,108 @@ public class CRCHelper {
         if (start < 0 || end > data.length || start >= end) {
             throw new IllegalArgumentException("Invalid range for CRC calculation.");
         }
-        return crc8(Arrays.copyOfRange(data, start, end), D5_POLYNOMIAL);
+        return crc8(D5_TABLE, data, start, end);
     }
 
     /**
-     * Computes the CRC-8 checksum for a given data array and polynomial.
+     * Calculates the CRC-8 checksum using the BA polynomial for a specified range of a buffer.
+     * The indices are absolute and the buffer position is left unchanged.
      *
-     * @param data       the byte array containing the data to be checked.
-     * @param polynomial the polynomial to be used for the CRC calculation.
+     * @param data  the buffer containing the data to be checked.
+     * @param start the starting index (inclusive) of the data range.
+     * @param end   the ending index (exclusive) of the data range.
      * @return the CRC-8 checksum as a byte.
+     * @throws IllegalArgumentException if the start or end index is out of bounds
+     *                                  or if start is greater than or equal to end.
      */
-    private static byte crc8(byte[] data, byte[] polynomial) {
-        byte crc = 0;
+    public static byte BA(ByteBuffer data, int start, int end) {
+        if (start < 0 || end > data.limit() || start >= end) {
+            throw new IllegalArgumentException("Invalid range for CRC calculation.");
+        }
+        return crc8(BA_TABLE, data, start, end);
+    }
 
-        for (byte b : data) {
-            crc ^= b;
+    /**
+     * Calculates the CRC-8 checksum using the D5 polynomial for a specified range of a buffer.
+     * The indices are absolute and the buffer position is left unchanged.
+     *
+     * @param data  the buffer containing the data to be checked.
+     * @param start the starting index (inclusive) of the data range.
+     * @param end   the ending index (exclusive) of the data range.
+     * @return the CRC-8 checksum as a byte.
+     * @throws IllegalArgumentException if the start or end index is out of bounds
+     *                                  or if start is greater than or equal to end.
+     */
+    public static byte D5(ByteBuffer data, int start, int end) {
+        if (start < 0 || end > data.limit() || start >= end) {
+            throw new IllegalArgumentException("Invalid range for CRC calculation.");
+        }
+        return crc8(D5_TABLE, data, start, end);
+    }
+
+    /**
+     * Computes the CRC-8 checksum for a range of an array using a lookup table.
+     *
+     * @param table the lookup table of the polynomial.
+     * @param data  the byte array containing the data to be checked.
+     * @param start the starting index (inclusive) of the data range.
+     * @param end   the ending index (exclusive) of the data range.
+     * @return the CRC-8 checksum as a byte.
+     */
+    static byte crc8(byte[] table, byte[] data, int start, int end) {
+        int crc = 0;
+
+        for (int i = start; i < end; i++) {
+            crc = table[(crc ^ data[i]) & 0xFF];
+        }
+
+        return (byte) crc;
+    }
+
+    /**
+     * Computes the CRC-8 checksum for a range of a buffer using a lookup table.
+     *
+     * @param table the lookup table of the polynomial.
+     * @param data  the buffer containing the data to be checked.
+     * @param start the starting index (inclusive) of the data range.
+     * @param end   the ending index (exclusive) of the data range.
+     * @return the CRC-8 checksum as a byte.
+     */
+    static byte crc8(byte[] table, ByteBuffer data, int start, int end) {
+        int crc = 0;
+
+        for (int i = start; i < end; i++) {
+            crc = table[(crc ^ data.get(i)) & 0xFF];
+        }
+
+        return (byte) crc;
+    }
+
+    /**
+     * Builds the lookup table for a polynomial by running the bitwise CRC-8
+     * algorithm once for every possible byte value.
+     *
+     * @param polynomial the polynomial to be used for the CRC calculation.
+     * @return the 256-entry lookup table.
+     */
+    private static byte[] createTable(int polynomial) {
+        byte[] table = new byte[256];
+
+        for (int value = 0; value < 256; value++) {
+            byte crc = (byte) value;
 
             for (int i = 0; i < 8; i++) {
                 if ((crc & 0x80) != 0) {
-                    crc = (byte) ((crc << 1) ^ polynomial[0]);
+                    crc = (byte) ((crc << 1) ^ polynomial);
                 } else {
                     crc <<= 1;
                 }
             }
+
+            table[value] = crc;
         }
 
-        return crc;
+        return table;
     }
 
 }
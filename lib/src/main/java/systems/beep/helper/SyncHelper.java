@@ -0,0 +1,79 @@
+package systems.beep.helper;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.sub.Address;
+
+/**
+ * A utility class for finding where CRSF (Crossfire) frames may start in a stream of bytes.
+ * <p>
+ * The {@code SyncHelper} class scans a range of an array for bytes accepted by
+ * {@link Address#isSyncByte(byte)} and for sync bytes followed by a plausible length byte,
+ * so decoders resynchronising over noise share one scan loop.
+ * </p>
+ */
+public class SyncHelper {
+
+    // Smallest and largest plausible values of the length byte
+    private static final int MIN_LENGTH = 2;
+
+    private static final int MAX_LENGTH = CRSFFrame.FRAME_MAX_SIZE - 2;
+
+    // Private constructor to prevent instantiation
+    private SyncHelper() {
+        // Prevents instantiation
+    }
+
+    /**
+     * Finds the first sync byte in a range of an array.
+     *
+     * @param data the byte array to scan.
+     * @param from the index of the first byte to scan.
+     * @param to   the index after the last byte to scan.
+     * @return the index of the first byte accepted by {@link Address#isSyncByte(byte)}, or -1 if there is none.
+     */
+    public static int indexOfSync(final byte[] data, final int from, final int to) {
+        for (int index = from; index < to; index++) {
+            if (Address.isSyncByte(data[index])) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the first sync byte in a range of an array that is followed by a plausible length byte.
+     * A sync byte ending the range is returned as well, since its length byte is still to come.
+     *
+     * @param data the byte array to scan.
+     * @param from the index of the first byte to scan.
+     * @param to   the index after the last byte to scan.
+     * @return the index of the first frame candidate, or -1 if there is none.
+     */
+    public static int indexOfCandidate(final byte[] data, final int from, final int to) {
+        int index = from;
+
+        while ((index = indexOfSync(data, index, to)) >= 0) {
+            if (index + 1 == to || isPlausibleLength(data[index + 1])) {
+                return index;
+            }
+
+            index++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Tells whether a length byte may belong to a frame.
+     *
+     * @param value the length byte, counting the type, payload and CRC bytes.
+     * @return true if a frame of that length fits in {@link CRSFFrame#FRAME_MAX_SIZE}; false otherwise.
+     */
+    public static boolean isPlausibleLength(final byte value) {
+        int length = value & 0xFF;
+
+        return length >= MIN_LENGTH && length <= MAX_LENGTH;
+    }
+
+}
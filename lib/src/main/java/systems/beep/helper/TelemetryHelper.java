@@ -39,6 +39,26 @@ public class TelemetryHelper {
      */
     private static final double INTERCEPT = 880.672;
 
+    // Largest valid CRSF channel value
+    private static final int MAX_CRSF_VALUE = 1984;
+
+    // Microseconds for every 11-bit CRSF value, including those above the valid range
+    private static final short[] CRSF_TO_MICROSECONDS = new short[2048];
+
+    // CRSF value for every whole microsecond value below the table size, or -1 if out of range
+    private static final short[] MICROSECONDS_TO_CRSF = new short[4096];
+
+    static {
+        for (int i = 0; i < CRSF_TO_MICROSECONDS.length; i++) {
+            CRSF_TO_MICROSECONDS[i] = (short) computeMicroseconds(i);
+        }
+
+        for (int i = 0; i < MICROSECONDS_TO_CRSF.length; i++) {
+            int crsfValue = computeCRSF(i);
+            MICROSECONDS_TO_CRSF[i] = (short) (crsfValue < 0 || crsfValue > MAX_CRSF_VALUE ? -1 : crsfValue);
+        }
+    }
+
     // Private constructor to prevent instantiation
     private TelemetryHelper() {
         // Prevents instantiation
@@ -125,22 +145,37 @@ public class TelemetryHelper {
      * @param channels the integer array to store the unpacked channel values.
      */
     public static void unpackChannels(byte[] payload, int[] channels) {
+        unpackChannels(payload, 0, channels);
+    }
+
+    /**
+     * Unpacks channel data starting at an offset of a byte array into an integer array.
+     * <p>
+     * The 22 packed bytes are read in place, so channels can be decoded straight from a
+     * frame or receive buffer without copying the payload first.
+     * </p>
+     *
+     * @param src the byte array containing the packed channel data.
+     * @param off the index of the first packed byte.
+     * @param dst the integer array of at least 16 elements to store the unpacked channel values.
+     */
+    public static void unpackChannels(byte[] src, int off, int[] dst) {
         final int numOfChannels = 16;
         final int srcBits = 11;
         final int inputChannelMask = (1 << srcBits) - 1;
 
         int bitsMerged = 0;
         int readValue = 0;
-        int readByteIndex = 0;
+        int readByteIndex = off;
 
         for (int n = 0; n < numOfChannels; n++) {
             while (bitsMerged < srcBits) {
-                int readByte = payload[readByteIndex++] & 0xFF;
+                int readByte = src[readByteIndex++] & 0xFF;
                 readValue |= readByte << bitsMerged;
                 bitsMerged += 8;
             }
 
-            channels[n] = readValue & inputChannelMask;
+            dst[n] = readValue & inputChannelMask;
             readValue >>= srcBits;
             bitsMerged -= srcBits;
         }
@@ -186,15 +221,48 @@ public class TelemetryHelper {
      * @throws IncorrectConversionException if the CRSF value is out of range.
      */
     public static int convertCRSFToMicroseconds(int crsfValue) {
-        if (crsfValue == FAILSAFE_CRSF_VALUE) {
-            return FAILSAFE_MICROSECONDS_VALUE;
+        if (crsfValue < 0 || crsfValue > MAX_CRSF_VALUE) {
+            throw new IncorrectConversionException("CRSF value must be between 0 and 1984.");
         }
 
-        if (crsfValue < 0 || crsfValue > 1984) {
-            throw new IncorrectConversionException("CRSF value must be between 0 and 1984.");
+        return CRSF_TO_MICROSECONDS[crsfValue];
+    }
+
+    /**
+     * Converts the first {@code n} CRSF values of an array to their microseconds' representation.
+     * <p>
+     * The arrays may be the same, in which case the values are converted in place.
+     * </p>
+     *
+     * @param src the CRSF values to be converted.
+     * @param dst the array receiving the microseconds values.
+     * @param n   the number of values to convert.
+     * @throws IncorrectConversionException if a CRSF value is out of range.
+     */
+    public static void convertCRSFToMicroseconds(int[] src, int[] dst, int n) {
+        for (int i = 0; i < n; i++) {
+            dst[i] = convertCRSFToMicroseconds(src[i]);
         }
+    }
 
-        return (int) (SLOPE * crsfValue + INTERCEPT);
+    /**
+     * Converts a CRSF value to its corresponding microseconds' representation without
+     * range validation.
+     * <p>
+     * Values inside the valid range convert exactly like {@link #convertCRSFToMicroseconds(int)};
+     * values outside it are extrapolated along the same line instead of throwing, which
+     * suits decode loops that must not fail on a single odd channel.
+     * </p>
+     *
+     * @param crsfValue the CRSF value to be converted.
+     * @return the corresponding microseconds value.
+     */
+    public static int convertCRSFToMicrosecondsUnchecked(int crsfValue) {
+        if (crsfValue >= 0 && crsfValue < CRSF_TO_MICROSECONDS.length) {
+            return CRSF_TO_MICROSECONDS[crsfValue];
+        }
+
+        return computeMicroseconds(crsfValue);
     }
 
     /**
@@ -205,13 +273,69 @@ public class TelemetryHelper {
      * @throws IncorrectConversionException if the converted CRSF value is out of range.
      */
     public static int convertMicrosecondsToCRSF(double microseconds) {
+        int index = (int) microseconds;
+
+        if (index == microseconds && index >= 0 && index < MICROSECONDS_TO_CRSF.length) {
+            return checkCRSF(MICROSECONDS_TO_CRSF[index]);
+        }
+
+        return checkCRSF(computeCRSF(microseconds));
+    }
+
+    /**
+     * Converts the first {@code n} microsecond values of an array to their CRSF representation.
+     * <p>
+     * The arrays may be the same, in which case the values are converted in place.
+     * </p>
+     *
+     * @param src the microsecond values to be converted.
+     * @param dst the array receiving the CRSF values.
+     * @param n   the number of values to convert.
+     * @throws IncorrectConversionException if a converted CRSF value is out of range.
+     */
+    public static void convertMicrosecondsToCRSF(int[] src, int[] dst, int n) {
+        for (int i = 0; i < n; i++) {
+            dst[i] = convertMicrosecondsToCRSF(src[i]);
+        }
+    }
+
+    /**
+     * Computes the microseconds value for a CRSF value using the linear mapping.
+     *
+     * @param crsfValue the CRSF value to be converted.
+     * @return the corresponding microseconds value.
+     */
+    private static int computeMicroseconds(int crsfValue) {
+        if (crsfValue == FAILSAFE_CRSF_VALUE) {
+            return FAILSAFE_MICROSECONDS_VALUE;
+        }
+
+        return (int) (SLOPE * crsfValue + INTERCEPT);
+    }
+
+    /**
+     * Computes the CRSF value for a microseconds value using the linear mapping.
+     *
+     * @param microseconds the microsecond value to be converted.
+     * @return the corresponding CRSF value, which may be out of range.
+     */
+    private static int computeCRSF(double microseconds) {
         if (microseconds == FAILSAFE_MICROSECONDS_VALUE) {
             return FAILSAFE_CRSF_VALUE;
         }
 
-        int crsfValue = (int) Math.round((microseconds - INTERCEPT) / SLOPE);
+        return (int) Math.round((microseconds - INTERCEPT) / SLOPE);
+    }
 
-        if (crsfValue < 0 || crsfValue > 1984) {
+    /**
+     * Validates a converted CRSF value.
+     *
+     * @param crsfValue the converted CRSF value, negative if it is out of range.
+     * @return the given value.
+     * @throws IncorrectConversionException if the value is out of range.
+     */
+    private static int checkCRSF(int crsfValue) {
+        if (crsfValue < 0 || crsfValue > MAX_CRSF_VALUE) {
             throw new IncorrectConversionException("Converted CRSF value must be between 0 and 1984.");
         }
 
@@ -0,0 +1,156 @@
+package systems.beep.metrics;
+
+import systems.beep.crossfire.frame.sub.FrameType;
+
+/**
+ * Latency histograms of frames received on one or more radio links, in nanoseconds.
+ * <p>
+ * Two latencies are measured from the {@link System#nanoTime()} at which the chunk completing a
+ * frame arrived: until the frame passed its CRC check, and until the consumer of the frame
+ * returned. Each latency is counted twice, in a histogram of the link the frame was received
+ * on and in a histogram of its {@link FrameType}, so either dimension can be inspected alone.
+ * </p>
+ * <p>
+ * Every histogram is allocated when the tracker is created, so recording never allocates and
+ * may happen from several threads at once. The histograms are live: call
+ * {@link LogLinearHistogram#snapshot()} to read a consistent copy while frames keep arriving.
+ * </p>
+ */
+public class IngestLatencyTracker {
+
+    // Frame types in ordinal order, cached to avoid cloning the values array
+    private static final FrameType[] FRAME_TYPES = FrameType.values();
+
+    // Arrival to CRC-validated latencies
+    private final LogLinearHistogram[] validatedByLink;
+
+    private final LogLinearHistogram[] validatedByType;
+
+    // Arrival to consumer-returned latencies
+    private final LogLinearHistogram[] consumedByLink;
+
+    private final LogLinearHistogram[] consumedByType;
+
+    /**
+     * Creates a tracker with {@link LogLinearHistogram#DEFAULT_PRECISION}.
+     *
+     * @param linkCount the number of links, identified from {@code 0} to {@code linkCount - 1}.
+     * @throws IllegalArgumentException if the link count is not positive.
+     */
+    public IngestLatencyTracker(final int linkCount) {
+        this(linkCount, LogLinearHistogram.DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates a tracker.
+     *
+     * @param linkCount the number of links, identified from {@code 0} to {@code linkCount - 1}.
+     * @param precision the number of sub-bucket bits of the histograms, from 1 to 8.
+     * @throws IllegalArgumentException if the link count is not positive or the precision is out of range.
+     */
+    public IngestLatencyTracker(final int linkCount, final int precision) {
+        if (linkCount <= 0) {
+            throw new IllegalArgumentException("Link count must be positive.");
+        }
+
+        this.validatedByLink = histograms(linkCount, precision);
+        this.validatedByType = histograms(FRAME_TYPES.length, precision);
+        this.consumedByLink = histograms(linkCount, precision);
+        this.consumedByType = histograms(FRAME_TYPES.length, precision);
+    }
+
+    /**
+     * Counts the time a frame took to pass its CRC check.
+     *
+     * @param linkId    the link the frame was received on.
+     * @param frameType the type of the frame.
+     * @param latency   the nanoseconds elapsed since the chunk completing the frame arrived.
+     */
+    public void recordValidated(final int linkId, final FrameType frameType, final long latency) {
+        validatedByLink[linkId].record(latency);
+        validatedByType[frameType.ordinal()].record(latency);
+    }
+
+    /**
+     * Counts the time a frame took to be handled by its consumer.
+     *
+     * @param linkId    the link the frame was received on.
+     * @param frameType the type of the frame.
+     * @param latency   the nanoseconds elapsed since the chunk completing the frame arrived.
+     */
+    public void recordConsumed(final int linkId, final FrameType frameType, final long latency) {
+        consumedByLink[linkId].record(latency);
+        consumedByType[frameType.ordinal()].record(latency);
+    }
+
+    /**
+     * Returns the number of links tracked.
+     *
+     * @return the link count.
+     */
+    public int getLinkCount() {
+        return validatedByLink.length;
+    }
+
+    /**
+     * Returns the arrival to CRC-validated latencies of a link.
+     *
+     * @param linkId the link.
+     * @return the live histogram of the link.
+     */
+    public LogLinearHistogram getValidationLatency(final int linkId) {
+        return validatedByLink[linkId];
+    }
+
+    /**
+     * Returns the arrival to CRC-validated latencies of a frame type, over every link.
+     *
+     * @param frameType the frame type.
+     * @return the live histogram of the frame type.
+     */
+    public LogLinearHistogram getValidationLatency(final FrameType frameType) {
+        return validatedByType[frameType.ordinal()];
+    }
+
+    /**
+     * Returns the arrival to consumer-returned latencies of a link.
+     *
+     * @param linkId the link.
+     * @return the live histogram of the link.
+     */
+    public LogLinearHistogram getConsumerLatency(final int linkId) {
+        return consumedByLink[linkId];
+    }
+
+    /**
+     * Returns the arrival to consumer-returned latencies of a frame type, over every link.
+     *
+     * @param frameType the frame type.
+     * @return the live histogram of the frame type.
+     */
+    public LogLinearHistogram getConsumerLatency(final FrameType frameType) {
+        return consumedByType[frameType.ordinal()];
+    }
+
+    /**
+     * Clears every histogram.
+     */
+    public void reset() {
+        for (LogLinearHistogram[] histograms : new LogLinearHistogram[][]{validatedByLink, validatedByType, consumedByLink, consumedByType}) {
+            for (LogLinearHistogram histogram : histograms) {
+                histogram.reset();
+            }
+        }
+    }
+
+    private static LogLinearHistogram[] histograms(final int count, final int precision) {
+        LogLinearHistogram[] histograms = new LogLinearHistogram[count];
+
+        for (int i = 0; i < count; i++) {
+            histograms[i] = new LogLinearHistogram(precision);
+        }
+
+        return histograms;
+    }
+
+}
@@ -0,0 +1,247 @@
+package systems.beep.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size histogram of non-negative values, such as latencies in nanoseconds.
+ * <p>
+ * Values are counted in log-linear buckets: every power of two is split into {@code 2^precision}
+ * equal sub-buckets, so a bucket is never wider than {@code 1 / 2^precision} of the values it
+ * holds, whatever their magnitude. Values below {@code 2^precision} are counted exactly. The
+ * bucket of a value is found with a few shifts, and all counts are allocated up front, so
+ * {@link #record(long)} is constant-time, allocation-free and safe to call from several threads.
+ * </p>
+ * <p>
+ * Readers see counts as they are being recorded; a snapshot taken while values are recorded may
+ * be off by the values in flight.
+ * </p>
+ */
+public class LogLinearHistogram {
+
+    /**
+     * Default number of sub-bucket bits, giving buckets at most 12.5% wide.
+     */
+    public static final int DEFAULT_PRECISION = 3;
+
+    private final int precision;
+
+    private final AtomicLongArray counts;
+
+    /**
+     * Creates a histogram with {@link #DEFAULT_PRECISION}.
+     */
+    public LogLinearHistogram() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates a histogram.
+     *
+     * @param precision the number of sub-bucket bits per power of two, from 1 to 8.
+     * @throws IllegalArgumentException if the precision is out of range.
+     */
+    public LogLinearHistogram(final int precision) {
+        if (precision < 1 || precision > 8) {
+            throw new IllegalArgumentException("Precision must be between 1 and 8.");
+        }
+
+        this.precision = precision;
+        this.counts = new AtomicLongArray((Long.SIZE - precision) << precision);
+    }
+
+    /**
+     * Counts a value. Negative values are counted as zero.
+     *
+     * @param value the value to count.
+     */
+    public void record(final long value) {
+        counts.incrementAndGet(indexOf(Math.max(0, value)));
+    }
+
+    /**
+     * Returns the number of values counted.
+     *
+     * @return the count.
+     */
+    public long getCount() {
+        long count = 0;
+
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile of the values counted.
+     *
+     * @param percentile the percentile, from 0 to 100.
+     * @return the highest value of the bucket holding the percentile, or zero if nothing was counted.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        long count = getCount();
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long seen = 0;
+
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+
+            if (seen >= rank) {
+                return highestValueOf(i);
+            }
+        }
+
+        return highestValueOf(lastNonEmpty());
+    }
+
+    /**
+     * Returns an upper bound of the largest value counted.
+     *
+     * @return the highest value of the last non-empty bucket, or zero if nothing was counted.
+     */
+    public long getMax() {
+        int last = lastNonEmpty();
+
+        return last < 0 ? 0 : highestValueOf(last);
+    }
+
+    /**
+     * Returns the number of sub-bucket bits per power of two.
+     *
+     * @return the precision.
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Returns the number of buckets.
+     *
+     * @return the bucket count.
+     */
+    public int getBucketCount() {
+        return counts.length();
+    }
+
+    /**
+     * Returns the count of a bucket.
+     *
+     * @param index the bucket index.
+     * @return the number of values counted in the bucket.
+     */
+    public long getBucketCount(final int index) {
+        return counts.get(index);
+    }
+
+    /**
+     * Returns the smallest value counted in a bucket.
+     *
+     * @param index the bucket index.
+     * @return the lowest value of the bucket.
+     */
+    public long getBucketLowerBound(final int index) {
+        int bucket = index >>> precision;
+        long subBucket = index & ((1 << precision) - 1);
+
+        return bucket == 0 ? subBucket : ((1L << precision) + subBucket) << (bucket - 1);
+    }
+
+    /**
+     * Adds the counts of another histogram of the same precision to this one.
+     *
+     * @param other the histogram to add.
+     * @throws IllegalArgumentException if the precisions differ.
+     */
+    public void add(final LogLinearHistogram other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Histograms must have the same precision.");
+        }
+
+        for (int i = 0; i < counts.length(); i++) {
+            long count = other.counts.get(i);
+
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+    }
+
+    /**
+     * Copies the current counts into a new histogram, while values may still be recorded.
+     * <p>
+     * The copy no longer changes, so several percentiles read from it are consistent with
+     * each other. Like any read, it may miss the values recorded while it is being taken.
+     * </p>
+     *
+     * @return a histogram of the same precision holding the current counts.
+     */
+    public LogLinearHistogram snapshot() {
+        LogLinearHistogram snapshot = new LogLinearHistogram(precision);
+
+        snapshot.add(this);
+
+        return snapshot;
+    }
+
+    /**
+     * Clears every count.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    /**
+     * Provides a summary of the histogram: count, median, 99th and 99.9th percentiles and maximum.
+     *
+     * @return a string summarizing the histogram.
+     */
+    @Override
+    public String toString() {
+        return "LogLinearHistogram |" +
+                " Count: " + getCount() +
+                ", P50: " + getValueAtPercentile(50) +
+                ", P99: " + getValueAtPercentile(99) +
+                ", P99.9: " + getValueAtPercentile(99.9) +
+                ", Max: " + getMax();
+    }
+
+    /**
+     * Finds the bucket of a value.
+     *
+     * @param value a non-negative value.
+     * @return the bucket index.
+     */
+    int indexOf(final long value) {
+        if (value < (1L << precision)) {
+            return (int) value;
+        }
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - precision;
+
+        return ((shift + 1) << precision) + (int) ((value >>> shift) - (1L << precision));
+    }
+
+    private long highestValueOf(final int index) {
+        return index + 1 < counts.length() ? getBucketLowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+
+    private int lastNonEmpty() {
+        for (int i = counts.length() - 1; i >= 0; i--) {
+            if (counts.get(i) != 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+}
@@ -0,0 +1,365 @@
+package systems.beep.pipeline;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.processor.FrameViewFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A lock-free ring of preallocated frame slots between a reader thread and consumer threads.
+ * <p>
+ * The {@code FramePipeline} decouples decoding from consumption: the thread reading the serial
+ * port or socket publishes every decoded frame into the ring and immediately returns to reading,
+ * while one or more consumer threads process the frames at their own pace. Each consumer tracks its
+ * own sequence and sees every frame in publication order.
+ * </p>
+ * <p>
+ * The pipeline implements {@link Consumer} and is meant to be handed to
+ * {@link systems.beep.processor.IFrameProcessor#processData(byte[], Consumer)}. Frames are copied
+ * into the ring, so both copying and flyweight processors can feed it. Consumers receive reusable
+ * views over the ring slots, valid only until the consumer returns; use {@link CRSFFrame#copy()}
+ * to retain one.
+ * </p>
+ * <p>
+ * {@link #accept(CRSFFrame)} must only ever be called from a single thread and never blocks. When
+ * the slowest consumer is a full ring behind, the frame is dropped and counted in
+ * {@link #getOverflowCount()}.
+ * </p>
+ * <p>
+ * Failures of a consumer are reported to its thread's uncaught exception handler. A consumer
+ * throwing a {@link RuntimeException} keeps receiving the following frames. A consumer throwing
+ * an {@link Error} fails: its thread stops and its sequence is retired, so the producer and the
+ * other consumers carry on without it.
+ * </p>
+ */
+public class FramePipeline implements Consumer<CRSFFrame>, AutoCloseable {
+
+    /**
+     * Default number of slots in the ring.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    // Frame bytes of every slot
+    private final byte[][] slots;
+
+    // Frame length of every slot
+    private final int[] lengths;
+
+    // Mask used to map sequences onto slots
+    private final int mask;
+
+    // Sequence of the last published frame
+    private final Sequence cursor = new Sequence(-1);
+
+    private final ConsumerWorker[] workers;
+
+    private final AtomicLong overflowCount = new AtomicLong();
+
+    // Slowest consumer sequence seen by the producer, refreshed only when the ring looks full
+    private long cachedGatingSequence = -1;
+
+    private volatile boolean running = true;
+
+    /**
+     * Creates and starts a pipeline.
+     *
+     * @param capacity     the number of slots, rounded up to a power of two.
+     * @param waitStrategy how consumers wait for new frames.
+     * @param consumers    the frame consumers, each served by its own thread.
+     */
+    private FramePipeline(final int capacity, final WaitStrategy waitStrategy, final List<Consumer<CRSFFrame>> consumers) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+
+        this.slots = new byte[size][CRSFFrame.FRAME_MAX_SIZE];
+        this.lengths = new int[size];
+        this.mask = size - 1;
+        this.workers = new ConsumerWorker[consumers.size()];
+
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new ConsumerWorker(i, waitStrategy, consumers.get(i));
+        }
+
+        for (ConsumerWorker worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Returns a new instance of {@code FramePipelineBuilder} for building a {@code FramePipeline}.
+     *
+     * @return a new {@code FramePipelineBuilder}.
+     */
+    public static FramePipelineBuilder builder() {
+        return new FramePipelineBuilder();
+    }
+
+    /**
+     * Publishes a frame to all consumers.
+     * <p>
+     * The frame bytes are copied into the next slot; the frame itself is not retained. If the ring
+     * is full the frame is dropped and the overflow counter is incremented.
+     * </p>
+     *
+     * @param frame the frame to publish.
+     * @throws IllegalArgumentException if the frame is larger than {@link CRSFFrame#FRAME_MAX_SIZE}.
+     */
+    @Override
+    public void accept(final CRSFFrame frame) {
+        if (frame.getRawLength() > CRSFFrame.FRAME_MAX_SIZE) {
+            throw new IllegalArgumentException("Frame exceeds the maximum frame size.");
+        }
+
+        long next = cursor.getPlain() + 1;
+        long wrapPoint = next - slots.length;
+
+        if (wrapPoint > cachedGatingSequence) {
+            cachedGatingSequence = minimumConsumerSequence(next - 1);
+
+            if (wrapPoint > cachedGatingSequence) {
+                overflowCount.incrementAndGet();
+                return;
+            }
+        }
+
+        int index = (int) next & mask;
+
+        lengths[index] = frame.copyTo(slots[index], 0);
+        cursor.set(next);
+    }
+
+    /**
+     * Returns the number of slots in the ring.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Returns the number of frames that can currently be published without overflowing.
+     * <p>
+     * The value is a snapshot; consumers may free more slots at any time.
+     * </p>
+     *
+     * @return the number of free slots.
+     */
+    public int getRemainingCapacity() {
+        long published = cursor.get();
+
+        return (int) (slots.length - (published - minimumConsumerSequence(published)));
+    }
+
+    /**
+     * Returns the number of frames dropped because the ring was full.
+     *
+     * @return the overflow count.
+     */
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    /**
+     * Tells whether a consumer has failed because it threw an {@link Error}.
+     *
+     * @param consumer the index of the consumer, in the order consumers were added.
+     * @return true if the consumer no longer receives frames; false otherwise.
+     */
+    public boolean isFailed(final int consumer) {
+        return workers[consumer].failed;
+    }
+
+    /**
+     * Returns the number of frames published so far.
+     *
+     * @return the published frame count.
+     */
+    public long getPublishedCount() {
+        return cursor.get() + 1;
+    }
+
+    /**
+     * Stops the pipeline after the consumers have processed every published frame.
+     * <p>
+     * Must be called after the last call to {@link #accept(CRSFFrame)}. If the calling thread
+     * is interrupted while waiting, the method returns early with the interrupt status set and
+     * the consumers keep draining in the background.
+     * </p>
+     */
+    @Override
+    public void close() {
+        running = false;
+
+        try {
+            for (ConsumerWorker worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the sequence of the slowest consumer.
+     * <p>
+     * Failed consumers have a retired sequence of {@link Long#MAX_VALUE} and never hold the ring.
+     * </p>
+     *
+     * @param minimum the value to return when there are no consumers.
+     * @return the lowest consumer sequence.
+     */
+    private long minimumConsumerSequence(final long minimum) {
+        long result = minimum;
+
+        for (ConsumerWorker worker : workers) {
+            result = Math.min(result, worker.sequence.get());
+        }
+
+        return result;
+    }
+
+    /**
+     * Consumer thread reading the ring with its own sequence.
+     */
+    private final class ConsumerWorker extends Thread {
+
+        // Sequence of the last frame processed by this consumer
+        private final Sequence sequence = new Sequence(-1);
+
+        private final WaitStrategy waitStrategy;
+
+        private final Consumer<CRSFFrame> consumer;
+
+        // Views reused for the frames handed to this consumer
+        private final FrameViewFactory frameViewFactory = new FrameViewFactory();
+
+        // Whether the consumer threw an Error and its sequence was retired
+        private volatile boolean failed = false;
+
+        private ConsumerWorker(final int index, final WaitStrategy waitStrategy, final Consumer<CRSFFrame> consumer) {
+            super("crsf-pipeline-consumer-" + index);
+            this.waitStrategy = waitStrategy;
+            this.consumer = consumer;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.getPlain() + 1;
+            int attempt = 0;
+
+            while (true) {
+                boolean stopping = !running;
+                long available = cursor.get();
+
+                if (available >= next) {
+                    for (; next <= available; next++) {
+                        int index = (int) next & mask;
+
+                        if (!deliver(slots[index], lengths[index])) {
+                            // Stop gating the producer, which would otherwise see a full ring forever
+                            failed = true;
+                            sequence.set(Long.MAX_VALUE);
+                            return;
+                        }
+                    }
+
+                    sequence.set(available);
+                    attempt = 0;
+                } else if (stopping) {
+                    return;
+                } else {
+                    waitStrategy.idle(attempt++);
+                }
+            }
+        }
+
+        /**
+         * Hands a frame to the consumer, reporting its failures.
+         *
+         * @param slot   the slot holding the frame.
+         * @param length the frame length.
+         * @return false if the consumer threw an {@link Error} and must not receive more frames; true otherwise.
+         */
+        private boolean deliver(final byte[] slot, final int length) {
+            try {
+                // The producer published frames that were already validated
+                consumer.accept(frameViewFactory.wrapFrame(slot, 0, length, false));
+            } catch (RuntimeException e) {
+                getUncaughtExceptionHandler().uncaughtException(this, e);
+            } catch (Throwable e) {
+                getUncaughtExceptionHandler().uncaughtException(this, e);
+                return false;
+            }
+
+            return true;
+        }
+
+    }
+
+    /**
+     * Builder class for constructing {@code FramePipeline} instances.
+     * This builder allows setting the ring capacity, the wait strategy and the consumers,
+     * then creates and starts the pipeline.
+     */
+    public static class FramePipelineBuilder {
+
+        private int capacity = DEFAULT_CAPACITY;
+
+        private WaitStrategy waitStrategy = WaitStrategy.YIELD;
+
+        private final List<Consumer<CRSFFrame>> consumers = new ArrayList<>();
+
+        /**
+         * Sets the number of slots in the ring, rounded up to a power of two.
+         *
+         * @param capacity the number of slots.
+         * @return the current {@code FramePipelineBuilder} instance.
+         */
+        public FramePipelineBuilder setCapacity(final int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets how consumers wait for new frames. Defaults to {@link WaitStrategy#YIELD}.
+         *
+         * @param waitStrategy the wait strategy.
+         * @return the current {@code FramePipelineBuilder} instance.
+         */
+        public FramePipelineBuilder setWaitStrategy(final WaitStrategy waitStrategy) {
+            this.waitStrategy = waitStrategy;
+            return this;
+        }
+
+        /**
+         * Adds a consumer that will be served by its own thread.
+         *
+         * @param consumer the consumer.
+         * @return the current {@code FramePipelineBuilder} instance.
+         */
+        public FramePipelineBuilder addConsumer(final Consumer<CRSFFrame> consumer) {
+            this.consumers.add(consumer);
+            return this;
+        }
+
+        /**
+         * Creates and starts the pipeline.
+         *
+         * @return the running pipeline.
+         * @throws IllegalArgumentException if the capacity is not positive.
+         */
+        public FramePipeline build() {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity must be positive.");
+            }
+
+            return new FramePipeline(capacity, waitStrategy, consumers);
+        }
+
+    }
+
+}
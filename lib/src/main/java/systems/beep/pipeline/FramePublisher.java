@@ -0,0 +1,428 @@
+package systems.beep.pipeline;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.sub.FrameType;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Publishes decoded frames to {@link Flow.Subscriber}s with demand-based backpressure.
+ * <p>
+ * The {@code FramePublisher} is a frame consumer: it is handed to an
+ * {@link systems.beep.processor.IFrameProcessor} or a transport like any other consumer, and
+ * delivers the frames to its subscribers, each receiving only as many frames as it requested.
+ * Frames waiting for demand are kept in a bounded buffer per subscriber; when the buffer is full,
+ * the {@link OverflowStrategy} decides which frame is dropped, so a slow subscriber never blocks
+ * the decoding thread nor the other subscribers, and memory stays bounded.
+ * </p>
+ * <p>
+ * With {@link OverflowStrategy#LATEST_ONLY}, a subscriber keeps the latest frame of each frame
+ * type, so a battery frame never replaces a pending GPS frame. Frames carry no link, so frames
+ * of one type received on several links share a slot; use one publisher per link to keep the
+ * latest frame of every link.
+ * </p>
+ * <p>
+ * Frames are delivered by tasks submitted to an executor, the common pool by default, only while
+ * a subscriber has both demand and buffered frames, so no thread is held per link or per
+ * subscriber. {@link #publisher(FrameType)} returns a publisher of a single frame type.
+ * </p>
+ * <p>
+ * Frames are copied with {@link CRSFFrame#copy()} before being buffered, once for all subscribers,
+ * and only when a subscriber wants them, so views handed out by a flyweight processor may be
+ * published.
+ * </p>
+ */
+public class FramePublisher implements Flow.Publisher<CRSFFrame>, Consumer<CRSFFrame>, AutoCloseable {
+
+    /**
+     * Default number of frames buffered per subscriber.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+
+    // Number of distinct frame type bytes, the most latest-only slots a subscriber may need
+    private static final int TYPE_COUNT = 256;
+
+    private final Executor executor;
+
+    private final int bufferSize;
+
+    private final OverflowStrategy overflowStrategy;
+
+    private final CopyOnWriteArrayList<FrameSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong publishedCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private volatile boolean closed = false;
+
+    private FramePublisher(final Executor executor, final int bufferSize, final OverflowStrategy overflowStrategy) {
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.overflowStrategy = overflowStrategy;
+    }
+
+    /**
+     * Returns a new instance of {@code FramePublisherBuilder} for building a {@code FramePublisher}.
+     *
+     * @return a new {@code FramePublisherBuilder}.
+     */
+    public static FramePublisherBuilder builder() {
+        return new FramePublisherBuilder();
+    }
+
+    /**
+     * Subscribes to every frame.
+     *
+     * @param subscriber the subscriber.
+     */
+    @Override
+    public void subscribe(final Flow.Subscriber<? super CRSFFrame> subscriber) {
+        subscribe(subscriber, null);
+    }
+
+    /**
+     * Returns a publisher of the frames of one type, sharing this publisher's settings and source.
+     *
+     * @param type the frame type to publish.
+     * @return the publisher.
+     */
+    public Flow.Publisher<CRSFFrame> publisher(final FrameType type) {
+        return subscriber -> subscribe(subscriber, type);
+    }
+
+    /**
+     * Publishes a frame to the subscribers that want it.
+     *
+     * @param frame the frame, which may be a view valid only during this call.
+     * @throws IllegalStateException if the publisher is closed.
+     */
+    @Override
+    public void accept(final CRSFFrame frame) {
+        if (closed) {
+            throw new IllegalStateException("Publisher is closed.");
+        }
+
+        byte type = frame.getRawType();
+        CRSFFrame copy = null;
+
+        for (FrameSubscription subscription : subscriptions) {
+            if (subscription.type == null || subscription.type.getValue() == type) {
+                if (copy == null) {
+                    copy = frame.copy();
+                }
+
+                subscription.offer(copy);
+            }
+        }
+
+        publishedCount.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of frames published.
+     *
+     * @return the published frame count.
+     */
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    /**
+     * Returns the number of frames dropped across all subscribers because their buffer was full.
+     *
+     * @return the dropped frame count.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Returns the number of current subscribers.
+     *
+     * @return the subscriber count.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Completes every subscription once its buffered frames are delivered. Later subscribers are
+     * completed immediately.
+     * <p>
+     * Must be called after the last call to {@link #accept(CRSFFrame)}.
+     * </p>
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        for (FrameSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    private void subscribe(final Flow.Subscriber<? super CRSFFrame> subscriber, final FrameType type) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber must not be null.");
+        }
+
+        FrameSubscription subscription = new FrameSubscription(subscriber, type);
+
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+
+        if (closed) {
+            subscription.complete();
+        }
+    }
+
+    /**
+     * Subscription buffering frames for one subscriber and draining them on the executor.
+     */
+    private final class FrameSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super CRSFFrame> subscriber;
+
+        private final FrameType type;
+
+        // With LATEST_ONLY, one slot per frame type the subscriber receives
+        private final CRSFFrame[] buffer;
+
+        // Number of frames requested and not yet delivered
+        private final AtomicLong demand = new AtomicLong();
+
+        // Number of signals since the drain task last checked, nonzero while a drain task is scheduled
+        private final AtomicInteger pending = new AtomicInteger();
+
+        // Buffer state, guarded by this subscription's lock
+        private int head = 0;
+
+        private int size = 0;
+
+        private volatile boolean completed = false;
+
+        private volatile boolean cancelled = false;
+
+        // Error to signal instead of frames, such as a non-positive request
+        private volatile Throwable error;
+
+        private FrameSubscription(final Flow.Subscriber<? super CRSFFrame> subscriber, final FrameType type) {
+            this.subscriber = subscriber;
+            this.type = type;
+
+            if (overflowStrategy != OverflowStrategy.LATEST_ONLY) {
+                this.buffer = new CRSFFrame[bufferSize];
+            } else {
+                this.buffer = new CRSFFrame[type == null ? TYPE_COUNT : 1];
+            }
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Requested " + n + " frames; requests must be positive.");
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        private void offer(final CRSFFrame frame) {
+            synchronized (this) {
+                if (overflowStrategy == OverflowStrategy.LATEST_ONLY && replacePending(frame)) {
+                    droppedCount.incrementAndGet();
+                } else if (size < buffer.length) {
+                    buffer[(head + size++) % buffer.length] = frame;
+                } else if (overflowStrategy == OverflowStrategy.DROP_NEWEST) {
+                    droppedCount.incrementAndGet();
+                    return;
+                } else {
+                    buffer[head] = frame;
+                    head = (head + 1) % buffer.length;
+                    droppedCount.incrementAndGet();
+                }
+            }
+
+            if (demand.get() > 0) {
+                schedule();
+            }
+        }
+
+        /**
+         * Replaces the pending frame of the same type as a frame, keeping its place in the buffer.
+         *
+         * @param frame the incoming frame.
+         * @return true if a pending frame was replaced; false if none has the frame's type.
+         */
+        private boolean replacePending(final CRSFFrame frame) {
+            byte frameType = frame.getRawType();
+
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % buffer.length;
+
+                if (buffer[index].getRawType() == frameType) {
+                    buffer[index] = frame;
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private void complete() {
+            completed = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Delivers buffered frames while there is demand, then signals completion or errors.
+         */
+        @Override
+        public void run() {
+            int signals = pending.get();
+
+            do {
+                drain();
+                signals = pending.addAndGet(-signals);
+            } while (signals != 0);
+        }
+
+        private void drain() {
+            while (!cancelled) {
+                if (error != null) {
+                    cancel();
+                    subscriber.onError(error);
+                    return;
+                }
+
+                CRSFFrame frame = demand.get() > 0 ? poll() : null;
+
+                if (frame == null) {
+                    if (completed && isEmpty()) {
+                        cancel();
+                        subscriber.onComplete();
+                    }
+
+                    return;
+                }
+
+                demand.decrementAndGet();
+
+                try {
+                    subscriber.onNext(frame);
+                } catch (RuntimeException e) {
+                    // A subscriber that throws is considered cancelled
+                    cancel();
+                    return;
+                }
+            }
+        }
+
+        private synchronized CRSFFrame poll() {
+            if (size == 0) {
+                return null;
+            }
+
+            CRSFFrame frame = buffer[head];
+
+            buffer[head] = null;
+            head = (head + 1) % buffer.length;
+            size--;
+
+            return frame;
+        }
+
+        private synchronized boolean isEmpty() {
+            return size == 0;
+        }
+
+    }
+
+    /**
+     * Builder class for constructing {@code FramePublisher} instances.
+     * This builder allows setting the executor, the buffer size and the overflow strategy.
+     */
+    public static class FramePublisherBuilder {
+
+        private Executor executor = ForkJoinPool.commonPool();
+
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+        private OverflowStrategy overflowStrategy = OverflowStrategy.DROP_OLDEST;
+
+        /**
+         * Sets the executor running the delivery tasks. Defaults to the common pool.
+         *
+         * @param executor the executor.
+         * @return the current {@code FramePublisherBuilder} instance.
+         */
+        public FramePublisherBuilder setExecutor(final Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the number of frames buffered per subscriber. Defaults to {@link #DEFAULT_BUFFER_SIZE}.
+         * Ignored with {@link OverflowStrategy#LATEST_ONLY}.
+         *
+         * @param bufferSize the buffer size.
+         * @return the current {@code FramePublisherBuilder} instance.
+         */
+        public FramePublisherBuilder setBufferSize(final int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Sets what happens to frames for a subscriber whose buffer is full.
+         * Defaults to {@link OverflowStrategy#DROP_OLDEST}.
+         *
+         * @param overflowStrategy the overflow strategy.
+         * @return the current {@code FramePublisherBuilder} instance.
+         */
+        public FramePublisherBuilder setOverflowStrategy(final OverflowStrategy overflowStrategy) {
+            this.overflowStrategy = overflowStrategy;
+            return this;
+        }
+
+        /**
+         * Creates the publisher.
+         *
+         * @return the publisher.
+         * @throws IllegalArgumentException if the executor or the strategy is missing, or the buffer size is not positive.
+         */
+        public FramePublisher build() {
+            if (executor == null || overflowStrategy == null) {
+                throw new IllegalArgumentException("Executor and overflow strategy must be set.");
+            }
+
+            if (bufferSize < 1) {
+                throw new IllegalArgumentException("Buffer size must be positive.");
+            }
+
+            return new FramePublisher(executor, bufferSize, overflowStrategy);
+        }
+
+    }
+
+}
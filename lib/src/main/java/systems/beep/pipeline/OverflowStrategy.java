@@ -0,0 +1,24 @@
+package systems.beep.pipeline;
+
+/**
+ * What a {@link FramePublisher} does with a frame for a subscriber whose buffer is full.
+ */
+public enum OverflowStrategy {
+
+    /**
+     * Discards the oldest buffered frame to make room, so the subscriber sees the most recent frames.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discards the incoming frame, so the subscriber sees an unbroken run of older frames.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Keeps only the latest frame of each frame type, whatever the buffer size. Suited to
+     * idempotent telemetry, where only the current value matters.
+     */
+    LATEST_ONLY
+
+}
@@ -0,0 +1,84 @@
+package systems.beep.pipeline;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Padding placed before the sequence value so it does not share a cache line with other data.
+ */
+@SuppressWarnings("unused")
+class LeftPadding {
+
+    protected long p1, p2, p3, p4, p5, p6, p7;
+
+}
+
+/**
+ * Holder of the sequence value, laid out between the two paddings.
+ */
+class SequenceValue extends LeftPadding {
+
+    protected long value;
+
+}
+
+/**
+ * A position in a {@link FramePipeline} ring, padded against false sharing.
+ * <p>
+ * Each sequence has a single writer that publishes with release semantics; readers observe it
+ * with acquire semantics, so everything written before a publish is visible after it is read.
+ * </p>
+ */
+@SuppressWarnings("unused")
+final class Sequence extends SequenceValue {
+
+    // Handle providing acquire and release access to the value
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    protected long p9, p10, p11, p12, p13, p14, p15;
+
+    /**
+     * Creates a sequence with the given initial value.
+     *
+     * @param initialValue the initial value.
+     */
+    Sequence(final long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    /**
+     * Reads the value with acquire semantics.
+     *
+     * @return the current value.
+     */
+    long get() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /**
+     * Reads the value without ordering guarantees; only the writer may use this.
+     *
+     * @return the current value.
+     */
+    long getPlain() {
+        return value;
+    }
+
+    /**
+     * Publishes a new value with release semantics.
+     *
+     * @param newValue the new value.
+     */
+    void set(final long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+}
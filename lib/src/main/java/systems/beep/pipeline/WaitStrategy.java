@@ -0,0 +1,67 @@
+package systems.beep.pipeline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Determines how a {@link FramePipeline} consumer waits for the next frame to be published.
+ * <p>
+ * The strategies trade latency for CPU usage: {@link #BUSY_SPIN} reacts fastest but keeps a core
+ * busy, {@link #PARK} is the most economical but adds wake-up latency.
+ * </p>
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spins on the CPU, hinting the processor that the thread is busy-waiting.
+     * Lowest latency; each consumer occupies a core.
+     */
+    BUSY_SPIN {
+        @Override
+        void idle(final int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+
+    /**
+     * Spins briefly, then yields the CPU to other threads between checks.
+     */
+    YIELD {
+        @Override
+        void idle(final int attempt) {
+            if (attempt < SPIN_ATTEMPTS) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+
+    /**
+     * Spins briefly, then parks the thread for a short interval between checks.
+     */
+    PARK {
+        @Override
+        void idle(final int attempt) {
+            if (attempt < SPIN_ATTEMPTS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    };
+
+    // Number of spins before yielding or parking
+    private static final int SPIN_ATTEMPTS = 100;
+
+    // Park interval, short enough to keep up with a 1 kHz link
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Waits once after an unsuccessful check for new frames.
+     *
+     * @param attempt the number of consecutive unsuccessful checks so far.
+     */
+    abstract void idle(int attempt);
+
+}
@@ -0,0 +1,23 @@
+package systems.beep.processor;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+
+/**
+ * Determines how a {@link FrameProcessor} materializes decoded frames.
+ */
+public enum DecodeMode {
+
+    /**
+     * Every frame is a new object owning a freshly copied byte array.
+     * Frames may be retained freely by consumers.
+     */
+    COPY,
+
+    /**
+     * Frames are reusable views over the processor's internal buffer.
+     * A frame is only valid until the consumer callback returns and must be
+     * detached with {@link CRSFFrame#copy()} to be retained.
+     */
+    FLYWEIGHT
+
+}
@@ -0,0 +1,32 @@
+package systems.beep.processor;
+
+/**
+ * Outcome of validating a raw CRSF (Crossfire) frame before it is decoded.
+ * <p>
+ * Statuses are returned instead of exceptions on the decode path, so corrupted input costs no
+ * more than a comparison even when noise produces thousands of bad frames per second.
+ * </p>
+ */
+public enum DecodeStatus {
+
+    /**
+     * The frame is complete, of a known type, and its CRC matches.
+     */
+    OK,
+
+    /**
+     * The frame CRC does not match its content.
+     */
+    BAD_CRC,
+
+    /**
+     * The frame type byte does not match any known frame type, although the CRC matches.
+     */
+    UNKNOWN_TYPE,
+
+    /**
+     * The frame is shorter than its length byte announces or than its type requires.
+     */
+    TRUNCATED
+
+}
@@ -1,28 +1,70 @@
 package systems.beep.processor;
 
 import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.sub.Address;
+import systems.beep.helper.CRC8;
+import systems.beep.helper.SyncHelper;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.nio.ByteBuffer;
 
 /**
  * A buffer class that handles incoming data packets for CRSF (Crossfire) frames.
  * It provides methods to add data to the buffer, retrieve complete frames,
  * and manage the state of the buffer.
  * <p>
- * The {@code FrameBuffer} class maintains a dynamic buffer to store incoming
- * bytes and analyzes them to extract valid frames according to CRSF protocol
- * specifications.
+ * The {@code FrameBuffer} class stores incoming bytes in a primitive ring
+ * buffer and analyzes them to extract valid frames according to CRSF protocol
+ * specifications. Adding data and extracting frames never allocates per byte,
+ * and frames that wrap around the end of the ring are copied out in at most
+ * two bulk operations.
+ * </p>
+ * <p>
+ * {@link #addData(byte[])} always takes the whole array and grows the ring when
+ * it does not fit. The range and {@link ByteBuffer} variants never grow it: they
+ * accept as many bytes as there is free space for and return that count, so a
+ * caller draining frames between calls keeps the buffer at its capacity.
+ * </p>
+ * <p>
+ * When the buffer loses track of frame boundaries, it resynchronises in a single forward scan
+ * for the next byte accepted by {@link Address#isSyncByte(byte)} that is followed by a plausible
+ * length byte and, when the whole candidate frame is already buffered, a matching CRC. A frame
+ * rejected by the decoder is rescanned from its second byte, so frames received right after a
+ * corrupted one are not lost.
  * </p>
  */
 public class FrameBuffer {
 
+    /**
+     * Default capacity of the ring buffer in bytes.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
     // Maximum buffer size calculated based on CRSF frame specifications
-    private final int MAX_BUFFER_SIZE = CRSFFrame.FRAME_MAX_SIZE * 2 + 2;
+    private static final int MAX_BUFFER_SIZE = CRSFFrame.FRAME_MAX_SIZE * 2 + 2;
+
+    // Shared result for frame requests that yield no data
+    private static final byte[] EMPTY_FRAME = new byte[0];
+
+    // Ring storage, its length is always a power of two
+    private byte[] buffer;
+
+    // Mask used to map the running indices onto the ring storage
+    private int mask;
 
-    // Internal list to store bytes in the buffer
-    private final List<Byte> buffer = new ArrayList<>();
+    // Running index of the first unread byte
+    private int head = 0;
+
+    // Running index of the next byte to be written
+    private int tail = 0;
+
+    // Linear copy of the last extracted frame when it wraps around the end of the ring
+    private final byte[] frameScratch = new byte[CRSFFrame.FRAME_MAX_SIZE];
+
+    // Array holding the frame returned by the last call to nextFrame
+    private byte[] frameArray = EMPTY_FRAME;
+
+    // Index of that frame within frameArray
+    private int frameOffset = 0;
 
     // Current frame size being processed
     private int currentFrameSize = 0;
@@ -30,8 +72,45 @@ public class FrameBuffer {
     // Flag indicating whether a complete frame is available
     private boolean isFrameAvailable = false;
 
+    // Running index and size of the last extracted frame, kept so it can be rejected
+    private int lastFrameStart = 0;
+
+    private int lastFrameSize = 0;
+
+    // Checksum used to verify resynchronisation candidates
+    private final CRC8 crc = CRC8.D5();
+
+    // Number of bytes dropped while resynchronising
+    private long discardedBytes = 0;
+
+    /**
+     * Creates a buffer with the {@link #DEFAULT_CAPACITY default capacity}.
+     */
+    public FrameBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a buffer able to hold at least {@code capacity} bytes.
+     * <p>
+     * The capacity is rounded up to the next power of two and is never smaller
+     * than what is required to hold two maximum-size frames.
+     * </p>
+     *
+     * @param capacity the requested capacity in bytes.
+     */
+    public FrameBuffer(final int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, MAX_BUFFER_SIZE + 1) - 1) << 1;
+
+        this.buffer = new byte[size];
+        this.mask = size - 1;
+    }
+
     /**
      * Adds an array of data bytes to the buffer.
+     * <p>
+     * The whole array is always added: the ring grows if there is not enough free space.
+     * </p>
      *
      * @param data the byte array to be added to the buffer.
      */
@@ -40,11 +119,69 @@ public class FrameBuffer {
             return;
         }
 
-        for (byte datum : data) {
-            buffer.add(datum);
+        if (data.length > buffer.length - size()) {
+            grow(size() + data.length);
+        }
+
+        addData(data, 0, data.length);
+    }
+
+    /**
+     * Adds a range of data bytes to the buffer.
+     * <p>
+     * Only as many bytes as there is free space for are copied; callers are expected
+     * to drain available frames and offer the remainder again.
+     * </p>
+     *
+     * @param data   the byte array containing the data to be added.
+     * @param offset the index of the first byte to add.
+     * @param length the number of bytes to add.
+     * @return the number of bytes accepted.
+     */
+    public int addData(final byte[] data, final int offset, final int length) {
+        if (data == null) {
+            return 0;
         }
 
+        int count = Math.min(length, buffer.length - size());
+        int index = tail & mask;
+        int firstPart = Math.min(count, buffer.length - index);
+
+        System.arraycopy(data, offset, buffer, index, firstPart);
+        System.arraycopy(data, offset + firstPart, buffer, 0, count - firstPart);
+        tail += count;
+
         analyzeBuffer();
+
+        return count;
+    }
+
+    /**
+     * Adds the remaining bytes of a {@link ByteBuffer} to the buffer.
+     * <p>
+     * Bytes are copied straight from the source buffer, heap or direct, into the ring
+     * and the source position is advanced by the number of bytes accepted.
+     * </p>
+     *
+     * @param data the buffer holding the data to be added.
+     * @return the number of bytes accepted.
+     */
+    public int addData(final ByteBuffer data) {
+        if (data == null) {
+            return 0;
+        }
+
+        int count = Math.min(data.remaining(), buffer.length - size());
+        int index = tail & mask;
+        int firstPart = Math.min(count, buffer.length - index);
+
+        data.get(buffer, index, firstPart);
+        data.get(buffer, 0, count - firstPart);
+        tail += count;
+
+        analyzeBuffer();
+
+        return count;
     }
 
     /**
@@ -53,15 +190,22 @@ public class FrameBuffer {
      * @return the byte array containing all bytes in the buffer.
      */
     public byte[] getData() {
-        byte[] result = new byte[buffer.size()];
+        byte[] result = new byte[size()];
 
-        for (int i = 0; i < buffer.size(); i++) {
-            result[i] = buffer.get(i);
-        }
+        copyOut(head, result, 0, result.length);
 
         return result;
     }
 
+    /**
+     * Returns the number of bytes currently held by the buffer.
+     *
+     * @return the number of unread bytes.
+     */
+    public int size() {
+        return tail - head;
+    }
+
     /**
      * Attempts to fix the buffer if possible; otherwise, it clears the buffer.
      */
@@ -71,15 +215,55 @@ public class FrameBuffer {
             return;
         }
 
+        discardedBytes += size();
         flush();
     }
 
+    /**
+     * Rejects the frame extracted by the last call to {@link #nextFrame()} or {@link #getFrame()},
+     * for instance because it failed its CRC check, and resynchronises from its second byte.
+     * <p>
+     * Must be called before any data is added to the buffer after the frame was extracted.
+     * Does nothing if the frame was already rejected.
+     * </p>
+     */
+    public void rejectFrame() {
+        if (lastFrameSize == 0) {
+            return;
+        }
+
+        head = lastFrameStart + 1;
+        lastFrameSize = 0;
+        currentFrameSize = 0;
+        discardedBytes++;
+
+        if (!resync(0)) {
+            discardedBytes += size();
+            flush();
+            return;
+        }
+
+        analyzeBuffer();
+    }
+
+    /**
+     * Returns the number of bytes dropped while resynchronising, including the first byte of
+     * every rejected frame.
+     *
+     * @return the discarded byte count.
+     */
+    public long getDiscardedByteCount() {
+        return discardedBytes;
+    }
+
     /**
      * Clears the buffer and resets frame size and availability status.
      */
     public void flush() {
-        buffer.clear();
+        head = 0;
+        tail = 0;
         currentFrameSize = 0;
+        lastFrameSize = 0;
         isFrameAvailable = false;
     }
 
@@ -99,63 +283,254 @@ public class FrameBuffer {
      * @throws IllegalStateException if no complete frame is available.
      */
     public byte[] getFrame() {
-        if (currentFrameSize <= 0 || currentFrameSize > CRSFFrame.FRAME_MAX_SIZE || buffer.size() < currentFrameSize) {
+        int size = takeFrame();
+
+        if (size == 0) {
+            return EMPTY_FRAME;
+        }
+
+        byte[] result = new byte[size];
+
+        copyOut(head - size, result, 0, size);
+
+        return result;
+    }
+
+    /**
+     * Removes a complete frame from the buffer without copying it into a new array.
+     * <p>
+     * The frame is left in place and exposed through {@link #getFrameArray()} and
+     * {@link #getFrameOffset()}; only a frame that wraps around the end of the ring is
+     * first copied into a reusable scratch array. The exposed bytes stay valid until
+     * the next call that adds data to the buffer or extracts another frame.
+     * </p>
+     *
+     * @return the length of the extracted frame, or zero if no data could be extracted.
+     * @throws IllegalStateException if no complete frame is available.
+     */
+    public int nextFrame() {
+        int size = takeFrame();
+        int index = (head - size) & mask;
+
+        if (index + size <= buffer.length) {
+            frameArray = buffer;
+            frameOffset = index;
+        } else {
+            copyOut(head - size, frameScratch, 0, size);
+            frameArray = frameScratch;
+            frameOffset = 0;
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns the array holding the frame extracted by the last call to {@link #nextFrame()}.
+     *
+     * @return the array holding the frame.
+     */
+    public byte[] getFrameArray() {
+        return frameArray;
+    }
+
+    /**
+     * Returns the index of the frame extracted by the last call to {@link #nextFrame()}
+     * within {@link #getFrameArray()}.
+     *
+     * @return the index of the first frame byte.
+     */
+    public int getFrameOffset() {
+        return frameOffset;
+    }
+
+    /**
+     * Validates the current frame and advances the head past it.
+     *
+     * @return the size of the frame that was passed, or zero if the buffer held none.
+     * @throws IllegalStateException if no complete frame is available.
+     */
+    private int takeFrame() {
+        if (currentFrameSize <= 0 || currentFrameSize > CRSFFrame.FRAME_MAX_SIZE || size() < currentFrameSize) {
             fixOrFlush();
         }
 
-        byte[] result = new byte[currentFrameSize];
+        if (currentFrameSize == 0) {
+            return 0;
+        }
 
-        for (int i = 0; i < currentFrameSize; i++) {
-            result[i] = buffer.get(0);
-            buffer.remove(0);
+        if (size() < currentFrameSize) {
+            throw new IllegalStateException("Incomplete frame in buffer");
         }
 
+        int size = currentFrameSize;
+
+        lastFrameStart = head;
+        lastFrameSize = size;
+        head += size;
         currentFrameSize = 0;
 
         analyzeBuffer();
 
-        return result;
+        return size;
+    }
+
+    /**
+     * Replaces the ring with a larger one holding the unread bytes at its start.
+     * <p>
+     * The last extracted frame can no longer be rejected afterwards.
+     * </p>
+     *
+     * @param capacity the number of bytes the new ring must hold at least.
+     */
+    private void grow(final int capacity) {
+        int size = size();
+        byte[] larger = new byte[Integer.highestOneBit(capacity - 1) << 1];
+
+        copyOut(head, larger, 0, size);
+
+        buffer = larger;
+        mask = larger.length - 1;
+        head = 0;
+        tail = size;
+        lastFrameSize = 0;
+    }
+
+    /**
+     * Returns the byte at the given position relative to the head of the buffer.
+     *
+     * @param index the position relative to the first unread byte.
+     * @return the byte at that position.
+     */
+    private byte get(final int index) {
+        return buffer[(head + index) & mask];
+    }
+
+    /**
+     * Copies bytes out of the ring, handling wrap-around with at most two copies.
+     *
+     * @param from        the running index of the first byte to copy.
+     * @param destination the destination array.
+     * @param offset      the index in the destination array.
+     * @param length      the number of bytes to copy.
+     */
+    private void copyOut(final int from, final byte[] destination, final int offset, final int length) {
+        int index = from & mask;
+        int firstPart = Math.min(length, buffer.length - index);
+
+        System.arraycopy(buffer, index, destination, offset, firstPart);
+        System.arraycopy(buffer, 0, destination, offset + firstPart, length - firstPart);
     }
 
     /**
-     * Tries to fix the buffer by removing bytes until a valid frame start byte is found.
+     * Tries to fix the buffer by dropping the head byte and every byte up to the next frame candidate.
      *
-     * @return true if a valid start byte (-22) is found; false otherwise.
+     * @return true if a candidate is found; false otherwise.
      */
     private boolean tryToFixBuffer() {
-        while (buffer.size() >= 2) {
-            buffer.remove(0);
+        currentFrameSize = 0;
+
+        return resync(1);
+    }
+
+    /**
+     * Scans forward for the next frame candidate and drops the bytes before it.
+     *
+     * @param from the position relative to the head at which the scan starts.
+     * @return true if a candidate is found; false otherwise.
+     */
+    private boolean resync(final int from) {
+        int size = size();
+        int index = from;
+
+        while (index < size) {
+            // Scan the contiguous part of the ring holding the remaining bytes
+            int start = (head + index) & mask;
+            int end = Math.min(buffer.length, start + size - index);
+            int found = SyncHelper.indexOfSync(buffer, start, end);
+
+            if (found < 0) {
+                index += end - start;
+                continue;
+            }
+
+            index += found - start;
 
-            if (buffer.get(0) == -22) {
+            if (isCandidate(index, size)) {
+                head += index;
+                discardedBytes += index;
                 return true;
             }
+
+            index++;
         }
 
         return false;
     }
 
+    /**
+     * Tells whether a frame may start at the given position: it must start with a sync byte
+     * and carry a plausible length, and its CRC must match if the whole frame is buffered.
+     * A candidate whose end is not buffered yet is accepted and verified once it is extracted.
+     *
+     * @param index the position relative to the head.
+     * @param size  the number of buffered bytes.
+     * @return true if the position holds a frame candidate; false otherwise.
+     */
+    private boolean isCandidate(final int index, final int size) {
+        if (!Address.isSyncByte(get(index))) {
+            return false;
+        }
+
+        if (index + 1 >= size) {
+            return true;
+        }
+
+        if (!SyncHelper.isPlausibleLength(get(index + 1))) {
+            return false;
+        }
+
+        int length = get(index + 1) & 0xFF;
+
+        if (index + length + 2 > size) {
+            return true;
+        }
+
+        int from = (head + index + 2) & mask;
+        int firstPart = Math.min(length - 1, buffer.length - from);
+
+        crc.reset();
+        crc.update(buffer, from, firstPart);
+        crc.update(buffer, 0, length - 1 - firstPart);
+
+        return crc.getCRC() == get(index + length + 1);
+    }
+
     /**
      * Analyzes the current buffer state and determines the size of the frame.
      */
     private void analyzeBuffer() {
         if (currentFrameSize <= 0 || currentFrameSize > CRSFFrame.FRAME_MAX_SIZE) {
-            extractFrameSize().ifPresent(size -> currentFrameSize = size);
+            int size = extractFrameSize();
+
+            if (size > 0) {
+                currentFrameSize = size;
+            }
         }
 
-        isFrameAvailable = (currentFrameSize > 0 && buffer.size() >= currentFrameSize) || buffer.size() >= MAX_BUFFER_SIZE;
+        isFrameAvailable = (currentFrameSize > 0 && size() >= currentFrameSize) || size() >= MAX_BUFFER_SIZE;
     }
 
     /**
      * Extracts the size of the frame from the buffer.
      *
-     * @return an Optional containing the calculated frame size, or an empty Optional if it cannot be determined.
+     * @return the calculated frame size, or zero if it cannot be determined.
      */
-    private Optional<Byte> extractFrameSize() {
-        if (buffer.size() < 3 || buffer.get(1) <= 0 || buffer.get(1) > CRSFFrame.FRAME_MAX_SIZE) {
-            return Optional.empty();
+    private int extractFrameSize() {
+        if (size() < 3 || get(1) <= 0 || get(1) > CRSFFrame.FRAME_MAX_SIZE) {
+            return 0;
         }
 
-        return Optional.of((byte) (buffer.get(1) + 2));
+        return get(1) + 2;
     }
 
 }
@@ -0,0 +1,308 @@
+package systems.beep.processor;
+
+import systems.beep.crossfire.frame.CRSFExtendedFrame;
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.helper.CRCHelper;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * Dispatches raw CRSF (Crossfire) frames to handlers registered per frame type.
+ * <p>
+ * Handlers are kept in a 256-slot table indexed by the frame type byte, so finding the
+ * handler of a frame is a single array read. Frames of a type nobody subscribed to are
+ * skipped without constructing any object; their CRC is verified first unless disabled,
+ * so a corrupted frame still triggers a resynchronisation of the buffer.
+ * </p>
+ * <p>
+ * Decoding is deferred until a handler runs: each subscribed type owns a reusable view,
+ * bound to the frame bytes right before its handler is invoked. Like the views of a
+ * {@link DecodeMode#FLYWEIGHT} processor, it is only valid until the handler returns and
+ * must be {@link CRSFFrame#copy() copied} to be retained.
+ * </p>
+ * <p>
+ * Extended frames, whose payload starts with a destination, a source and an extended type,
+ * such as {@link FrameType#RADIO_ID} carrying {@link FrameType#OPEN_TX_SYNC}, may also be
+ * subscribed to per extended type, which costs a second array read for those frames only.
+ * </p>
+ * <p>
+ * Instances of this class must not be shared between threads, and handlers should be
+ * registered before data is processed.
+ * </p>
+ */
+public class FrameDispatcher {
+
+    // Number of distinct frame type bytes
+    private static final int TYPE_COUNT = 256;
+
+    // Index of the extended type byte within an extended frame
+    private static final int EXTENDED_TYPE_INDEX = 5;
+
+    private final FrameBuffer frameBuffer = new FrameBuffer();
+
+    // Handler slots indexed by the unsigned frame type byte
+    private final Slot[] slots = new Slot[TYPE_COUNT];
+
+    // Whether frames without a handler are CRC-checked before being skipped
+    private final boolean verifySkipped;
+
+    private long dispatchedCount = 0;
+
+    private long skippedCount = 0;
+
+    private long errorCount = 0;
+
+    /**
+     * Creates a dispatcher that verifies the CRC of skipped frames.
+     */
+    public FrameDispatcher() {
+        this(true);
+    }
+
+    /**
+     * Creates a dispatcher.
+     *
+     * @param verifySkipped whether frames without a handler are CRC-checked before being skipped.
+     */
+    public FrameDispatcher(final boolean verifySkipped) {
+        this.verifySkipped = verifySkipped;
+    }
+
+    /**
+     * Registers a handler for the frames of a type. A handler registered for a type that
+     * already has one runs after it.
+     *
+     * @param frameType the frame type.
+     * @param handler   the handler, receiving a view valid until it returns.
+     * @return this dispatcher.
+     * @throws IllegalArgumentException if the frame type is {@link FrameType#UNKNOWN} or the handler is missing.
+     */
+    public FrameDispatcher subscribe(final FrameType frameType, final Consumer<CRSFFrame> handler) {
+        check(frameType, handler);
+
+        slotOf(frameType).add(handler);
+
+        return this;
+    }
+
+    /**
+     * Registers a handler for the extended frames of a type carrying the given extended type.
+     * Such frames are not handed to the handlers of the frame type itself.
+     *
+     * @param frameType    the frame type, such as {@link FrameType#RADIO_ID}.
+     * @param extendedType the extended type, such as {@link FrameType#OPEN_TX_SYNC}.
+     * @param handler      the handler, receiving a view valid until it returns.
+     * @return this dispatcher.
+     * @throws IllegalArgumentException if a type is {@link FrameType#UNKNOWN} or the handler is missing.
+     */
+    public FrameDispatcher subscribe(final FrameType frameType, final FrameType extendedType,
+                                     final Consumer<CRSFFrame> handler) {
+        check(frameType, handler);
+        check(extendedType, handler);
+
+        Slot slot = slotOf(frameType);
+
+        if (slot.extended == null) {
+            slot.extended = new Slot[TYPE_COUNT];
+        }
+
+        int index = extendedType.getValue() & 0xFF;
+
+        if (slot.extended[index] == null) {
+            slot.extended[index] = new Slot(slot.view);
+        }
+
+        slot.extended[index].add(handler);
+
+        return this;
+    }
+
+    /**
+     * Removes every handler of a frame type, including those registered per extended type.
+     *
+     * @param frameType the frame type.
+     */
+    public void unsubscribe(final FrameType frameType) {
+        slots[frameType.getValue() & 0xFF] = null;
+    }
+
+    /**
+     * Processes incoming byte data and dispatches the complete frames it holds.
+     *
+     * @param data the byte array containing raw frame data.
+     */
+    public void processData(final byte[] data) {
+        int offset = 0;
+        int length = data == null ? 0 : data.length;
+
+        do {
+            offset += frameBuffer.addData(data, offset, length - offset);
+
+            dispatchAvailableFrames();
+        } while (offset < length);
+    }
+
+    /**
+     * Processes the remaining bytes of a {@link ByteBuffer} and dispatches the complete frames it holds.
+     *
+     * @param data the buffer containing raw frame data.
+     */
+    public void processData(final ByteBuffer data) {
+        do {
+            frameBuffer.addData(data);
+
+            dispatchAvailableFrames();
+        } while (data != null && data.hasRemaining());
+    }
+
+    /**
+     * Dispatches one complete frame held in a buffer.
+     *
+     * @param data   the buffer holding the frame.
+     * @param offset the index of the first frame byte.
+     * @param length the number of frame bytes.
+     * @return false if the frame failed its CRC check or is too short for its type; true otherwise.
+     */
+    public boolean dispatch(final byte[] data, final int offset, final int length) {
+        if (length < 4) {
+            errorCount++;
+            return false;
+        }
+
+        Slot slot = slots[data[offset + 2] & 0xFF];
+
+        if (slot != null && slot.extended != null && length > CRSFExtendedFrame.MIN_SIZE) {
+            Slot extended = slot.extended[data[offset + EXTENDED_TYPE_INDEX] & 0xFF];
+
+            if (extended != null) {
+                slot = extended;
+            }
+        }
+
+        if (slot == null || slot.handler == null) {
+            if (verifySkipped && CRCHelper.D5(data, offset + 2, offset + length - 1) != data[offset + length - 1]) {
+                errorCount++;
+                return false;
+            }
+
+            skippedCount++;
+            return true;
+        }
+
+        if (FrameFactory.validate(data, offset, length) != DecodeStatus.OK) {
+            errorCount++;
+            return false;
+        }
+
+        slot.view.wrap(data, offset, length, false);
+
+        dispatchedCount++;
+        slot.handler.accept(slot.view);
+
+        return true;
+    }
+
+    /**
+     * Flushes the frame buffer, clearing any stored data.
+     */
+    public void flush() {
+        frameBuffer.flush();
+    }
+
+    /**
+     * Returns the number of frames handed to handlers.
+     *
+     * @return the dispatched frame count.
+     */
+    public long getDispatchedCount() {
+        return dispatchedCount;
+    }
+
+    /**
+     * Returns the number of valid frames skipped because no handler was registered for them.
+     *
+     * @return the skipped frame count.
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Returns the number of frames rejected because they failed their CRC check or were too short for their type.
+     *
+     * @return the error frame count.
+     */
+    public long getErrorFrameCount() {
+        return errorCount;
+    }
+
+    /**
+     * Resets the dispatch statistics to zero.
+     */
+    public void resetStatistics() {
+        dispatchedCount = 0;
+        skippedCount = 0;
+        errorCount = 0;
+    }
+
+    /**
+     * Dispatches every complete frame in the buffer, resynchronising after a corrupted one.
+     */
+    private void dispatchAvailableFrames() {
+        while (frameBuffer.isFrameAvailable()) {
+            int size;
+
+            try {
+                size = frameBuffer.nextFrame();
+            } catch (IllegalStateException e) {
+                return;
+            }
+
+            if (size > 0 && !dispatch(frameBuffer.getFrameArray(), frameBuffer.getFrameOffset(), size)) {
+                frameBuffer.rejectFrame();
+            }
+        }
+    }
+
+    private Slot slotOf(final FrameType frameType) {
+        int index = frameType.getValue() & 0xFF;
+
+        if (slots[index] == null) {
+            slots[index] = new Slot(FrameViewFactory.createView(frameType));
+        }
+
+        return slots[index];
+    }
+
+    private static void check(final FrameType frameType, final Consumer<CRSFFrame> handler) {
+        if (frameType == null || frameType == FrameType.UNKNOWN || handler == null) {
+            throw new IllegalArgumentException("A known frame type and a handler must be given.");
+        }
+    }
+
+    /**
+     * Handlers of one frame type, or of one extended type, and the view they receive.
+     */
+    private static final class Slot {
+
+        private final CRSFFrame view;
+
+        // Registered handlers chained in registration order, null while only extended types are subscribed
+        private Consumer<CRSFFrame> handler;
+
+        // Slots indexed by the extended type byte, null unless an extended type is subscribed
+        private Slot[] extended;
+
+        private Slot(final CRSFFrame view) {
+            this.view = view;
+        }
+
+        private void add(final Consumer<CRSFFrame> added) {
+            handler = handler == null ? added : handler.andThen(added);
+        }
+
+    }
+
+}
@@ -14,8 +14,7 @@ import systems.beep.crossfire.frame.ParameterSettingsEntryFrame;
 import systems.beep.crossfire.frame.VariometerFrame;
 import systems.beep.crossfire.frame.sub.FrameType;
 import systems.beep.exception.IncorrectFrameTypeException;
-
-import java.util.Arrays;
+import systems.beep.helper.CRCHelper;
 
 /**
  * Factory class for generating CRSF (Crossfire) frames based on incoming data.
@@ -25,9 +24,33 @@ import java.util.Arrays;
  * created using the third byte of the data array and instantiates the
  * corresponding frame class.
  * </p>
+ * <p>
+ * {@link #validate(byte[], int, int)} checks a frame without throwing, so decoders can reject
+ * corrupted input cheaply and bind frames without checking them again; {@link #generateFrame(byte[])}
+ * remains the throwing API.
+ * </p>
  */
 public class FrameFactory {
 
+    // Smallest size of the frames whose class reads fields at fixed offsets, indexed by the unsigned type byte:
+    // one past the last byte the getters read, plus the CRC
+    private static final byte[] MIN_SIZES = new byte[256];
+
+    // Bytes of device information following the device name terminator
+    private static final int DEVICE_INFO_FIELDS = 14;
+
+    static {
+        MIN_SIZES[FrameType.GPS.getValue() & 0xFF] = 19;
+        MIN_SIZES[FrameType.VARIO.getValue() & 0xFF] = 6;
+        MIN_SIZES[FrameType.BATTERY_SENSOR.getValue() & 0xFF] = 12;
+        MIN_SIZES[FrameType.LINK_LINK_STATISTICS.getValue() & 0xFF] = 14;
+        MIN_SIZES[FrameType.RC_CHANNELS_PACKED.getValue() & 0xFF] = 26;
+        MIN_SIZES[FrameType.ATTITUDE.getValue() & 0xFF] = 10;
+        MIN_SIZES[FrameType.DEVICE_INFO.getValue() & 0xFF] = 8 + DEVICE_INFO_FIELDS;
+        MIN_SIZES[FrameType.PARAMETER_SETTINGS_ENTRY.getValue() & 0xFF] = 10;
+        MIN_SIZES[FrameType.RADIO_ID.getValue() & 0xFF] = 15;
+    }
+
     /**
      * Generates a {@link CRSFFrame} instance based on the provided byte array.
      * <p>
@@ -45,10 +68,11 @@ public class FrameFactory {
             return null;
         }
 
-        FrameType frameType = Arrays.stream(FrameType.values())
-                .filter(item -> item.getValue() == data[2])
-                .findAny()
-                .orElseThrow(IncorrectFrameTypeException::new);
+        FrameType frameType = FrameType.fromByte(data[2]);
+
+        if (frameType == FrameType.UNKNOWN) {
+            throw new IncorrectFrameTypeException();
+        }
 
         return switch (frameType) {
             case DEVICE_INFO -> new DeviceInfoFrame(data);
@@ -65,4 +89,76 @@ public class FrameFactory {
         };
     }
 
+    /**
+     * Checks a frame held in a buffer without throwing.
+     * <p>
+     * A frame is truncated when it is shorter than a frame without payload, than its length
+     * byte announces, or than its frame class requires to read its fields.
+     * </p>
+     * <p>
+     * The CRC covers the type byte and is checked before the type is classified, so a type byte
+     * corrupted in transit is reported as {@link DecodeStatus#BAD_CRC}, and
+     * {@link DecodeStatus#UNKNOWN_TYPE} is left for intact frames of a type this library does
+     * not decode.
+     * </p>
+     *
+     * @param data   the buffer holding the frame.
+     * @param offset the index of the first frame byte.
+     * @param length the number of frame bytes.
+     * @return {@link DecodeStatus#OK} if the frame can be decoded, or the reason it cannot.
+     */
+    public static DecodeStatus validate(final byte[] data, final int offset, final int length) {
+        if (data == null || length < 4 || length < (data[offset + 1] & 0xFF) + 2) {
+            return DecodeStatus.TRUNCATED;
+        }
+
+        if (CRCHelper.D5(data, offset + 2, offset + length - 1) != data[offset + length - 1]) {
+            return DecodeStatus.BAD_CRC;
+        }
+
+        if (FrameType.fromByte(data[offset + 2]) == FrameType.UNKNOWN) {
+            return DecodeStatus.UNKNOWN_TYPE;
+        }
+
+        if (isTruncated(data, offset, length)) {
+            return DecodeStatus.TRUNCATED;
+        }
+
+        return DecodeStatus.OK;
+    }
+
+    /**
+     * Tells whether a frame is too short for the class decoding its type.
+     * <p>
+     * Device information follows a null-terminated device name, so it must also fit after the terminator.
+     * </p>
+     *
+     * @param data   the buffer holding the frame.
+     * @param offset the index of the first frame byte.
+     * @param length the number of frame bytes.
+     * @return true if the frame class cannot read its fields from the frame; false otherwise.
+     */
+    static boolean isTruncated(final byte[] data, final int offset, final int length) {
+        byte type = data[offset + 2];
+
+        if (length < MIN_SIZES[type & 0xFF]) {
+            return true;
+        }
+
+        if (type != FrameType.DEVICE_INFO.getValue()) {
+            return false;
+        }
+
+        // The name starts after the extended header and its terminator must leave room for the fields and the CRC
+        int end = offset + length - 1 - DEVICE_INFO_FIELDS;
+
+        for (int i = offset + 6; i < end; i++) {
+            if (data[i] == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
 }
@@ -1,9 +1,13 @@
 package systems.beep.processor;
 
 import systems.beep.crossfire.frame.CRSFFrame;
-import systems.beep.exception.CorruptedPackageException;
-import systems.beep.exception.IncorrectFrameTypeException;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.metrics.IngestLatencyTracker;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -16,15 +20,74 @@ import java.util.function.Consumer;
  * and processes it into complete CRSF frames, while tracking the number of successfully processed
  * frames and any errors encountered during the process.
  * </p>
+ * <p>
+ * In {@link DecodeMode#FLYWEIGHT} mode the frames handed to consumers are reusable views
+ * over the internal buffer, valid only until the consumer returns, so steady-state
+ * decoding produces no garbage.
+ * </p>
+ * <p>
+ * Frames are validated with {@link FrameFactory#validate(byte[], int, int)} before they are
+ * decoded, so corrupted, unknown and truncated frames are rejected without any exception being
+ * thrown; {@link #getErrorCount(DecodeStatus)} tells them apart.
+ * </p>
+ * <p>
+ * Every chunk is stamped with {@link System#nanoTime()} when it is handed to the processor, or
+ * with the arrival time given to {@link #processData(byte[], long, Consumer)}. While a consumer
+ * runs, {@link #getArrivalTime()} returns the stamp of the chunk that completed its frame, and
+ * an {@link IngestLatencyTracker} set with {@link #setLatencyTracker(IngestLatencyTracker, int)}
+ * counts the time from that stamp until the frame is validated and until the consumer returns.
+ * </p>
  */
 public class FrameProcessor implements IFrameProcessor {
 
+    // Size of the direct buffer used to read from channels
+    private static final int READ_BUFFER_SIZE = CRSFFrame.FRAME_MAX_SIZE * 64;
+
     private final FrameBuffer frameBuffer = new FrameBuffer();
 
+    private final DecodeMode decodeMode;
+
+    // View instances used in flyweight mode
+    private final FrameViewFactory frameViewFactory = new FrameViewFactory();
+
+    // Lazily allocated read buffer for channel draining
+    private ByteBuffer readBuffer;
+
+    // Latency histograms fed by this processor, null unless tracking is enabled
+    private IngestLatencyTracker latencyTracker;
+
+    // Link of this processor within the latency tracker
+    private int linkId = 0;
+
+    // System.nanoTime() at which the chunk being processed arrived
+    private long arrivalTime = 0;
+
+    // Type of the frame last returned by decodeFrame, read from the buffer before the consumer runs
+    private FrameType frameType = FrameType.UNKNOWN;
+
     private int frameProcessed = 0;
 
     private int errorProcessed = 0;
 
+    // Rejected frames per decode status
+    private final int[] statusCounts = new int[DecodeStatus.values().length];
+
+    /**
+     * Creates a processor that hands out frames owning their own data.
+     */
+    public FrameProcessor() {
+        this(DecodeMode.COPY);
+    }
+
+    /**
+     * Creates a processor with the given decode mode.
+     *
+     * @param decodeMode how decoded frames are materialized.
+     */
+    public FrameProcessor(final DecodeMode decodeMode) {
+        this.decodeMode = decodeMode;
+    }
+
     /**
      * Processes incoming byte data and consumes the resulting frames.
      * <p>
@@ -38,11 +101,81 @@ public class FrameProcessor implements IFrameProcessor {
      */
     @Override
     public void processData(byte[] data, Consumer<CRSFFrame> frameConsumer) {
-        frameBuffer.addData(data);
+        processData(data, System.nanoTime(), frameConsumer);
+    }
 
-        while (frameBuffer.isFrameAvailable()) {
-            buildFrame().ifPresent(frameConsumer);
+    /**
+     * Processes incoming byte data that arrived at the given time and consumes the resulting frames.
+     * <p>
+     * Callers queueing chunks before processing them pass the time each chunk was received,
+     * so that latencies include the time spent waiting in the queue.
+     * </p>
+     *
+     * @param data          the byte array containing raw frame data. Must not be null.
+     * @param arrivalTime   the {@link System#nanoTime()} at which the data was received.
+     * @param frameConsumer a consumer to process successfully built frames.
+     */
+    public void processData(final byte[] data, final long arrivalTime, final Consumer<CRSFFrame> frameConsumer) {
+        this.arrivalTime = arrivalTime;
+
+        int offset = 0;
+        int length = data == null ? 0 : data.length;
+
+        do {
+            offset += frameBuffer.addData(data, offset, length - offset);
+
+            consumeAvailableFrames(frameConsumer);
+        } while (offset < length);
+    }
+
+    /**
+     * Processes the remaining bytes of a {@link ByteBuffer} and consumes the resulting frames.
+     * <p>
+     * Bytes are copied straight from the given buffer, heap or direct, into the frame buffer
+     * without any intermediate array.
+     * </p>
+     *
+     * @param data          the buffer containing raw frame data. Must not be null.
+     * @param frameConsumer a consumer to process successfully built frames.
+     */
+    @Override
+    public void processData(ByteBuffer data, Consumer<CRSFFrame> frameConsumer) {
+        arrivalTime = System.nanoTime();
+
+        do {
+            frameBuffer.addData(data);
+
+            consumeAvailableFrames(frameConsumer);
+        } while (data != null && data.hasRemaining());
+    }
+
+    /**
+     * Reads everything currently available from a channel and consumes the resulting frames.
+     * <p>
+     * The channel reads into a reusable direct buffer owned by this processor, from which
+     * bytes are handed to the frame buffer directly.
+     * </p>
+     *
+     * @param channel       the channel to read from.
+     * @param frameConsumer a consumer to process successfully built frames.
+     * @return the number of bytes read, or -1 if the end of stream was reached before any byte was read.
+     * @throws IOException if reading from the channel fails.
+     */
+    @Override
+    public int drain(ReadableByteChannel channel, Consumer<CRSFFrame> frameConsumer) throws IOException {
+        if (readBuffer == null) {
+            readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
         }
+
+        int total = 0;
+        int read;
+
+        while ((read = channel.read(readBuffer.clear())) > 0) {
+            processData(readBuffer.flip(), frameConsumer);
+            total += read;
+        }
+
+        return (read < 0 && total == 0) ? -1 : total;
     }
 
     /**
@@ -57,21 +190,106 @@ public class FrameProcessor implements IFrameProcessor {
      */
     @Override
     public Optional<CRSFFrame> buildFrame() {
+        return Optional.ofNullable(decodeFrame());
+    }
+
+    /**
+     * Returns the decode mode of this processor.
+     *
+     * @return the decode mode.
+     */
+    public DecodeMode getDecodeMode() {
+        return decodeMode;
+    }
+
+    /**
+     * Returns the arrival time of the chunk that completed the frame being consumed.
+     *
+     * @return the {@link System#nanoTime()} at which the last chunk processed arrived.
+     */
+    public long getArrivalTime() {
+        return arrivalTime;
+    }
+
+    /**
+     * Enables latency tracking, counting the latencies of the frames of this processor as
+     * those of a link of the given tracker.
+     *
+     * @param latencyTracker the tracker to record into, or null to disable tracking.
+     * @param linkId         the link of this processor within the tracker.
+     * @throws IllegalArgumentException if the link is not tracked by the tracker.
+     */
+    public void setLatencyTracker(final IngestLatencyTracker latencyTracker, final int linkId) {
+        if (latencyTracker != null && (linkId < 0 || linkId >= latencyTracker.getLinkCount())) {
+            throw new IllegalArgumentException("Unknown link: " + linkId);
+        }
+
+        this.latencyTracker = latencyTracker;
+        this.linkId = linkId;
+    }
+
+    /**
+     * Hands every complete frame in the buffer to the consumer.
+     *
+     * @param frameConsumer a consumer to process successfully built frames.
+     */
+    private void consumeAvailableFrames(Consumer<CRSFFrame> frameConsumer) {
+        while (frameBuffer.isFrameAvailable()) {
+            CRSFFrame frame = decodeFrame();
+
+            if (frame != null) {
+                FrameType type = frameType;
+
+                frameConsumer.accept(frame);
+
+                if (latencyTracker != null) {
+                    latencyTracker.recordConsumed(linkId, type, System.nanoTime() - arrivalTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes the next frame from the frame buffer according to the decode mode.
+     *
+     * @return the decoded frame, or null if frame building fails.
+     */
+    private CRSFFrame decodeFrame() {
+        int size;
+
         try {
-            CRSFFrame result = FrameFactory.generateFrame(frameBuffer.getFrame());
+            size = frameBuffer.nextFrame();
+        } catch (IllegalStateException e) {
+            return null;
+        }
 
-            frameProcessed++;
+        if (size == 0) {
+            return null;
+        }
+
+        byte[] data = frameBuffer.getFrameArray();
+        int offset = frameBuffer.getFrameOffset();
+        DecodeStatus status = FrameFactory.validate(data, offset, size);
 
-            return Optional.ofNullable(result);
-        } catch (CorruptedPackageException | IncorrectFrameTypeException e) {
+        if (status != DecodeStatus.OK) {
             errorProcessed++;
+            statusCounts[status.ordinal()]++;
+
+            frameBuffer.rejectFrame();
 
-            frameBuffer.fixOrFlush();
+            return null;
+        }
+
+        frameProcessed++;
+        frameType = FrameType.fromByte(data[offset + 2]);
 
-            return Optional.empty();
-        } catch (Exception e) {
-            return Optional.empty();
+        if (latencyTracker != null) {
+            latencyTracker.recordValidated(linkId, frameType, System.nanoTime() - arrivalTime);
         }
+
+        CRSFFrame view = frameViewFactory.wrapFrame(data, offset, size, false);
+
+        return decodeMode == DecodeMode.FLYWEIGHT ? view : view.copy();
     }
 
     /**
@@ -93,6 +311,7 @@ public class FrameProcessor implements IFrameProcessor {
     public void resetStatistics() {
         frameProcessed = 0;
         errorProcessed = 0;
+        Arrays.fill(statusCounts, 0);
     }
 
     /**
@@ -115,6 +334,25 @@ public class FrameProcessor implements IFrameProcessor {
         return errorProcessed;
     }
 
+    /**
+     * Gets the count of frames rejected with the given status.
+     *
+     * @param status the decode status.
+     * @return the number of frames rejected with that status, always zero for {@link DecodeStatus#OK}.
+     */
+    public int getErrorCount(final DecodeStatus status) {
+        return statusCounts[status.ordinal()];
+    }
+
+    /**
+     * Gets the number of bytes dropped while resynchronising after corrupted data.
+     *
+     * @return the discarded byte count.
+     */
+    public long getDiscardedByteCount() {
+        return frameBuffer.getDiscardedByteCount();
+    }
+
     /**
      * Calculates the error rate as a percentage of processed frames.
      * <p>
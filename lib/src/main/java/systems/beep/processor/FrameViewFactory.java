@@ -0,0 +1,160 @@
+package systems.beep.processor;
+
+import systems.beep.crossfire.frame.AttitudeFrame;
+import systems.beep.crossfire.frame.BatteryFrame;
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.ChannelsFrame;
+import systems.beep.crossfire.frame.DeviceInfoFrame;
+import systems.beep.crossfire.frame.FlightModeFrame;
+import systems.beep.crossfire.frame.GPSFrame;
+import systems.beep.crossfire.frame.HexFrame;
+import systems.beep.crossfire.frame.LinkStatisticsFrame;
+import systems.beep.crossfire.frame.OpenTxSyncFrame;
+import systems.beep.crossfire.frame.ParameterSettingsEntryFrame;
+import systems.beep.crossfire.frame.VariometerFrame;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.exception.IncorrectFrameTypeException;
+
+/**
+ * Factory that decodes CRSF (Crossfire) frames into reusable views instead of new objects.
+ * <p>
+ * The {@code FrameViewFactory} holds one view instance per frame class and rebinds it to
+ * the region of the buffer holding each frame, so decoding allocates nothing. It maps frame
+ * types to classes exactly like {@link FrameFactory}. A view returned by
+ * {@link #wrapFrame(byte[], int, int)} is overwritten by the next call that resolves to the
+ * same class, so instances of this class must not be shared between threads.
+ * </p>
+ * <p>
+ * {@link #decode(byte[], int, int)} is the exception-free counterpart of
+ * {@link #wrapFrame(byte[], int, int)}: it reports corrupted, unknown and truncated frames with a
+ * {@link DecodeStatus} instead of throwing.
+ * </p>
+ */
+public class FrameViewFactory {
+
+    private final DeviceInfoFrame deviceInfoFrame = new DeviceInfoFrame();
+
+    private final OpenTxSyncFrame openTxSyncFrame = new OpenTxSyncFrame();
+
+    private final AttitudeFrame attitudeFrame = new AttitudeFrame();
+
+    private final LinkStatisticsFrame linkStatisticsFrame = new LinkStatisticsFrame();
+
+    private final FlightModeFrame flightModeFrame = new FlightModeFrame();
+
+    private final BatteryFrame batteryFrame = new BatteryFrame();
+
+    private final ChannelsFrame channelsFrame = new ChannelsFrame();
+
+    private final VariometerFrame variometerFrame = new VariometerFrame();
+
+    private final GPSFrame gpsFrame = new GPSFrame();
+
+    private final ParameterSettingsEntryFrame parameterSettingsEntryFrame = new ParameterSettingsEntryFrame();
+
+    private final HexFrame hexFrame = new HexFrame();
+
+    // View bound by the last call to decode, null if that frame was rejected
+    private CRSFFrame decodedFrame;
+
+    /**
+     * Validates a frame and, if it is valid, binds the view matching its type without throwing.
+     * The view is then returned by {@link #getDecodedFrame()}.
+     *
+     * @param data   the buffer holding the frame.
+     * @param offset the index of the first frame byte.
+     * @param length the number of frame bytes.
+     * @return {@link DecodeStatus#OK} if the frame was bound, or the reason it was rejected.
+     */
+    public DecodeStatus decode(final byte[] data, final int offset, final int length) {
+        DecodeStatus status = FrameFactory.validate(data, offset, length);
+
+        decodedFrame = status == DecodeStatus.OK ? wrapFrame(data, offset, length, false) : null;
+
+        return status;
+    }
+
+    /**
+     * Returns the view bound by the last call to {@link #decode(byte[], int, int)}.
+     *
+     * @return the bound view, or null if the last decoded frame was rejected.
+     */
+    public CRSFFrame getDecodedFrame() {
+        return decodedFrame;
+    }
+
+    /**
+     * Binds the view matching the frame type to a region of the given buffer.
+     *
+     * @param data   the buffer holding the frame.
+     * @param offset the index of the first frame byte.
+     * @param length the number of frame bytes.
+     * @return the bound view, or null if the region is too short to hold a frame.
+     * @throws IncorrectFrameTypeException if the frame type cannot be determined.
+     */
+    public CRSFFrame wrapFrame(final byte[] data, final int offset, final int length) {
+        return wrapFrame(data, offset, length, true);
+    }
+
+    /**
+     * Binds the view matching the frame type to a region of the given buffer, optionally
+     * skipping the CRC check for frames whose CRC was validated while they were received.
+     *
+     * @param data      the buffer holding the frame.
+     * @param offset    the index of the first frame byte.
+     * @param length    the number of frame bytes.
+     * @param verifyCRC whether the CRC is checked.
+     * @return the bound view, or null if the region is too short to hold a frame.
+     * @throws IncorrectFrameTypeException if the frame type cannot be determined.
+     */
+    public CRSFFrame wrapFrame(final byte[] data, final int offset, final int length, final boolean verifyCRC) {
+        if (data == null || length < 3) {
+            return null;
+        }
+
+        FrameType frameType = FrameType.fromByte(data[offset + 2]);
+
+        if (frameType == FrameType.UNKNOWN) {
+            throw new IncorrectFrameTypeException();
+        }
+
+        CRSFFrame view = switch (frameType) {
+            case DEVICE_INFO -> deviceInfoFrame;
+            case RADIO_ID -> openTxSyncFrame;
+            case ATTITUDE -> attitudeFrame;
+            case LINK_LINK_STATISTICS -> linkStatisticsFrame;
+            case FLIGHT_MODE -> flightModeFrame;
+            case BATTERY_SENSOR -> batteryFrame;
+            case RC_CHANNELS_PACKED -> channelsFrame;
+            case VARIO -> variometerFrame;
+            case GPS -> gpsFrame;
+            case PARAMETER_SETTINGS_ENTRY -> parameterSettingsEntryFrame;
+            default -> hexFrame;
+        };
+
+        return view.wrap(data, offset, length, verifyCRC);
+    }
+
+    /**
+     * Creates a new, unbound view of the class matching a frame type.
+     *
+     * @param frameType the frame type.
+     * @return a new view to be bound with {@link CRSFFrame#wrap(byte[], int, int)}.
+     */
+    static CRSFFrame createView(final FrameType frameType) {
+        return switch (frameType) {
+            case DEVICE_INFO -> new DeviceInfoFrame();
+            case RADIO_ID -> new OpenTxSyncFrame();
+            case ATTITUDE -> new AttitudeFrame();
+            case LINK_LINK_STATISTICS -> new LinkStatisticsFrame();
+            case FLIGHT_MODE -> new FlightModeFrame();
+            case BATTERY_SENSOR -> new BatteryFrame();
+            case RC_CHANNELS_PACKED -> new ChannelsFrame();
+            case VARIO -> new VariometerFrame();
+            case GPS -> new GPSFrame();
+            case PARAMETER_SETTINGS_ENTRY -> new ParameterSettingsEntryFrame();
+            default -> new HexFrame();
+        };
+    }
+
+}
@@ -2,6 +2,9 @@ package systems.beep.processor;
 
 import systems.beep.crossfire.frame.CRSFFrame;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -29,6 +32,50 @@ public interface IFrameProcessor {
      */
     void processData(byte[] data, Consumer<CRSFFrame> frameConsumer);
 
+    /**
+     * Processes the remaining bytes of a {@link ByteBuffer} and consumes the resulting frames.
+     * <p>
+     * The buffer may be heap or direct; its position is advanced past every byte consumed.
+     * The default implementation copies the bytes into an array and delegates to
+     * {@link #processData(byte[], Consumer)}; implementations should override it to read
+     * straight from the buffer.
+     * </p>
+     *
+     * @param data          the buffer containing raw frame data. Must not be null.
+     * @param frameConsumer a consumer to process successfully built frames.
+     */
+    default void processData(ByteBuffer data, Consumer<CRSFFrame> frameConsumer) {
+        byte[] bytes = new byte[data.remaining()];
+
+        data.get(bytes);
+        processData(bytes, frameConsumer);
+    }
+
+    /**
+     * Reads everything currently available from a channel and consumes the resulting frames.
+     * <p>
+     * Reading stops when the channel returns no bytes or reaches the end of stream. For a
+     * blocking channel this means the method returns only at the end of stream.
+     * </p>
+     *
+     * @param channel       the channel to read from.
+     * @param frameConsumer a consumer to process successfully built frames.
+     * @return the number of bytes read, or -1 if the end of stream was reached before any byte was read.
+     * @throws IOException if reading from the channel fails.
+     */
+    default int drain(ReadableByteChannel channel, Consumer<CRSFFrame> frameConsumer) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CRSFFrame.FRAME_MAX_SIZE * 64);
+        int total = 0;
+        int read;
+
+        while ((read = channel.read(buffer.clear())) > 0) {
+            processData(buffer.flip(), frameConsumer);
+            total += read;
+        }
+
+        return (read < 0 && total == 0) ? -1 : total;
+    }
+
     /**
      * Builds a CRSF frame from the accumulated data.
      * <p>
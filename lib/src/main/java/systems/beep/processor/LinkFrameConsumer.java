@@ -0,0 +1,23 @@
+package systems.beep.processor;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+
+/**
+ * Receives frames decoded from one of several radio links.
+ * <p>
+ * Implementations are invoked from the worker thread that owns the link, so frames of
+ * one link always arrive in order while different links may be delivered concurrently.
+ * </p>
+ */
+@FunctionalInterface
+public interface LinkFrameConsumer {
+
+    /**
+     * Consumes a decoded frame.
+     *
+     * @param linkId the identifier of the link the frame was received on.
+     * @param frame  the decoded frame.
+     */
+    void accept(int linkId, CRSFFrame frame);
+
+}
@@ -0,0 +1,418 @@
+package systems.beep.processor;
+
+import systems.beep.metrics.IngestLatencyTracker;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Processor decoding CRSF (Crossfire) frames for many radio links at once.
+ * <p>
+ * The {@code MultiLinkFrameProcessor} keeps an isolated {@link FrameProcessor}, and therefore an
+ * isolated frame buffer and parser state, for each link identifier from {@code 0} to
+ * {@code linkCount - 1}. Inbound chunks are queued to a fixed pool of worker threads sharded by
+ * link, so every link is always handled by the same thread and no locking is needed between
+ * links. Decoded frames are handed to a {@link LinkFrameConsumer} tagged with their link ID.
+ * </p>
+ * <p>
+ * Each worker has a bounded queue. {@link #submit(int, byte[])} fails fast when it is full,
+ * while {@link #put(int, byte[])} waits for space. Every chunk accepted before {@link #close()}
+ * is processed before the workers stop.
+ * </p>
+ * <p>
+ * A consumer throwing an exception loses the rest of its chunk and the partial frame of its
+ * link. A consumer throwing an {@link Error} fails its link: the chunks still queued for it are
+ * dropped, further chunks are refused, and the worker keeps serving the other links.
+ * </p>
+ * <p>
+ * Chunks are stamped with {@link System#nanoTime()} when they are queued. Given an
+ * {@link IngestLatencyTracker}, the processor counts the latency of every frame from that stamp,
+ * time spent in the queue included, until the frame is validated and until the consumer returns.
+ * </p>
+ */
+public class MultiLinkFrameProcessor implements AutoCloseable {
+
+    /**
+     * Default number of chunks each worker queue can hold.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    // Marker telling a worker to stop after draining its queue
+    private static final Chunk STOP = new Chunk(-1, null, 0);
+
+    private final FrameProcessor[] processors;
+
+    private final Worker[] workers;
+
+    private final LinkFrameConsumer frameConsumer;
+
+    // Latency histograms of every link, null unless tracking is enabled
+    private final IngestLatencyTracker latencyTracker;
+
+    // Per-link statistics published by the owning worker after every chunk
+    private final AtomicIntegerArray frameProcessed;
+
+    private final AtomicIntegerArray errorProcessed;
+
+    // Links whose consumer threw an Error, set to 1 by the owning worker
+    private final AtomicIntegerArray failedLinks;
+
+    // Set once by close() before the stop markers are queued; producers check it before and after queueing
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Creates a processor for {@code linkCount} links handing out frames owning their own data.
+     *
+     * @param linkCount     the number of links.
+     * @param workerCount   the number of worker threads.
+     * @param frameConsumer the consumer receiving decoded frames.
+     * @throws IllegalArgumentException if a count is not positive.
+     */
+    public MultiLinkFrameProcessor(final int linkCount, final int workerCount, final LinkFrameConsumer frameConsumer) {
+        this(linkCount, workerCount, DEFAULT_QUEUE_CAPACITY, DecodeMode.COPY, frameConsumer);
+    }
+
+    /**
+     * Creates a processor for {@code linkCount} links.
+     * <p>
+     * In {@link DecodeMode#FLYWEIGHT} mode each link reuses its own views, which are valid only
+     * until the consumer returns.
+     * </p>
+     *
+     * @param linkCount     the number of links.
+     * @param workerCount   the number of worker threads, capped at the number of links.
+     * @param queueCapacity the number of chunks each worker queue can hold.
+     * @param decodeMode    how decoded frames are materialized.
+     * @param frameConsumer the consumer receiving decoded frames.
+     * @throws IllegalArgumentException if a count or the capacity is not positive.
+     */
+    public MultiLinkFrameProcessor(final int linkCount, final int workerCount, final int queueCapacity,
+                                   final DecodeMode decodeMode, final LinkFrameConsumer frameConsumer) {
+        this(linkCount, workerCount, queueCapacity, decodeMode, frameConsumer, null);
+    }
+
+    /**
+     * Creates a processor for {@code linkCount} links recording the latency of their frames.
+     *
+     * @param linkCount      the number of links.
+     * @param workerCount    the number of worker threads, capped at the number of links.
+     * @param queueCapacity  the number of chunks each worker queue can hold.
+     * @param decodeMode     how decoded frames are materialized.
+     * @param frameConsumer  the consumer receiving decoded frames.
+     * @param latencyTracker the tracker to record into, or null to disable tracking.
+     * @throws IllegalArgumentException if a count or the capacity is not positive, or if the
+     *                                  tracker does not track the same number of links.
+     */
+    public MultiLinkFrameProcessor(final int linkCount, final int workerCount, final int queueCapacity,
+                                   final DecodeMode decodeMode, final LinkFrameConsumer frameConsumer,
+                                   final IngestLatencyTracker latencyTracker) {
+        if (linkCount <= 0 || workerCount <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Link count, worker count and queue capacity must be positive.");
+        }
+
+        if (latencyTracker != null && latencyTracker.getLinkCount() != linkCount) {
+            throw new IllegalArgumentException("The latency tracker must track " + linkCount + " links.");
+        }
+
+        this.processors = new FrameProcessor[linkCount];
+        this.workers = new Worker[Math.min(workerCount, linkCount)];
+        this.frameConsumer = frameConsumer;
+        this.latencyTracker = latencyTracker;
+        this.frameProcessed = new AtomicIntegerArray(linkCount);
+        this.errorProcessed = new AtomicIntegerArray(linkCount);
+        this.failedLinks = new AtomicIntegerArray(linkCount);
+
+        for (int i = 0; i < linkCount; i++) {
+            processors[i] = new FrameProcessor(decodeMode);
+            processors[i].setLatencyTracker(latencyTracker, i);
+        }
+
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(i, queueCapacity);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * Queues a chunk of bytes received on a link without waiting.
+     * <p>
+     * Ownership of the array passes to the processor; the caller must not modify it afterwards.
+     * </p>
+     *
+     * @param linkId the link the bytes were received on.
+     * @param data   the received bytes.
+     * @return true if the chunk was queued; false if the worker queue is full.
+     * @throws IllegalArgumentException if the link ID is out of range.
+     * @throws IllegalStateException    if the processor has been closed or the link has failed.
+     */
+    public boolean submit(final int linkId, final byte[] data) {
+        Worker worker = workerFor(linkId);
+        Chunk chunk = new Chunk(linkId, data, System.nanoTime());
+
+        checkOpen(linkId);
+
+        if (!worker.queue.offer(chunk)) {
+            return false;
+        }
+
+        checkQueued(worker, chunk);
+
+        return true;
+    }
+
+    /**
+     * Queues a chunk of bytes received on a link, waiting for space if the worker queue is full.
+     * <p>
+     * Ownership of the array passes to the processor; the caller must not modify it afterwards.
+     * </p>
+     *
+     * @param linkId the link the bytes were received on.
+     * @param data   the received bytes.
+     * @throws InterruptedException     if interrupted while waiting.
+     * @throws IllegalArgumentException if the link ID is out of range.
+     * @throws IllegalStateException    if the processor has been closed or the link has failed.
+     */
+    public void put(final int linkId, final byte[] data) throws InterruptedException {
+        enqueue(new Chunk(linkId, data, System.nanoTime()));
+    }
+
+    /**
+     * Queues a flush of the buffer of a link, discarding any partial frame received so far.
+     *
+     * @param linkId the link to flush.
+     * @throws InterruptedException     if interrupted while waiting for queue space.
+     * @throws IllegalArgumentException if the link ID is out of range.
+     * @throws IllegalStateException    if the processor has been closed or the link has failed.
+     */
+    public void flush(final int linkId) throws InterruptedException {
+        enqueue(new Chunk(linkId, null, 0));
+    }
+
+    /**
+     * Returns the number of links managed by this processor.
+     *
+     * @return the number of links.
+     */
+    public int getLinkCount() {
+        return processors.length;
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return the number of workers.
+     */
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    /**
+     * Returns the tracker recording the latency of the frames of every link.
+     *
+     * @return the latency tracker, or null if tracking is disabled.
+     */
+    public IngestLatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
+    /**
+     * Gets the count of successfully processed frames of a link.
+     * <p>
+     * The value is published after every chunk and may lag behind chunks still queued.
+     * </p>
+     *
+     * @param linkId the link.
+     * @return the number of frames that have been successfully processed.
+     */
+    public int getFrameProcessedCount(final int linkId) {
+        return frameProcessed.get(linkId);
+    }
+
+    /**
+     * Gets the count of error frames of a link.
+     * <p>
+     * The value is published after every chunk and may lag behind chunks still queued.
+     * </p>
+     *
+     * @param linkId the link.
+     * @return the number of error frames that have been processed.
+     */
+    public int getErrorFrameCount(final int linkId) {
+        return errorProcessed.get(linkId);
+    }
+
+    /**
+     * Tells whether a link has failed because its consumer threw an {@link Error}.
+     *
+     * @param linkId the link.
+     * @return true if the link no longer accepts chunks; false otherwise.
+     */
+    public boolean isFailed(final int linkId) {
+        return failedLinks.get(linkId) != 0;
+    }
+
+    /**
+     * Stops accepting chunks, processes everything already queued and stops the workers.
+     * <p>
+     * If the calling thread is interrupted while waiting, the method returns early with the
+     * interrupt status set; workers that were already told to stop still finish their queue.
+     * </p>
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            for (Worker worker : workers) {
+                worker.queue.put(STOP);
+            }
+
+            for (Worker worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues a chunk, waiting for space if the worker queue is full.
+     *
+     * @param chunk the chunk to queue.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private void enqueue(final Chunk chunk) throws InterruptedException {
+        Worker worker = workerFor(chunk.linkId);
+
+        checkOpen(chunk.linkId);
+        worker.queue.put(chunk);
+        checkQueued(worker, chunk);
+    }
+
+    /**
+     * Resolves the worker owning a link.
+     *
+     * @param linkId the link.
+     * @return the worker handling the link.
+     */
+    private Worker workerFor(final int linkId) {
+        if (linkId < 0 || linkId >= processors.length) {
+            throw new IllegalArgumentException("Unknown link: " + linkId);
+        }
+
+        return workers[linkId % workers.length];
+    }
+
+    /**
+     * Checks that chunks may still be queued for a link.
+     *
+     * @param linkId the link.
+     */
+    private void checkOpen(final int linkId) {
+        if (closed.get()) {
+            throw new IllegalStateException("Processor is closed");
+        }
+
+        if (failedLinks.get(linkId) != 0) {
+            throw new IllegalStateException("Link " + linkId + " has failed");
+        }
+    }
+
+    /**
+     * Checks that a chunk just queued is ahead of the stop marker of its worker.
+     * <p>
+     * A chunk queued while the processor was open precedes the stop marker and is processed.
+     * Otherwise it may follow the marker: it is taken back unless the worker has already taken it.
+     * </p>
+     *
+     * @param worker the worker the chunk was queued to.
+     * @param chunk  the chunk.
+     */
+    private void checkQueued(final Worker worker, final Chunk chunk) {
+        if (closed.get() && worker.queue.remove(chunk)) {
+            throw new IllegalStateException("Processor is closed");
+        }
+    }
+
+    /**
+     * A unit of work for a worker: bytes to decode, or a flush request when the data is null.
+     */
+    private static final class Chunk {
+
+        private final int linkId;
+
+        private final byte[] data;
+
+        // System.nanoTime() at which the chunk was queued
+        private final long arrivalTime;
+
+        private Chunk(final int linkId, final byte[] data, final long arrivalTime) {
+            this.linkId = linkId;
+            this.data = data;
+            this.arrivalTime = arrivalTime;
+        }
+
+    }
+
+    /**
+     * Worker thread decoding the chunks of the links sharded to it.
+     */
+    private final class Worker extends Thread {
+
+        private final BlockingQueue<Chunk> queue;
+
+        private Worker(final int index, final int queueCapacity) {
+            super("crsf-link-worker-" + index);
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                Chunk chunk;
+
+                while ((chunk = queue.take()) != STOP) {
+                    process(chunk);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void process(final Chunk chunk) {
+            int linkId = chunk.linkId;
+            FrameProcessor processor = processors[linkId];
+
+            if (failedLinks.get(linkId) != 0) {
+                return;
+            }
+
+            try {
+                if (chunk.data == null) {
+                    processor.flush();
+                } else {
+                    processor.processData(chunk.data, chunk.arrivalTime, frame -> frameConsumer.accept(linkId, frame));
+                }
+            } catch (RuntimeException e) {
+                // The consumer failed mid-chunk; drop the remainder and keep serving the other links
+                processor.flush();
+                getUncaughtExceptionHandler().uncaughtException(this, e);
+            } catch (Throwable e) {
+                // Anything worse leaves the link in an unknown state; stop serving it but keep the others alive
+                failedLinks.set(linkId, 1);
+                processor.flush();
+                getUncaughtExceptionHandler().uncaughtException(this, e);
+            }
+
+            frameProcessed.lazySet(linkId, processor.getFrameProcessedCount());
+            errorProcessed.lazySet(linkId, processor.getErrorFrameCount());
+        }
+
+    }
+
+}
@@ -0,0 +1,536 @@
+package systems.beep.processor;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.sub.Address;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.helper.CRC8;
+import systems.beep.helper.SyncHelper;
+import systems.beep.metrics.IngestLatencyTracker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Processor decoding CRSF (Crossfire) frames with a byte-at-a-time state machine.
+ * <p>
+ * Unlike {@link FrameProcessor}, which buffers incoming bytes and re-examines the head of its
+ * buffer after every chunk, the {@code StreamingFrameProcessor} walks every input byte once
+ * through the states sync, length, type, payload and CRC. The CRC is accumulated as the bytes
+ * arrive, so a frame is validated and handed to the consumer as soon as its last byte is
+ * processed, whether the bytes came in one large read or one at a time, and the frame classes
+ * do not check it again.
+ * </p>
+ * <p>
+ * Frames start with a byte accepted by {@link Address#isSyncByte(byte)}. A frame with an
+ * implausible length byte or an unknown type is abandoned and the search for a sync byte
+ * resumes at the offending byte. Unknown types are rejected as soon as the type byte arrives,
+ * before the CRC is known, so unlike {@link FrameFactory#validate(byte[], int, int)}, which
+ * checks the CRC first, a type byte corrupted in transit is counted as
+ * {@link DecodeStatus#UNKNOWN_TYPE} rather than {@link DecodeStatus#BAD_CRC}. A frame failing its CRC check, or too short for its type, is
+ * dropped and counted as an error, and its bytes are scanned again from the second one, so a
+ * frame swallowed by a spurious sync byte or a corrupted length byte is still decoded.
+ * While looking for a sync byte in an array, the bytes in between are skipped with
+ * {@link SyncHelper#indexOfSync(byte[], int, int)}.
+ * </p>
+ * <p>
+ * In {@link DecodeMode#FLYWEIGHT} mode the frames handed to consumers are reusable views over
+ * the frame being assembled, valid only until the consumer returns.
+ * </p>
+ * <p>
+ * Chunks are stamped with their arrival time as {@link FrameProcessor} does, and the stamp of the
+ * chunk completing a frame is returned by {@link #getArrivalTime()} while its consumer runs.
+ * </p>
+ */
+public class StreamingFrameProcessor implements IFrameProcessor {
+
+    // Size of the direct buffer used to read from channels
+    private static final int READ_BUFFER_SIZE = CRSFFrame.FRAME_MAX_SIZE * 64;
+
+    private final DecodeMode decodeMode;
+
+    // View instances used in flyweight mode
+    private final FrameViewFactory frameViewFactory = new FrameViewFactory();
+
+    // Checksum of the type and payload bytes received so far
+    private final CRC8 crc = CRC8.D5();
+
+    // Bytes of the frame being assembled
+    private final byte[] frame = new byte[CRSFFrame.FRAME_MAX_SIZE];
+
+    private State state = State.SYNC;
+
+    // Number of bytes of the current frame received so far
+    private int position = 0;
+
+    // Size of the current frame, known once its length byte is received
+    private int frameSize = 0;
+
+    // Bytes of a rejected frame still to be scanned again, and the buffer the next ones are gathered in
+    private byte[] rescanBytes = new byte[CRSFFrame.FRAME_MAX_SIZE * 2];
+
+    private byte[] rescanSpare = new byte[CRSFFrame.FRAME_MAX_SIZE * 2];
+
+    private int rescanIndex = 0;
+
+    private int rescanLength = 0;
+
+    // Whether rejected bytes are being scanned again
+    private boolean rescanning = false;
+
+    // Lazily allocated read buffer for channel draining
+    private ByteBuffer readBuffer;
+
+    // Latency histograms fed by this processor, null unless tracking is enabled
+    private IngestLatencyTracker latencyTracker;
+
+    // Link of this processor within the latency tracker
+    private int linkId = 0;
+
+    // System.nanoTime() at which the chunk being processed arrived
+    private long arrivalTime = 0;
+
+    private int frameProcessed = 0;
+
+    private int errorProcessed = 0;
+
+    // Rejected frames per decode status
+    private final int[] statusCounts = new int[DecodeStatus.values().length];
+
+    /**
+     * Creates a processor that hands out frames owning their own data.
+     */
+    public StreamingFrameProcessor() {
+        this(DecodeMode.COPY);
+    }
+
+    /**
+     * Creates a processor with the given decode mode.
+     *
+     * @param decodeMode how decoded frames are materialized.
+     */
+    public StreamingFrameProcessor(final DecodeMode decodeMode) {
+        this.decodeMode = decodeMode;
+    }
+
+    /**
+     * Processes incoming byte data and consumes every frame completed by it.
+     *
+     * @param data          the byte array containing raw frame data.
+     * @param frameConsumer a consumer to process successfully built frames.
+     */
+    @Override
+    public void processData(final byte[] data, final Consumer<CRSFFrame> frameConsumer) {
+        processData(data, System.nanoTime(), frameConsumer);
+    }
+
+    /**
+     * Processes incoming byte data that arrived at the given time and consumes every frame completed by it.
+     *
+     * @param data          the byte array containing raw frame data.
+     * @param arrivalTime   the {@link System#nanoTime()} at which the data was received.
+     * @param frameConsumer a consumer to process successfully built frames.
+     */
+    public void processData(final byte[] data, final long arrivalTime, final Consumer<CRSFFrame> frameConsumer) {
+        if (data == null) {
+            return;
+        }
+
+        this.arrivalTime = arrivalTime;
+
+        process(data, 0, data.length, frameConsumer);
+    }
+
+    /**
+     * Processes the remaining bytes of a {@link ByteBuffer} and consumes every frame completed by them.
+     * <p>
+     * Bytes are read straight from the given buffer, heap or direct, without any intermediate array.
+     * The backing array of a heap buffer is processed like any other array.
+     * </p>
+     *
+     * @param data          the buffer containing raw frame data.
+     * @param frameConsumer a consumer to process successfully built frames.
+     */
+    @Override
+    public void processData(final ByteBuffer data, final Consumer<CRSFFrame> frameConsumer) {
+        if (data == null) {
+            return;
+        }
+
+        int index = data.position();
+        int limit = data.limit();
+
+        arrivalTime = System.nanoTime();
+
+        if (data.hasArray()) {
+            process(data.array(), data.arrayOffset() + index, data.arrayOffset() + limit, frameConsumer);
+            data.position(limit);
+            return;
+        }
+
+        while (index < limit) {
+            if (state == State.PAYLOAD) {
+                int count = Math.min(limit - index, frameSize - 1 - position);
+
+                data.get(index, frame, position, count);
+                receivedPayload(count);
+                index += count;
+            } else {
+                accept(data.get(index++), frameConsumer);
+            }
+        }
+
+        data.position(limit);
+    }
+
+    /**
+     * Reads everything currently available from a channel and consumes the resulting frames.
+     * <p>
+     * The channel reads into a reusable direct buffer owned by this processor.
+     * </p>
+     *
+     * @param channel       the channel to read from.
+     * @param frameConsumer a consumer to process successfully built frames.
+     * @return the number of bytes read, or -1 if the end of stream was reached before any byte was read.
+     * @throws IOException if reading from the channel fails.
+     */
+    @Override
+    public int drain(final ReadableByteChannel channel, final Consumer<CRSFFrame> frameConsumer) throws IOException {
+        if (readBuffer == null) {
+            readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        }
+
+        int total = 0;
+        int read;
+
+        while ((read = channel.read(readBuffer.clear())) > 0) {
+            processData(readBuffer.flip(), frameConsumer);
+            total += read;
+        }
+
+        return (read < 0 && total == 0) ? -1 : total;
+    }
+
+    /**
+     * Returns no frame: frames are handed to the consumer as soon as their last byte is
+     * processed, so none is ever left waiting to be built.
+     *
+     * @return an empty Optional.
+     */
+    @Override
+    public Optional<CRSFFrame> buildFrame() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the decode mode of this processor.
+     *
+     * @return the decode mode.
+     */
+    public DecodeMode getDecodeMode() {
+        return decodeMode;
+    }
+
+    /**
+     * Returns the arrival time of the chunk that completed the frame being consumed.
+     *
+     * @return the {@link System#nanoTime()} at which the last chunk processed arrived.
+     */
+    public long getArrivalTime() {
+        return arrivalTime;
+    }
+
+    /**
+     * Enables latency tracking, counting the latencies of the frames of this processor as
+     * those of a link of the given tracker.
+     *
+     * @param latencyTracker the tracker to record into, or null to disable tracking.
+     * @param linkId         the link of this processor within the tracker.
+     * @throws IllegalArgumentException if the link is not tracked by the tracker.
+     */
+    public void setLatencyTracker(final IngestLatencyTracker latencyTracker, final int linkId) {
+        if (latencyTracker != null && (linkId < 0 || linkId >= latencyTracker.getLinkCount())) {
+            throw new IllegalArgumentException("Unknown link: " + linkId);
+        }
+
+        this.latencyTracker = latencyTracker;
+        this.linkId = linkId;
+    }
+
+    /**
+     * Abandons the frame being assembled and waits for the next sync byte.
+     */
+    @Override
+    public void flush() {
+        state = State.SYNC;
+        position = 0;
+        frameSize = 0;
+        rescanLength = rescanIndex;
+    }
+
+    /**
+     * Resets the frame processing statistics to zero.
+     */
+    @Override
+    public void resetStatistics() {
+        frameProcessed = 0;
+        errorProcessed = 0;
+        Arrays.fill(statusCounts, 0);
+    }
+
+    /**
+     * Gets the count of successfully processed frames.
+     *
+     * @return the number of frames that have been successfully processed.
+     */
+    @Override
+    public int getFrameProcessedCount() {
+        return frameProcessed;
+    }
+
+    /**
+     * Gets the count of frames dropped because of an unknown type, a failed CRC check or a
+     * length too short for their type.
+     *
+     * @return the number of error frames that have been processed.
+     */
+    @Override
+    public int getErrorFrameCount() {
+        return errorProcessed;
+    }
+
+    /**
+     * Gets the count of frames rejected with the given status.
+     *
+     * @param status the decode status.
+     * @return the number of frames rejected with that status, always zero for {@link DecodeStatus#OK}.
+     */
+    public int getErrorCount(final DecodeStatus status) {
+        return statusCounts[status.ordinal()];
+    }
+
+    /**
+     * Calculates the error rate as a percentage of processed frames.
+     *
+     * @return the error rate as a percentage.
+     */
+    @Override
+    public int getErrorRate() {
+        return frameProcessed == 0 ? 0 : (errorProcessed * 100 / frameProcessed);
+    }
+
+    /**
+     * Processes a range of an array, skipping to the next sync byte in bulk while no frame is
+     * being assembled and copying payload in bulk while one is.
+     *
+     * @param data          the array holding the bytes.
+     * @param from          the index of the first byte to process.
+     * @param to            the index after the last byte to process.
+     * @param frameConsumer a consumer to process successfully built frames.
+     */
+    private void process(final byte[] data, final int from, final int to, final Consumer<CRSFFrame> frameConsumer) {
+        int index = from;
+
+        while (index < to) {
+            if (state == State.PAYLOAD) {
+                int count = Math.min(to - index, frameSize - 1 - position);
+
+                System.arraycopy(data, index, frame, position, count);
+                receivedPayload(count);
+                index += count;
+            } else if (state == State.SYNC) {
+                index = SyncHelper.indexOfSync(data, index, to);
+
+                if (index < 0) {
+                    return;
+                }
+
+                accept(data[index++], frameConsumer);
+            } else {
+                accept(data[index++], frameConsumer);
+            }
+        }
+    }
+
+    /**
+     * Advances the state machine by one byte.
+     *
+     * @param value         the received byte.
+     * @param frameConsumer a consumer to process a completed frame.
+     */
+    private void accept(final byte value, final Consumer<CRSFFrame> frameConsumer) {
+        switch (state) {
+            case SYNC -> {
+                if (Address.isSyncByte(value)) {
+                    frame[0] = value;
+                    position = 1;
+                    state = State.LENGTH;
+                }
+            }
+            case LENGTH -> {
+                if (!SyncHelper.isPlausibleLength(value)) {
+                    resync(value, frameConsumer);
+                    return;
+                }
+
+                frame[1] = value;
+                position = 2;
+                frameSize = (value & 0xFF) + 2;
+                crc.reset();
+                state = State.TYPE;
+            }
+            case TYPE -> {
+                if (FrameType.fromByte(value) == FrameType.UNKNOWN) {
+                    reject(DecodeStatus.UNKNOWN_TYPE);
+                    resync(value, frameConsumer);
+                    return;
+                }
+
+                frame[2] = value;
+                position = 3;
+                crc.update(value);
+                state = frameSize - 1 == position ? State.CRC : State.PAYLOAD;
+            }
+            case PAYLOAD -> {
+                frame[position] = value;
+                receivedPayload(1);
+            }
+            case CRC -> {
+                frame[position++] = value;
+                state = State.SYNC;
+
+                if (value != crc.getCRC()) {
+                    reject(DecodeStatus.BAD_CRC);
+                    rescan(frameConsumer);
+                } else if (FrameFactory.isTruncated(frame, 0, frameSize)) {
+                    reject(DecodeStatus.TRUNCATED);
+                    rescan(frameConsumer);
+                } else {
+                    emit(frameConsumer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Folds payload bytes already copied into the frame into the CRC.
+     *
+     * @param count the number of payload bytes copied at the current position.
+     */
+    private void receivedPayload(final int count) {
+        crc.update(frame, position, count);
+        position += count;
+
+        if (position == frameSize - 1) {
+            state = State.CRC;
+        }
+    }
+
+    /**
+     * Abandons the current frame and looks for a new one starting at the given byte.
+     *
+     * @param value         the byte that made the frame invalid.
+     * @param frameConsumer a consumer to process a completed frame.
+     */
+    private void resync(final byte value, final Consumer<CRSFFrame> frameConsumer) {
+        state = State.SYNC;
+        accept(value, frameConsumer);
+    }
+
+    /**
+     * Scans the bytes of a rejected frame again, from its second byte, for frames it swallowed.
+     * <p>
+     * A frame rejected while earlier rejected bytes are being scanned consists of those bytes
+     * only, so its own bytes are put in front of the ones not scanned yet and the outer scan
+     * carries on with them.
+     * </p>
+     *
+     * @param frameConsumer a consumer to process the frames found.
+     */
+    private void rescan(final Consumer<CRSFFrame> frameConsumer) {
+        int count = position - 1;
+        int remaining = rescanLength - rescanIndex;
+
+        System.arraycopy(frame, 1, rescanSpare, 0, count);
+        System.arraycopy(rescanBytes, rescanIndex, rescanSpare, count, remaining);
+
+        byte[] swap = rescanBytes;
+        rescanBytes = rescanSpare;
+        rescanSpare = swap;
+        rescanIndex = 0;
+        rescanLength = count + remaining;
+
+        state = State.SYNC;
+        position = 0;
+
+        if (rescanning) {
+            return;
+        }
+
+        rescanning = true;
+
+        try {
+            while (rescanIndex < rescanLength) {
+                accept(rescanBytes[rescanIndex++], frameConsumer);
+            }
+        } finally {
+            rescanning = false;
+            rescanIndex = 0;
+            rescanLength = 0;
+        }
+    }
+
+    /**
+     * Hands the completed frame, whose CRC was already verified, to the consumer.
+     *
+     * @param frameConsumer a consumer to process the frame.
+     */
+    private void emit(final Consumer<CRSFFrame> frameConsumer) {
+        FrameType frameType = FrameType.fromByte(frame[2]);
+
+        if (latencyTracker != null) {
+            latencyTracker.recordValidated(linkId, frameType, System.nanoTime() - arrivalTime);
+        }
+
+        CRSFFrame view = frameViewFactory.wrapFrame(frame, 0, frameSize, false);
+        CRSFFrame result = decodeMode == DecodeMode.FLYWEIGHT ? view : view.copy();
+
+        frameProcessed++;
+        frameConsumer.accept(result);
+
+        if (latencyTracker != null) {
+            latencyTracker.recordConsumed(linkId, frameType, System.nanoTime() - arrivalTime);
+        }
+    }
+
+    /**
+     * Counts a rejected frame.
+     *
+     * @param status the reason the frame was rejected.
+     */
+    private void reject(final DecodeStatus status) {
+        errorProcessed++;
+        statusCounts[status.ordinal()]++;
+    }
+
+    /**
+     * Position of the state machine within a frame.
+     */
+    private enum State {
+
+        SYNC,
+
+        LENGTH,
+
+        TYPE,
+
+        PAYLOAD,
+
+        CRC
+
+    }
+
+}
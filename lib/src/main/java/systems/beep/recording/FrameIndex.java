@@ -0,0 +1,254 @@
+package systems.beep.recording;
+
+import systems.beep.crossfire.frame.sub.FrameType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A sparse time and frame type index over a frame log.
+ * <p>
+ * The log is divided into fixed time buckets. For every bucket the index keeps the location of
+ * its first record, its record count, a 256-bit bitmap of the frame types it contains and a
+ * 64-bit bitmap of its links (link ID modulo 64). A query binary-searches the buckets of its
+ * time range and reads only the buckets whose bitmaps can match, so its cost depends on the
+ * size of the answer rather than on the size of the log.
+ * </p>
+ * <p>
+ * The index is the file {@code index.crsfidx} in the log directory. It is kept up to date by
+ * a {@link FrameRecorder} built with an index bucket, or built afterwards in one pass with
+ * {@link #build(Path, long)}. It starts with a 16-byte header (magic, version, bucket duration)
+ * followed by 64-byte entries:
+ * </p>
+ * <pre>
+ *  offset  size  field
+ *  0       8     bucket start in nanoseconds since the epoch
+ *  8       8     link bitmap
+ *  16      32    frame type bitmap
+ *  48      4     segment of the first record
+ *  52      4     position of the first record
+ *  56      4     number of records
+ *  60      4     reserved
+ * </pre>
+ * <p>
+ * Buckets are located by binary search, so bucket starts never decrease. A record timestamped
+ * before an earlier record, which {@link FrameRecorder#append(int, long, byte[], int, int)} allows,
+ * is indexed in the bucket of the latest timestamp recorded before it: records after it are found
+ * as usual, but it is itself only found by a query whose range also reaches that bucket.
+ * </p>
+ */
+public class FrameIndex implements Closeable {
+
+    /**
+     * Default duration of a bucket.
+     */
+    public static final long DEFAULT_BUCKET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Value of the link filter that matches every link.
+     */
+    public static final int ALL_LINKS = -1;
+
+    static final int MAGIC = 0x43524958;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+
+    static final int ENTRY_SIZE = 64;
+
+    static final int START_OFFSET = 0;
+
+    static final int LINKS_OFFSET = 8;
+
+    static final int TYPES_OFFSET = 16;
+
+    static final int SEGMENT_OFFSET = 48;
+
+    static final int POSITION_OFFSET = 52;
+
+    static final int COUNT_OFFSET = 56;
+
+    private static final String INDEX_FILE = "index.crsfidx";
+
+    private final MappedByteBuffer index;
+
+    private final long bucketNanos;
+
+    private final int entryCount;
+
+    private final FrameLogReader reader;
+
+    private FrameIndex(final MappedByteBuffer index, final FrameLogReader reader) {
+        this.index = index;
+        this.bucketNanos = index.getLong(8);
+        this.entryCount = (index.capacity() - HEADER_SIZE) / ENTRY_SIZE;
+        this.reader = reader;
+    }
+
+    /**
+     * Opens the index of a log.
+     * <p>
+     * The index reflects the log at the time it is opened.
+     * </p>
+     *
+     * @param directory the log directory.
+     * @return the index.
+     * @throws IOException if the index cannot be read or belongs to another format.
+     */
+    public static FrameIndex open(final Path directory) throws IOException {
+        MappedByteBuffer index;
+
+        try (FileChannel channel = FileChannel.open(indexPath(directory), StandardOpenOption.READ)) {
+            index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (index.capacity() < HEADER_SIZE || index.getInt(0) != MAGIC || index.getInt(4) != VERSION) {
+            throw new IOException("Not a frame log index");
+        }
+
+        return new FrameIndex(index, FrameLogReader.open(directory));
+    }
+
+    /**
+     * Builds, or rebuilds, the index of a log in one pass.
+     *
+     * @param directory   the log directory.
+     * @param bucketNanos the duration of a bucket in nanoseconds.
+     * @throws IOException              if the log cannot be read or the index cannot be written.
+     * @throws IllegalArgumentException if the bucket duration is not positive.
+     */
+    public static void build(final Path directory, final long bucketNanos) throws IOException {
+        if (bucketNanos <= 0) {
+            throw new IllegalArgumentException("Bucket duration must be positive.");
+        }
+
+        // An index with the same bucket duration would only be caught up, so start over
+        Files.deleteIfExists(indexPath(directory));
+        FrameIndexWriter.resume(directory, bucketNanos).close();
+    }
+
+    /**
+     * Visits the frames received in a time range, optionally of one type and on one link.
+     * <p>
+     * The consumer receives the log reader positioned at each matching record, in log order.
+     * It may read the current record but must not move the reader.
+     * </p>
+     *
+     * @param from     the start of the range in nanoseconds since the epoch, inclusive.
+     * @param to       the end of the range in nanoseconds since the epoch, inclusive.
+     * @param type     the frame type to match, or null for every type.
+     * @param linkId   the link to match, or {@link #ALL_LINKS}.
+     * @param consumer the consumer of matching records.
+     * @return the number of matching records.
+     * @throws IOException if the log cannot be read.
+     */
+    public int query(final long from, final long to, final FrameType type, final int linkId,
+                     final Consumer<FrameLogReader> consumer) throws IOException {
+        int matches = 0;
+
+        for (int entry = firstEntryEndingAfter(from); entry < entryCount && start(entry) <= to; entry++) {
+            int base = HEADER_SIZE + entry * ENTRY_SIZE;
+
+            if (type != null && !hasType(base, type.getValue())) {
+                continue;
+            }
+
+            if (linkId != ALL_LINKS && (index.getLong(base + LINKS_OFFSET) & (1L << (linkId & 0x3F))) == 0) {
+                continue;
+            }
+
+            reader.seek(index.getInt(base + SEGMENT_OFFSET), index.getInt(base + POSITION_OFFSET));
+
+            for (int i = index.getInt(base + COUNT_OFFSET); i > 0 && reader.next(); i--) {
+                long timestamp = reader.getTimestamp();
+
+                if (timestamp >= from && timestamp <= to
+                        && (linkId == ALL_LINKS || reader.getLinkId() == linkId)
+                        && (type == null || (reader.getFrameLength() > 2 && reader.getFrameByte(2) == type.getValue()))) {
+                    consumer.accept(reader);
+                    matches++;
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * Returns the duration of a bucket.
+     *
+     * @return the bucket duration in nanoseconds.
+     */
+    public long getBucketNanos() {
+        return bucketNanos;
+    }
+
+    /**
+     * Returns the number of buckets in the index.
+     *
+     * @return the number of entries.
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Releases the index and its log reader.
+     */
+    @Override
+    public void close() {
+        reader.close();
+    }
+
+    /**
+     * Returns the path of the index of a log.
+     *
+     * @param directory the log directory.
+     * @return the index path.
+     */
+    static Path indexPath(final Path directory) {
+        return directory.resolve(INDEX_FILE);
+    }
+
+    private long start(final int entry) {
+        return index.getLong(HEADER_SIZE + entry * ENTRY_SIZE + START_OFFSET);
+    }
+
+    private boolean hasType(final int base, final byte type) {
+        long bits = index.getLong(base + TYPES_OFFSET + ((type & 0xFF) >>> 6) * Long.BYTES);
+
+        return (bits & (1L << (type & 0x3F))) != 0;
+    }
+
+    /**
+     * Finds the first bucket that ends after a time.
+     *
+     * @param time the time in nanoseconds since the epoch.
+     * @return the entry index, or the entry count if there is none.
+     */
+    private int firstEntryEndingAfter(final long time) {
+        int low = 0;
+        int high = entryCount;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (start(middle) + bucketNanos <= time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+}
@@ -0,0 +1,205 @@
+package systems.beep.recording;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends bucket entries to the index of a frame log.
+ * <p>
+ * Records are folded into the current bucket in memory; an entry is written only when a record
+ * falls into another bucket, or on {@link #flush()}, so indexing costs one write per bucket.
+ * See {@link FrameIndex} for the layout. Instances are not thread-safe.
+ * </p>
+ * <p>
+ * Bucket starts never go back in time, as the binary search of {@link FrameIndex} requires: a
+ * record timestamped before the current bucket is folded into the current bucket instead.
+ * </p>
+ */
+final class FrameIndexWriter implements Closeable {
+
+    private final FileChannel channel;
+
+    private final long bucketNanos;
+
+    private final ByteBuffer entry = ByteBuffer.allocate(FrameIndex.ENTRY_SIZE);
+
+    // Bitmap of the frame types in the current bucket
+    private final long[] typeBits = new long[4];
+
+    // Bucket number of the current bucket, or of the last bucket written when it is empty,
+    // or Long.MIN_VALUE before the first record
+    private long bucket = Long.MIN_VALUE;
+
+    private long linkBits;
+
+    private int segment;
+
+    private int position;
+
+    private int recordCount;
+
+    private FrameIndexWriter(final FileChannel channel, final long bucketNanos) {
+        this.channel = channel;
+        this.bucketNanos = bucketNanos;
+    }
+
+    /**
+     * Opens the index of a log for appending, first bringing it up to date with the log.
+     * <p>
+     * The last entry of an existing index may describe a bucket that was still open when the
+     * recorder stopped, so it is dropped and the log is re-read from the location it points to.
+     * An index with another bucket duration, or a missing index, is rebuilt from the start.
+     * </p>
+     *
+     * @param directory   the log directory.
+     * @param bucketNanos the duration of a bucket in nanoseconds.
+     * @return the writer, holding the bucket of the last record in memory.
+     * @throws IOException if the index or the log cannot be read or written.
+     */
+    static FrameIndexWriter resume(final Path directory, final long bucketNanos) throws IOException {
+        Path path = FrameIndex.indexPath(directory);
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int resumeSegment = -1;
+        int resumePosition = 0;
+        long resumeBucket = Long.MIN_VALUE;
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(FrameIndex.HEADER_SIZE);
+            channel.read(header, 0);
+
+            if (header.getInt(0) == FrameIndex.MAGIC && header.getLong(8) == bucketNanos
+                    && channel.size() >= FrameIndex.HEADER_SIZE + FrameIndex.ENTRY_SIZE) {
+                long entries = (channel.size() - FrameIndex.HEADER_SIZE) / FrameIndex.ENTRY_SIZE;
+                long last = FrameIndex.HEADER_SIZE + (entries - 1) * FrameIndex.ENTRY_SIZE;
+                ByteBuffer lastEntry = ByteBuffer.allocate(FrameIndex.ENTRY_SIZE);
+
+                channel.read(lastEntry, last);
+                resumeSegment = lastEntry.getInt(FrameIndex.SEGMENT_OFFSET);
+                resumePosition = lastEntry.getInt(FrameIndex.POSITION_OFFSET);
+                resumeBucket = Math.floorDiv(lastEntry.getLong(FrameIndex.START_OFFSET), bucketNanos);
+                channel.truncate(last);
+            } else {
+                channel.truncate(0);
+                header.clear();
+                header.putInt(FrameIndex.MAGIC).putInt(FrameIndex.VERSION).putLong(bucketNanos).flip();
+                channel.write(header, 0);
+            }
+
+            FrameIndexWriter writer = new FrameIndexWriter(channel, bucketNanos);
+
+            // The entries left in the index end at the dropped bucket, so catching up must not go below it
+            writer.bucket = resumeBucket;
+            writer.catchUp(directory, resumeSegment, resumePosition);
+
+            return writer;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Folds a record into the index.
+     * <p>
+     * A record timestamped before the current bucket, which callers supplying their own
+     * timestamps may produce, is counted in the current bucket.
+     * </p>
+     *
+     * @param timestamp the reception time of the frame.
+     * @param linkId    the link the frame was received on.
+     * @param type      the frame type byte.
+     * @param segment   the segment holding the record.
+     * @param position  the position of the record within the segment.
+     * @throws IOException if a completed entry cannot be written.
+     */
+    void add(final long timestamp, final int linkId, final byte type, final int segment, final int position) throws IOException {
+        long recordBucket = Math.max(Math.floorDiv(timestamp, bucketNanos), bucket);
+
+        if (recordBucket != bucket || recordCount == 0) {
+            flush();
+
+            this.bucket = recordBucket;
+            this.segment = segment;
+            this.position = position;
+        }
+
+        typeBits[(type & 0xFF) >>> 6] |= 1L << (type & 0x3F);
+        linkBits |= 1L << (linkId & 0x3F);
+        recordCount++;
+    }
+
+    /**
+     * Writes the entry of the current bucket and starts an empty one.
+     *
+     * @throws IOException if the entry cannot be written.
+     */
+    void flush() throws IOException {
+        if (recordCount == 0) {
+            return;
+        }
+
+        entry.clear();
+        entry.putLong(FrameIndex.START_OFFSET, bucket * bucketNanos);
+        entry.putLong(FrameIndex.LINKS_OFFSET, linkBits);
+
+        for (int i = 0; i < typeBits.length; i++) {
+            entry.putLong(FrameIndex.TYPES_OFFSET + i * Long.BYTES, typeBits[i]);
+            typeBits[i] = 0;
+        }
+
+        entry.putInt(FrameIndex.SEGMENT_OFFSET, segment);
+        entry.putInt(FrameIndex.POSITION_OFFSET, position);
+        entry.putInt(FrameIndex.COUNT_OFFSET, recordCount);
+
+        channel.write(entry, channel.size());
+
+        linkBits = 0;
+        recordCount = 0;
+    }
+
+    /**
+     * Writes the current bucket and closes the index.
+     *
+     * @throws IOException if the entry cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Folds the records of the log from a location onwards into the index.
+     *
+     * @param directory the log directory.
+     * @param segment   the segment to start from, or -1 for the start of the log.
+     * @param position  the position to start from.
+     * @throws IOException if the log cannot be read.
+     */
+    private void catchUp(final Path directory, final int segment, final int position) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        try (FrameLogReader reader = FrameLogReader.open(directory)) {
+            if (segment >= 0) {
+                reader.seek(segment, position);
+            }
+
+            while (reader.next()) {
+                add(reader.getTimestamp(), reader.getLinkId(), reader.getFrameLength() > 2 ? reader.getFrameByte(2) : 0,
+                        reader.getSegmentIndex(), reader.getPosition());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+package systems.beep.recording;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Layout of the segmented frame log written by {@link FrameRecorder}.
+ * <p>
+ * A log is a directory of segment files named {@code segment-<index>.crsf}. Each segment starts
+ * with an 8-byte header (magic, version) followed by records laid out back to back:
+ * </p>
+ * <pre>
+ *  offset  size  field
+ *  0       4     CRC32C of bytes 4 .. end of record
+ *  4       4     link ID
+ *  8       8     timestamp in nanoseconds since the epoch
+ *  16      1     frame length (1 .. 64)
+ *  17      n     raw frame bytes
+ * </pre>
+ * <p>
+ * Segments are preallocated, so the unused tail reads as zeros. A record with a zero length,
+ * a length out of range, or a checksum mismatch marks the end of the segment; this is how a
+ * tail left incomplete by a crash is detected.
+ * </p>
+ */
+final class FrameLogFormat {
+
+    /**
+     * Magic number at the start of every segment ("CRFL").
+     */
+    static final int MAGIC = 0x4352464C;
+
+    /**
+     * Version of the record layout.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Size of the segment header in bytes.
+     */
+    static final int SEGMENT_HEADER_SIZE = 8;
+
+    /**
+     * Size of the record header in bytes.
+     */
+    static final int RECORD_HEADER_SIZE = 17;
+
+    /**
+     * Size of the largest possible record in bytes.
+     */
+    static final int MAX_RECORD_SIZE = RECORD_HEADER_SIZE + CRSFFrame.FRAME_MAX_SIZE;
+
+    static final int LINK_OFFSET = 4;
+
+    static final int TIMESTAMP_OFFSET = 8;
+
+    static final int LENGTH_OFFSET = 16;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".crsf";
+
+    private FrameLogFormat() {
+        // Prevents instantiation
+    }
+
+    /**
+     * Returns the path of a segment file.
+     *
+     * @param directory the log directory.
+     * @param index     the segment index.
+     * @return the segment path.
+     */
+    static Path segmentPath(final Path directory, final int index) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Lists the indices of the segments in a log directory in ascending order.
+     *
+     * @param directory the log directory.
+     * @return the segment indices.
+     * @throws IOException if the directory cannot be listed.
+     */
+    static int[] listSegments(final Path directory) throws IOException {
+        List<Integer> indices = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+
+                try {
+                    indices.add(Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // Not a segment written by the recorder
+                }
+            }
+        }
+
+        return indices.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * Checks the header of a mapped segment.
+     *
+     * @param segment the mapped segment.
+     * @return true if the segment has a valid header; false if it has not been initialized.
+     * @throws IOException if the segment belongs to another format or version.
+     */
+    static boolean checkHeader(final ByteBuffer segment) throws IOException {
+        if (segment.capacity() < SEGMENT_HEADER_SIZE || segment.getInt(0) == 0) {
+            return false;
+        }
+
+        if (segment.getInt(0) != MAGIC || segment.getInt(4) != VERSION) {
+            throw new IOException("Not a frame log segment");
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes the header of a segment.
+     *
+     * @param segment the mapped segment.
+     */
+    static void writeHeader(final ByteBuffer segment) {
+        segment.putInt(0, MAGIC);
+        segment.putInt(4, VERSION);
+    }
+
+    /**
+     * Validates the record at a position.
+     * <p>
+     * Only absolute positions are used; the buffer position is reset to zero.
+     * </p>
+     *
+     * @param segment  the mapped segment.
+     * @param position the position of the record.
+     * @param checksum a checksum instance to reuse.
+     * @return the size of the record, or zero if there is no valid record at the position.
+     */
+    static int recordSize(final ByteBuffer segment, final int position, final CRC32C checksum) {
+        if (segment.limit() - position < RECORD_HEADER_SIZE) {
+            return 0;
+        }
+
+        int length = segment.get(position + LENGTH_OFFSET);
+        int size = RECORD_HEADER_SIZE + length;
+
+        if (length <= 0 || length > CRSFFrame.FRAME_MAX_SIZE || segment.limit() - position < size) {
+            return 0;
+        }
+
+        int limit = segment.limit();
+
+        checksum.reset();
+        checksum.update(segment.limit(position + size).position(position + LINK_OFFSET));
+        segment.limit(limit).position(0);
+
+        return (int) checksum.getValue() == segment.getInt(position) ? size : 0;
+    }
+
+}
@@ -0,0 +1,246 @@
+package systems.beep.recording;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Sequential reader of a frame log written by {@link FrameRecorder}.
+ * <p>
+ * The {@code FrameLogReader} maps one segment at a time read-only, so logs of any size can be
+ * read without loading them into the heap. {@link #next()} advances to the next valid record,
+ * moving on to the following segment when the current one ends, and the accessors describe the
+ * current record. A log that is still being written can be read up to its last complete record.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public class FrameLogReader implements Closeable {
+
+    private final Path directory;
+
+    private final int[] segments;
+
+    private final CRC32C checksum = new CRC32C();
+
+    // Position of the current segment within the segment list
+    private int segmentSlot = -1;
+
+    private MappedByteBuffer segment;
+
+    // Position of the current record, or -1 before the first call to next
+    private int position = -1;
+
+    // Position of the record that next will read
+    private int nextPosition;
+
+    private int recordSize;
+
+    /**
+     * Opens the log in a directory.
+     *
+     * @param directory the log directory.
+     * @throws IOException if the directory cannot be listed.
+     */
+    private FrameLogReader(final Path directory) throws IOException {
+        this.directory = directory;
+        this.segments = FrameLogFormat.listSegments(directory);
+    }
+
+    /**
+     * Opens the log in a directory, positioned before its first record.
+     *
+     * @param directory the log directory.
+     * @return the reader.
+     * @throws IOException if the directory cannot be listed.
+     */
+    public static FrameLogReader open(final Path directory) throws IOException {
+        return new FrameLogReader(directory);
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return true if a record is available; false at the end of the log.
+     * @throws IOException if a segment cannot be mapped or belongs to another format.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            if (segment == null && !mapSegment(segmentSlot + 1)) {
+                return false;
+            }
+
+            int size = FrameLogFormat.recordSize(segment, nextPosition, checksum);
+
+            if (size > 0) {
+                position = nextPosition;
+                recordSize = size;
+                nextPosition += size;
+                return true;
+            }
+
+            if (segmentSlot + 1 >= segments.length) {
+                return false;
+            }
+
+            segment = null;
+        }
+    }
+
+    /**
+     * Positions the reader so that {@link #next()} reads the record at a location.
+     * <p>
+     * Locations are obtained from {@link #getSegmentIndex()} and {@link #getPosition()}.
+     * </p>
+     *
+     * @param segmentIndex the index of the segment.
+     * @param position     the position of the record within the segment.
+     * @throws IOException              if the segment cannot be mapped.
+     * @throws IllegalArgumentException if the segment does not exist.
+     */
+    public void seek(final int segmentIndex, final int position) throws IOException {
+        for (int slot = 0; slot < segments.length; slot++) {
+            if (segments[slot] == segmentIndex) {
+                if (slot != segmentSlot || segment == null) {
+                    mapSegment(slot);
+                }
+
+                this.nextPosition = Math.max(position, FrameLogFormat.SEGMENT_HEADER_SIZE);
+                this.position = -1;
+                return;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown segment: " + segmentIndex);
+    }
+
+    /**
+     * Returns the link the current frame was received on.
+     *
+     * @return the link ID.
+     */
+    public int getLinkId() {
+        return segment.getInt(position + FrameLogFormat.LINK_OFFSET);
+    }
+
+    /**
+     * Returns the reception time of the current frame.
+     *
+     * @return the timestamp in nanoseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return segment.getLong(position + FrameLogFormat.TIMESTAMP_OFFSET);
+    }
+
+    /**
+     * Returns the length of the current frame.
+     *
+     * @return the frame length in bytes.
+     */
+    public int getFrameLength() {
+        return recordSize - FrameLogFormat.RECORD_HEADER_SIZE;
+    }
+
+    /**
+     * Returns a byte of the current frame.
+     *
+     * @param index the index within the frame; 2 is the frame type.
+     * @return the frame byte.
+     */
+    public byte getFrameByte(final int index) {
+        return segment.get(position + FrameLogFormat.RECORD_HEADER_SIZE + index);
+    }
+
+    /**
+     * Copies the current frame into an array.
+     *
+     * @param destination the destination array.
+     * @param offset      the index in the destination array to copy to.
+     * @return the number of bytes copied.
+     */
+    public int copyFrame(final byte[] destination, final int offset) {
+        int length = getFrameLength();
+
+        segment.get(position + FrameLogFormat.RECORD_HEADER_SIZE, destination, offset, length);
+
+        return length;
+    }
+
+    /**
+     * Returns the index of the segment holding the current record.
+     *
+     * @return the segment index.
+     */
+    public int getSegmentIndex() {
+        return segments[segmentSlot];
+    }
+
+    /**
+     * Returns the position of the current record within its segment.
+     *
+     * @return the record position in bytes.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the indices of the segments of the log, in ascending order.
+     *
+     * @return the segment indices.
+     */
+    public int[] getSegments() {
+        return segments.clone();
+    }
+
+    /**
+     * Returns the log directory.
+     *
+     * @return the directory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Releases the current segment.
+     */
+    @Override
+    public void close() {
+        segment = null;
+        segmentSlot = segments.length;
+    }
+
+    /**
+     * Maps a segment and positions the reader at its first record.
+     *
+     * @param slot the position of the segment within the segment list.
+     * @return true if the segment was mapped; false if there is no such segment.
+     * @throws IOException if the segment cannot be mapped or belongs to another format.
+     */
+    private boolean mapSegment(final int slot) throws IOException {
+        if (slot >= segments.length) {
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(FrameLogFormat.segmentPath(directory, segments[slot]), StandardOpenOption.READ)) {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        segmentSlot = slot;
+        nextPosition = FrameLogFormat.SEGMENT_HEADER_SIZE;
+
+        if (!FrameLogFormat.checkHeader(segment)) {
+            // A segment created but never initialized holds no records
+            nextPosition = segment.capacity();
+        }
+
+        return true;
+    }
+
+}
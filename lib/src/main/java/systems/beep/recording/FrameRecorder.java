@@ -0,0 +1,408 @@
+package systems.beep.recording;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.processor.LinkFrameConsumer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only flight recorder keeping every raw CRSF (Crossfire) frame on disk.
+ * <p>
+ * The {@code FrameRecorder} appends timestamped, link-tagged frames to preallocated segment files
+ * mapped into memory with {@link FileChannel#map}, so recording a frame is a single bulk copy into
+ * the page cache rather than a system call. Segments roll over when full. Every record carries a
+ * CRC32C checksum; when a recorder is opened on an existing log, only the last segment is scanned
+ * and appending resumes right after its last valid record, discarding a tail left incomplete by a
+ * crash. See {@link FrameLogFormat} for the layout and {@link FrameLogReader} to read a log back.
+ * </p>
+ * <p>
+ * The recorder takes no locks and must be fed by a single thread, such as the thread of a
+ * {@link systems.beep.transport.UdpCrsfGateway} or a pipeline consumer. Data reaches the disk
+ * when the operating system writes back the page cache, or on {@link #force()}.
+ * </p>
+ * <p>
+ * When built with an index bucket, the recorder also keeps a {@link FrameIndex} up to date,
+ * writing one entry per elapsed bucket.
+ * </p>
+ */
+public class FrameRecorder implements LinkFrameConsumer, Closeable {
+
+    /**
+     * Default size of a segment file in bytes.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final LongSupplier clock;
+
+    // Record assembled before being copied into the segment in one operation
+    private final byte[] record = new byte[FrameLogFormat.MAX_RECORD_SIZE];
+
+    private final ByteBuffer recordBuffer = ByteBuffer.wrap(record);
+
+    private final CRC32C checksum = new CRC32C();
+
+    // Index kept up to date with the log, or null when indexing is disabled
+    private final FrameIndexWriter indexWriter;
+
+    private FileChannel channel;
+
+    private MappedByteBuffer segment;
+
+    private int segmentIndex;
+
+    // Position of the next record in the current segment
+    private int position;
+
+    private long recordCount = 0;
+
+    /**
+     * Opens a recorder, resuming the log found in the directory if there is one.
+     *
+     * @param directory   the log directory.
+     * @param segmentSize the size of new segment files in bytes.
+     * @param clock       the source of timestamps in nanoseconds since the epoch.
+     * @param indexBucket the duration of an index bucket in nanoseconds, or zero to disable indexing.
+     * @throws IOException if the log or its index cannot be opened.
+     */
+    private FrameRecorder(final Path directory, final int segmentSize, final LongSupplier clock,
+                          final long indexBucket) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.clock = clock;
+
+        Files.createDirectories(directory);
+
+        int[] segments = FrameLogFormat.listSegments(directory);
+
+        openSegment(segments.length == 0 ? 0 : segments[segments.length - 1]);
+
+        try {
+            this.indexWriter = indexBucket > 0 ? FrameIndexWriter.resume(directory, indexBucket) : null;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a new instance of {@code FrameRecorderBuilder} for building a {@code FrameRecorder}.
+     *
+     * @return a new {@code FrameRecorderBuilder}.
+     */
+    public static FrameRecorderBuilder builder() {
+        return new FrameRecorderBuilder();
+    }
+
+    /**
+     * Records a decoded frame with the current time.
+     *
+     * @param linkId the link the frame was received on.
+     * @param frame  the frame to record.
+     */
+    @Override
+    public void accept(final int linkId, final CRSFFrame frame) {
+        append(linkId, frame);
+    }
+
+    /**
+     * Records a frame with the current time.
+     *
+     * @param linkId the link the frame was received on.
+     * @param frame  the frame to record.
+     * @throws IllegalArgumentException if the frame is empty or larger than {@link CRSFFrame#FRAME_MAX_SIZE}.
+     * @throws IllegalStateException    if a new segment or an index entry cannot be written.
+     */
+    public void append(final int linkId, final CRSFFrame frame) {
+        int length = frame.getRawLength();
+
+        checkLength(length);
+        frame.copyTo(record, FrameLogFormat.RECORD_HEADER_SIZE);
+        write(linkId, clock.getAsLong(), length);
+    }
+
+    /**
+     * Records raw frame bytes with the given timestamp.
+     * <p>
+     * Timestamps should not decrease; see {@link FrameIndex} for how the index treats a frame
+     * timestamped before an earlier one.
+     * </p>
+     *
+     * @param linkId    the link the frame was received on.
+     * @param timestamp the reception time in nanoseconds since the epoch.
+     * @param data      the array holding the frame.
+     * @param offset    the index of the first frame byte.
+     * @param length    the number of frame bytes.
+     * @throws IllegalArgumentException if the frame is empty or larger than {@link CRSFFrame#FRAME_MAX_SIZE}.
+     * @throws IllegalStateException    if a new segment or an index entry cannot be written.
+     */
+    public void append(final int linkId, final long timestamp, final byte[] data, final int offset, final int length) {
+        checkLength(length);
+        System.arraycopy(data, offset, record, FrameLogFormat.RECORD_HEADER_SIZE, length);
+        write(linkId, timestamp, length);
+    }
+
+    /**
+     * Forces the current segment to be written to the storage device.
+     */
+    public void force() {
+        segment.force();
+    }
+
+    /**
+     * Returns the log directory.
+     *
+     * @return the directory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the index of the segment being written.
+     *
+     * @return the segment index.
+     */
+    public int getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    /**
+     * Returns the position of the next record within the segment being written.
+     *
+     * @return the write position in bytes.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the number of frames recorded since the recorder was opened.
+     *
+     * @return the number of records.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Forces the current segment to storage and closes it, writing the last index entry.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            segment.force();
+            channel.close();
+        } finally {
+            if (indexWriter != null) {
+                indexWriter.close();
+            }
+        }
+    }
+
+    /**
+     * Completes the record assembled in the scratch array and copies it into the segment.
+     *
+     * @param linkId    the link the frame was received on.
+     * @param timestamp the reception time.
+     * @param length    the number of frame bytes already in place.
+     */
+    private void write(final int linkId, final long timestamp, final int length) {
+        int size = FrameLogFormat.RECORD_HEADER_SIZE + length;
+
+        if (position + size > segment.capacity()) {
+            roll();
+        }
+
+        recordBuffer.putInt(FrameLogFormat.LINK_OFFSET, linkId);
+        recordBuffer.putLong(FrameLogFormat.TIMESTAMP_OFFSET, timestamp);
+        recordBuffer.put(FrameLogFormat.LENGTH_OFFSET, (byte) length);
+
+        checksum.reset();
+        checksum.update(record, FrameLogFormat.LINK_OFFSET, size - FrameLogFormat.LINK_OFFSET);
+        recordBuffer.putInt(0, (int) checksum.getValue());
+
+        segment.put(position, record, 0, size);
+
+        if (indexWriter != null) {
+            try {
+                indexWriter.add(timestamp, linkId, length > 2 ? record[FrameLogFormat.RECORD_HEADER_SIZE + 2] : 0,
+                        segmentIndex, position);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot write index entry", e);
+            }
+        }
+
+        position += size;
+        recordCount++;
+    }
+
+    /**
+     * Closes the current segment and starts the next one.
+     */
+    private void roll() {
+        try {
+            channel.close();
+            openSegment(segmentIndex + 1);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create segment " + (segmentIndex + 1), e);
+        }
+    }
+
+    /**
+     * Maps a segment and positions the recorder after its last valid record.
+     *
+     * @param index the segment index.
+     * @throws IOException if the segment cannot be mapped or belongs to another format.
+     */
+    private void openSegment(final int index) throws IOException {
+        Path path = FrameLogFormat.segmentPath(directory, index);
+        FileChannel fileChannel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            long size = fileChannel.size() >= FrameLogFormat.SEGMENT_HEADER_SIZE + FrameLogFormat.MAX_RECORD_SIZE
+                    ? fileChannel.size() : segmentSize;
+            MappedByteBuffer mapped = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            int tail = FrameLogFormat.SEGMENT_HEADER_SIZE;
+
+            if (FrameLogFormat.checkHeader(mapped)) {
+                int recordSize;
+
+                while ((recordSize = FrameLogFormat.recordSize(mapped, tail, checksum)) > 0) {
+                    tail += recordSize;
+                }
+
+                // Clear a partially written record so readers stop at the tail
+                for (int i = tail; i < Math.min(tail + FrameLogFormat.MAX_RECORD_SIZE, mapped.capacity()); i++) {
+                    mapped.put(i, (byte) 0);
+                }
+            } else {
+                FrameLogFormat.writeHeader(mapped);
+            }
+
+            this.channel = fileChannel;
+            this.segment = mapped;
+            this.segmentIndex = index;
+            this.position = tail;
+        } catch (IOException | RuntimeException e) {
+            fileChannel.close();
+            throw e;
+        }
+    }
+
+    private static void checkLength(final int length) {
+        if (length <= 0 || length > CRSFFrame.FRAME_MAX_SIZE) {
+            throw new IllegalArgumentException("Frame length out of range: " + length);
+        }
+    }
+
+    /**
+     * Builder class for constructing {@code FrameRecorder} instances.
+     * This builder allows setting the log directory, the segment size and the clock.
+     */
+    public static class FrameRecorderBuilder {
+
+        private Path directory;
+
+        private int segmentSize = DEFAULT_SEGMENT_SIZE;
+
+        private LongSupplier clock;
+
+        private long indexBucket = 0;
+
+        /**
+         * Sets the log directory, which is created if it does not exist.
+         *
+         * @param directory the log directory.
+         * @return the current {@code FrameRecorderBuilder} instance.
+         */
+        public FrameRecorderBuilder setDirectory(final Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Sets the size of new segment files. Defaults to {@link #DEFAULT_SEGMENT_SIZE}.
+         *
+         * @param segmentSize the segment size in bytes.
+         * @return the current {@code FrameRecorderBuilder} instance.
+         */
+        public FrameRecorderBuilder setSegmentSize(final int segmentSize) {
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Sets the source of timestamps, in nanoseconds since the epoch, for frames recorded
+         * without an explicit timestamp. Defaults to the wall clock at opening advanced by
+         * {@link System#nanoTime()}, which is monotonic and does not allocate.
+         *
+         * @param clock the clock.
+         * @return the current {@code FrameRecorderBuilder} instance.
+         */
+        public FrameRecorderBuilder setClock(final LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Enables indexing with the given bucket duration, e.g. {@link FrameIndex#DEFAULT_BUCKET_NANOS}.
+         * Indexing is disabled by default.
+         *
+         * @param indexBucket the duration of an index bucket in nanoseconds, or zero to disable indexing.
+         * @return the current {@code FrameRecorderBuilder} instance.
+         */
+        public FrameRecorderBuilder setIndexBucket(final long indexBucket) {
+            this.indexBucket = indexBucket;
+            return this;
+        }
+
+        /**
+         * Opens the recorder.
+         *
+         * @return the recorder, positioned at the end of the log.
+         * @throws IOException              if the log or its index cannot be opened.
+         * @throws IllegalArgumentException if the directory is missing, the segment size cannot hold a record
+         *                                  or the index bucket is negative.
+         */
+        public FrameRecorder build() throws IOException {
+            if (directory == null) {
+                throw new IllegalArgumentException("Directory must be set.");
+            }
+
+            if (segmentSize < FrameLogFormat.SEGMENT_HEADER_SIZE + FrameLogFormat.MAX_RECORD_SIZE) {
+                throw new IllegalArgumentException("Segment size must hold at least one record.");
+            }
+
+            if (indexBucket < 0) {
+                throw new IllegalArgumentException("Index bucket must not be negative.");
+            }
+
+            LongSupplier result = clock;
+
+            if (result == null) {
+                long base = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+                result = () -> base + System.nanoTime();
+            }
+
+            return new FrameRecorder(directory, segmentSize, result, indexBucket);
+        }
+
+    }
+
+}
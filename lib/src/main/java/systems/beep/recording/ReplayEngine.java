@@ -0,0 +1,328 @@
+package systems.beep.recording;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.processor.IFrameProcessor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Replays recorded data through an {@link IFrameProcessor}.
+ * <p>
+ * The {@code ReplayEngine} reads a frame log written by {@link FrameRecorder}, or a raw byte
+ * capture of a serial line, and feeds it to a processor in chunks of a configured size, as a
+ * transport would deliver it. Both sources are memory-mapped and read in place, so captures of
+ * any size can be replayed without loading them into the heap. The {@link ReplayMode} decides
+ * whether the original timing is kept, scaled, or ignored to measure maximum throughput.
+ * </p>
+ * <p>
+ * A frame log carries the reception time of every frame. When timing is kept, frames that are
+ * due together share a chunk and a chunk is never held back waiting for a later frame. A raw
+ * capture has no timestamps and is paced at the configured byte rate instead.
+ * </p>
+ */
+public class ReplayEngine {
+
+    /**
+     * Default number of bytes delivered per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+
+    /**
+     * Default pace of raw captures: a 420 kbaud CRSF line with ten bits per byte.
+     */
+    public static final int DEFAULT_BYTE_RATE = 42_000;
+
+    /**
+     * Value of the link filter that replays every link.
+     */
+    public static final int ALL_LINKS = -1;
+
+    // Portion of a raw capture mapped at a time
+    private static final int CAPTURE_WINDOW = 256 * 1024 * 1024;
+
+    // Remaining wait below which the engine spins rather than parks
+    private static final long SPIN_THRESHOLD_NANOS = 50_000;
+
+    private final ReplayMode mode;
+
+    private final double speed;
+
+    private final int chunkSize;
+
+    private final int byteRate;
+
+    private final int linkId;
+
+    private ReplayEngine(final ReplayMode mode, final double speed, final int chunkSize,
+                         final int byteRate, final int linkId) {
+        this.mode = mode;
+        this.speed = mode == ReplayMode.SCALED ? speed : 1.0;
+        this.chunkSize = chunkSize;
+        this.byteRate = byteRate;
+        this.linkId = linkId;
+    }
+
+    /**
+     * Returns a new instance of {@code ReplayEngineBuilder} for building a {@code ReplayEngine}.
+     *
+     * @return a new {@code ReplayEngineBuilder}.
+     */
+    public static ReplayEngineBuilder builder() {
+        return new ReplayEngineBuilder();
+    }
+
+    /**
+     * Replays a frame log.
+     *
+     * @param directory     the log directory.
+     * @param processor     the processor to feed.
+     * @param frameConsumer a consumer to process successfully built frames.
+     * @return the report of the replay.
+     * @throws IOException if the log cannot be read.
+     */
+    public ReplayReport replayLog(final Path directory, final IFrameProcessor processor,
+                                  final Consumer<CRSFFrame> frameConsumer) throws IOException {
+        Run run = new Run(processor, frameConsumer);
+        ByteBuffer chunk = ByteBuffer.allocateDirect(chunkSize);
+        byte[] frame = new byte[CRSFFrame.FRAME_MAX_SIZE];
+        long firstTimestamp = Long.MIN_VALUE;
+
+        try (FrameLogReader reader = FrameLogReader.open(directory)) {
+            while (reader.next()) {
+                if (linkId != ALL_LINKS && reader.getLinkId() != linkId) {
+                    continue;
+                }
+
+                if (firstTimestamp == Long.MIN_VALUE) {
+                    firstTimestamp = reader.getTimestamp();
+                }
+
+                long due = run.start + scale(reader.getTimestamp() - firstTimestamp);
+
+                if (mode != ReplayMode.MAXIMUM && chunk.position() > 0 && due > System.nanoTime()) {
+                    // The bytes already chunked were due earlier; do not hold them back
+                    run.deliver(chunk.flip());
+                    chunk.clear();
+                }
+
+                run.waitUntil(due);
+
+                int length = reader.copyFrame(frame, 0);
+
+                for (int offset = 0; offset < length; ) {
+                    int count = Math.min(chunk.remaining(), length - offset);
+
+                    chunk.put(frame, offset, count);
+                    offset += count;
+
+                    if (!chunk.hasRemaining()) {
+                        run.deliver(chunk.flip());
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+
+        if (chunk.position() > 0) {
+            run.deliver(chunk.flip());
+        }
+
+        return run.report();
+    }
+
+    /**
+     * Replays a raw byte capture, paced at the configured byte rate unless the mode is
+     * {@link ReplayMode#MAXIMUM}.
+     *
+     * @param capture       the capture file.
+     * @param processor     the processor to feed.
+     * @param frameConsumer a consumer to process successfully built frames.
+     * @return the report of the replay.
+     * @throws IOException if the capture cannot be read.
+     */
+    public ReplayReport replayCapture(final Path capture, final IFrameProcessor processor,
+                                      final Consumer<CRSFFrame> frameConsumer) throws IOException {
+        Run run = new Run(processor, frameConsumer);
+
+        try (FileChannel channel = FileChannel.open(capture, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            for (long windowStart = 0; windowStart < size; windowStart += CAPTURE_WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                        Math.min(CAPTURE_WINDOW, size - windowStart));
+
+                while (window.hasRemaining()) {
+                    int end = Math.min(window.position() + chunkSize, window.capacity());
+
+                    run.waitUntil(run.start + scale((long) (run.bytes * 1e9 / byteRate)));
+                    window.limit(end);
+                    run.deliver(window);
+                    window.limit(window.capacity());
+                }
+            }
+        }
+
+        return run.report();
+    }
+
+    /**
+     * Scales a recorded interval according to the mode.
+     *
+     * @param nanos the recorded interval in nanoseconds.
+     * @return the replay interval in nanoseconds.
+     */
+    private long scale(final long nanos) {
+        return mode == ReplayMode.MAXIMUM ? 0 : (long) (nanos / speed);
+    }
+
+    /**
+     * State of a single replay.
+     */
+    private final class Run {
+
+        private final IFrameProcessor processor;
+
+        private final Consumer<CRSFFrame> frameConsumer;
+
+        private final int initialFrames;
+
+        private final int initialErrors;
+
+        private final long start = System.nanoTime();
+
+        private long bytes = 0;
+
+        private long chunks = 0;
+
+        private Run(final IFrameProcessor processor, final Consumer<CRSFFrame> frameConsumer) {
+            this.processor = processor;
+            this.frameConsumer = frameConsumer;
+            this.initialFrames = processor.getFrameProcessedCount();
+            this.initialErrors = processor.getErrorFrameCount();
+        }
+
+        private void deliver(final ByteBuffer chunk) {
+            bytes += chunk.remaining();
+            chunks++;
+            processor.processData(chunk, frameConsumer);
+        }
+
+        private void waitUntil(final long due) {
+            if (mode == ReplayMode.MAXIMUM) {
+                return;
+            }
+
+            long remaining;
+
+            while ((remaining = due - System.nanoTime()) > 0) {
+                if (remaining > SPIN_THRESHOLD_NANOS) {
+                    LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        private ReplayReport report() {
+            return new ReplayReport(processor.getFrameProcessedCount() - initialFrames,
+                    processor.getErrorFrameCount() - initialErrors, bytes, chunks, System.nanoTime() - start);
+        }
+
+    }
+
+    /**
+     * Builder class for constructing {@code ReplayEngine} instances.
+     * This builder allows setting the replay mode, the speed factor, the chunk size,
+     * the byte rate of raw captures and the link filter.
+     */
+    public static class ReplayEngineBuilder {
+
+        private ReplayMode mode = ReplayMode.MAXIMUM;
+
+        private double speed = 1.0;
+
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        private int byteRate = DEFAULT_BYTE_RATE;
+
+        private int linkId = ALL_LINKS;
+
+        /**
+         * Sets how recorded data is paced. Defaults to {@link ReplayMode#MAXIMUM}.
+         *
+         * @param mode the replay mode.
+         * @return the current {@code ReplayEngineBuilder} instance.
+         */
+        public ReplayEngineBuilder setMode(final ReplayMode mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        /**
+         * Sets the speed factor used in {@link ReplayMode#SCALED} mode; 2.0 replays twice as fast.
+         *
+         * @param speed the speed factor.
+         * @return the current {@code ReplayEngineBuilder} instance.
+         */
+        public ReplayEngineBuilder setSpeed(final double speed) {
+            this.speed = speed;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of bytes delivered per chunk. Defaults to {@link #DEFAULT_CHUNK_SIZE}.
+         *
+         * @param chunkSize the chunk size in bytes.
+         * @return the current {@code ReplayEngineBuilder} instance.
+         */
+        public ReplayEngineBuilder setChunkSize(final int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Sets the pace of raw captures. Defaults to {@link #DEFAULT_BYTE_RATE}.
+         *
+         * @param byteRate the number of bytes per second.
+         * @return the current {@code ReplayEngineBuilder} instance.
+         */
+        public ReplayEngineBuilder setByteRate(final int byteRate) {
+            this.byteRate = byteRate;
+            return this;
+        }
+
+        /**
+         * Restricts the replay of frame logs to one link. Defaults to {@link #ALL_LINKS}.
+         *
+         * @param linkId the link to replay.
+         * @return the current {@code ReplayEngineBuilder} instance.
+         */
+        public ReplayEngineBuilder setLinkId(final int linkId) {
+            this.linkId = linkId;
+            return this;
+        }
+
+        /**
+         * Creates the engine.
+         *
+         * @return the engine.
+         * @throws IllegalArgumentException if the speed, chunk size or byte rate is not positive.
+         */
+        public ReplayEngine build() {
+            if (!(speed > 0) || chunkSize <= 0 || byteRate <= 0) {
+                throw new IllegalArgumentException("Speed, chunk size and byte rate must be positive.");
+            }
+
+            return new ReplayEngine(mode, speed, chunkSize, byteRate, linkId);
+        }
+
+    }
+
+}
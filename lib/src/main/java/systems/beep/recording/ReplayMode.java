@@ -0,0 +1,23 @@
+package systems.beep.recording;
+
+/**
+ * Determines how a {@link ReplayEngine} paces recorded data.
+ */
+public enum ReplayMode {
+
+    /**
+     * Data is delivered with its original timing.
+     */
+    REAL_TIME,
+
+    /**
+     * Data is delivered with its original timing divided by the configured speed factor.
+     */
+    SCALED,
+
+    /**
+     * Data is delivered as fast as the processor accepts it.
+     */
+    MAXIMUM
+
+}
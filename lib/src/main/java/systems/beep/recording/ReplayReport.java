@@ -0,0 +1,106 @@
+package systems.beep.recording;
+
+/**
+ * Outcome of a replay run by a {@link ReplayEngine}.
+ */
+public class ReplayReport {
+
+    private final long frameCount;
+
+    private final long errorCount;
+
+    private final long byteCount;
+
+    private final long chunkCount;
+
+    private final long elapsedNanos;
+
+    /**
+     * Creates a report.
+     *
+     * @param frameCount   the number of frames decoded by the processor.
+     * @param errorCount   the number of error frames reported by the processor.
+     * @param byteCount    the number of bytes delivered.
+     * @param chunkCount   the number of chunks delivered.
+     * @param elapsedNanos the duration of the replay in nanoseconds.
+     */
+    ReplayReport(final long frameCount, final long errorCount, final long byteCount,
+                 final long chunkCount, final long elapsedNanos) {
+        this.frameCount = frameCount;
+        this.errorCount = errorCount;
+        this.byteCount = byteCount;
+        this.chunkCount = chunkCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of frames decoded by the processor.
+     *
+     * @return the frame count.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Returns the number of error frames reported by the processor.
+     *
+     * @return the error count.
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns the number of bytes delivered to the processor.
+     *
+     * @return the byte count.
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * Returns the number of chunks delivered to the processor.
+     *
+     * @return the chunk count.
+     */
+    public long getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * Returns the duration of the replay.
+     *
+     * @return the elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the sustained decoding rate over the whole replay.
+     *
+     * @return the number of frames per second.
+     */
+    public double getFramesPerSecond() {
+        return elapsedNanos == 0 ? 0 : frameCount * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Provides a string representation of the report.
+     *
+     * @return a string summarizing the replay.
+     */
+    @Override
+    public String toString() {
+        return "ReplayReport |" +
+                " Frames: " + frameCount +
+                ", Errors: " + errorCount +
+                ", Bytes: " + byteCount +
+                ", Chunks: " + chunkCount +
+                ", Elapsed: " + elapsedNanos / 1_000_000 + " ms" +
+                ", Rate: " + Math.round(getFramesPerSecond()) + " frames/s";
+    }
+
+}
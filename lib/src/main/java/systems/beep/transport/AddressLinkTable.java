@@ -0,0 +1,128 @@
+package systems.beep.transport;
+
+import java.net.SocketAddress;
+import java.util.Arrays;
+
+/**
+ * An open-addressed hash table mapping remote socket addresses to link identifiers.
+ * <p>
+ * Keys and values live in two parallel arrays probed linearly, so a lookup touches no
+ * entry objects and never allocates. The table grows when half full. Instances are not
+ * thread-safe.
+ * </p>
+ */
+final class AddressLinkTable {
+
+    /**
+     * Value returned for an address that has no link.
+     */
+    static final int NO_LINK = -1;
+
+    // Multiplier spreading hash codes over the table (golden ratio)
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private SocketAddress[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    // Shift selecting the high bits of the spread hash as the slot index
+    private int shift;
+
+    private int size = 0;
+
+    /**
+     * Creates a table sized for the expected number of addresses.
+     *
+     * @param expectedSize the expected number of addresses.
+     */
+    AddressLinkTable(final int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1);
+    }
+
+    /**
+     * Looks up the link of an address.
+     *
+     * @param address the remote address.
+     * @return the link identifier, or {@link #NO_LINK} if the address is unknown.
+     */
+    int get(final SocketAddress address) {
+        int index = indexOf(address);
+
+        return keys[index] == null ? NO_LINK : values[index];
+    }
+
+    /**
+     * Maps an address to a link, replacing any previous mapping.
+     *
+     * @param address the remote address.
+     * @param linkId  the link identifier.
+     */
+    void put(final SocketAddress address, final int linkId) {
+        int index = indexOf(address);
+
+        if (keys[index] == null) {
+            keys[index] = address;
+            size++;
+        }
+
+        values[index] = linkId;
+
+        if (size * 2 > keys.length) {
+            rehash();
+        }
+    }
+
+    /**
+     * Returns the number of mapped addresses.
+     *
+     * @return the number of addresses.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Finds the slot holding an address, or the empty slot where it would be inserted.
+     *
+     * @param address the remote address.
+     * @return the slot index.
+     */
+    private int indexOf(final SocketAddress address) {
+        int index = (address.hashCode() * HASH_MULTIPLIER) >>> shift;
+
+        while (keys[index] != null && !keys[index].equals(address)) {
+            index = (index + 1) & mask;
+        }
+
+        return index;
+    }
+
+    /**
+     * Doubles the table and reinserts every mapping.
+     */
+    private void rehash() {
+        SocketAddress[] oldKeys = keys;
+        int[] oldValues = values;
+
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new SocketAddress[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        Arrays.fill(values, NO_LINK);
+    }
+
+}
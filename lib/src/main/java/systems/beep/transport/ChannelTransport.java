@@ -0,0 +1,285 @@
+package systems.beep.transport;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.processor.IFrameProcessor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * A {@link CrsfTransport} over NIO channels.
+ * <p>
+ * The {@code ChannelTransport} reads into one large direct buffer and hands the bytes to an
+ * {@link IFrameProcessor} straight from that buffer, without any intermediate array. It works
+ * with any channel: a tty device node or a named pipe opened with {@link #open(Path, IFrameProcessor)},
+ * a pseudo-terminal, a socket, or a {@link java.nio.channels.Pipe} in tests.
+ * </p>
+ * <p>
+ * When the source is a non-blocking {@link SelectableChannel}, a short read is followed by further
+ * reads into the same buffer so that a burst of small arrivals reaches the processor as one batch.
+ * The number of extra reads adapts to how often they actually return data, so a quiet channel does
+ * not pay for empty reads. Blocking sources are never coalesced, since waiting for more bytes would
+ * delay frames that are already complete.
+ * </p>
+ */
+public class ChannelTransport implements CrsfTransport {
+
+    /**
+     * Default size of the direct read buffer in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    // Reads returning fewer bytes than this are followed by coalescing reads
+    private static final int SHORT_READ = CRSFFrame.FRAME_MAX_SIZE;
+
+    // Upper bound of extra reads after a short read
+    private static final int MAX_COALESCE_READS = 8;
+
+    // Short reads after which a disabled coalescing is probed again
+    private static final int COALESCE_PROBE_INTERVAL = 64;
+
+    private final ReadableByteChannel source;
+
+    private final WritableByteChannel sink;
+
+    private final IFrameProcessor processor;
+
+    private final ByteBuffer readBuffer;
+
+    // Current number of extra reads attempted after a short read
+    private int coalesceReads = 1;
+
+    // Short reads seen since coalescing was disabled
+    private int shortReads = 0;
+
+    private long bytesRead = 0;
+
+    private long readCount = 0;
+
+    /**
+     * Creates a transport reading from and writing to the same channel.
+     *
+     * @param channel   the channel connected to the device.
+     * @param processor the processor decoding the received bytes.
+     */
+    public ChannelTransport(final ByteChannel channel, final IFrameProcessor processor) {
+        this(channel, channel, processor, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a transport with separate inbound and outbound channels.
+     *
+     * @param source     the channel bytes are read from.
+     * @param sink       the channel frames are written to, or null for a receive-only transport.
+     * @param processor  the processor decoding the received bytes.
+     * @param bufferSize the size of the direct read buffer in bytes.
+     * @throws IllegalArgumentException if the buffer cannot hold a maximum-size frame.
+     */
+    public ChannelTransport(final ReadableByteChannel source, final WritableByteChannel sink,
+                            final IFrameProcessor processor, final int bufferSize) {
+        if (bufferSize < CRSFFrame.FRAME_MAX_SIZE) {
+            throw new IllegalArgumentException("Buffer size must hold at least one frame.");
+        }
+
+        this.source = source;
+        this.sink = sink;
+        this.processor = processor;
+        this.readBuffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Opens a device node, such as a tty or a named pipe, for reading and writing.
+     * <p>
+     * The serial line settings of a tty, such as its baud rate, are not changed and must be
+     * configured beforehand, e.g. with {@code stty}. Opening a named pipe for both reading
+     * and writing does not wait for a peer on Linux.
+     * </p>
+     * <p>
+     * The device is opened twice, once for each direction, because a {@link FileChannel}
+     * serializes reads and writes: a single channel would hold every write back while a
+     * read is blocked waiting for data.
+     * </p>
+     *
+     * @param device    the path of the device node.
+     * @param processor the processor decoding the received bytes.
+     * @return the open transport.
+     * @throws IOException if the device cannot be opened.
+     */
+    public static ChannelTransport open(final Path device, final IFrameProcessor processor) throws IOException {
+        FileChannel source = FileChannel.open(device, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            return new ChannelTransport(source, FileChannel.open(device, StandardOpenOption.WRITE), processor, DEFAULT_BUFFER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            source.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Performs one read, coalescing short reads on non-blocking channels, and consumes the
+     * resulting frames.
+     *
+     * @param frameConsumer a consumer to process successfully built frames.
+     * @return the number of bytes read, or -1 if the end of stream was reached.
+     * @throws IOException if reading fails.
+     */
+    @Override
+    public int read(final Consumer<CRSFFrame> frameConsumer) throws IOException {
+        ByteBuffer buffer = readBuffer.clear();
+        int total = source.read(buffer);
+
+        if (total < 0) {
+            return -1;
+        }
+
+        readCount++;
+
+        if (total > 0 && total < SHORT_READ && isNonBlocking()) {
+            total += coalesce(buffer, total);
+        }
+
+        if (total > 0) {
+            bytesRead += total;
+            processor.processData(buffer.flip(), frameConsumer);
+        }
+
+        return total;
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer.
+     * <p>
+     * On a non-blocking channel fewer bytes than requested may be written.
+     * </p>
+     *
+     * @param data the bytes to write.
+     * @return the number of bytes written.
+     * @throws IOException                  if writing fails.
+     * @throws NonWritableChannelException if the transport is receive-only.
+     */
+    @Override
+    public int write(final ByteBuffer data) throws IOException {
+        if (sink == null) {
+            throw new NonWritableChannelException();
+        }
+
+        int total = 0;
+        int written;
+
+        while (data.hasRemaining() && (written = sink.write(data)) > 0) {
+            total += written;
+        }
+
+        return total;
+    }
+
+    /**
+     * Tells whether the transport is open.
+     *
+     * @return true if the inbound channel is open; false otherwise.
+     */
+    @Override
+    public boolean isOpen() {
+        return source.isOpen();
+    }
+
+    /**
+     * Closes both channels. A read blocked in another thread is interrupted.
+     *
+     * @throws IOException if closing a channel fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            source.close();
+        } finally {
+            if (sink != null && sink != source) {
+                sink.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the processor decoding the received bytes.
+     *
+     * @return the processor.
+     */
+    public IFrameProcessor getProcessor() {
+        return processor;
+    }
+
+    /**
+     * Returns the total number of bytes read.
+     *
+     * @return the number of bytes read.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Returns the number of reads handed to the processor, coalesced reads counting as one.
+     *
+     * @return the number of reads.
+     */
+    public long getReadCount() {
+        return readCount;
+    }
+
+    /**
+     * Tells whether the inbound channel is a selectable channel in non-blocking mode.
+     *
+     * @return true if reads never wait for data.
+     */
+    private boolean isNonBlocking() {
+        return source instanceof SelectableChannel channel && !channel.isBlocking();
+    }
+
+    /**
+     * Appends further reads to a short read, adapting the number of attempts to their success.
+     *
+     * @param buffer the read buffer holding the short read.
+     * @param read   the number of bytes already in the buffer.
+     * @return the number of bytes appended.
+     * @throws IOException if reading fails.
+     */
+    private int coalesce(final ByteBuffer buffer, final int read) throws IOException {
+        if (coalesceReads == 0) {
+            if (++shortReads < COALESCE_PROBE_INTERVAL) {
+                return 0;
+            }
+
+            shortReads = 0;
+            coalesceReads = 1;
+        }
+
+        int total = 0;
+
+        for (int i = 0; i < coalesceReads && buffer.hasRemaining() && read + total < SHORT_READ; i++) {
+            int extra = source.read(buffer);
+
+            if (extra <= 0) {
+                // Nothing more had arrived, so attempt fewer extra reads next time
+                coalesceReads >>= 1;
+                return total;
+            }
+
+            total += extra;
+        }
+
+        coalesceReads = Math.min(coalesceReads + 1, MAX_COALESCE_READS);
+
+        return total;
+    }
+
+}
@@ -0,0 +1,490 @@
+package systems.beep.transport;
+
+import systems.beep.crossfire.frame.ChannelsFrame;
+import systems.beep.crossfire.frame.OpenTxSyncFrame;
+import systems.beep.crossfire.frame.sub.Address;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.helper.CRCHelper;
+import systems.beep.helper.TelemetryHelper;
+import systems.beep.metrics.LogLinearHistogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends RC channels frames at a fixed rate, phase-locked to the TX module.
+ * <p>
+ * The {@code ChannelTxScheduler} runs its own thread, which sleeps until shortly before each
+ * deadline and spins for the rest, instead of relying on the coarse timing of a
+ * {@link java.util.concurrent.ScheduledExecutorService}. At every deadline it sends the latest
+ * channel values set with {@link #setChannels(int[])}; producers never block the sender, and the
+ * sender never waits for a producer.
+ * </p>
+ * <p>
+ * A TX module reports the rate it expects frames at, and how far off the last frames arrived, in
+ * {@link OpenTxSyncFrame}s, which are handed to {@link #onSync(OpenTxSyncFrame)}. The scheduler
+ * adopts the reported rate when it lies between {@link #MIN_RATE} and {@link #MAX_RATE} Hz, and
+ * works the reported offset off over the next frames, at most an eighth of a period per frame, as
+ * EdgeTX does; a positive offset delays the next frames.
+ * </p>
+ * <p>
+ * The distance of every send from its deadline is counted in a jitter histogram, and sends later
+ * than the late threshold in a late-send histogram. When the sender falls behind by more than a
+ * period, the missed deadlines are skipped rather than sent in a burst.
+ * </p>
+ */
+public class ChannelTxScheduler implements AutoCloseable {
+
+    /**
+     * Lowest supported frame rate in Hz.
+     */
+    public static final int MIN_RATE = 150;
+
+    /**
+     * Highest supported frame rate in Hz.
+     */
+    public static final int MAX_RATE = 1000;
+
+    // Remaining wait below which the sender spins rather than parks
+    private static final long SPIN_THRESHOLD_NANOS = 50_000;
+
+    // Value of the sync slot when no report is pending
+    private static final long NO_SYNC = Long.MIN_VALUE;
+
+    private static final int FRAME_LENGTH = 26;
+
+    private final CrsfTransport transport;
+
+    private final long lateThresholdNanos;
+
+    // Latest channel values packed as the frame payload, never modified once published, or null until first set
+    private final AtomicReference<byte[]> payload = new AtomicReference<>();
+
+    // Latest sync report, rate in the high and offset in the low half, or NO_SYNC
+    private final AtomicLong pendingSync = new AtomicLong(NO_SYNC);
+
+    private final LogLinearHistogram jitter = new LogLinearHistogram();
+
+    private final LogLinearHistogram lateSends = new LogLinearHistogram();
+
+    private final Sender sender;
+
+    private volatile boolean running = true;
+
+    private volatile long periodNanos;
+
+    private volatile long frameCount = 0;
+
+    private volatile long lateCount = 0;
+
+    private volatile long missedCount = 0;
+
+    private volatile long syncCount = 0;
+
+    private volatile IOException failure;
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param transport          the transport frames are written to.
+     * @param address            the destination address of the frames.
+     * @param rate               the initial frame rate in Hz.
+     * @param lateThresholdNanos the delay after which a send counts as late.
+     * @param start              whether the sender thread is started, rather than driven through {@link #step(long, long)}.
+     */
+    private ChannelTxScheduler(final CrsfTransport transport, final Address address, final int rate,
+                               final long lateThresholdNanos, final boolean start) {
+        this.transport = transport;
+        this.lateThresholdNanos = lateThresholdNanos;
+        this.periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        this.sender = new Sender(address.getValue());
+
+        if (start) {
+            sender.start();
+        }
+    }
+
+    /**
+     * Returns a new instance of {@code ChannelTxSchedulerBuilder} for building a {@code ChannelTxScheduler}.
+     *
+     * @return a new {@code ChannelTxSchedulerBuilder}.
+     */
+    public static ChannelTxSchedulerBuilder builder() {
+        return new ChannelTxSchedulerBuilder();
+    }
+
+    /**
+     * Sets the channel values sent from the next deadline on.
+     * <p>
+     * Nothing is sent before the first call. The values are converted and packed by the calling
+     * thread and published as a whole, so the sender picks them up with a single read; when
+     * producers call concurrently, the last one to publish wins.
+     * </p>
+     *
+     * @param microseconds the values of the {@link ChannelsFrame#CHANNEL_COUNT} channels in microseconds.
+     * @throws IllegalArgumentException if a value is out of the CRSF range or there are too few values.
+     */
+    public void setChannels(final int[] microseconds) {
+        if (microseconds.length < ChannelsFrame.CHANNEL_COUNT) {
+            throw new IllegalArgumentException("Expected " + ChannelsFrame.CHANNEL_COUNT + " channels.");
+        }
+
+        int[] converted = new int[ChannelsFrame.CHANNEL_COUNT];
+        byte[] packed = new byte[FRAME_LENGTH - 4];
+
+        TelemetryHelper.convertMicrosecondsToCRSF(microseconds, converted, ChannelsFrame.CHANNEL_COUNT);
+        TelemetryHelper.packChannels(converted, packed);
+
+        payload.set(packed);
+    }
+
+    /**
+     * Locks onto the timing reported by the TX module.
+     *
+     * @param frame the sync frame received from the module.
+     */
+    public void onSync(final OpenTxSyncFrame frame) {
+        onSync(frame.getRate(), frame.getOffset());
+    }
+
+    /**
+     * Locks onto the timing reported by the TX module.
+     *
+     * @param rate   the frame period expected by the module, in tenths of a microsecond.
+     * @param offset the phase error of the last frames, in tenths of a microsecond.
+     */
+    public void onSync(final int rate, final int offset) {
+        pendingSync.set(((long) rate << 32) | (offset & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Returns the histogram of the distance between sends and their deadlines, in nanoseconds.
+     *
+     * @return the jitter histogram.
+     */
+    public LogLinearHistogram getJitterHistogram() {
+        return jitter;
+    }
+
+    /**
+     * Returns the histogram of the delay of late sends, in nanoseconds.
+     *
+     * @return the late-send histogram.
+     */
+    public LogLinearHistogram getLateSendHistogram() {
+        return lateSends;
+    }
+
+    /**
+     * Returns the current period between frames.
+     *
+     * @return the period in nanoseconds.
+     */
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    /**
+     * Returns the number of frames sent.
+     *
+     * @return the frame count.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Returns the number of frames sent later than the late threshold.
+     *
+     * @return the late frame count.
+     */
+    public long getLateCount() {
+        return lateCount;
+    }
+
+    /**
+     * Returns the number of deadlines skipped because the sender fell behind.
+     *
+     * @return the missed deadline count.
+     */
+    public long getMissedCount() {
+        return missedCount;
+    }
+
+    /**
+     * Returns the number of sync reports applied.
+     *
+     * @return the sync count.
+     */
+    public long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * Returns the error that stopped the sender, if any.
+     *
+     * @return the write error, or null while the sender runs or after a normal stop.
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Stops sending and waits for the sender thread to finish. The transport is left open.
+     * <p>
+     * If the calling thread is interrupted while waiting, the method returns early with the
+     * interrupt status set; the sender still stops at its next deadline.
+     * </p>
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(sender);
+
+        try {
+            sender.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the sender for one deadline: applies the latest sync report, skips the deadlines
+     * missed by {@code now}, sends the channels and computes the next deadline.
+     * <p>
+     * The sender thread calls this once it has waited for {@code deadline}; it is exposed so
+     * that a scheduler built without its thread can be driven with chosen times.
+     * </p>
+     *
+     * @param deadline the deadline being served, in {@link System#nanoTime()} units.
+     * @param now      the current time, at or after the deadline.
+     * @return the next deadline.
+     * @throws IOException if writing the frame fails.
+     */
+    long step(final long deadline, final long now) throws IOException {
+        return sender.step(deadline, now);
+    }
+
+    /**
+     * Sender thread owning the schedule.
+     */
+    private final class Sender extends Thread {
+
+        private final byte[] frame = new byte[FRAME_LENGTH];
+
+        private final ByteBuffer frameBuffer = ByteBuffer.wrap(frame);
+
+        // Phase error still to be worked off, in nanoseconds
+        private long lag = 0;
+
+        private Sender(final byte address) {
+            super("crsf-channel-tx");
+            setDaemon(true);
+            frame[0] = address;
+            frame[1] = FRAME_LENGTH - 2;
+            frame[2] = FrameType.RC_CHANNELS_PACKED.getValue();
+        }
+
+        @Override
+        public void run() {
+            long deadline = System.nanoTime();
+
+            try {
+                while (running) {
+                    waitUntil(deadline);
+
+                    if (!running) {
+                        return;
+                    }
+
+                    deadline = step(deadline, System.nanoTime());
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        private long step(final long deadline, final long now) throws IOException {
+            applySync();
+
+            long period = periodNanos;
+            long next = deadline;
+            long error = now - deadline;
+
+            if (error >= period) {
+                long missed = error / period;
+
+                missedCount += missed;
+                next += missed * period;
+                error -= missed * period;
+            }
+
+            if (send()) {
+                jitter.record(Math.abs(error));
+
+                if (error > lateThresholdNanos) {
+                    lateSends.record(error);
+                    lateCount++;
+                }
+            }
+
+            long step = period >> 3;
+            long adjust = Math.max(-step, Math.min(step, lag));
+
+            lag -= adjust;
+
+            return next + period + adjust;
+        }
+
+        private void applySync() {
+            long sync = pendingSync.getAndSet(NO_SYNC);
+
+            if (sync == NO_SYNC) {
+                return;
+            }
+
+            long period = (sync >> 32) * 100;
+
+            if (period >= TimeUnit.SECONDS.toNanos(1) / MAX_RATE && period <= TimeUnit.SECONDS.toNanos(1) / MIN_RATE) {
+                periodNanos = period;
+            }
+
+            lag = (int) sync * 100L;
+            syncCount++;
+        }
+
+        /**
+         * Sends the latest channel values.
+         *
+         * @return true if a frame was sent, false if no values were set yet.
+         */
+        private boolean send() throws IOException {
+            byte[] latest = payload.get();
+
+            if (latest == null) {
+                return false;
+            }
+
+            System.arraycopy(latest, 0, frame, 3, latest.length);
+            frame[FRAME_LENGTH - 1] = CRCHelper.D5(frame, 2, FRAME_LENGTH - 1);
+
+            transport.write(frameBuffer.clear());
+            frameCount++;
+            return true;
+        }
+
+        private void waitUntil(final long deadline) {
+            long remaining;
+
+            while (running && (remaining = deadline - System.nanoTime()) > 0) {
+                if (remaining > SPIN_THRESHOLD_NANOS) {
+                    LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Builder class for constructing {@code ChannelTxScheduler} instances.
+     * This builder allows setting the transport, the destination address, the initial rate
+     * and the late threshold, then creates and starts the scheduler.
+     */
+    public static class ChannelTxSchedulerBuilder {
+
+        private CrsfTransport transport;
+
+        private Address address = Address.CRSF_TRANSMITTER;
+
+        private int rate = 250;
+
+        private long lateThresholdNanos = -1;
+
+        /**
+         * Sets the transport frames are written to.
+         *
+         * @param transport the transport connected to the TX module.
+         * @return the current {@code ChannelTxSchedulerBuilder} instance.
+         */
+        public ChannelTxSchedulerBuilder setTransport(final CrsfTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Sets the destination address of the frames. Defaults to {@link Address#CRSF_TRANSMITTER}.
+         *
+         * @param address the destination address.
+         * @return the current {@code ChannelTxSchedulerBuilder} instance.
+         */
+        public ChannelTxSchedulerBuilder setAddress(final Address address) {
+            this.address = address;
+            return this;
+        }
+
+        /**
+         * Sets the frame rate used until the module reports its own. Defaults to 250 Hz.
+         *
+         * @param rate the frame rate in Hz, from {@link #MIN_RATE} to {@link #MAX_RATE}.
+         * @return the current {@code ChannelTxSchedulerBuilder} instance.
+         */
+        public ChannelTxSchedulerBuilder setRate(final int rate) {
+            this.rate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the delay after which a send counts as late. Defaults to a tenth of the initial period.
+         *
+         * @param lateThresholdNanos the late threshold in nanoseconds.
+         * @return the current {@code ChannelTxSchedulerBuilder} instance.
+         */
+        public ChannelTxSchedulerBuilder setLateThreshold(final long lateThresholdNanos) {
+            this.lateThresholdNanos = lateThresholdNanos;
+            return this;
+        }
+
+        /**
+         * Creates and starts the scheduler.
+         *
+         * @return the running scheduler.
+         * @throws IllegalArgumentException if the transport is missing or the rate is out of range.
+         */
+        public ChannelTxScheduler build() {
+            return build(true);
+        }
+
+        /**
+         * Creates the scheduler without starting its sender thread, to be driven through
+         * {@link ChannelTxScheduler#step(long, long)}.
+         *
+         * @return the idle scheduler.
+         * @throws IllegalArgumentException if the transport is missing or the rate is out of range.
+         */
+        ChannelTxScheduler buildIdle() {
+            return build(false);
+        }
+
+        private ChannelTxScheduler build(final boolean start) {
+            if (transport == null) {
+                throw new IllegalArgumentException("Transport must be set.");
+            }
+
+            if (rate < MIN_RATE || rate > MAX_RATE) {
+                throw new IllegalArgumentException("Rate must be between " + MIN_RATE + " and " + MAX_RATE + " Hz.");
+            }
+
+            long threshold = lateThresholdNanos >= 0 ? lateThresholdNanos : TimeUnit.SECONDS.toNanos(1) / rate / 10;
+
+            return new ChannelTxScheduler(transport, address, rate, threshold, start);
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package systems.beep.transport;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.function.Consumer;
+
+/**
+ * A byte stream carrying CRSF (Crossfire) frames to and from a device.
+ * <p>
+ * The {@code CrsfTransport} interface is the I/O layer in front of an
+ * {@link systems.beep.processor.IFrameProcessor}: it owns the read loop, feeds the
+ * received bytes to the processor and hands the decoded frames to a consumer.
+ * Outbound frames are written as raw bytes. Implementations are not thread-safe
+ * for reading, but may be closed from any thread to stop a blocked read.
+ * </p>
+ */
+public interface CrsfTransport extends Closeable {
+
+    /**
+     * Performs one read from the underlying device and consumes the resulting frames.
+     * <p>
+     * On a blocking device the call waits until at least one byte is available.
+     * </p>
+     *
+     * @param frameConsumer a consumer to process successfully built frames.
+     * @return the number of bytes read, or -1 if the end of stream was reached.
+     * @throws IOException if reading fails.
+     */
+    int read(Consumer<CRSFFrame> frameConsumer) throws IOException;
+
+    /**
+     * Reads and consumes frames until the end of stream is reached or the transport is closed.
+     * <p>
+     * Intended for blocking devices, where it is the complete read loop of a reader thread.
+     * Closing the transport from another thread makes this method return normally.
+     * </p>
+     *
+     * @param frameConsumer a consumer to process successfully built frames.
+     * @return the total number of bytes read.
+     * @throws IOException if reading fails for a reason other than the transport being closed.
+     */
+    default long run(Consumer<CRSFFrame> frameConsumer) throws IOException {
+        long total = 0;
+        int read;
+
+        try {
+            while (isOpen() && (read = read(frameConsumer)) >= 0) {
+                total += read;
+            }
+        } catch (ClosedChannelException e) {
+            if (isOpen()) {
+                throw e;
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer, typically one or more encoded frames.
+     *
+     * @param data the bytes to write.
+     * @return the number of bytes written.
+     * @throws IOException if writing fails.
+     */
+    int write(ByteBuffer data) throws IOException;
+
+    /**
+     * Writes an encoded frame.
+     *
+     * @param frame the frame bytes to write.
+     * @return the number of bytes written.
+     * @throws IOException if writing fails.
+     */
+    default int write(byte[] frame) throws IOException {
+        return write(ByteBuffer.wrap(frame));
+    }
+
+    /**
+     * Tells whether the transport is open.
+     *
+     * @return true if the transport is open; false otherwise.
+     */
+    boolean isOpen();
+
+}
@@ -0,0 +1,252 @@
+package systems.beep.transport;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.FrameEncoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * Packs outbound frames into reusable direct buffers so they can be sent with few system calls.
+ * <p>
+ * Frames are encoded in place by a {@link FrameEncoder}, such as a frame builder, or copied from
+ * existing frames, one after the other into a segment buffer; when a frame does not fit, the next
+ * segment is used. Frames are never split across segments. The whole batch is then sent with a
+ * single {@link GatheringByteChannel#write(ByteBuffer[], int, int)}, or one write per segment to a
+ * {@link CrsfTransport}. Nothing is allocated after construction.
+ * </p>
+ * <p>
+ * A batch is filled, written until empty, and then filled again; adding frames while a partially
+ * written batch is still draining is not allowed. Instances are not thread-safe.
+ * </p>
+ */
+public class OutboundBatch {
+
+    private final ByteBuffer[] segments;
+
+    // Number of segments holding frames
+    private int segmentCount = 0;
+
+    // Whether the segments are flipped for writing
+    private boolean draining = false;
+
+    private int frameCount = 0;
+
+    private long byteCount = 0;
+
+    /**
+     * Creates a batch of one buffer.
+     *
+     * @param capacity the size of the buffer in bytes.
+     * @throws IllegalArgumentException if the buffer cannot hold a maximum-size frame.
+     */
+    public OutboundBatch(final int capacity) {
+        this(capacity, 1);
+    }
+
+    /**
+     * Creates a batch of several buffers, written together with a gathering write.
+     *
+     * @param segmentSize  the size of each buffer in bytes.
+     * @param segmentCount the number of buffers.
+     * @throws IllegalArgumentException if a buffer cannot hold a maximum-size frame or there is no buffer.
+     */
+    public OutboundBatch(final int segmentSize, final int segmentCount) {
+        if (segmentSize < CRSFFrame.FRAME_MAX_SIZE) {
+            throw new IllegalArgumentException("Segment size must hold at least one frame.");
+        }
+
+        if (segmentCount < 1) {
+            throw new IllegalArgumentException("Segment count must be positive.");
+        }
+
+        this.segments = new ByteBuffer[segmentCount];
+
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = ByteBuffer.allocateDirect(segmentSize);
+        }
+    }
+
+    /**
+     * Encodes a frame into the batch.
+     *
+     * @param encoder the encoder of the frame, e.g. a frame builder.
+     * @return true if the frame was added, false if the batch is full.
+     * @throws IllegalStateException if the batch is being written.
+     */
+    public boolean add(final FrameEncoder encoder) {
+        ByteBuffer segment = segmentFor(encoder.getEncodedLength());
+
+        if (segment == null) {
+            return false;
+        }
+
+        added(encoder.encode(segment));
+        return true;
+    }
+
+    /**
+     * Copies an encoded frame into the batch.
+     *
+     * @param frame  the array holding the frame.
+     * @param offset the offset of the frame in the array.
+     * @param length the raw length of the frame.
+     * @return true if the frame was added, false if the batch is full.
+     * @throws IllegalStateException if the batch is being written.
+     */
+    public boolean add(final byte[] frame, final int offset, final int length) {
+        ByteBuffer segment = segmentFor(length);
+
+        if (segment == null) {
+            return false;
+        }
+
+        segment.put(frame, offset, length);
+        added(length);
+        return true;
+    }
+
+    /**
+     * Copies a frame into the batch.
+     *
+     * @param frame the frame.
+     * @return true if the frame was added, false if the batch is full.
+     * @throws IllegalStateException if the batch is being written.
+     */
+    public boolean add(final CRSFFrame frame) {
+        ByteBuffer segment = segmentFor(frame.getRawLength());
+
+        if (segment == null) {
+            return false;
+        }
+
+        added(frame.copyTo(segment));
+        return true;
+    }
+
+    /**
+     * Writes the batch with one gathering write.
+     * <p>
+     * A non-blocking channel may accept only part of the batch; the rest stays pending and is
+     * written by the next call. The batch is emptied once everything has been written.
+     * </p>
+     *
+     * @param channel the channel to write to.
+     * @return the number of bytes written.
+     * @throws IOException if writing fails.
+     */
+    public long writeTo(final GatheringByteChannel channel) throws IOException {
+        startDraining();
+
+        long written = channel.write(segments, 0, segmentCount);
+
+        finishIfDrained();
+        return written;
+    }
+
+    /**
+     * Writes the batch to a transport, one write per segment.
+     *
+     * @param transport the transport to write to.
+     * @return the number of bytes written.
+     * @throws IOException if writing fails.
+     */
+    public long writeTo(final CrsfTransport transport) throws IOException {
+        startDraining();
+
+        long written = 0;
+
+        for (int i = 0; i < segmentCount; i++) {
+            if (segments[i].hasRemaining()) {
+                written += transport.write(segments[i]);
+
+                if (segments[i].hasRemaining()) {
+                    break;
+                }
+            }
+        }
+
+        finishIfDrained();
+        return written;
+    }
+
+    /**
+     * Discards every frame of the batch, including frames not yet written.
+     */
+    public void clear() {
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i].clear();
+        }
+
+        segmentCount = 0;
+        draining = false;
+        frameCount = 0;
+        byteCount = 0;
+    }
+
+    /**
+     * Tells whether the batch holds no frame waiting to be written.
+     *
+     * @return true if the batch is empty; false otherwise.
+     */
+    public boolean isEmpty() {
+        return frameCount == 0;
+    }
+
+    /**
+     * Returns the number of frames in the batch.
+     *
+     * @return the frame count.
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Returns the number of bytes added to the batch.
+     *
+     * @return the byte count.
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    private ByteBuffer segmentFor(final int length) {
+        if (draining) {
+            throw new IllegalStateException("Batch is being written.");
+        }
+
+        if (segmentCount > 0 && segments[segmentCount - 1].remaining() >= length) {
+            return segments[segmentCount - 1];
+        }
+
+        if (segmentCount < segments.length && segments[segmentCount].capacity() >= length) {
+            return segments[segmentCount++];
+        }
+
+        return null;
+    }
+
+    private void added(final int length) {
+        frameCount++;
+        byteCount += length;
+    }
+
+    private void startDraining() {
+        if (!draining) {
+            for (int i = 0; i < segmentCount; i++) {
+                segments[i].flip();
+            }
+
+            draining = true;
+        }
+    }
+
+    private void finishIfDrained() {
+        if (segmentCount == 0 || !segments[segmentCount - 1].hasRemaining()) {
+            clear();
+        }
+    }
+
+}
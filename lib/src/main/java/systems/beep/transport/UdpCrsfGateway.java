@@ -0,0 +1,462 @@
+package systems.beep.transport;
+
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.processor.DecodeMode;
+import systems.beep.processor.FrameProcessor;
+import systems.beep.processor.LinkFrameConsumer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A gateway receiving CRSF (Crossfire) frames over UDP from many remote endpoints on one socket.
+ * <p>
+ * The {@code UdpCrsfGateway} serves a whole fleet of bridges, such as ELRS backpacks, from a
+ * single {@link DatagramChannel} and {@link Selector}, driven by one thread calling
+ * {@link #run()} or {@link #poll(long)}. Every sender address becomes a link with its own
+ * {@link FrameProcessor}, so frames split across datagrams are reassembled per sender. Senders
+ * are resolved through an open-addressed table and datagrams are decoded in place from one
+ * reused direct buffer. Decoded frames are handed to a {@link LinkFrameConsumer} tagged with
+ * the link ID, which is assigned in order of first contact.
+ * </p>
+ * <p>
+ * Up to {@code batchSize} datagrams are received per readiness event before selecting again.
+ * Datagrams from new senders beyond {@code maxLinks} are dropped and counted.
+ * </p>
+ * <p>
+ * Link queries are meant to be made from the gateway thread, typically from the consumer;
+ * the counters may be read from any thread.
+ * </p>
+ */
+public class UdpCrsfGateway implements Runnable, Closeable {
+
+    /**
+     * Default maximum number of links.
+     */
+    public static final int DEFAULT_MAX_LINKS = 4096;
+
+    /**
+     * Default maximum number of datagrams received per readiness event.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    // Largest UDP payload, so that no datagram is ever truncated
+    private static final int RECEIVE_BUFFER_SIZE = 65535;
+
+    private final DatagramChannel channel;
+
+    private final Selector selector;
+
+    private final LinkFrameConsumer frameConsumer;
+
+    private final DecodeMode decodeMode;
+
+    private final int maxLinks;
+
+    private final int batchSize;
+
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(RECEIVE_BUFFER_SIZE);
+
+    private final AddressLinkTable linkTable;
+
+    // Processor and address of every link, indexed by link ID
+    private FrameProcessor[] processors = new FrameProcessor[16];
+
+    private SocketAddress[] addresses = new SocketAddress[16];
+
+    private int linkCount = 0;
+
+    // Link of the datagram being decoded, read by the frame forwarder
+    private int currentLink;
+
+    // Forwards frames of the current datagram, allocated once
+    private final Consumer<CRSFFrame> forwarder;
+
+    private volatile long datagramCount = 0;
+
+    private volatile long droppedDatagramCount = 0;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a gateway on a bound channel.
+     *
+     * @param channel       the bound datagram channel.
+     * @param frameConsumer the consumer receiving decoded frames.
+     * @param decodeMode    how decoded frames are materialized.
+     * @param maxLinks      the maximum number of links.
+     * @param batchSize     the maximum number of datagrams received per readiness event.
+     * @throws IOException if the channel cannot be registered with a selector.
+     */
+    private UdpCrsfGateway(final DatagramChannel channel, final LinkFrameConsumer frameConsumer,
+                           final DecodeMode decodeMode, final int maxLinks, final int batchSize) throws IOException {
+        this.channel = channel;
+        this.frameConsumer = frameConsumer;
+        this.decodeMode = decodeMode;
+        this.maxLinks = maxLinks;
+        this.batchSize = batchSize;
+        this.linkTable = new AddressLinkTable(Math.min(maxLinks, 1024));
+        this.forwarder = frame -> this.frameConsumer.accept(currentLink, frame);
+
+        channel.configureBlocking(false);
+        this.selector = Selector.open();
+        channel.register(selector, SelectionKey.OP_READ);
+    }
+
+    /**
+     * Returns a new instance of {@code UdpCrsfGatewayBuilder} for building a {@code UdpCrsfGateway}.
+     *
+     * @return a new {@code UdpCrsfGatewayBuilder}.
+     */
+    public static UdpCrsfGatewayBuilder builder() {
+        return new UdpCrsfGatewayBuilder();
+    }
+
+    /**
+     * Receives and decodes datagrams until the gateway is closed.
+     *
+     * @throws IllegalStateException if receiving fails for a reason other than the gateway being closed.
+     */
+    @Override
+    public void run() {
+        try {
+            while (!closed) {
+                poll(0);
+            }
+        } catch (ClosedChannelException | ClosedSelectorException e) {
+            if (!closed) {
+                throw new IllegalStateException("Gateway channel closed unexpectedly", e);
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                throw new IllegalStateException("Gateway failed to receive", e);
+            }
+        }
+    }
+
+    /**
+     * Waits for datagrams and decodes everything that has arrived, up to one batch.
+     *
+     * @param timeout the maximum time to wait in milliseconds, or zero to wait indefinitely.
+     * @return the number of datagrams received.
+     * @throws IOException if receiving fails.
+     */
+    public int poll(final long timeout) throws IOException {
+        int received = 0;
+
+        if (selector.select(timeout) > 0) {
+            selector.selectedKeys().clear();
+            received = receiveBatch();
+        }
+
+        return received;
+    }
+
+    /**
+     * Sends the remaining bytes of a buffer, typically one or more encoded frames, to a link.
+     *
+     * @param linkId the link to send to.
+     * @param data   the bytes to send.
+     * @return the number of bytes sent, which is zero if the socket send buffer is full.
+     * @throws IOException              if sending fails.
+     * @throws IllegalArgumentException if the link ID is unknown.
+     */
+    public int send(final int linkId, final ByteBuffer data) throws IOException {
+        return channel.send(data, getLinkAddress(linkId));
+    }
+
+    /**
+     * Sends an encoded frame to a link.
+     *
+     * @param linkId the link to send to.
+     * @param frame  the frame bytes to send.
+     * @return the number of bytes sent, which is zero if the socket send buffer is full.
+     * @throws IOException              if sending fails.
+     * @throws IllegalArgumentException if the link ID is unknown.
+     */
+    public int send(final int linkId, final byte[] frame) throws IOException {
+        return send(linkId, ByteBuffer.wrap(frame));
+    }
+
+    /**
+     * Returns the link assigned to a remote address.
+     *
+     * @param address the remote address.
+     * @return the link ID, or -1 if the address has not sent anything yet.
+     */
+    public int getLinkId(final SocketAddress address) {
+        return linkTable.get(address);
+    }
+
+    /**
+     * Returns the remote address of a link.
+     *
+     * @param linkId the link.
+     * @return the remote address.
+     * @throws IllegalArgumentException if the link ID is unknown.
+     */
+    public SocketAddress getLinkAddress(final int linkId) {
+        return addresses[checkLink(linkId)];
+    }
+
+    /**
+     * Returns the number of links seen so far.
+     *
+     * @return the number of links.
+     */
+    public int getLinkCount() {
+        return linkCount;
+    }
+
+    /**
+     * Gets the count of successfully processed frames of a link.
+     *
+     * @param linkId the link.
+     * @return the number of frames that have been successfully processed.
+     * @throws IllegalArgumentException if the link ID is unknown.
+     */
+    public int getFrameProcessedCount(final int linkId) {
+        return processors[checkLink(linkId)].getFrameProcessedCount();
+    }
+
+    /**
+     * Gets the count of error frames of a link.
+     *
+     * @param linkId the link.
+     * @return the number of error frames that have been processed.
+     * @throws IllegalArgumentException if the link ID is unknown.
+     */
+    public int getErrorFrameCount(final int linkId) {
+        return processors[checkLink(linkId)].getErrorFrameCount();
+    }
+
+    /**
+     * Returns the local address the gateway receives on.
+     *
+     * @return the bound local address.
+     * @throws IOException if the address cannot be determined.
+     */
+    public SocketAddress getLocalAddress() throws IOException {
+        return channel.getLocalAddress();
+    }
+
+    /**
+     * Returns the number of datagrams received, including dropped ones.
+     *
+     * @return the number of datagrams.
+     */
+    public long getDatagramCount() {
+        return datagramCount;
+    }
+
+    /**
+     * Returns the number of datagrams dropped because they came from a new sender
+     * while {@code maxLinks} links were already in use.
+     *
+     * @return the number of dropped datagrams.
+     */
+    public long getDroppedDatagramCount() {
+        return droppedDatagramCount;
+    }
+
+    /**
+     * Closes the channel and the selector, stopping a gateway thread blocked in {@link #run()}.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+
+        try {
+            selector.close();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Receives datagrams until none is pending or the batch is full.
+     *
+     * @return the number of datagrams received.
+     * @throws IOException if receiving fails.
+     */
+    private int receiveBatch() throws IOException {
+        int received = 0;
+        SocketAddress sender;
+
+        while (received < batchSize && (sender = channel.receive(receiveBuffer.clear())) != null) {
+            received++;
+            datagramCount++;
+
+            int linkId = resolveLink(sender);
+
+            if (linkId == AddressLinkTable.NO_LINK) {
+                droppedDatagramCount++;
+                continue;
+            }
+
+            currentLink = linkId;
+            processors[linkId].processData(receiveBuffer.flip(), forwarder);
+        }
+
+        return received;
+    }
+
+    /**
+     * Resolves the link of a sender, creating one on first contact.
+     *
+     * @param sender the remote address.
+     * @return the link ID, or {@link AddressLinkTable#NO_LINK} if no more links may be created.
+     */
+    private int resolveLink(final SocketAddress sender) {
+        int linkId = linkTable.get(sender);
+
+        if (linkId != AddressLinkTable.NO_LINK || linkCount == maxLinks) {
+            return linkId;
+        }
+
+        if (linkCount == processors.length) {
+            processors = Arrays.copyOf(processors, processors.length * 2);
+            addresses = Arrays.copyOf(addresses, addresses.length * 2);
+        }
+
+        linkId = linkCount++;
+        processors[linkId] = new FrameProcessor(decodeMode);
+        addresses[linkId] = sender;
+        linkTable.put(sender, linkId);
+
+        return linkId;
+    }
+
+    private int checkLink(final int linkId) {
+        if (linkId < 0 || linkId >= linkCount) {
+            throw new IllegalArgumentException("Unknown link: " + linkId);
+        }
+
+        return linkId;
+    }
+
+    /**
+     * Builder class for constructing {@code UdpCrsfGateway} instances.
+     * This builder allows setting the channel or local address, the consumer,
+     * the decode mode, the link limit and the batch size.
+     */
+    public static class UdpCrsfGatewayBuilder {
+
+        private DatagramChannel channel;
+
+        private SocketAddress localAddress;
+
+        private LinkFrameConsumer frameConsumer;
+
+        private DecodeMode decodeMode = DecodeMode.COPY;
+
+        private int maxLinks = DEFAULT_MAX_LINKS;
+
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        /**
+         * Sets an already bound channel to receive on.
+         *
+         * @param channel the bound datagram channel.
+         * @return the current {@code UdpCrsfGatewayBuilder} instance.
+         */
+        public UdpCrsfGatewayBuilder setChannel(final DatagramChannel channel) {
+            this.channel = channel;
+            return this;
+        }
+
+        /**
+         * Sets the local address to bind a new channel to, used when no channel is set.
+         *
+         * @param localAddress the local address, e.g. {@code new InetSocketAddress(5760)}.
+         * @return the current {@code UdpCrsfGatewayBuilder} instance.
+         */
+        public UdpCrsfGatewayBuilder setLocalAddress(final SocketAddress localAddress) {
+            this.localAddress = localAddress;
+            return this;
+        }
+
+        /**
+         * Sets the consumer receiving decoded frames.
+         *
+         * @param frameConsumer the consumer.
+         * @return the current {@code UdpCrsfGatewayBuilder} instance.
+         */
+        public UdpCrsfGatewayBuilder setFrameConsumer(final LinkFrameConsumer frameConsumer) {
+            this.frameConsumer = frameConsumer;
+            return this;
+        }
+
+        /**
+         * Sets how decoded frames are materialized. Defaults to {@link DecodeMode#COPY}.
+         *
+         * @param decodeMode the decode mode.
+         * @return the current {@code UdpCrsfGatewayBuilder} instance.
+         */
+        public UdpCrsfGatewayBuilder setDecodeMode(final DecodeMode decodeMode) {
+            this.decodeMode = decodeMode;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of links. Defaults to {@link #DEFAULT_MAX_LINKS}.
+         *
+         * @param maxLinks the maximum number of links.
+         * @return the current {@code UdpCrsfGatewayBuilder} instance.
+         */
+        public UdpCrsfGatewayBuilder setMaxLinks(final int maxLinks) {
+            this.maxLinks = maxLinks;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of datagrams received per readiness event; one disables batching.
+         * Defaults to {@link #DEFAULT_BATCH_SIZE}.
+         *
+         * @param batchSize the batch size.
+         * @return the current {@code UdpCrsfGatewayBuilder} instance.
+         */
+        public UdpCrsfGatewayBuilder setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Creates the gateway, binding a new channel if none was set.
+         *
+         * @return the gateway, ready to be polled or run.
+         * @throws IOException              if the channel cannot be opened or bound.
+         * @throws IllegalArgumentException if the consumer is missing or a limit is not positive.
+         */
+        public UdpCrsfGateway build() throws IOException {
+            if (frameConsumer == null) {
+                throw new IllegalArgumentException("Frame consumer must be set.");
+            }
+
+            if (maxLinks <= 0 || batchSize <= 0) {
+                throw new IllegalArgumentException("Link limit and batch size must be positive.");
+            }
+
+            DatagramChannel result = channel;
+
+            if (result == null) {
+                result = DatagramChannel.open().bind(localAddress);
+            }
+
+            return new UdpCrsfGateway(result, frameConsumer, decodeMode, maxLinks, batchSize);
+        }
+
+    }
+
+}
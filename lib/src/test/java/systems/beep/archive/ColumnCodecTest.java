@@ -0,0 +1,78 @@
+package systems.beep.archive;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnCodecTest {
+
+    @Test
+    void roundTripsExtremeValues() {
+        long[] values = {0, -1, 1, Long.MAX_VALUE, Long.MIN_VALUE, 42, Long.MIN_VALUE, -300, 300};
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * ColumnCodec.MAX_VALUE_SIZE);
+
+        ColumnCodec.encode(values, values.length, buffer);
+
+        long[] decoded = new long[values.length];
+        ColumnCodec.decode(buffer.flip(), values.length, decoded);
+
+        assertArrayEquals(values, decoded);
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void smallDifferencesTakeOneByte() {
+        long[] values = new long[100];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 500 + i % 5 - 2;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * ColumnCodec.MAX_VALUE_SIZE);
+
+        ColumnCodec.encode(values, values.length, buffer);
+
+        // The first value takes two bytes; every difference is between -4 and 1
+        assertEquals(values.length + 1, buffer.position());
+    }
+
+    @Test
+    void timestampsRoundTrip() {
+        long[] values = {0, 5_000, 5_000, -10_000, Long.MAX_VALUE - 7, Long.MIN_VALUE, 1_760_000_000_000_000_000L};
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * ColumnCodec.MAX_VALUE_SIZE);
+
+        ColumnCodec.encodeTimestamps(values, values.length, 1, buffer);
+
+        long[] decoded = new long[values.length];
+        ColumnCodec.decodeTimestamps(buffer.flip(), values.length, 1, decoded);
+
+        assertArrayEquals(values, decoded);
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void steadyTimestampsTakeOneByte() {
+        Random random = new Random(1);
+        long[] values = new long[1000];
+
+        // 50 Hz in milliseconds with a millisecond of jitter
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (1_760_000_000_000L + i * 20L + random.nextInt(2)) * 1_000_000;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * ColumnCodec.MAX_VALUE_SIZE);
+        ColumnCodec.encodeTimestamps(values, values.length, 1_000_000, buffer);
+
+        long[] decoded = new long[values.length];
+        ColumnCodec.decodeTimestamps(buffer.flip(), values.length, 1_000_000, decoded);
+        assertArrayEquals(values, decoded);
+
+        // The first timestamp and the first interval, from zero, take six bytes each; every later row one
+        assertEquals(values.length + 10, buffer.limit());
+    }
+
+}
@@ -0,0 +1,270 @@
+package systems.beep.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import systems.beep.helper.FormatHelper;
+import systems.beep.recording.FrameRecorder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TelemetryArchiverTest {
+
+    // Interval between frames in nanoseconds
+    private static final long INTERVAL = 20_000_000;
+
+    // Links the frames are spread over, in turn
+    private static final int LINKS = 5;
+
+    @TempDir
+    Path directory;
+
+    private Path archive;
+
+    private byte[] gpsFrame;
+
+    private byte[] batteryFrame;
+
+    private byte[] rcChannelsFrame;
+
+    @BeforeEach
+    void setUp() {
+        archive = directory.resolve("telemetry.crsfarc");
+        gpsFrame = FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+        batteryFrame = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+        rcChannelsFrame = new byte[26];
+        rcChannelsFrame[0] = (byte) 0xC8;
+        rcChannelsFrame[1] = 24;
+        rcChannelsFrame[2] = 0x16;
+    }
+
+    @Test
+    void requestedColumnsRoundTrip() throws IOException {
+        try (TelemetryArchiver archiver = open(100)) {
+            archive(archiver, 0, 1000);
+
+            assertEquals(1000, archiver.getRowCount());
+            assertFalse(archiver.append(0, 0, rcChannelsFrame, 0, rcChannelsFrame.length));
+            assertThrows(IllegalArgumentException.class, () -> archiver.append(-1, 0, batteryFrame, 0, batteryFrame.length));
+        }
+
+        List<Long> indexes = new ArrayList<>();
+        List<Long> latitudes = new ArrayList<>();
+
+        try (TelemetryArchiveReader reader = TelemetryArchiveReader.open(archive)) {
+            long rows = reader.scan(TelemetryTable.GPS, new TelemetryColumn[]{TelemetryColumn.TIMESTAMP,
+                            TelemetryColumn.LINK_ID, TelemetryColumn.GPS_LATITUDE, TelemetryColumn.GPS_ALTITUDE},
+                    (columns, count) -> {
+                        for (int row = 0; row < count; row++) {
+                            int i = (int) (columns[0][row] / INTERVAL);
+
+                            assertEquals(i % LINKS, columns[1][row]);
+                            assertEquals(latitude(i), columns[2][row]);
+                            assertEquals(altitude(i) - 1000, columns[3][row]);
+
+                            indexes.add((long) i);
+                            latitudes.add(columns[2][row]);
+                        }
+                    });
+
+            assertEquals(500, rows);
+        }
+
+        // Rows come back link by link, each link in arrival order
+        assertEquals(500, indexes.stream().distinct().count());
+        assertEquals(0, indexes.get(0).longValue());
+        assertEquals(10, indexes.get(1).longValue());
+        assertEquals(47.0, TelemetryColumn.GPS_LATITUDE.toUnit(latitudes.get(0)), 1e-9);
+    }
+
+    @Test
+    void filterPrunesBlocksAndRows() throws IOException {
+        try (TelemetryArchiver archiver = open(64)) {
+            archive(archiver, 0, 1000);
+        }
+
+        List<Long> timestamps = new ArrayList<>();
+
+        try (TelemetryArchiveReader reader = TelemetryArchiveReader.open(archive)) {
+            long rows = reader.scan(TelemetryTable.BATTERY, TelemetryColumn.TIMESTAMP, 301 * INTERVAL, 420 * INTERVAL,
+                    new TelemetryColumn[]{TelemetryColumn.TIMESTAMP, TelemetryColumn.BATTERY_VOLTAGE},
+                    (columns, count) -> {
+                        for (int row = 0; row < count; row++) {
+                            timestamps.add(columns[0][row]);
+                            assertEquals(voltage((int) (columns[0][row] / INTERVAL)), columns[1][row]);
+                        }
+                    });
+
+            assertEquals(60, rows);
+
+            assertEquals(100, reader.scan(TelemetryTable.GPS, TelemetryColumn.LINK_ID, 3, 3,
+                    new TelemetryColumn[]{TelemetryColumn.GPS_SATELLITES}, (columns, count) -> {
+                    }));
+
+            assertThrows(IllegalArgumentException.class, () -> reader.scan(TelemetryTable.GPS,
+                    new TelemetryColumn[]{TelemetryColumn.BATTERY_VOLTAGE}, (columns, count) -> {
+                    }));
+        }
+
+        timestamps.sort(null);
+
+        for (int i = 0; i < timestamps.size(); i++) {
+            assertEquals((301 + i * 2) * INTERVAL, timestamps.get(i).longValue());
+        }
+    }
+
+    @Test
+    void archiveIsMuchSmallerThanFrameLog() throws IOException {
+        Path log = directory.resolve("log");
+        Random random = new Random(1);
+        long logBytes = 0;
+
+        try (FrameRecorder recorder = FrameRecorder.builder().setDirectory(log).setSegmentSize(1024 * 1024).build()) {
+            for (int i = 0; i < 10_000; i++) {
+                byte[] frame = frame(i);
+
+                // Frames are received up to 2 ms after they are due
+                recorder.append(i % LINKS, i * INTERVAL + random.nextInt(2_000_000), frame, 0, frame.length);
+                logBytes += 17 + frame.length;
+            }
+        }
+
+        try (TelemetryArchiver archiver = open(TelemetryArchiver.DEFAULT_BLOCK_SIZE)) {
+            assertEquals(10_000, archiver.appendLog(log));
+        }
+
+        // The log holds a 17-byte header and every byte of each frame; the archive three to four bytes of
+        // nanosecond jitter per timestamp and about a byte per other column
+        assertTrue(Files.size(archive) * 7 < logBytes * 2);
+
+        Files.delete(archive);
+
+        try (TelemetryArchiver archiver = TelemetryArchiver.builder().setPath(archive)
+                .setTimestampResolution(1_000_000).build()) {
+            assertEquals(10_000, archiver.appendLog(log));
+        }
+
+        // At a millisecond the timestamps take a byte as well
+        assertTrue(Files.size(archive) * 5 < logBytes);
+    }
+
+    @Test
+    void timestampsAreRoundedToResolution() throws IOException {
+        try (TelemetryArchiver archiver = TelemetryArchiver.builder().setPath(archive).setTimestampResolution(1000).build()) {
+            assertTrue(archiver.append(0, 1_760_000_000_123_456_789L, batteryFrame, 0, batteryFrame.length));
+            assertTrue(archiver.append(0, 1_760_000_000_143_457_999L, batteryFrame, 0, batteryFrame.length));
+            assertTrue(archiver.append(0, 1_760_000_000_163_455_001L, batteryFrame, 0, batteryFrame.length));
+        }
+
+        List<Long> timestamps = new ArrayList<>();
+
+        try (TelemetryArchiveReader reader = TelemetryArchiveReader.open(archive)) {
+            reader.scan(TelemetryTable.BATTERY, new TelemetryColumn[]{TelemetryColumn.TIMESTAMP}, (columns, count) -> {
+                for (int row = 0; row < count; row++) {
+                    timestamps.add(columns[0][row]);
+                }
+            });
+        }
+
+        assertEquals(List.of(1_760_000_000_123_456_000L, 1_760_000_000_143_457_000L, 1_760_000_000_163_455_000L),
+                timestamps);
+    }
+
+    @Test
+    void reopenedArchiveDiscardsIncompleteBlock() throws IOException {
+        try (TelemetryArchiver archiver = open(100)) {
+            archive(archiver, 0, 400);
+        }
+
+        long complete = Files.size(archive);
+
+        // A block cut short by a crash
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(16).putInt(0, 500));
+        }
+
+        try (TelemetryArchiver archiver = open(100)) {
+            assertEquals(complete, Files.size(archive));
+            archive(archiver, 400, 1000);
+        }
+
+        try (TelemetryArchiveReader reader = TelemetryArchiveReader.open(archive)) {
+            assertEquals(500, reader.scan(TelemetryTable.BATTERY,
+                    new TelemetryColumn[]{TelemetryColumn.BATTERY_REMAINING}, (columns, count) -> {
+                    }));
+        }
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> TelemetryArchiver.builder().build());
+        assertThrows(IllegalArgumentException.class,
+                () -> TelemetryArchiver.builder().setPath(archive).setBlockSize(0).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> TelemetryArchiver.builder().setPath(archive).setTimestampResolution(0).build());
+    }
+
+    private TelemetryArchiver open(final int blockSize) throws IOException {
+        return TelemetryArchiver.builder().setPath(archive).setBlockSize(blockSize).build();
+    }
+
+    /**
+     * Archives GPS frames at even and battery frames at odd indexes, cycling over 5 links.
+     */
+    private void archive(final TelemetryArchiver archiver, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            byte[] frame = frame(i);
+            assertTrue(archiver.append(i % LINKS, i * INTERVAL, frame, 0, frame.length));
+        }
+    }
+
+    private byte[] frame(final int i) {
+        if (i % 2 == 0) {
+            ByteBuffer gps = ByteBuffer.wrap(gpsFrame);
+            gps.putInt(3, latitude(i));
+            gps.putInt(7, longitude(i));
+            gps.putShort(15, (short) altitude(i));
+            return gpsFrame;
+        }
+
+        ByteBuffer.wrap(batteryFrame).putShort(3, (short) voltage(i));
+        return batteryFrame;
+    }
+
+    /**
+     * Every link flies its own track, kilometres away from the others.
+     */
+    private static int latitude(final int i) {
+        int link = i % LINKS;
+        return 470_000_000 + link * 1_234_567 + i / LINKS * (3 + link);
+    }
+
+    private static int longitude(final int i) {
+        int link = i % LINKS;
+        return 85_000_000 - link * 2_345_678 - i / LINKS * (5 - link);
+    }
+
+    private static int altitude(final int i) {
+        int link = i % LINKS;
+        return 1000 + link * 70 + i / LINKS % 50;
+    }
+
+    private static int voltage(final int i) {
+        int link = i % LINKS;
+        return 120 + link * 20 - i / LINKS % 7;
+    }
+
+}
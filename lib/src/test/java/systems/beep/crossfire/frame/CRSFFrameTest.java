@@ -1,9 +1,81 @@
 package systems.beep.crossfire.frame;
 
 import org.junit.jupiter.api.Test;
+import systems.beep.exception.CorruptedPackageException;
+import systems.beep.helper.FormatHelper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CRSFFrameTest {
 
+    private static final byte[] BATTERY_FRAME = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+
+    @Test
+    void wrap() {
+        byte[] buffer = new byte[BATTERY_FRAME.length + 5];
+        System.arraycopy(BATTERY_FRAME, 0, buffer, 5, BATTERY_FRAME.length);
+
+        BatteryFrame view = new BatteryFrame();
+
+        assertSame(view, view.wrap(buffer, 5, BATTERY_FRAME.length));
+        assertEquals(35, view.getFuel());
+        assertEquals(BATTERY_FRAME.length, view.getRawLength());
+        assertArrayEquals(BATTERY_FRAME, view.getRawData());
+    }
+
+    @Test
+    void wrapCorrupted() {
+        byte[] buffer = BATTERY_FRAME.clone();
+        buffer[5] = 1;
+
+        assertThrows(CorruptedPackageException.class, () -> new BatteryFrame().wrap(buffer, 0, buffer.length));
+    }
+
+    @Test
+    void copy() {
+        byte[] buffer = BATTERY_FRAME.clone();
+        BatteryFrame view = new BatteryFrame();
+        view.wrap(buffer, 0, buffer.length);
+
+        CRSFFrame copy = view.copy();
+        buffer[9] = 0;
+
+        assertTrue(copy instanceof BatteryFrame);
+        assertNotSame(buffer, copy.getRawData());
+        assertEquals(35, ((BatteryFrame) copy).getFuel());
+    }
+
+    @Test
+    void copiesAndOwnedFramesCannotBeRebound() {
+        BatteryFrame owned = new BatteryFrame(BATTERY_FRAME.clone());
+        CRSFFrame copy = new BatteryFrame().wrap(BATTERY_FRAME.clone(), 0, BATTERY_FRAME.length).copy();
+
+        assertThrows(IllegalStateException.class, () -> owned.wrap(BATTERY_FRAME, 0, BATTERY_FRAME.length));
+        assertThrows(IllegalStateException.class, () -> copy.wrap(BATTERY_FRAME, 0, BATTERY_FRAME.length));
+        assertTrue(owned.copy() instanceof BatteryFrame);
+    }
+
+    @Test
+    void failedWrapKeepsBinding() {
+        byte[] corrupted = BATTERY_FRAME.clone();
+        corrupted[5] = 1;
+
+        BatteryFrame view = new BatteryFrame();
+        view.wrap(BATTERY_FRAME.clone(), 0, BATTERY_FRAME.length);
+
+        assertThrows(CorruptedPackageException.class, () -> view.wrap(corrupted, 0, corrupted.length));
+        assertEquals(35, view.getFuel());
+
+        LinkStatisticsFrame linkStatistics = new LinkStatisticsFrame();
+        assertThrows(IllegalArgumentException.class, () -> linkStatistics.wrap(BATTERY_FRAME, 0, BATTERY_FRAME.length, false));
+        assertEquals(0, linkStatistics.getRawLength());
+    }
+
     @Test
     void getType() {
     }
@@ -14,6 +86,31 @@ class CRSFFrameTest {
 
     @Test
     void getRawData() {
+        byte[] data = BATTERY_FRAME.clone();
+        BatteryFrame owned = new BatteryFrame(data);
+
+        // Owned frames hand out their own array, views a copy of the reused buffer
+        assertSame(data, owned.getRawData());
+
+        byte[] buffer = BATTERY_FRAME.clone();
+        BatteryFrame view = new BatteryFrame();
+        view.wrap(buffer, 0, buffer.length);
+
+        assertNotSame(buffer, view.getRawData());
+        view.getRawData()[9] = 0;
+        assertEquals(35, view.getFuel());
+    }
+
+    @Test
+    void copyWithoutNewView() {
+        CRSFFrame frame = new CRSFFrame(BATTERY_FRAME) {
+            @Override
+            public String toString() {
+                return "Bare";
+            }
+        };
+
+        assertThrows(UnsupportedOperationException.class, frame::copy);
     }
 
     @Test
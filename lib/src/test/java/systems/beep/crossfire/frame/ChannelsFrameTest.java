@@ -1,15 +1,118 @@
 package systems.beep.crossfire.frame;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.ChannelBuilder;
+import systems.beep.crossfire.frame.sub.Address;
+import systems.beep.helper.CRCHelper;
+import systems.beep.helper.TelemetryHelper;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ChannelsFrameTest {
 
+    private int[] channels;
+
+    private byte[] frame;
+
+    @BeforeEach
+    void setUp() {
+        channels = ChannelBuilder.builder()
+                .setRoll(1100)
+                .setPitch(1900)
+                .setThrottle(1200)
+                .build();
+        frame = ChannelsFrame.builder()
+                .setAddress(Address.FLIGHT_CONTROLLER)
+                .setChannels(channels)
+                .build();
+    }
+
     @Test
     void builder() {
+        assertEquals(26, frame.length);
+        assertEquals(Address.FLIGHT_CONTROLLER.getValue(), frame[0]);
+        assertEquals(24, frame[1]);
+    }
+
+    @Test
+    void encodeIntoBuffer() {
+        ChannelsFrame.ChannelsFrameBuilder builder = ChannelsFrame.builder()
+                .setAddress(Address.FLIGHT_CONTROLLER)
+                .setChannels(channels);
+        ByteBuffer buffer = ByteBuffer.allocate(50).position(5);
+
+        assertEquals(frame.length, builder.encode(buffer));
+        assertEquals(5 + frame.length, buffer.position());
+        assertArrayEquals(frame, Arrays.copyOfRange(buffer.array(), 5, 5 + frame.length));
+        assertTrue(new ChannelsFrame(frame).checkCRC());
+
+        // A frame that does not fit leaves the buffer untouched
+        assertThrows(BufferOverflowException.class, () -> builder.encode(buffer));
+        assertEquals(5 + frame.length, buffer.position());
     }
 
     @Test
     void getChannels() {
+        int[] result = new ChannelsFrame(frame).getChannels();
+
+        assertEquals(1100, result[0], 1);
+        assertEquals(1900, result[1], 1);
+        assertEquals(1200, result[2], 1);
+        assertEquals(1500, result[3]);
+    }
+
+    @Test
+    void getChannelsIntoArray() {
+        ChannelsFrame channelsFrame = new ChannelsFrame(frame);
+        int[] out = new int[ChannelsFrame.CHANNEL_COUNT];
+
+        assertSame(out, channelsFrame.getChannels(out));
+        assertArrayEquals(channelsFrame.getChannels(), out);
     }
-    
-}
\ No newline at end of file
+
+    @Test
+    void getChannelsFromView() {
+        byte[] buffer = new byte[frame.length + 7];
+        System.arraycopy(frame, 0, buffer, 7, frame.length);
+
+        ChannelsFrame view = new ChannelsFrame();
+        view.wrap(buffer, 7, frame.length);
+
+        assertArrayEquals(new ChannelsFrame(frame).getChannels(), view.getChannels(new int[ChannelsFrame.CHANNEL_COUNT]));
+    }
+
+    @Test
+    void getRawChannels() {
+        int[] out = new ChannelsFrame(frame).getRawChannels(new int[ChannelsFrame.CHANNEL_COUNT]);
+
+        for (int i = 0; i < channels.length; i++) {
+            assertEquals(TelemetryHelper.convertMicrosecondsToCRSF(channels[i]), out[i]);
+        }
+    }
+
+    @Test
+    void getChannelsOutOfRangeDoesNotThrow() {
+        int[] raw = new int[ChannelsFrame.CHANNEL_COUNT];
+        raw[0] = 2047;
+
+        byte[] data = frame.clone();
+        byte[] payload = new byte[22];
+        TelemetryHelper.packChannels(raw, payload);
+        System.arraycopy(payload, 0, data, 3, payload.length);
+        data[data.length - 1] = CRCHelper.D5(data, 2, data.length - 1);
+
+        int[] out = new ChannelsFrame(data).getChannels(new int[ChannelsFrame.CHANNEL_COUNT]);
+
+        assertEquals(TelemetryHelper.convertCRSFToMicrosecondsUnchecked(2047), out[0]);
+    }
+
+}
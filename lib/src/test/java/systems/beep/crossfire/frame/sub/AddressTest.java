@@ -0,0 +1,35 @@
+package systems.beep.crossfire.frame.sub;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AddressTest {
+
+    @Test
+    void fromByte() {
+        for (Address address : Address.values()) {
+            assertSame(address, Address.fromByte(address.getValue()));
+        }
+    }
+
+    @Test
+    void fromByteUnknown() {
+        assertEquals(Address.UNKNOWN, Address.fromByte((byte) 0x01));
+        assertEquals(Address.UNKNOWN, Address.fromByte((byte) 0xFF));
+    }
+
+    @Test
+    void isSyncByte() {
+        assertTrue(Address.isSyncByte((byte) 0xC8));
+        assertTrue(Address.isSyncByte((byte) 0xEA));
+        assertTrue(Address.isSyncByte((byte) 0xEC));
+        assertTrue(Address.isSyncByte((byte) 0xEE));
+        assertFalse(Address.isSyncByte((byte) 0x00));
+        assertFalse(Address.isSyncByte((byte) 0xEF));
+    }
+
+}
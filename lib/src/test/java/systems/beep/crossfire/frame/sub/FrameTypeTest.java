@@ -0,0 +1,23 @@
+package systems.beep.crossfire.frame.sub;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class FrameTypeTest {
+
+    @Test
+    void fromByte() {
+        for (FrameType frameType : FrameType.values()) {
+            assertSame(frameType, FrameType.fromByte(frameType.getValue()));
+        }
+    }
+
+    @Test
+    void fromByteUnknown() {
+        assertEquals(FrameType.UNKNOWN, FrameType.fromByte((byte) 0x00));
+        assertEquals(FrameType.UNKNOWN, FrameType.fromByte((byte) 0xAB));
+    }
+
+}
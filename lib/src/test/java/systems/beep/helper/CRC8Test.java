@@ -0,0 +1,63 @@
+package systems.beep.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CRC8Test {
+
+    @Test
+    void updateByteByByte() {
+        byte[] frame = FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+        CRC8 crc = CRC8.D5();
+
+        for (int i = 2; i < frame.length - 1; i++) {
+            crc.update(frame[i]);
+        }
+
+        assertEquals(frame[frame.length - 1], crc.getCRC());
+        assertEquals(0x6E, crc.getValue());
+    }
+
+    @Test
+    void updateRangeMatchesHelper() {
+        byte[] data = new byte[64];
+        new Random(1).nextBytes(data);
+
+        CRC8 d5 = CRC8.D5();
+        d5.update(data, 5, 20);
+        d5.update(data, 25, 30);
+
+        CRC8 ba = CRC8.BA();
+        ba.update(data, 0, data.length);
+
+        assertEquals(CRCHelper.D5(data, 5, 55), d5.getCRC());
+        assertEquals(CRCHelper.BA(data, 0, data.length), ba.getCRC());
+    }
+
+    @Test
+    void updateDirectBuffer() {
+        byte[] data = new byte[32];
+        new Random(2).nextBytes(data);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+        CRC8 crc = CRC8.D5();
+        crc.update(direct);
+
+        assertEquals(CRCHelper.D5(data, 0, data.length), crc.getCRC());
+        assertEquals(direct.limit(), direct.position());
+    }
+
+    @Test
+    void reset() {
+        CRC8 crc = CRC8.D5();
+        crc.update(0x12);
+        crc.reset();
+
+        assertEquals(0, crc.getValue());
+    }
+
+}
@@ -1,7 +1,77 @@
 package systems.beep.helper;
 
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 class CRCHelperTest {
 
-    //
+    @Test
+    void D5() {
+        byte[] frame = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+
+        assertEquals((byte) 0x7C, CRCHelper.D5(frame, 2, frame.length - 1));
+    }
+
+    @Test
+    void matchesBitwiseImplementation() {
+        Random random = new Random(42);
+        byte[] data = new byte[64];
+
+        for (int i = 0; i < 1000; i++) {
+            random.nextBytes(data);
+
+            int start = random.nextInt(data.length - 1);
+            int end = start + 1 + random.nextInt(data.length - start - 1);
+
+            assertEquals(bitwise(0xD5, data, start, end), CRCHelper.D5(data, start, end));
+            assertEquals(bitwise(0xBA, data, start, end), CRCHelper.BA(data, start, end));
+        }
+    }
+
+    @Test
+    void byteBuffer() {
+        byte[] data = new byte[64];
+        new Random(7).nextBytes(data);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+        direct.position(10);
+
+        assertEquals(CRCHelper.D5(data, 3, 50), CRCHelper.D5(direct, 3, 50));
+        assertEquals(CRCHelper.BA(data, 3, 50), CRCHelper.BA(ByteBuffer.wrap(data), 3, 50));
+        assertEquals(10, direct.position());
+    }
+
+    @Test
+    void invalidRange() {
+        byte[] data = new byte[8];
+
+        assertThrows(IllegalArgumentException.class, () -> CRCHelper.D5(data, -1, 4));
+        assertThrows(IllegalArgumentException.class, () -> CRCHelper.D5(data, 4, 4));
+        assertThrows(IllegalArgumentException.class, () -> CRCHelper.BA(data, 0, 9));
+        assertThrows(IllegalArgumentException.class, () -> CRCHelper.D5(ByteBuffer.wrap(data), 0, 9));
+    }
+
+    private static byte bitwise(int polynomial, byte[] data, int start, int end) {
+        byte crc = 0;
+
+        for (int i = start; i < end; i++) {
+            crc ^= data[i];
+
+            for (int j = 0; j < 8; j++) {
+                if ((crc & 0x80) != 0) {
+                    crc = (byte) ((crc << 1) ^ polynomial);
+                } else {
+                    crc <<= 1;
+                }
+            }
+        }
+
+        return crc;
+    }
 
 }
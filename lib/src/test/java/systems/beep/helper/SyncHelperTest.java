@@ -0,0 +1,106 @@
+package systems.beep.helper;
+
+import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.frame.sub.Address;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyncHelperTest {
+
+    @Test
+    void indexOfSyncMatchesByteByByteScan() {
+        Random random = new Random(7);
+        byte[] data = new byte[256];
+
+        for (int round = 0; round < 200; round++) {
+            random.nextBytes(data);
+
+            int from = random.nextInt(40);
+            int to = data.length - random.nextInt(40);
+
+            for (int start = from; start < to; start++) {
+                assertEquals(scan(data, start, to), SyncHelper.indexOfSync(data, start, to));
+            }
+        }
+    }
+
+    @Test
+    void indexOfSyncFindsEverySyncValueAtEveryAlignment() {
+        byte[] syncValues = FormatHelper.hexToByteArraySpaced("C8 EA EC EE");
+        byte[] lookalikes = FormatHelper.hexToByteArraySpaced("E8 E9 EB ED EF C9 C0 48 6A 6E CA CC CE FE");
+        Random random = new Random(11);
+        byte[] data = new byte[96];
+
+        for (int round = 0; round < 50; round++) {
+            // Random noise with sync values replaced, half of it by bytes one or two bits away from them
+            random.nextBytes(data);
+
+            for (int i = 0; i < data.length; i++) {
+                if (Address.isSyncByte(data[i]) || random.nextBoolean()) {
+                    data[i] = lookalikes[random.nextInt(lookalikes.length)];
+                }
+            }
+
+            assertEquals(-1, SyncHelper.indexOfSync(data, 0, data.length));
+
+            for (byte sync : syncValues) {
+                for (int position = 40; position < 48; position++) {
+                    byte[] stream = data.clone();
+                    stream[position] = sync;
+
+                    // A second sync value further on must not hide the first
+                    stream[position + 1 + random.nextInt(40)] = syncValues[random.nextInt(syncValues.length)];
+
+                    for (int from = 0; from < Long.BYTES; from++) {
+                        for (int to = position; to <= position + Long.BYTES + 1; to++) {
+                            assertEquals(scan(stream, from, to), SyncHelper.indexOfSync(stream, from, to));
+                        }
+
+                        assertEquals(position, SyncHelper.indexOfSync(stream, from, stream.length));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void indexOfSyncSkipsLookalikes() {
+        byte[] data = FormatHelper.hexToByteArraySpaced("E8 E9 C9 48 EF 6E E8 C7 E8 E8 E8 E8 E8 E8 E8 E8 EC");
+
+        assertEquals(16, SyncHelper.indexOfSync(data, 0, data.length));
+        assertEquals(-1, SyncHelper.indexOfSync(data, 0, 16));
+    }
+
+    @Test
+    void indexOfCandidate() {
+        byte[] data = FormatHelper.hexToByteArraySpaced("00 C8 00 EA 40 EE 0C 14 C8");
+
+        assertEquals(5, SyncHelper.indexOfCandidate(data, 0, data.length));
+        assertEquals(8, SyncHelper.indexOfCandidate(data, 6, data.length));
+        assertEquals(-1, SyncHelper.indexOfCandidate(data, 0, 5));
+    }
+
+    @Test
+    void isPlausibleLength() {
+        assertTrue(SyncHelper.isPlausibleLength((byte) 2));
+        assertTrue(SyncHelper.isPlausibleLength((byte) 62));
+        assertFalse(SyncHelper.isPlausibleLength((byte) 1));
+        assertFalse(SyncHelper.isPlausibleLength((byte) 63));
+        assertFalse(SyncHelper.isPlausibleLength((byte) 0xC8));
+    }
+
+    private static int scan(final byte[] data, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (Address.isSyncByte(data[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+}
@@ -1,7 +1,105 @@
 package systems.beep.helper;
 
+import org.junit.jupiter.api.Test;
+import systems.beep.exception.IncorrectConversionException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 class TelemetryHelperTest {
 
-    //
+    @Test
+    void packAndUnpackChannels() {
+        int[] channels = new int[16];
+
+        for (int i = 0; i < channels.length; i++) {
+            channels[i] = i * 127;
+        }
+
+        byte[] payload = new byte[22];
+        int[] result = new int[16];
+
+        TelemetryHelper.packChannels(channels, payload);
+        TelemetryHelper.unpackChannels(payload, result);
+
+        assertArrayEquals(channels, result);
+    }
+
+    @Test
+    void unpackChannelsAtOffset() {
+        int[] channels = new int[16];
+
+        for (int i = 0; i < channels.length; i++) {
+            channels[i] = 2047 - i * 100;
+        }
+
+        byte[] payload = new byte[22];
+        TelemetryHelper.packChannels(channels, payload);
+
+        byte[] source = new byte[30];
+        System.arraycopy(payload, 0, source, 5, payload.length);
+
+        int[] result = new int[16];
+        TelemetryHelper.unpackChannels(source, 5, result);
+
+        assertArrayEquals(channels, result);
+    }
+
+    @Test
+    void convertCRSFToMicrosecondsUnchecked() {
+        for (int value = 0; value <= 1984; value++) {
+            assertEquals(TelemetryHelper.convertCRSFToMicroseconds(value), TelemetryHelper.convertCRSFToMicrosecondsUnchecked(value));
+        }
+
+        assertThrows(IncorrectConversionException.class, () -> TelemetryHelper.convertCRSFToMicroseconds(2047));
+        assertEquals(2158, TelemetryHelper.convertCRSFToMicrosecondsUnchecked(2047));
+    }
+
+    @Test
+    void convertCRSFToMicrosecondsMatchesFormula() {
+        for (int value = 0; value <= 1984; value++) {
+            int expected = value == 992 ? 1500 : (int) (0.624 * value + 880.672);
+
+            assertEquals(expected, TelemetryHelper.convertCRSFToMicroseconds(value));
+        }
+
+        assertThrows(IncorrectConversionException.class, () -> TelemetryHelper.convertCRSFToMicroseconds(-1));
+        assertThrows(IncorrectConversionException.class, () -> TelemetryHelper.convertCRSFToMicroseconds(1985));
+    }
+
+    @Test
+    void convertMicrosecondsToCRSFMatchesFormula() {
+        for (int microseconds = 0; microseconds <= 5000; microseconds++) {
+            int expected = microseconds == 1500 ? 992 : (int) Math.round((microseconds - 880.672) / 0.624);
+
+            if (expected < 0 || expected > 1984) {
+                final int value = microseconds;
+                assertThrows(IncorrectConversionException.class, () -> TelemetryHelper.convertMicrosecondsToCRSF(value));
+            } else {
+                assertEquals(expected, TelemetryHelper.convertMicrosecondsToCRSF(microseconds));
+            }
+        }
+
+        assertEquals((int) Math.round((1234.5 - 880.672) / 0.624), TelemetryHelper.convertMicrosecondsToCRSF(1234.5));
+    }
+
+    @Test
+    void bulkConversions() {
+        int[] microseconds = {1000, 1500, 2000, 1234};
+        int[] crsf = new int[microseconds.length];
+        int[] result = new int[microseconds.length];
+
+        TelemetryHelper.convertMicrosecondsToCRSF(microseconds, crsf, microseconds.length);
+        TelemetryHelper.convertCRSFToMicroseconds(crsf, result, crsf.length);
+
+        for (int i = 0; i < microseconds.length; i++) {
+            assertEquals(TelemetryHelper.convertMicrosecondsToCRSF(microseconds[i]), crsf[i]);
+            assertEquals(TelemetryHelper.convertCRSFToMicroseconds(crsf[i]), result[i]);
+        }
+
+        assertThrows(IncorrectConversionException.class,
+                () -> TelemetryHelper.convertCRSFToMicroseconds(new int[]{2000}, new int[1], 1));
+    }
 
 }
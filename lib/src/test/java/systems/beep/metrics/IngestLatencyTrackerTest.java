@@ -0,0 +1,43 @@
+package systems.beep.metrics;
+
+import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.frame.sub.FrameType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IngestLatencyTrackerTest {
+
+    @Test
+    void recordsPerLinkAndPerType() {
+        IngestLatencyTracker tracker = new IngestLatencyTracker(3);
+
+        tracker.recordValidated(0, FrameType.GPS, 1_000);
+        tracker.recordValidated(2, FrameType.GPS, 2_000);
+        tracker.recordValidated(2, FrameType.BATTERY_SENSOR, 3_000);
+        tracker.recordConsumed(2, FrameType.BATTERY_SENSOR, 50_000);
+
+        assertEquals(3, tracker.getLinkCount());
+        assertEquals(1, tracker.getValidationLatency(0).getCount());
+        assertEquals(0, tracker.getValidationLatency(1).getCount());
+        assertEquals(2, tracker.getValidationLatency(2).getCount());
+        assertEquals(2, tracker.getValidationLatency(FrameType.GPS).getCount());
+        assertEquals(1, tracker.getConsumerLatency(2).getCount());
+        assertEquals(1, tracker.getConsumerLatency(FrameType.BATTERY_SENSOR).getCount());
+        assertEquals(0, tracker.getConsumerLatency(FrameType.GPS).getCount());
+
+        LogLinearHistogram snapshot = tracker.getConsumerLatency(2).snapshot();
+        tracker.reset();
+
+        assertEquals(1, snapshot.getCount());
+        assertEquals(0, tracker.getConsumerLatency(2).getCount());
+        assertEquals(0, tracker.getValidationLatency(FrameType.GPS).getCount());
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new IngestLatencyTracker(0));
+        assertThrows(IllegalArgumentException.class, () -> new IngestLatencyTracker(1, 9));
+    }
+
+}
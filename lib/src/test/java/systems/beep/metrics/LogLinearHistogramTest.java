@@ -0,0 +1,79 @@
+package systems.beep.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogLinearHistogramTest {
+
+    @Test
+    void bucketsCoverEveryValue() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+
+        for (long value : new long[]{0, 1, 7, 8, 9, 15, 16, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int index = histogram.indexOf(value);
+
+            assertTrue(histogram.getBucketLowerBound(index) <= value);
+            assertTrue(index + 1 == histogram.getBucketCount() || histogram.getBucketLowerBound(index + 1) > value);
+        }
+
+        // Values below 2^precision are exact
+        assertEquals(7, histogram.indexOf(7));
+        assertEquals(histogram.getBucketCount() - 1, histogram.indexOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void percentilesStayWithinPrecision() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertWithin(5_000_000, histogram.getValueAtPercentile(50));
+        assertWithin(9_900_000, histogram.getValueAtPercentile(99));
+        assertWithin(10_000_000, histogram.getMax());
+
+        LogLinearHistogram other = new LogLinearHistogram();
+        other.record(-5);
+        histogram.add(other);
+
+        assertEquals(10_001, histogram.getCount());
+        assertEquals(1, histogram.getBucketCount(0));
+
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void snapshotIsDetachedFromRecording() {
+        LogLinearHistogram histogram = new LogLinearHistogram(4);
+        histogram.record(100);
+        histogram.record(200);
+
+        LogLinearHistogram snapshot = histogram.snapshot();
+        histogram.record(300);
+
+        assertEquals(4, snapshot.getPrecision());
+        assertEquals(2, snapshot.getCount());
+        assertEquals(3, histogram.getCount());
+        assertTrue(snapshot.getMax() < 300);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new LogLinearHistogram(0));
+        assertThrows(IllegalArgumentException.class, () -> new LogLinearHistogram(3).add(new LogLinearHistogram(4)));
+    }
+
+    private static void assertWithin(final long expected, final long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 8, "Got " + actual + " for " + expected);
+    }
+
+}
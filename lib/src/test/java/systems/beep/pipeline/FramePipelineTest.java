@@ -0,0 +1,221 @@
+package systems.beep.pipeline;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.frame.BatteryFrame;
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.GPSFrame;
+import systems.beep.helper.FormatHelper;
+import systems.beep.processor.DecodeMode;
+import systems.beep.processor.FrameProcessor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FramePipelineTest {
+
+    private byte[] gpsFrame;
+
+    private byte[] batteryFrame;
+
+    @BeforeEach
+    void setUp() {
+        gpsFrame = FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+        batteryFrame = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+    }
+
+    @Test
+    void everyConsumerSeesEveryFrameInOrder() throws InterruptedException {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            int frames = 20_000;
+            OrderCheck first = new OrderCheck();
+            OrderCheck second = new OrderCheck();
+
+            FramePipeline pipeline = FramePipeline.builder()
+                    .setCapacity(64)
+                    .setWaitStrategy(waitStrategy)
+                    .addConsumer(first)
+                    .addConsumer(second)
+                    .build();
+
+            FrameProcessor processor = new FrameProcessor(DecodeMode.FLYWEIGHT);
+
+            for (int i = 0; i < frames; i++) {
+                // Keep the producer within the ring so no frame is dropped
+                while (pipeline.getRemainingCapacity() == 0) {
+                    Thread.onSpinWait();
+                }
+
+                processor.processData(i % 2 == 0 ? gpsFrame : batteryFrame, pipeline);
+            }
+
+            pipeline.close();
+
+            assertEquals(0, pipeline.getOverflowCount());
+            assertEquals(frames, pipeline.getPublishedCount());
+
+            assertEquals(frames, first.count.get());
+            assertEquals(frames, second.count.get());
+            assertEquals(0, first.errors.get());
+            assertEquals(0, second.errors.get());
+        }
+    }
+
+    @Test
+    void overflowIsCounted() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger();
+
+        FramePipeline pipeline = FramePipeline.builder()
+                .setCapacity(8)
+                .addConsumer(frame -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    received.incrementAndGet();
+                })
+                .build();
+
+        GPSFrame frame = new GPSFrame(gpsFrame);
+
+        for (int i = 0; i < 13; i++) {
+            pipeline.accept(frame);
+        }
+
+        assertEquals(0, pipeline.getRemainingCapacity());
+
+        release.countDown();
+        pipeline.close();
+
+        assertEquals(8, pipeline.getCapacity());
+        assertEquals(8, pipeline.getPublishedCount());
+        assertEquals(5, pipeline.getOverflowCount());
+        assertEquals(8, received.get());
+    }
+
+    @Test
+    void consumerReceivesFrameContent() throws InterruptedException {
+        List<byte[]> received = new CopyOnWriteArrayList<>();
+        List<Class<?>> types = new CopyOnWriteArrayList<>();
+
+        FramePipeline pipeline = FramePipeline.builder()
+                .addConsumer(frame -> {
+                    types.add(frame.getClass());
+                    received.add(frame.copy().getRawData());
+                })
+                .build();
+
+        pipeline.accept(new BatteryFrame(batteryFrame));
+        pipeline.close();
+
+        assertEquals(1, received.size());
+        assertEquals(BatteryFrame.class, types.get(0));
+        assertArrayEquals(batteryFrame, received.get(0));
+    }
+
+    @Test
+    void consumerFailureDoesNotStopPipeline() throws InterruptedException {
+        AtomicInteger received = new AtomicInteger();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> failures.add(e));
+
+        try {
+            FramePipeline pipeline = FramePipeline.builder()
+                    .addConsumer(frame -> {
+                        if (received.incrementAndGet() == 1) {
+                            throw new IllegalStateException("consumer failure");
+                        }
+                    })
+                    .build();
+
+            pipeline.accept(new GPSFrame(gpsFrame));
+            pipeline.accept(new GPSFrame(gpsFrame));
+            pipeline.close();
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(handler);
+        }
+
+        assertEquals(2, received.get());
+        assertEquals(1, failures.size());
+        assertInstanceOf(IllegalStateException.class, failures.get(0));
+    }
+
+    @Test
+    void consumerErrorRetiresItsSequence() throws InterruptedException {
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch failed = new CountDownLatch(1);
+        Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> failed.countDown());
+
+        try {
+            FramePipeline pipeline = FramePipeline.builder()
+                    .setCapacity(4)
+                    .addConsumer(frame -> {
+                        throw new AssertionError("consumer error");
+                    })
+                    .addConsumer(frame -> received.incrementAndGet())
+                    .build();
+
+            GPSFrame frame = new GPSFrame(gpsFrame);
+
+            pipeline.accept(frame);
+            failed.await();
+
+            // The failed consumer must not hold the ring, so the healthy one keeps it draining
+            for (int i = 0; i < 20; i++) {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+                while (pipeline.getRemainingCapacity() == 0 && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+
+                pipeline.accept(frame);
+            }
+
+            pipeline.close();
+
+            assertTrue(pipeline.isFailed(0));
+            assertFalse(pipeline.isFailed(1));
+            assertEquals(0, pipeline.getOverflowCount());
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(handler);
+        }
+
+        assertEquals(21, received.get());
+    }
+
+    /**
+     * Consumer verifying that GPS and battery frames alternate.
+     */
+    private static final class OrderCheck implements java.util.function.Consumer<CRSFFrame> {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final AtomicInteger errors = new AtomicInteger();
+
+        @Override
+        public void accept(final CRSFFrame frame) {
+            Class<?> expected = count.get() % 2 == 0 ? GPSFrame.class : BatteryFrame.class;
+
+            if (frame.getClass() != expected) {
+                errors.incrementAndGet();
+            }
+
+            count.incrementAndGet();
+        }
+
+    }
+
+}
@@ -0,0 +1,269 @@
+package systems.beep.pipeline;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.frame.BatteryFrame;
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.GPSFrame;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.helper.CRCHelper;
+import systems.beep.helper.FormatHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FramePublisherTest {
+
+    private byte[] batteryFrame;
+
+    private byte[] gpsFrame;
+
+    @BeforeEach
+    void setUp() {
+        batteryFrame = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+        gpsFrame = FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+    }
+
+    @Test
+    void dropOldestKeepsMostRecentFrames() {
+        assertEquals(List.of(1, 2, 7, 8, 9, 10), publishTen(OverflowStrategy.DROP_OLDEST));
+    }
+
+    @Test
+    void dropNewestKeepsOldestFrames() {
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), publishTen(OverflowStrategy.DROP_NEWEST));
+    }
+
+    @Test
+    void latestOnlyKeepsOneFrame() {
+        assertEquals(List.of(1, 2, 10), publishTen(OverflowStrategy.LATEST_ONLY));
+    }
+
+    @Test
+    void latestOnlyKeepsOneFramePerType() {
+        FramePublisher publisher = FramePublisher.builder()
+                .setExecutor(Runnable::run)
+                .setOverflowStrategy(OverflowStrategy.LATEST_ONLY)
+                .build();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+
+        publisher.subscribe(subscriber);
+        publisher.accept(new GPSFrame(gpsFrame));
+
+        for (int i = 1; i <= 5; i++) {
+            publisher.accept(battery(i));
+        }
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        // The battery frames replace each other but not the pending GPS frame
+        assertEquals(2, subscriber.frames.size());
+        assertTrue(subscriber.frames.get(0) instanceof GPSFrame, "GPS frame kept");
+        assertEquals(5, voltage(subscriber.frames.get(1)));
+        assertEquals(4, publisher.getDroppedCount());
+    }
+
+    @Test
+    void typePublisherFiltersFrames() {
+        FramePublisher publisher = FramePublisher.builder().setExecutor(Runnable::run).build();
+        RecordingSubscriber gps = new RecordingSubscriber(Long.MAX_VALUE);
+        RecordingSubscriber all = new RecordingSubscriber(Long.MAX_VALUE);
+
+        publisher.publisher(FrameType.GPS).subscribe(gps);
+        publisher.subscribe(all);
+
+        for (int i = 0; i < 4; i++) {
+            publisher.accept(new BatteryFrame(batteryFrame));
+            publisher.accept(new GPSFrame(gpsFrame));
+        }
+
+        publisher.close();
+
+        assertEquals(4, gps.frames.size());
+        gps.frames.forEach(frame -> assertInstanceOf(GPSFrame.class, frame));
+        assertEquals(8, all.frames.size());
+        assertTrue(gps.completed && all.completed);
+        assertEquals(0, publisher.getSubscriberCount());
+        assertThrows(IllegalStateException.class, () -> publisher.accept(new GPSFrame(gpsFrame)));
+    }
+
+    @Test
+    void closeCompletesAfterBufferedFrames() {
+        FramePublisher publisher = FramePublisher.builder().setExecutor(Runnable::run).build();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+
+        publisher.subscribe(subscriber);
+        publisher.accept(battery(1));
+        publisher.close();
+
+        assertEquals(0, subscriber.frames.size());
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(5);
+
+        assertEquals(1, subscriber.frames.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void nonPositiveRequestSignalsError() {
+        FramePublisher publisher = FramePublisher.builder().setExecutor(Runnable::run).build();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+
+    @Test
+    void asynchronousDeliveryKeepsOrder() throws InterruptedException {
+        FramePublisher publisher = FramePublisher.builder().setBufferSize(1024).build();
+        List<Integer> received = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        publisher.subscribe(new Flow.Subscriber<>() {
+
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(final CRSFFrame item) {
+                received.add(voltage(item));
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                done.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+
+        });
+
+        for (int i = 0; i < 1000; i++) {
+            publisher.accept(battery(i));
+        }
+
+        publisher.close();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1000, received.size());
+
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(i, received.get(i).intValue());
+        }
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> FramePublisher.builder().setBufferSize(0).build());
+        assertThrows(IllegalArgumentException.class, () -> FramePublisher.builder().setOverflowStrategy(null).build());
+    }
+
+    /**
+     * Publishes ten frames to a subscriber that requested two, then requests the rest.
+     */
+    private List<Integer> publishTen(final OverflowStrategy strategy) {
+        FramePublisher publisher = FramePublisher.builder()
+                .setExecutor(Runnable::run)
+                .setBufferSize(4)
+                .setOverflowStrategy(strategy)
+                .build();
+        RecordingSubscriber subscriber = new RecordingSubscriber(2);
+
+        publisher.subscribe(subscriber);
+
+        for (int i = 1; i <= 10; i++) {
+            publisher.accept(battery(i));
+        }
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(10 - subscriber.frames.size(), publisher.getDroppedCount());
+
+        List<Integer> voltages = new ArrayList<>();
+        subscriber.frames.forEach(frame -> voltages.add(voltage(frame)));
+        return voltages;
+    }
+
+    /**
+     * Returns a battery frame view carrying the given raw voltage, as a flyweight processor would.
+     */
+    private BatteryFrame battery(final int voltage) {
+        byte[] data = batteryFrame.clone();
+        data[3] = (byte) (voltage >> 8);
+        data[4] = (byte) voltage;
+        data[data.length - 1] = CRCHelper.D5(data, 2, data.length - 1);
+
+        BatteryFrame frame = new BatteryFrame();
+        frame.wrap(data, 0, data.length);
+        return frame;
+    }
+
+    private static int voltage(final CRSFFrame frame) {
+        return (int) Math.round(((BatteryFrame) frame).getVoltage() * 10);
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<CRSFFrame> {
+
+        private final long initialRequest;
+
+        private final List<CRSFFrame> frames = new ArrayList<>();
+
+        private Flow.Subscription subscription;
+
+        private boolean completed;
+
+        private Throwable error;
+
+        private RecordingSubscriber(final long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(final CRSFFrame item) {
+            frames.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+    }
+
+}
@@ -1,31 +1,174 @@
 package systems.beep.processor;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import systems.beep.helper.FormatHelper;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FrameBufferTest {
 
+    private byte[] gpsFrame;
+
+    private byte[] batteryFrame;
+
+    private FrameBuffer frameBuffer;
+
+    @BeforeEach
+    void setUp() {
+        gpsFrame = FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+        batteryFrame = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+        frameBuffer = new FrameBuffer();
+    }
+
     @Test
     void addData() {
+        frameBuffer.addData(gpsFrame);
+        assertEquals(gpsFrame.length, frameBuffer.size());
+        frameBuffer.addData((byte[]) null);
+        assertEquals(gpsFrame.length, frameBuffer.size());
+    }
+
+    @Test
+    void addDataGrowsWhenFull() {
+        byte[] data = new byte[FrameBuffer.DEFAULT_CAPACITY + 10];
+        data[0] = 1;
+        data[data.length - 1] = 2;
+
+        // Leave the unread bytes away from the start of the ring
+        frameBuffer.addData(gpsFrame);
+        frameBuffer.addData(batteryFrame);
+        assertArrayEquals(gpsFrame, frameBuffer.getFrame());
+
+        frameBuffer.addData(data);
+
+        byte[] contents = frameBuffer.getData();
+
+        assertEquals(batteryFrame.length + data.length, contents.length);
+        assertArrayEquals(batteryFrame, Arrays.copyOf(contents, batteryFrame.length));
+        assertEquals(1, contents[batteryFrame.length]);
+        assertEquals(2, contents[contents.length - 1]);
+    }
+
+    @Test
+    void addDataRangeStopsWhenFull() {
+        byte[] data = new byte[FrameBuffer.DEFAULT_CAPACITY + 10];
+
+        assertEquals(FrameBuffer.DEFAULT_CAPACITY, frameBuffer.addData(data, 0, data.length));
+        assertEquals(0, frameBuffer.addData(data, 0, data.length));
     }
 
     @Test
     void getData() {
+        frameBuffer.addData(batteryFrame);
+        assertArrayEquals(batteryFrame, frameBuffer.getData());
     }
 
     @Test
     void fixOrFlush() {
+        frameBuffer.addData(FormatHelper.hexToByteArraySpaced("00 01 02 EA 04"));
+        frameBuffer.fixOrFlush();
+        assertArrayEquals(FormatHelper.hexToByteArraySpaced("EA 04"), frameBuffer.getData());
+
+        frameBuffer.fixOrFlush();
+        assertEquals(0, frameBuffer.size());
+    }
+
+    @Test
+    void fixOrFlushSkipsCandidatesFailingTheirCrc() {
+        byte[] corrupted = batteryFrame.clone();
+        corrupted[0] = (byte) 0xEC;
+        corrupted[4] ^= 0x01;
+
+        byte[] fromTransmitter = gpsFrame.clone();
+        fromTransmitter[0] = (byte) 0xEE;
+
+        frameBuffer.addData(FormatHelper.hexToByteArraySpaced("FF 00"));
+        frameBuffer.addData(corrupted);
+        frameBuffer.addData(fromTransmitter);
+        frameBuffer.fixOrFlush();
+
+        assertArrayEquals(fromTransmitter, frameBuffer.getFrame());
+        assertEquals(2 + corrupted.length, frameBuffer.getDiscardedByteCount());
+    }
+
+    @Test
+    void rejectFrameKeepsFollowingFrames() {
+        byte[] corrupted = batteryFrame.clone();
+        corrupted[4] ^= 0x01;
+
+        frameBuffer.addData(corrupted);
+        frameBuffer.addData(gpsFrame);
+        frameBuffer.addData(batteryFrame);
+
+        assertArrayEquals(corrupted, frameBuffer.getFrame());
+        frameBuffer.rejectFrame();
+
+        assertArrayEquals(gpsFrame, frameBuffer.getFrame());
+        assertArrayEquals(batteryFrame, frameBuffer.getFrame());
+        assertEquals(corrupted.length, frameBuffer.getDiscardedByteCount());
+    }
+
+    @Test
+    void rejectFrameWithCorruptedLength() {
+        byte[] corrupted = batteryFrame.clone();
+        corrupted[1] = 0x04;
+
+        frameBuffer.addData(corrupted);
+        frameBuffer.addData(gpsFrame);
+
+        assertEquals(6, frameBuffer.nextFrame());
+        frameBuffer.rejectFrame();
+
+        assertArrayEquals(gpsFrame, frameBuffer.getFrame());
+        assertEquals(0, frameBuffer.size());
     }
 
     @Test
     void flush() {
+        frameBuffer.addData(gpsFrame);
+        frameBuffer.flush();
+
+        assertEquals(0, frameBuffer.size());
+        assertFalse(frameBuffer.isFrameAvailable());
     }
 
     @Test
     void isFrameAvailable() {
+        frameBuffer.addData(gpsFrame, 0, 10);
+        assertFalse(frameBuffer.isFrameAvailable());
+
+        frameBuffer.addData(gpsFrame, 10, gpsFrame.length - 10);
+        assertTrue(frameBuffer.isFrameAvailable());
     }
 
     @Test
     void getFrame() {
+        frameBuffer.addData(gpsFrame);
+        frameBuffer.addData(batteryFrame);
+
+        assertArrayEquals(gpsFrame, frameBuffer.getFrame());
+        assertArrayEquals(batteryFrame, frameBuffer.getFrame());
+        assertFalse(frameBuffer.isFrameAvailable());
+    }
+
+    @Test
+    void getFrameAcrossWrapAround() {
+        for (int i = 0; i < 100; i++) {
+            byte[] frame = (i % 2 == 0) ? gpsFrame : batteryFrame;
+
+            frameBuffer.addData(frame);
+
+            assertTrue(frameBuffer.isFrameAvailable());
+            assertArrayEquals(frame, frameBuffer.getFrame());
+        }
+
+        assertEquals(0, frameBuffer.size());
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,156 @@
+package systems.beep.processor;
+
+import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.GPSFrame;
+import systems.beep.crossfire.frame.OpenTxSyncFrame;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.helper.CRCHelper;
+import systems.beep.helper.FormatHelper;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrameDispatcherTest {
+
+    private static final byte[] GPS_FRAME =
+            FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+
+    private static final byte[] BATTERY_FRAME =
+            FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+
+    @Test
+    void dispatchesSubscribedTypesOnly() {
+        FrameDispatcher dispatcher = new FrameDispatcher();
+        List<CRSFFrame> frames = new ArrayList<>();
+
+        dispatcher.subscribe(FrameType.GPS, frames::add);
+        dispatcher.processData(concat(GPS_FRAME, BATTERY_FRAME, GPS_FRAME, BATTERY_FRAME, BATTERY_FRAME));
+
+        assertEquals(2, frames.size());
+        assertInstanceOf(GPSFrame.class, frames.get(0));
+        assertSame(frames.get(0), frames.get(1));
+        assertEquals(2, dispatcher.getDispatchedCount());
+        assertEquals(3, dispatcher.getSkippedCount());
+        assertEquals(0, dispatcher.getErrorFrameCount());
+    }
+
+    @Test
+    void handlersRunInRegistrationOrder() {
+        FrameDispatcher dispatcher = new FrameDispatcher();
+        List<String> calls = new ArrayList<>();
+
+        dispatcher.subscribe(FrameType.GPS, frame -> calls.add("first"))
+                .subscribe(FrameType.GPS, frame -> calls.add("second"));
+        dispatcher.processData(ByteBuffer.wrap(GPS_FRAME));
+
+        assertEquals(List.of("first", "second"), calls);
+
+        dispatcher.unsubscribe(FrameType.GPS);
+        dispatcher.processData(GPS_FRAME);
+
+        assertEquals(2, calls.size());
+        assertEquals(1, dispatcher.getSkippedCount());
+    }
+
+    @Test
+    void corruptedSkippedFrameIsRejected() {
+        byte[] corrupted = BATTERY_FRAME.clone();
+        corrupted[4] ^= 0x01;
+
+        FrameDispatcher dispatcher = new FrameDispatcher();
+        List<CRSFFrame> frames = new ArrayList<>();
+
+        dispatcher.subscribe(FrameType.GPS, frames::add);
+
+        assertFalse(dispatcher.dispatch(corrupted, 0, corrupted.length));
+        assertTrue(dispatcher.dispatch(BATTERY_FRAME, 0, BATTERY_FRAME.length));
+        assertEquals(1, dispatcher.getErrorFrameCount());
+
+        FrameDispatcher unverified = new FrameDispatcher(false);
+
+        assertTrue(unverified.dispatch(corrupted, 0, corrupted.length));
+        assertEquals(1, unverified.getSkippedCount());
+        assertEquals(0, unverified.getErrorFrameCount());
+    }
+
+    @Test
+    void corruptedSubscribedFrameIsNotDispatched() {
+        byte[] corrupted = GPS_FRAME.clone();
+        corrupted[5] ^= 0x01;
+
+        FrameDispatcher dispatcher = new FrameDispatcher(false);
+        List<CRSFFrame> frames = new ArrayList<>();
+
+        dispatcher.subscribe(FrameType.GPS, frames::add);
+
+        assertFalse(dispatcher.dispatch(corrupted, 0, corrupted.length));
+        assertEquals(0, frames.size());
+        assertEquals(1, dispatcher.getErrorFrameCount());
+    }
+
+    @Test
+    void dispatchesPerExtendedType() {
+        byte[] sync = radioId(FrameType.OPEN_TX_SYNC.getValue());
+        byte[] other = radioId((byte) 0x01);
+
+        FrameDispatcher dispatcher = new FrameDispatcher();
+        List<CRSFFrame> syncFrames = new ArrayList<>();
+        List<CRSFFrame> radioFrames = new ArrayList<>();
+
+        dispatcher.subscribe(FrameType.RADIO_ID, FrameType.OPEN_TX_SYNC, syncFrames::add);
+        dispatcher.processData(concat(sync, other));
+
+        assertEquals(1, syncFrames.size());
+        assertInstanceOf(OpenTxSyncFrame.class, syncFrames.get(0));
+        assertEquals(1, dispatcher.getSkippedCount());
+
+        dispatcher.subscribe(FrameType.RADIO_ID, radioFrames::add);
+        dispatcher.processData(concat(sync, other));
+
+        assertEquals(2, syncFrames.size());
+        assertEquals(1, radioFrames.size());
+        assertEquals(0x01, radioFrames.get(0).getRawData()[5]);
+    }
+
+    @Test
+    void rejectsInvalidSubscriptions() {
+        FrameDispatcher dispatcher = new FrameDispatcher();
+
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.subscribe(FrameType.UNKNOWN, frame -> { }));
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.subscribe(FrameType.GPS, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> dispatcher.subscribe(FrameType.RADIO_ID, FrameType.UNKNOWN, frame -> { }));
+    }
+
+    /**
+     * Returns a radio ID frame carrying the given extended type.
+     */
+    private static byte[] radioId(final byte extendedType) {
+        byte[] data = FormatHelper.hexToByteArraySpaced("C8 0F 3A EA EE 10 00 00 4E 20 00 00 00 10 00 00 00");
+        data[5] = extendedType;
+        data[data.length - 1] = CRCHelper.D5(data, 2, data.length - 1);
+        return data;
+    }
+
+    private static byte[] concat(final byte[]... frames) {
+        ByteBuffer buffer = ByteBuffer.allocate(frames.length * CRSFFrame.FRAME_MAX_SIZE);
+
+        for (byte[] frame : frames) {
+            buffer.put(frame);
+        }
+
+        byte[] result = new byte[buffer.position()];
+        buffer.flip().get(result);
+        return result;
+    }
+
+}
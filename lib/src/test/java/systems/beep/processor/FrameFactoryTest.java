@@ -1,11 +1,111 @@
 package systems.beep.processor;
 
 import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.helper.CRCHelper;
+import systems.beep.helper.FormatHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class FrameFactoryTest {
 
+    private static final byte[] GPS_FRAME =
+            FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+
     @Test
     void generateFrame() {
     }
 
-}
\ No newline at end of file
+    @Test
+    void validate() {
+        assertEquals(DecodeStatus.OK, FrameFactory.validate(GPS_FRAME, 0, GPS_FRAME.length));
+
+        byte[] corrupted = GPS_FRAME.clone();
+        corrupted[6] ^= 0x01;
+        assertEquals(DecodeStatus.BAD_CRC, FrameFactory.validate(corrupted, 0, corrupted.length));
+
+        byte[] unknown = FormatHelper.hexToByteArraySpaced("C8 03 FF 00 78");
+        assertEquals(DecodeStatus.UNKNOWN_TYPE, FrameFactory.validate(unknown, 0, unknown.length));
+
+        // A type byte corrupted in transit fails the CRC rather than passing for an unknown type
+        byte[] corruptedType = GPS_FRAME.clone();
+        corruptedType[2] = (byte) 0xFF;
+        assertEquals(DecodeStatus.BAD_CRC, FrameFactory.validate(corruptedType, 0, corruptedType.length));
+    }
+
+    @Test
+    void validateTruncated() {
+        assertEquals(DecodeStatus.TRUNCATED, FrameFactory.validate(new byte[3], 0, 3));
+        assertEquals(DecodeStatus.TRUNCATED, FrameFactory.validate(GPS_FRAME, 0, GPS_FRAME.length - 1));
+
+        byte[] shortGps = {(byte) 0xC8, 0x04, 0x02, 0x00, 0x00, 0x00};
+        shortGps[5] = CRCHelper.D5(shortGps, 2, 5);
+        assertEquals(DecodeStatus.TRUNCATED, FrameFactory.validate(shortGps, 0, shortGps.length));
+    }
+
+    @Test
+    void validateTruncatedForEveryDecodedType() {
+        for (byte[] frame : truncatedFrames()) {
+            assertEquals(DecodeStatus.TRUNCATED, FrameFactory.validate(frame, 0, frame.length),
+                    FormatHelper.byteArrayToHexSpaced(frame));
+
+            // One more byte is enough for the frame class to read all of its fields
+            byte[] complete = frame(frame[2], frame.length + 1);
+            assertEquals(DecodeStatus.OK, FrameFactory.validate(complete, 0, complete.length),
+                    FormatHelper.byteArrayToHexSpaced(complete));
+        }
+    }
+
+    @Test
+    void validateDeviceInfoAfterItsName() {
+        byte[] deviceInfo = frame(FrameType.DEVICE_INFO.getValue(), 30);
+        Arrays.fill(deviceInfo, 6, 28, (byte) 'A');
+
+        // A name without terminator leaves no room for the device information
+        deviceInfo[29] = CRCHelper.D5(deviceInfo, 2, 29);
+        assertEquals(DecodeStatus.TRUNCATED, FrameFactory.validate(deviceInfo, 0, deviceInfo.length));
+
+        deviceInfo[14] = 0;
+        deviceInfo[29] = CRCHelper.D5(deviceInfo, 2, 29);
+        assertEquals(DecodeStatus.OK, FrameFactory.validate(deviceInfo, 0, deviceInfo.length));
+
+        deviceInfo[14] = 'A';
+        deviceInfo[15] = 0;
+        deviceInfo[29] = CRCHelper.D5(deviceInfo, 2, 29);
+        assertEquals(DecodeStatus.TRUNCATED, FrameFactory.validate(deviceInfo, 0, deviceInfo.length));
+    }
+
+    /**
+     * Builds, for every type decoded by a dedicated frame class, a frame with a correct CRC
+     * that is one byte too short for the class to read its fields.
+     *
+     * @return the truncated frames.
+     */
+    static List<byte[]> truncatedFrames() {
+        List<byte[]> frames = new ArrayList<>();
+        frames.add(frame(FrameType.GPS.getValue(), 18));
+        frames.add(frame(FrameType.VARIO.getValue(), 5));
+        frames.add(frame(FrameType.BATTERY_SENSOR.getValue(), 11));
+        frames.add(frame(FrameType.LINK_LINK_STATISTICS.getValue(), 13));
+        frames.add(frame(FrameType.RC_CHANNELS_PACKED.getValue(), 25));
+        frames.add(frame(FrameType.ATTITUDE.getValue(), 9));
+        frames.add(frame(FrameType.DEVICE_INFO.getValue(), 21));
+        frames.add(frame(FrameType.PARAMETER_SETTINGS_ENTRY.getValue(), 9));
+        frames.add(frame(FrameType.RADIO_ID.getValue(), 14));
+        return frames;
+    }
+
+    private static byte[] frame(final byte type, final int size) {
+        byte[] frame = new byte[size];
+        frame[0] = (byte) 0xC8;
+        frame[1] = (byte) (size - 2);
+        frame[2] = type;
+        frame[size - 1] = CRCHelper.D5(frame, 2, size - 1);
+        return frame;
+    }
+
+}
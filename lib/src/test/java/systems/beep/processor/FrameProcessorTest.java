@@ -1,11 +1,127 @@
 package systems.beep.processor;
 
 import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.GPSFrame;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.helper.FormatHelper;
+import systems.beep.metrics.IngestLatencyTracker;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FrameProcessorTest {
 
+    private static final byte[] GPS_FRAME =
+            FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+
+    private static final byte[] BATTERY_FRAME =
+            FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+
     @Test
     void processData() {
+        FrameProcessor frameProcessor = new FrameProcessor();
+        List<CRSFFrame> frames = new ArrayList<>();
+        byte[] data = new byte[GPS_FRAME.length * 40];
+
+        for (int i = 0; i < 40; i++) {
+            System.arraycopy(GPS_FRAME, 0, data, i * GPS_FRAME.length, GPS_FRAME.length);
+        }
+
+        frameProcessor.processData(data, frames::add);
+
+        assertEquals(40, frames.size());
+        assertTrue(frames.get(39) instanceof GPSFrame);
+        assertEquals(40, frameProcessor.getFrameProcessedCount());
+    }
+
+    @Test
+    void processDataFromDirectByteBuffer() {
+        FrameProcessor frameProcessor = new FrameProcessor();
+        List<CRSFFrame> frames = new ArrayList<>();
+        ByteBuffer data = ByteBuffer.allocateDirect(GPS_FRAME.length * 20);
+
+        for (int i = 0; i < 20; i++) {
+            data.put(GPS_FRAME);
+        }
+
+        frameProcessor.processData(data.flip(), frames::add);
+
+        assertEquals(20, frames.size());
+        assertEquals(0, data.remaining());
+    }
+
+    @Test
+    void processDataFlyweight() {
+        FrameProcessor frameProcessor = new FrameProcessor(DecodeMode.FLYWEIGHT);
+        List<CRSFFrame> views = new ArrayList<>();
+        List<CRSFFrame> copies = new ArrayList<>();
+        byte[] data = new byte[GPS_FRAME.length * 40];
+
+        for (int i = 0; i < 40; i++) {
+            System.arraycopy(GPS_FRAME, 0, data, i * GPS_FRAME.length, GPS_FRAME.length);
+        }
+
+        frameProcessor.processData(data, frame -> {
+            views.add(frame);
+            copies.add(frame.copy());
+        });
+
+        assertEquals(40, views.size());
+        assertSame(views.get(0), views.get(39));
+        assertNotSame(copies.get(0), copies.get(39));
+        assertArrayEquals(GPS_FRAME, copies.get(39).getRawData());
+    }
+
+    @Test
+    void drain() throws IOException {
+        FrameProcessor frameProcessor = new FrameProcessor();
+        List<CRSFFrame> frames = new ArrayList<>();
+        byte[] data = new byte[GPS_FRAME.length * 3];
+
+        for (int i = 0; i < 3; i++) {
+            System.arraycopy(GPS_FRAME, 0, data, i * GPS_FRAME.length, GPS_FRAME.length);
+        }
+
+        int read = frameProcessor.drain(Channels.newChannel(new ByteArrayInputStream(data)), frames::add);
+
+        assertEquals(data.length, read);
+        assertEquals(3, frames.size());
+        assertEquals(-1, frameProcessor.drain(Channels.newChannel(new ByteArrayInputStream(new byte[0])), frames::add));
+    }
+
+    @Test
+    void corruptedFrameDoesNotCostFollowingFrames() {
+        byte[] corrupted = GPS_FRAME.clone();
+        corrupted[7] ^= 0x01;
+
+        FrameProcessor frameProcessor = new FrameProcessor(DecodeMode.FLYWEIGHT);
+        List<CRSFFrame> frames = new ArrayList<>();
+        byte[] data = new byte[GPS_FRAME.length * 4];
+
+        System.arraycopy(GPS_FRAME, 0, data, 0, GPS_FRAME.length);
+        System.arraycopy(corrupted, 0, data, GPS_FRAME.length, GPS_FRAME.length);
+        System.arraycopy(GPS_FRAME, 0, data, GPS_FRAME.length * 2, GPS_FRAME.length);
+        System.arraycopy(GPS_FRAME, 0, data, GPS_FRAME.length * 3, GPS_FRAME.length);
+
+        frameProcessor.processData(data, frame -> frames.add(frame.copy()));
+
+        assertEquals(3, frames.size());
+        assertEquals(1, frameProcessor.getErrorFrameCount());
+        assertEquals(GPS_FRAME.length, frameProcessor.getDiscardedByteCount());
+        assertEquals(1, frameProcessor.getErrorCount(DecodeStatus.BAD_CRC));
     }
 
     @Test
@@ -32,4 +148,54 @@ class FrameProcessorTest {
     void getErrorRate() {
     }
 
+    @Test
+    void tracksLatencyFromChunkArrival() {
+        IngestLatencyTracker tracker = new IngestLatencyTracker(2);
+        FrameProcessor frameProcessor = new FrameProcessor(DecodeMode.FLYWEIGHT);
+        List<Long> arrivals = new ArrayList<>();
+        long firstChunk = System.nanoTime() - 1_000_000;
+        long secondChunk = firstChunk + 500_000;
+
+        frameProcessor.setLatencyTracker(tracker, 1);
+        frameProcessor.processData(Arrays.copyOf(GPS_FRAME, 10), firstChunk,
+                frame -> arrivals.add(frameProcessor.getArrivalTime()));
+        frameProcessor.processData(Arrays.copyOfRange(GPS_FRAME, 10, GPS_FRAME.length), secondChunk,
+                frame -> arrivals.add(frameProcessor.getArrivalTime()));
+
+        // The frame is stamped with the chunk that completed it
+        assertEquals(List.of(secondChunk), arrivals);
+        assertEquals(1, tracker.getValidationLatency(1).getCount());
+        assertEquals(1, tracker.getConsumerLatency(FrameType.GPS).getCount());
+        assertEquals(0, tracker.getConsumerLatency(0).getCount());
+        assertTrue(tracker.getConsumerLatency(1).getMax() >= 500_000);
+        assertThrows(IllegalArgumentException.class, () -> frameProcessor.setLatencyTracker(tracker, 2));
+    }
+
+    @Test
+    void consumerLatencyKeepsTypeOfConsumedFrame() {
+        IngestLatencyTracker tracker = new IngestLatencyTracker(1);
+        FrameProcessor frameProcessor = new FrameProcessor(DecodeMode.FLYWEIGHT);
+        List<CRSFFrame> frames = new ArrayList<>();
+
+        byte[] batteryFrames = new byte[BATTERY_FRAME.length * 30];
+
+        for (int i = 0; i < 30; i++) {
+            System.arraycopy(BATTERY_FRAME, 0, batteryFrames, i * BATTERY_FRAME.length, BATTERY_FRAME.length);
+        }
+
+        // The consumer feeds more frames from within the callback, overwriting the bytes of the frame it holds
+        frameProcessor.setLatencyTracker(tracker, 0);
+        frameProcessor.processData(GPS_FRAME, frame -> {
+            frames.add(frame);
+
+            if (frames.size() == 1) {
+                frameProcessor.processData(batteryFrames, frames::add);
+            }
+        });
+
+        assertEquals(31, frames.size());
+        assertEquals(1, tracker.getConsumerLatency(FrameType.GPS).getCount());
+        assertEquals(30, tracker.getConsumerLatency(FrameType.BATTERY_SENSOR).getCount());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package systems.beep.processor;
+
+import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.GPSFrame;
+import systems.beep.exception.IncorrectFrameTypeException;
+import systems.beep.helper.FormatHelper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrameViewFactoryTest {
+
+    private final FrameViewFactory frameViewFactory = new FrameViewFactory();
+
+    @Test
+    void wrapFrame() {
+        byte[] data = FormatHelper.hexToByteArraySpaced("00 00 C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+
+        CRSFFrame first = frameViewFactory.wrapFrame(data, 2, data.length - 2);
+        CRSFFrame second = frameViewFactory.wrapFrame(data, 2, data.length - 2);
+
+        assertTrue(first instanceof GPSFrame);
+        assertSame(first, second);
+        assertEquals(-1, ((GPSFrame) first).getAltitude());
+    }
+
+    @Test
+    void wrapFrameTooShort() {
+        assertNull(frameViewFactory.wrapFrame(new byte[2], 0, 2));
+    }
+
+    @Test
+    void wrapFrameUnknownType() {
+        byte[] data = FormatHelper.hexToByteArraySpaced("C8 03 FF 00 78");
+
+        assertThrows(IncorrectFrameTypeException.class, () -> frameViewFactory.wrapFrame(data, 0, data.length));
+    }
+
+    @Test
+    void decodeReportsStatusWithoutThrowing() {
+        byte[] data = FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+
+        assertEquals(DecodeStatus.OK, frameViewFactory.decode(data, 0, data.length));
+        assertTrue(frameViewFactory.getDecodedFrame() instanceof GPSFrame);
+
+        data[4] ^= 0x01;
+
+        assertEquals(DecodeStatus.BAD_CRC, frameViewFactory.decode(data, 0, data.length));
+        assertNull(frameViewFactory.getDecodedFrame());
+
+        byte[] unknown = FormatHelper.hexToByteArraySpaced("C8 03 FF 00 78");
+
+        assertEquals(DecodeStatus.UNKNOWN_TYPE, frameViewFactory.decode(unknown, 0, unknown.length));
+    }
+
+}
@@ -0,0 +1,306 @@
+package systems.beep.processor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.frame.BatteryFrame;
+import systems.beep.crossfire.frame.GPSFrame;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.helper.FormatHelper;
+import systems.beep.metrics.IngestLatencyTracker;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiLinkFrameProcessorTest {
+
+    private byte[] gpsFrame;
+
+    private byte[] batteryFrame;
+
+    @BeforeEach
+    void setUp() {
+        gpsFrame = FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+        batteryFrame = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+    }
+
+    @Test
+    void linksAreIsolated() throws InterruptedException {
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        try (MultiLinkFrameProcessor processor = new MultiLinkFrameProcessor(2, 2,
+                (linkId, frame) -> received.add(linkId + ":" + frame.getClass().getSimpleName()))) {
+            processor.put(0, Arrays.copyOfRange(gpsFrame, 0, 8));
+            processor.put(1, batteryFrame.clone());
+            processor.put(0, Arrays.copyOfRange(gpsFrame, 8, gpsFrame.length));
+        }
+
+        assertEquals(2, received.size());
+        assertTrue(received.contains("0:" + GPSFrame.class.getSimpleName()));
+        assertTrue(received.contains("1:" + BatteryFrame.class.getSimpleName()));
+    }
+
+    @Test
+    void framesOfALinkArriveInOrder() throws InterruptedException {
+        int links = 16;
+        int framesPerLink = 200;
+        ConcurrentHashMap<Integer, List<Class<?>>> received = new ConcurrentHashMap<>();
+        CountDownLatch producers = new CountDownLatch(links);
+
+        MultiLinkFrameProcessor processor = new MultiLinkFrameProcessor(links, 4, (linkId, frame) ->
+                received.computeIfAbsent(linkId, id -> new CopyOnWriteArrayList<>()).add(frame.getClass()));
+
+        for (int link = 0; link < links; link++) {
+            final int linkId = link;
+
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < framesPerLink; i++) {
+                        processor.put(linkId, (i % 2 == 0 ? gpsFrame : batteryFrame).clone());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    producers.countDown();
+                }
+            }).start();
+        }
+
+        producers.await();
+        processor.close();
+
+        for (int link = 0; link < links; link++) {
+            List<Class<?>> frames = received.get(link);
+
+            assertEquals(framesPerLink, frames.size());
+            assertEquals(framesPerLink, processor.getFrameProcessedCount(link));
+
+            for (int i = 0; i < framesPerLink; i++) {
+                assertEquals(i % 2 == 0 ? GPSFrame.class : BatteryFrame.class, frames.get(i));
+            }
+        }
+    }
+
+    @Test
+    void flushDiscardsPartialFrame() throws InterruptedException {
+        AtomicInteger received = new AtomicInteger();
+
+        try (MultiLinkFrameProcessor processor = new MultiLinkFrameProcessor(1, 1, (linkId, frame) -> received.incrementAndGet())) {
+            processor.put(0, Arrays.copyOfRange(gpsFrame, 0, 8));
+            processor.flush(0);
+            processor.put(0, batteryFrame.clone());
+        }
+
+        assertEquals(1, received.get());
+    }
+
+    @Test
+    void consumerFailureKeepsWorkerAlive() throws InterruptedException {
+        AtomicInteger received = new AtomicInteger();
+
+        MultiLinkFrameProcessor processor = new MultiLinkFrameProcessor(2, 1, (linkId, frame) -> {
+            if (linkId == 0) {
+                throw new IllegalStateException("consumer failure");
+            }
+            received.incrementAndGet();
+        });
+
+        Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> failures.add(e));
+
+        try {
+            processor.put(0, gpsFrame.clone());
+            processor.put(1, gpsFrame.clone());
+            processor.close();
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(handler);
+        }
+
+        assertEquals(1, received.get());
+        assertEquals(1, failures.size());
+        assertInstanceOf(IllegalStateException.class, failures.get(0));
+    }
+
+    @Test
+    void errorFailsOnlyItsLink() throws InterruptedException {
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch failed = new CountDownLatch(1);
+
+        MultiLinkFrameProcessor processor = new MultiLinkFrameProcessor(2, 1, (linkId, frame) -> {
+            if (linkId == 0) {
+                throw new AssertionError("consumer error");
+            }
+            received.incrementAndGet();
+        });
+
+        Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> failed.countDown());
+
+        try {
+            processor.put(0, gpsFrame.clone());
+            failed.await();
+
+            assertTrue(processor.isFailed(0));
+            assertThrows(IllegalStateException.class, () -> processor.put(0, gpsFrame.clone()));
+
+            processor.put(1, gpsFrame.clone());
+            processor.close();
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(handler);
+        }
+
+        assertEquals(1, received.get());
+    }
+
+    @Test
+    void chunksAcceptedBeforeCloseAreProcessed() throws InterruptedException {
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger accepted = new AtomicInteger();
+        MultiLinkFrameProcessor processor = new MultiLinkFrameProcessor(4, 2, (linkId, frame) -> received.incrementAndGet());
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> producers = new CopyOnWriteArrayList<>();
+
+        for (int link = 0; link < 4; link++) {
+            final int linkId = link;
+            Thread producer = new Thread(() -> {
+                started.countDown();
+
+                try {
+                    while (true) {
+                        // Even links wait for queue space, odd links fail fast
+                        if (linkId % 2 == 0) {
+                            processor.put(linkId, gpsFrame.clone());
+                            accepted.incrementAndGet();
+                        } else if (processor.submit(linkId, gpsFrame.clone())) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                } catch (IllegalStateException | InterruptedException e) {
+                    // Closed
+                }
+            });
+
+            producers.add(producer);
+            producer.start();
+        }
+
+        started.await();
+        processor.close();
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(accepted.get(), received.get());
+    }
+
+    @Test
+    void closeIsNotHeldUpByBlockedProducer() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger accepted = new AtomicInteger();
+        MultiLinkFrameProcessor processor = new MultiLinkFrameProcessor(1, 1, 1, DecodeMode.COPY, (linkId, frame) -> {
+            entered.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            received.incrementAndGet();
+        });
+
+        // The worker is stuck in the consumer, the queue is full and a producer waits for space
+        assertTrue(processor.submit(0, gpsFrame.clone()));
+        entered.await();
+        assertTrue(processor.submit(0, gpsFrame.clone()));
+
+        Thread producer = new Thread(() -> {
+            try {
+                processor.put(0, gpsFrame.clone());
+                accepted.incrementAndGet();
+            } catch (IllegalStateException | InterruptedException e) {
+                // Closed before the chunk could be queued
+            }
+        });
+        producer.start();
+
+        Thread closer = new Thread(processor::close);
+        closer.start();
+
+        // Once close() has started, producers are refused at once instead of queueing behind the waiting one
+        Thread refused = new Thread(() -> {
+            try {
+                while (true) {
+                    processor.submit(0, gpsFrame.clone());
+                }
+            } catch (IllegalStateException e) {
+                // Closed
+            }
+        });
+        refused.start();
+        refused.join(5_000);
+
+        boolean refusedInTime = !refused.isAlive();
+
+        release.countDown();
+        closer.join();
+        producer.join();
+        refused.join();
+
+        assertTrue(refusedInTime);
+        assertEquals(2 + accepted.get(), received.get());
+    }
+
+    @Test
+    void tracksLatencyOfEveryLink() throws InterruptedException {
+        IngestLatencyTracker tracker = new IngestLatencyTracker(2);
+
+        try (MultiLinkFrameProcessor processor = new MultiLinkFrameProcessor(2, 2, 16, DecodeMode.COPY,
+                (linkId, frame) -> {
+                }, tracker)) {
+            processor.put(0, gpsFrame.clone());
+            processor.put(0, batteryFrame.clone());
+            processor.put(1, gpsFrame.clone());
+
+            assertSame(tracker, processor.getLatencyTracker());
+        }
+
+        assertEquals(2, tracker.getValidationLatency(0).getCount());
+        assertEquals(1, tracker.getConsumerLatency(1).getCount());
+        assertEquals(2, tracker.getConsumerLatency(FrameType.GPS).getCount());
+        assertEquals(1, tracker.getValidationLatency(FrameType.BATTERY_SENSOR).getCount());
+        assertThrows(IllegalArgumentException.class, () -> new MultiLinkFrameProcessor(3, 1, 16, DecodeMode.COPY,
+                (linkId, frame) -> {
+                }, tracker));
+    }
+
+    @Test
+    void rejectsInvalidUse() throws InterruptedException {
+        MultiLinkFrameProcessor processor = new MultiLinkFrameProcessor(2, 1, (linkId, frame) -> {
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> processor.submit(2, gpsFrame));
+        assertEquals(2, processor.getLinkCount());
+        assertEquals(1, processor.getWorkerCount());
+
+        processor.close();
+
+        assertThrows(IllegalStateException.class, () -> processor.submit(0, gpsFrame));
+        assertThrows(IllegalArgumentException.class, () -> new MultiLinkFrameProcessor(0, 1, (linkId, frame) -> {
+        }));
+    }
+
+}
@@ -0,0 +1,260 @@
+package systems.beep.processor;
+
+import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.frame.BatteryFrame;
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.GPSFrame;
+import systems.beep.crossfire.frame.LinkStatisticsFrame;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.helper.CRCHelper;
+import systems.beep.helper.FormatHelper;
+import systems.beep.metrics.IngestLatencyTracker;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingFrameProcessorTest {
+
+    private static final byte[] GPS_FRAME =
+            FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+
+    private static final byte[] BATTERY_FRAME =
+            FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+
+    private static final byte[] LINK_STATISTICS_FRAME =
+            FormatHelper.hexToByteArraySpaced("C8 0C 14 00 00 00 00 00 00 00 00 00 00 3A");
+
+    @Test
+    void frameCompletesOnItsLastByte() {
+        StreamingFrameProcessor processor = new StreamingFrameProcessor();
+        List<CRSFFrame> frames = new ArrayList<>();
+
+        for (int i = 0; i < GPS_FRAME.length; i++) {
+            processor.processData(new byte[]{GPS_FRAME[i]}, frames::add);
+
+            assertEquals(i == GPS_FRAME.length - 1 ? 1 : 0, frames.size());
+        }
+
+        assertInstanceOf(GPSFrame.class, frames.get(0));
+        assertArrayEquals(GPS_FRAME, frames.get(0).getRawData());
+    }
+
+    @Test
+    void chunkingDoesNotChangeResult() {
+        byte[] stream = concat(GPS_FRAME, BATTERY_FRAME, LINK_STATISTICS_FRAME, GPS_FRAME);
+
+        for (int chunkSize = 1; chunkSize <= stream.length; chunkSize++) {
+            StreamingFrameProcessor processor = new StreamingFrameProcessor();
+            List<Class<?>> frames = new ArrayList<>();
+
+            for (int offset = 0; offset < stream.length; offset += chunkSize) {
+                int length = Math.min(chunkSize, stream.length - offset);
+                processor.processData(ByteBuffer.wrap(stream, offset, length), frame -> frames.add(frame.getClass()));
+            }
+
+            assertEquals(List.of(GPSFrame.class, BatteryFrame.class, LinkStatisticsFrame.class, GPSFrame.class), frames);
+            assertEquals(4, processor.getFrameProcessedCount());
+        }
+    }
+
+    @Test
+    void resynchronisesAfterNoiseAndCorruptedFrames() {
+        byte[] corrupted = BATTERY_FRAME.clone();
+        corrupted[5] ^= 0x10;
+
+        byte[] stream = concat(
+                new byte[]{0x00, 0x11, (byte) 0xC8, 0x00},
+                GPS_FRAME,
+                corrupted,
+                new byte[]{(byte) 0xC8, 0x05, 0x7F},
+                BATTERY_FRAME);
+
+        StreamingFrameProcessor processor = new StreamingFrameProcessor();
+        List<Class<?>> frames = new ArrayList<>();
+
+        processor.processData(stream, frame -> frames.add(frame.getClass()));
+
+        assertEquals(List.of(GPSFrame.class, BatteryFrame.class), frames);
+        assertEquals(2, processor.getErrorFrameCount());
+        assertEquals(1, processor.getErrorCount(DecodeStatus.BAD_CRC));
+        assertEquals(1, processor.getErrorCount(DecodeStatus.UNKNOWN_TYPE));
+    }
+
+    @Test
+    void framesSwallowedByASpuriousSyncByteAreRecovered() {
+        // A plausible header whose frame runs into the GPS frame and fails its CRC check
+        byte[] stream = concat(new byte[]{(byte) 0xC8, 0x0C, 0x08}, GPS_FRAME, BATTERY_FRAME);
+
+        for (int chunkSize = 1; chunkSize <= stream.length; chunkSize++) {
+            StreamingFrameProcessor processor = new StreamingFrameProcessor();
+            List<Class<?>> frames = new ArrayList<>();
+
+            for (int offset = 0; offset < stream.length; offset += chunkSize) {
+                processor.processData(Arrays.copyOfRange(stream, offset, Math.min(stream.length, offset + chunkSize)),
+                        frame -> frames.add(frame.getClass()));
+            }
+
+            assertEquals(List.of(GPSFrame.class, BatteryFrame.class), frames, "Chunk size " + chunkSize);
+            assertEquals(1, processor.getErrorCount(DecodeStatus.BAD_CRC));
+        }
+    }
+
+    @Test
+    void framesSwallowedByACorruptedLengthAreRecovered() {
+        byte[] corrupted = BATTERY_FRAME.clone();
+        corrupted[1] = 0x20;
+
+        StreamingFrameProcessor processor = new StreamingFrameProcessor();
+        List<Class<?>> frames = new ArrayList<>();
+
+        processor.processData(concat(corrupted, GPS_FRAME, LINK_STATISTICS_FRAME, BATTERY_FRAME), frame -> frames.add(frame.getClass()));
+
+        assertEquals(List.of(GPSFrame.class, LinkStatisticsFrame.class, BatteryFrame.class), frames);
+        assertEquals(1, processor.getErrorFrameCount());
+    }
+
+    @Test
+    void acceptsEverySyncByte() {
+        byte[] fromTransmitter = BATTERY_FRAME.clone();
+        fromTransmitter[0] = (byte) 0xEE;
+
+        byte[] stray = BATTERY_FRAME.clone();
+        stray[0] = 0x10;
+
+        StreamingFrameProcessor processor = new StreamingFrameProcessor();
+        List<CRSFFrame> frames = new ArrayList<>();
+
+        processor.processData(concat(fromTransmitter, stray, BATTERY_FRAME), frames::add);
+
+        assertEquals(2, frames.size());
+        assertEquals((byte) 0xEE, frames.get(0).getRawData()[0]);
+    }
+
+    @Test
+    void flyweightReusesViews() {
+        StreamingFrameProcessor processor = new StreamingFrameProcessor(DecodeMode.FLYWEIGHT);
+        List<CRSFFrame> views = new ArrayList<>();
+        ByteBuffer data = ByteBuffer.allocateDirect(GPS_FRAME.length * 3);
+
+        for (int i = 0; i < 3; i++) {
+            data.put(GPS_FRAME);
+        }
+
+        processor.processData(data.flip(), frame -> {
+            views.add(frame);
+            assertTrue(frame.checkCRC());
+        });
+
+        assertEquals(3, views.size());
+        assertSame(views.get(0), views.get(2));
+        assertEquals(0, data.remaining());
+    }
+
+    @Test
+    void flushAbandonsPartialFrame() {
+        StreamingFrameProcessor processor = new StreamingFrameProcessor();
+        List<CRSFFrame> frames = new ArrayList<>();
+
+        processor.processData(new byte[]{GPS_FRAME[0], GPS_FRAME[1], GPS_FRAME[2]}, frames::add);
+        processor.flush();
+        processor.processData(BATTERY_FRAME, frames::add);
+
+        assertEquals(1, frames.size());
+        assertInstanceOf(BatteryFrame.class, frames.get(0));
+        assertEquals(0, processor.getErrorFrameCount());
+    }
+
+    @Test
+    void frameTooShortForItsTypeIsAnError() {
+        byte[] shortLinkStatistics = {(byte) 0xC8, 0x03, 0x14, 0x00, 0x00};
+        shortLinkStatistics[4] = CRCHelper.D5(shortLinkStatistics, 2, 4);
+
+        StreamingFrameProcessor processor = new StreamingFrameProcessor();
+        List<CRSFFrame> frames = new ArrayList<>();
+
+        processor.processData(concat(shortLinkStatistics, GPS_FRAME), frames::add);
+
+        assertEquals(1, frames.size());
+        assertEquals(1, processor.getErrorFrameCount());
+        assertEquals(1, processor.getErrorCount(DecodeStatus.TRUNCATED));
+    }
+
+    @Test
+    void everyDecodedTypeTooShortIsAnError() {
+        for (byte[] truncated : FrameFactoryTest.truncatedFrames()) {
+            StreamingFrameProcessor processor = new StreamingFrameProcessor();
+            List<CRSFFrame> frames = new ArrayList<>();
+
+            processor.processData(concat(truncated, GPS_FRAME), frames::add);
+
+            String frame = FormatHelper.byteArrayToHexSpaced(truncated);
+            assertEquals(1, frames.size(), frame);
+            assertTrue(frames.get(0) instanceof GPSFrame, frame);
+            assertEquals(1, processor.getErrorCount(DecodeStatus.TRUNCATED), frame);
+        }
+    }
+
+    @Test
+    void tracksLatencyFromChunkArrival() {
+        IngestLatencyTracker tracker = new IngestLatencyTracker(1);
+        StreamingFrameProcessor processor = new StreamingFrameProcessor(DecodeMode.FLYWEIGHT);
+        List<Long> arrivals = new ArrayList<>();
+        long firstChunk = System.nanoTime() - 1_000_000;
+        long secondChunk = firstChunk + 500_000;
+
+        processor.setLatencyTracker(tracker, 0);
+        processor.processData(Arrays.copyOf(BATTERY_FRAME, 4), firstChunk, frame -> arrivals.add(processor.getArrivalTime()));
+        processor.processData(Arrays.copyOfRange(BATTERY_FRAME, 4, BATTERY_FRAME.length), secondChunk,
+                frame -> arrivals.add(processor.getArrivalTime()));
+
+        assertEquals(List.of(secondChunk), arrivals);
+        assertEquals(1, tracker.getValidationLatency(FrameType.BATTERY_SENSOR).getCount());
+        assertEquals(1, tracker.getConsumerLatency(0).getCount());
+    }
+
+    @Test
+    void consumerLatencyKeepsTypeOfConsumedFrame() {
+        IngestLatencyTracker tracker = new IngestLatencyTracker(1);
+        StreamingFrameProcessor processor = new StreamingFrameProcessor(DecodeMode.FLYWEIGHT);
+        List<CRSFFrame> frames = new ArrayList<>();
+
+        byte[] batteryFrames = new byte[BATTERY_FRAME.length * 30];
+
+        for (int i = 0; i < 30; i++) {
+            System.arraycopy(BATTERY_FRAME, 0, batteryFrames, i * BATTERY_FRAME.length, BATTERY_FRAME.length);
+        }
+
+        // The consumer feeds more frames from within the callback, overwriting the bytes of the frame it holds
+        processor.setLatencyTracker(tracker, 0);
+        processor.processData(GPS_FRAME, frame -> {
+            frames.add(frame);
+
+            if (frames.size() == 1) {
+                processor.processData(batteryFrames, frames::add);
+            }
+        });
+
+        assertEquals(31, frames.size());
+        assertEquals(1, tracker.getConsumerLatency(FrameType.GPS).getCount());
+        assertEquals(30, tracker.getConsumerLatency(FrameType.BATTERY_SENSOR).getCount());
+    }
+
+    private static byte[] concat(final byte[]... parts) {
+        ByteBuffer buffer = ByteBuffer.allocate(parts.length * CRSFFrame.FRAME_MAX_SIZE);
+
+        for (byte[] part : parts) {
+            buffer.put(part);
+        }
+
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+}
@@ -0,0 +1,137 @@
+package systems.beep.recording;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import systems.beep.crossfire.frame.sub.FrameType;
+import systems.beep.helper.FormatHelper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FrameIndexTest {
+
+    // Bucket duration used by the tests
+    private static final long BUCKET = 1_000;
+
+    @TempDir
+    Path directory;
+
+    private byte[] linkStatisticsFrame;
+
+    private byte[] batteryFrame;
+
+    @BeforeEach
+    void setUp() {
+        linkStatisticsFrame = FormatHelper.hexToByteArraySpaced("C8 0C 14 00 00 00 00 00 00 00 00 00 00 3A");
+        batteryFrame = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+    }
+
+    @Test
+    void indexBuiltWhileRecordingAnswersQueries() throws IOException {
+        try (FrameRecorder recorder = open()) {
+            record(recorder, 0, 1000);
+        }
+
+        try (FrameIndex index = FrameIndex.open(directory)) {
+            assertEquals(100, index.getEntryCount());
+            assertEquals(BUCKET, index.getBucketNanos());
+            assertQueries(index);
+        }
+    }
+
+    @Test
+    void indexBuiltAfterwardsMatches() throws IOException {
+        try (FrameRecorder recorder = FrameRecorder.builder().setDirectory(directory).build()) {
+            record(recorder, 0, 1000);
+        }
+
+        FrameIndex.build(directory, BUCKET);
+
+        try (FrameIndex index = FrameIndex.open(directory)) {
+            assertEquals(100, index.getEntryCount());
+            assertQueries(index);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> FrameIndex.build(directory, 0));
+    }
+
+    @Test
+    void reopenedRecorderResumesIndex() throws IOException {
+        // Stop in the middle of a bucket, then continue recording
+        try (FrameRecorder recorder = open()) {
+            record(recorder, 0, 505);
+        }
+
+        try (FrameRecorder recorder = open()) {
+            record(recorder, 505, 1000);
+        }
+
+        try (FrameIndex index = FrameIndex.open(directory)) {
+            assertEquals(100, index.getEntryCount());
+            assertQueries(index);
+        }
+    }
+
+    @Test
+    void outOfOrderTimestampDoesNotHideLaterRecords() throws IOException {
+        try (FrameRecorder recorder = open()) {
+            record(recorder, 0, 11);
+            // Late frame from the previous bucket, right after the boundary was crossed
+            recorder.append(0, BUCKET - 1, batteryFrame, 0, batteryFrame.length);
+            record(recorder, 11, 30);
+        }
+
+        try (FrameIndex index = FrameIndex.open(directory)) {
+            assertEquals(3, index.getEntryCount());
+            assertEquals(10, index.query(BUCKET, 2 * BUCKET - 1, null, FrameIndex.ALL_LINKS, reader -> {
+            }));
+            assertEquals(31, index.query(0, Long.MAX_VALUE, null, FrameIndex.ALL_LINKS, reader -> {
+            }));
+        }
+    }
+
+    private FrameRecorder open() throws IOException {
+        return FrameRecorder.builder().setDirectory(directory).setSegmentSize(4096).setIndexBucket(BUCKET).build();
+    }
+
+    /**
+     * Records one frame every 100 ns, cycling over 10 links; link statistics on every third frame.
+     */
+    private void record(final FrameRecorder recorder, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            byte[] frame = i % 3 == 0 ? linkStatisticsFrame : batteryFrame;
+            recorder.append(i % 10, i * 100L, frame, 0, frame.length);
+        }
+    }
+
+    private void assertQueries(final FrameIndex index) throws IOException {
+        List<Long> timestamps = new ArrayList<>();
+
+        int matches = index.query(25_000, 52_000, FrameType.LINK_LINK_STATISTICS, 7,
+                reader -> timestamps.add(reader.getTimestamp()));
+
+        List<Long> expected = new ArrayList<>();
+
+        for (int i = 250; i <= 520; i++) {
+            if (i % 3 == 0 && i % 10 == 7) {
+                expected.add(i * 100L);
+            }
+        }
+
+        assertEquals(expected, timestamps);
+        assertEquals(expected.size(), matches);
+        assertEquals(1000, index.query(0, Long.MAX_VALUE, null, FrameIndex.ALL_LINKS, reader -> {
+        }));
+        assertEquals(0, index.query(0, Long.MAX_VALUE, FrameType.GPS, FrameIndex.ALL_LINKS, reader -> {
+        }));
+        assertEquals(1, index.query(99_900, 200_000, null, FrameIndex.ALL_LINKS, reader -> {
+        }));
+    }
+
+}
@@ -0,0 +1,60 @@
+package systems.beep.recording;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import systems.beep.helper.FormatHelper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrameLogReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void seekReturnsToRecordedLocation() throws IOException {
+        byte[] frame = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+
+        try (FrameRecorder recorder = FrameRecorder.builder().setDirectory(directory).setSegmentSize(512).build()) {
+            for (int i = 0; i < 50; i++) {
+                recorder.append(0, i, frame, 0, frame.length);
+            }
+        }
+
+        try (FrameLogReader reader = FrameLogReader.open(directory)) {
+            int segment = 0;
+            int position = 0;
+
+            for (int i = 0; i <= 30; i++) {
+                assertTrue(reader.next());
+                segment = reader.getSegmentIndex();
+                position = reader.getPosition();
+            }
+
+            while (reader.next()) {
+                // Read to the end
+            }
+
+            reader.seek(segment, position);
+
+            assertTrue(reader.next());
+            assertEquals(30, reader.getTimestamp());
+            assertThrows(IllegalArgumentException.class, () -> reader.seek(1000, 0));
+        }
+    }
+
+    @Test
+    void emptyDirectoryHasNoRecords() throws IOException {
+        try (FrameLogReader reader = FrameLogReader.open(directory)) {
+            assertFalse(reader.next());
+            assertEquals(0, reader.getSegments().length);
+        }
+    }
+
+}
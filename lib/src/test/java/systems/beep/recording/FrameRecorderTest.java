@@ -0,0 +1,132 @@
+package systems.beep.recording;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import systems.beep.crossfire.frame.GPSFrame;
+import systems.beep.helper.FormatHelper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrameRecorderTest {
+
+    @TempDir
+    Path directory;
+
+    private byte[] gpsFrame;
+
+    private byte[] batteryFrame;
+
+    @BeforeEach
+    void setUp() {
+        gpsFrame = FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+        batteryFrame = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+    }
+
+    @Test
+    void recordsAreReadBack() throws IOException {
+        long[] time = {1_000};
+
+        try (FrameRecorder recorder = FrameRecorder.builder().setDirectory(directory).setClock(() -> time[0]++).build()) {
+            recorder.append(3, new GPSFrame(gpsFrame));
+            recorder.append(7, 5_000, batteryFrame, 0, batteryFrame.length);
+
+            assertEquals(2, recorder.getRecordCount());
+        }
+
+        try (FrameLogReader reader = FrameLogReader.open(directory)) {
+            byte[] frame = new byte[64];
+
+            assertTrue(reader.next());
+            assertEquals(3, reader.getLinkId());
+            assertEquals(1_000, reader.getTimestamp());
+            assertArrayEquals(gpsFrame, Arrays.copyOf(frame, reader.copyFrame(frame, 0)));
+
+            assertTrue(reader.next());
+            assertEquals(7, reader.getLinkId());
+            assertEquals(5_000, reader.getTimestamp());
+            assertEquals(0x08, reader.getFrameByte(2));
+            assertArrayEquals(batteryFrame, Arrays.copyOf(frame, reader.copyFrame(frame, 0)));
+
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void segmentsRollAtConfiguredSize() throws IOException {
+        int frames = 100;
+
+        try (FrameRecorder recorder = FrameRecorder.builder().setDirectory(directory).setSegmentSize(256).build()) {
+            for (int i = 0; i < frames; i++) {
+                recorder.append(i, i, gpsFrame, 0, gpsFrame.length);
+            }
+
+            assertTrue(recorder.getSegmentIndex() > 0);
+        }
+
+        try (FrameLogReader reader = FrameLogReader.open(directory)) {
+            int count = 0;
+
+            while (reader.next()) {
+                assertEquals(count, reader.getLinkId());
+                count++;
+            }
+
+            assertEquals(frames, count);
+            assertTrue(reader.getSegments().length > 1);
+        }
+    }
+
+    @Test
+    void truncatedTailIsRecovered() throws IOException {
+        int tail;
+
+        try (FrameRecorder recorder = FrameRecorder.builder().setDirectory(directory).setSegmentSize(4096).build()) {
+            recorder.append(1, 1, gpsFrame, 0, gpsFrame.length);
+            recorder.append(1, 2, gpsFrame, 0, gpsFrame.length);
+            tail = recorder.getPosition();
+        }
+
+        // Simulate a crash in the middle of writing the third record
+        try (FileChannel channel = FileChannel.open(FrameLogFormat.segmentPath(directory, 0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x12, 0x34, 0x56, 0x78, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 3, 19, (byte) 0xC8}), tail);
+        }
+
+        try (FrameRecorder recorder = FrameRecorder.builder().setDirectory(directory).build()) {
+            assertEquals(tail, recorder.getPosition());
+            recorder.append(2, 3, batteryFrame, 0, batteryFrame.length);
+        }
+
+        try (FrameLogReader reader = FrameLogReader.open(directory)) {
+            int count = 0;
+
+            while (reader.next()) {
+                assertEquals(++count, reader.getTimestamp());
+            }
+
+            assertEquals(3, count);
+        }
+    }
+
+    @Test
+    void rejectsInvalidFrames() throws IOException {
+        try (FrameRecorder recorder = FrameRecorder.builder().setDirectory(directory).build()) {
+            assertThrows(IllegalArgumentException.class, () -> recorder.append(0, 0, new byte[65], 0, 65));
+            assertThrows(IllegalArgumentException.class, () -> recorder.append(0, 0, gpsFrame, 0, 0));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> FrameRecorder.builder().setDirectory(directory).setSegmentSize(64).build());
+    }
+
+}
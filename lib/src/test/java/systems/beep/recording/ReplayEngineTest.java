@@ -0,0 +1,133 @@
+package systems.beep.recording;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import systems.beep.crossfire.frame.BatteryFrame;
+import systems.beep.crossfire.frame.GPSFrame;
+import systems.beep.helper.FormatHelper;
+import systems.beep.processor.DecodeMode;
+import systems.beep.processor.FrameProcessor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayEngineTest {
+
+    @TempDir
+    Path directory;
+
+    private Path log;
+
+    private byte[] gpsFrame;
+
+    private byte[] batteryFrame;
+
+    @BeforeEach
+    void setUp() {
+        gpsFrame = FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+        batteryFrame = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+        log = directory.resolve("log");
+    }
+
+    @Test
+    void logReplaysEveryFrameInSmallChunks() throws IOException {
+        record(1, 0);
+        List<Class<?>> received = new ArrayList<>();
+
+        ReplayReport report = ReplayEngine.builder()
+                .setChunkSize(5)
+                .build()
+                .replayLog(log, new FrameProcessor(DecodeMode.FLYWEIGHT), frame -> received.add(frame.getClass()));
+
+        assertEquals(100, report.getFrameCount());
+        assertEquals(0, report.getErrorCount());
+        assertEquals(50L * (gpsFrame.length + batteryFrame.length), report.getByteCount());
+        assertEquals((report.getByteCount() + 4) / 5, report.getChunkCount());
+        assertTrue(report.getFramesPerSecond() > 0);
+
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(i % 2 == 0 ? GPSFrame.class : BatteryFrame.class, received.get(i));
+        }
+    }
+
+    @Test
+    void linkFilterSelectsOneLink() throws IOException {
+        record(2, 0);
+
+        ReplayReport report = ReplayEngine.builder()
+                .setLinkId(1)
+                .build()
+                .replayLog(log, new FrameProcessor(), frame -> {
+                });
+
+        assertEquals(50, report.getFrameCount());
+    }
+
+    @Test
+    void scaledReplayKeepsTiming() throws IOException {
+        // 100 frames 2 ms apart span 198 ms; at 4x they take about 50 ms
+        record(1, TimeUnit.MILLISECONDS.toNanos(2));
+
+        ReplayReport report = ReplayEngine.builder()
+                .setMode(ReplayMode.SCALED)
+                .setSpeed(4)
+                .build()
+                .replayLog(log, new FrameProcessor(), frame -> {
+                });
+
+        assertEquals(100, report.getFrameCount());
+        assertTrue(report.getElapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(49));
+    }
+
+    @Test
+    void captureReplaysAtByteRate() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        for (int i = 0; i < 10; i++) {
+            stream.writeBytes(gpsFrame);
+            stream.writeBytes(batteryFrame);
+        }
+
+        Path capture = directory.resolve("capture.bin");
+        Files.write(capture, stream.toByteArray());
+
+        ReplayReport report = ReplayEngine.builder()
+                .setMode(ReplayMode.REAL_TIME)
+                .setByteRate(10_000)
+                .setChunkSize(16)
+                .build()
+                .replayCapture(capture, new FrameProcessor(), frame -> {
+                });
+
+        // 310 bytes at 10 kB/s, the last chunk being due after 304 bytes
+        assertEquals(20, report.getFrameCount());
+        assertEquals(310, report.getByteCount());
+        assertTrue(report.getElapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(30));
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> ReplayEngine.builder().setSpeed(0).build());
+        assertThrows(IllegalArgumentException.class, () -> ReplayEngine.builder().setChunkSize(0).build());
+    }
+
+    private void record(final int links, final long interval) throws IOException {
+        try (FrameRecorder recorder = FrameRecorder.builder().setDirectory(log).build()) {
+            for (int i = 0; i < 100; i++) {
+                byte[] frame = (i / links) % 2 == 0 ? gpsFrame : batteryFrame;
+                recorder.append(i % links, i * interval, frame, 0, frame.length);
+            }
+        }
+    }
+
+}
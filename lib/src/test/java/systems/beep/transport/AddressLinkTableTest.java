@@ -0,0 +1,40 @@
+package systems.beep.transport;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AddressLinkTableTest {
+
+    @Test
+    void mapsAddressesAcrossGrowth() {
+        AddressLinkTable table = new AddressLinkTable(4);
+
+        for (int i = 0; i < 5000; i++) {
+            table.put(new InetSocketAddress("10.0." + (i >> 8) + "." + (i & 0xFF), 5760), i);
+        }
+
+        assertEquals(5000, table.size());
+
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i, table.get(new InetSocketAddress("10.0." + (i >> 8) + "." + (i & 0xFF), 5760)));
+        }
+
+        assertEquals(AddressLinkTable.NO_LINK, table.get(new InetSocketAddress("10.1.0.0", 5760)));
+    }
+
+    @Test
+    void putReplacesExistingMapping() {
+        AddressLinkTable table = new AddressLinkTable(8);
+        InetSocketAddress address = new InetSocketAddress("192.168.4.1", 14550);
+
+        table.put(address, 1);
+        table.put(address, 2);
+
+        assertEquals(1, table.size());
+        assertEquals(2, table.get(address));
+    }
+
+}
@@ -0,0 +1,143 @@
+package systems.beep.transport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import systems.beep.crossfire.frame.BatteryFrame;
+import systems.beep.crossfire.frame.GPSFrame;
+import systems.beep.helper.FormatHelper;
+import systems.beep.processor.DecodeMode;
+import systems.beep.processor.FrameProcessor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.Pipe;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelTransportTest {
+
+    private byte[] gpsFrame;
+
+    private byte[] batteryFrame;
+
+    @BeforeEach
+    void setUp() {
+        gpsFrame = FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+        batteryFrame = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void readsFramesFromNamedPipe(@TempDir Path directory) throws Exception {
+        Path fifo = directory.resolve("crsf");
+        assertEquals(0, new ProcessBuilder("mkfifo", fifo.toString()).start().waitFor());
+
+        List<Class<?>> received = new ArrayList<>();
+
+        try (ChannelTransport transport = ChannelTransport.open(fifo, new FrameProcessor())) {
+            transport.write(Arrays.copyOfRange(gpsFrame, 0, 5));
+            transport.read(frame -> received.add(frame.getClass()));
+
+            transport.write(Arrays.copyOfRange(gpsFrame, 5, gpsFrame.length));
+            transport.write(batteryFrame);
+
+            while (received.size() < 2) {
+                transport.read(frame -> received.add(frame.getClass()));
+            }
+
+            assertEquals(gpsFrame.length + batteryFrame.length, transport.getBytesRead());
+        }
+
+        assertEquals(List.of(GPSFrame.class, BatteryFrame.class), received);
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void closeStopsBlockedRun(@TempDir Path directory) throws Exception {
+        Path fifo = directory.resolve("crsf");
+        assertEquals(0, new ProcessBuilder("mkfifo", fifo.toString()).start().waitFor());
+
+        ChannelTransport transport = ChannelTransport.open(fifo, new FrameProcessor());
+        CountDownLatch firstFrame = new CountDownLatch(1);
+        long[] total = new long[1];
+
+        Thread reader = new Thread(() -> {
+            try {
+                total[0] = transport.run(frame -> firstFrame.countDown());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        reader.start();
+
+        transport.write(gpsFrame);
+        assertTrue(firstFrame.await(5, TimeUnit.SECONDS));
+
+        transport.close();
+        reader.join(5000);
+
+        assertFalse(reader.isAlive());
+        assertEquals(gpsFrame.length, total[0]);
+    }
+
+    @Test
+    void runStopsAtEndOfStream() throws IOException {
+        Pipe pipe = Pipe.open();
+        List<Class<?>> received = new CopyOnWriteArrayList<>();
+        ChannelTransport transport = new ChannelTransport(pipe.source(), null,
+                new FrameProcessor(DecodeMode.FLYWEIGHT), ChannelTransport.DEFAULT_BUFFER_SIZE);
+
+        pipe.sink().write(ByteBuffer.wrap(gpsFrame));
+        pipe.sink().write(ByteBuffer.wrap(batteryFrame));
+        pipe.sink().close();
+
+        assertEquals(gpsFrame.length + batteryFrame.length, transport.run(frame -> received.add(frame.getClass())));
+        assertEquals(List.of(GPSFrame.class, BatteryFrame.class), received);
+        assertEquals(-1, transport.read(frame -> received.add(frame.getClass())));
+    }
+
+    @Test
+    void nonBlockingReadCoalescesAndReturnsZeroWhenIdle() throws IOException {
+        Pipe pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+        List<Class<?>> received = new ArrayList<>();
+
+        ChannelTransport transport = new ChannelTransport(pipe.source(), null, new FrameProcessor(), 128);
+
+        assertEquals(0, transport.read(frame -> received.add(frame.getClass())));
+
+        for (byte b : gpsFrame) {
+            pipe.sink().write(ByteBuffer.wrap(new byte[]{b}));
+        }
+
+        int total = 0;
+
+        while (total < gpsFrame.length) {
+            total += transport.read(frame -> received.add(frame.getClass()));
+        }
+
+        assertEquals(List.of(GPSFrame.class), received);
+        assertEquals(gpsFrame.length, transport.getBytesRead());
+        assertThrows(NonWritableChannelException.class, () -> transport.write(gpsFrame));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChannelTransport(pipe.source(), null, new FrameProcessor(), 16));
+
+        transport.close();
+        assertFalse(transport.isOpen());
+    }
+
+}
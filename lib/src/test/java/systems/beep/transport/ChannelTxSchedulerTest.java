@@ -0,0 +1,245 @@
+package systems.beep.transport;
+
+import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.ChannelBuilder;
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.ChannelsFrame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelTxSchedulerTest {
+
+    // Period at 500 Hz
+    private static final long PERIOD = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Test
+    void sendsLatestChannelsAtEveryDeadline() throws IOException {
+        RecordingTransport transport = new RecordingTransport();
+        ChannelTxScheduler scheduler = ChannelTxScheduler.builder().setTransport(transport).setRate(500).buildIdle();
+
+        // Nothing is sent before channels are set, but the schedule advances
+        assertEquals(PERIOD, scheduler.step(0, 0));
+        assertEquals(0, scheduler.getFrameCount());
+
+        scheduler.setChannels(ChannelBuilder.builder().setThrottle(1200).build());
+        long deadline = PERIOD;
+
+        for (int i = 0; i < 100; i++) {
+            deadline = scheduler.step(deadline, deadline + 1_000);
+        }
+
+        scheduler.setChannels(ChannelBuilder.builder().setThrottle(1800).build());
+        deadline = scheduler.step(deadline, deadline);
+
+        assertEquals(102 * PERIOD, deadline);
+        assertEquals(101, scheduler.getFrameCount());
+        assertEquals(101, transport.writes);
+        assertEquals(101, scheduler.getJitterHistogram().getCount());
+        assertEquals(0, scheduler.getLateCount());
+        assertEquals(0, scheduler.getMissedCount());
+
+        ChannelsFrame last = new ChannelsFrame(transport.last.clone());
+        assertTrue(last.checkCRC());
+        assertEquals(1800, last.getChannels()[2], 1);
+    }
+
+    @Test
+    void sendsWholeValueSetsWhileProducersRace() throws IOException, InterruptedException {
+        RecordingTransport transport = new RecordingTransport();
+        ChannelTxScheduler scheduler = ChannelTxScheduler.builder().setTransport(transport).setRate(500).buildIdle();
+        scheduler.setChannels(uniform(1000));
+
+        Thread[] producers = new Thread[2];
+
+        for (int p = 0; p < producers.length; p++) {
+            final int base = 1000 + p * 500;
+            producers[p] = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    scheduler.setChannels(uniform(base + i % 400));
+                }
+            });
+            producers[p].start();
+        }
+
+        long deadline = 0;
+
+        for (int i = 0; i < 5_000; i++) {
+            deadline = scheduler.step(deadline, deadline);
+
+            // Every channel of a frame comes from the same call
+            int[] channels = new ChannelsFrame(transport.last.clone()).getChannels();
+
+            for (int channel : channels) {
+                assertEquals(channels[0], channel);
+            }
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+    }
+
+    @Test
+    void offsetShiftsDeadlinesByAtMostAnEighthOfAPeriod() throws IOException {
+        RecordingTransport transport = new RecordingTransport();
+        ChannelTxScheduler scheduler = ChannelTxScheduler.builder().setTransport(transport).setRate(500).buildIdle();
+        long step = PERIOD / 8;
+
+        // 2 ms in tenths of a microsecond, and a 600 us delay: two full steps and a remainder
+        scheduler.onSync(20_000, 6_000);
+
+        long deadline = scheduler.step(0, 0);
+        assertEquals(PERIOD + step, deadline);
+        assertEquals(1, scheduler.getSyncCount());
+
+        deadline = scheduler.step(deadline, deadline);
+        assertEquals(2 * PERIOD + 2 * step, deadline);
+
+        deadline = scheduler.step(deadline, deadline);
+        assertEquals(3 * PERIOD + 2 * step + TimeUnit.MICROSECONDS.toNanos(100), deadline);
+
+        // Worked off: back to the plain period
+        assertEquals(deadline + PERIOD, scheduler.step(deadline, deadline));
+
+        // A negative offset brings the next frame forward
+        scheduler.onSync(20_000, -500);
+        assertEquals(deadline + PERIOD + PERIOD - TimeUnit.MICROSECONDS.toNanos(50),
+                scheduler.step(deadline + PERIOD, deadline + PERIOD));
+    }
+
+    @Test
+    void missedDeadlinesAreSkipped() throws IOException {
+        RecordingTransport transport = new RecordingTransport();
+        ChannelTxScheduler scheduler = ChannelTxScheduler.builder().setTransport(transport).setRate(500).buildIdle();
+        scheduler.setChannels(ChannelBuilder.builder().build());
+
+        // Woken three and a half periods late: three deadlines are skipped and one frame is sent late
+        long deadline = scheduler.step(0, 3 * PERIOD + PERIOD / 2);
+
+        assertEquals(4 * PERIOD, deadline);
+        assertEquals(3, scheduler.getMissedCount());
+        assertEquals(1, scheduler.getFrameCount());
+        assertEquals(1, scheduler.getLateCount());
+        assertEquals(1, scheduler.getLateSendHistogram().getCount());
+        assertTrue(scheduler.getLateSendHistogram().getMax() >= PERIOD / 2);
+    }
+
+    @Test
+    void adoptsModuleRate() throws IOException {
+        RecordingTransport transport = new RecordingTransport();
+        ChannelTxScheduler scheduler = ChannelTxScheduler.builder().setTransport(transport).setRate(150).buildIdle();
+
+        // 1000 Hz in tenths of a microsecond
+        scheduler.onSync(10_000, 0);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), scheduler.step(0, 0));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), scheduler.getPeriodNanos());
+
+        // 10 kHz is out of range and only the offset is applied
+        scheduler.onSync(1_000, 0);
+        scheduler.step(0, 0);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), scheduler.getPeriodNanos());
+        assertEquals(2, scheduler.getSyncCount());
+    }
+
+    @Test
+    void senderThreadSendsUntilClosed() throws InterruptedException {
+        RecordingTransport transport = new RecordingTransport();
+        ChannelTxScheduler scheduler = ChannelTxScheduler.builder().setTransport(transport).setRate(500).build();
+        scheduler.setChannels(ChannelBuilder.builder().build());
+
+        for (int i = 0; i < 1000 && scheduler.getFrameCount() < 3; i++) {
+            Thread.sleep(5);
+        }
+
+        scheduler.close();
+
+        long frames = scheduler.getFrameCount();
+        assertTrue(frames >= 3, "Sent " + frames + " frames");
+        assertEquals(frames, transport.writes);
+    }
+
+    @Test
+    void writeFailureStopsSender() throws InterruptedException {
+        RecordingTransport transport = new RecordingTransport();
+        transport.failing = true;
+
+        ChannelTxScheduler idle = ChannelTxScheduler.builder().setTransport(transport).buildIdle();
+        idle.setChannels(ChannelBuilder.builder().build());
+        assertThrows(IOException.class, () -> idle.step(0, 0));
+
+        ChannelTxScheduler scheduler = ChannelTxScheduler.builder().setTransport(transport).build();
+        scheduler.setChannels(ChannelBuilder.builder().build());
+
+        for (int i = 0; i < 1000 && scheduler.getFailure() == null; i++) {
+            Thread.sleep(5);
+        }
+
+        assertNotNull(scheduler.getFailure());
+        scheduler.close();
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> ChannelTxScheduler.builder().build());
+        assertThrows(IllegalArgumentException.class,
+                () -> ChannelTxScheduler.builder().setTransport(new RecordingTransport()).setRate(100).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> ChannelTxScheduler.builder().setTransport(new RecordingTransport()).setRate(2000).build());
+    }
+
+    /**
+     * Write-only transport keeping the last frame written.
+     */
+    private static final class RecordingTransport implements CrsfTransport {
+
+        private volatile byte[] last;
+
+        private volatile long writes;
+
+        private volatile boolean failing;
+
+        @Override
+        public int read(final Consumer<CRSFFrame> frameConsumer) {
+            return -1;
+        }
+
+        @Override
+        public int write(final ByteBuffer data) throws IOException {
+            if (failing) {
+                throw new IOException("Broken link");
+            }
+
+            byte[] frame = new byte[data.remaining()];
+            data.get(frame);
+            last = frame;
+            writes++;
+            return frame.length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+    private static int[] uniform(final int microseconds) {
+        int[] channels = new int[ChannelsFrame.CHANNEL_COUNT];
+        Arrays.fill(channels, microseconds);
+        return channels;
+    }
+
+}
@@ -0,0 +1,107 @@
+package systems.beep.transport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.ChannelBuilder;
+import systems.beep.crossfire.frame.CRSFFrame;
+import systems.beep.crossfire.frame.ChannelsFrame;
+import systems.beep.crossfire.frame.DevicePingFrame;
+import systems.beep.crossfire.frame.HexFrame;
+import systems.beep.crossfire.frame.LinkStatisticsFrame;
+import systems.beep.crossfire.frame.sub.Address;
+import systems.beep.processor.FrameProcessor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboundBatchTest {
+
+    private ChannelsFrame.ChannelsFrameBuilder channels;
+
+    private DevicePingFrame.DevicePingFrameBuilder ping;
+
+    private LinkStatisticsFrame.LinkStatisticsBuilder linkStatistics;
+
+    @BeforeEach
+    void setUp() {
+        channels = ChannelsFrame.builder()
+                .setAddress(Address.FLIGHT_CONTROLLER)
+                .setChannels(ChannelBuilder.builder().setThrottle(1200).build());
+        ping = DevicePingFrame.builder()
+                .setSource(Address.RADIO_TRANSMITTER)
+                .setDestination(Address.BROADCAST);
+        linkStatistics = LinkStatisticsFrame.builder()
+                .setAddress(Address.FLIGHT_CONTROLLER)
+                .setUplinkLinkQuality(100);
+    }
+
+    @Test
+    void gatheringWriteSendsFramesInOrder() throws IOException {
+        OutboundBatch batch = new OutboundBatch(64, 2);
+
+        assertTrue(batch.add(ping));
+        assertTrue(batch.add(channels));
+        assertTrue(batch.add(linkStatistics));
+        // Does not fit in the 18 bytes left and starts the second segment
+        assertTrue(batch.add(channels));
+        assertTrue(batch.add(channels.build(), 0, 26));
+        assertFalse(batch.add(channels));
+
+        assertEquals(5, batch.getFrameCount());
+        assertEquals(6 + 26 * 3 + 14, batch.getByteCount());
+
+        Pipe pipe = Pipe.open();
+        assertEquals(batch.getByteCount(), batch.writeTo(pipe.sink()));
+        assertTrue(batch.isEmpty());
+
+        // Device pings have no frame class of their own
+        assertEquals(List.of(HexFrame.class, ChannelsFrame.class, LinkStatisticsFrame.class,
+                ChannelsFrame.class, ChannelsFrame.class), receive(pipe, 98));
+
+        // The emptied batch is filled again
+        assertTrue(batch.add(new ChannelsFrame(channels.build())));
+        assertEquals(26, batch.writeTo(pipe.sink()));
+        assertEquals(List.of(ChannelsFrame.class), receive(pipe, 26));
+    }
+
+    @Test
+    void transportWriteSendsEverySegment() throws IOException {
+        OutboundBatch batch = new OutboundBatch(64, 3);
+        Pipe pipe = Pipe.open();
+
+        for (int i = 0; i < 6; i++) {
+            assertTrue(batch.add(channels));
+        }
+
+        try (ChannelTransport transport = new ChannelTransport(pipe.source(), pipe.sink(), new FrameProcessor(), 1024)) {
+            assertEquals(6 * 26, batch.writeTo(transport));
+        }
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new OutboundBatch(CRSFFrame.FRAME_MAX_SIZE - 1));
+        assertThrows(IllegalArgumentException.class, () -> new OutboundBatch(1024, 0));
+    }
+
+    private List<Class<?>> receive(final Pipe pipe, final int length) throws IOException {
+        ByteBuffer received = ByteBuffer.allocate(length);
+
+        while (received.hasRemaining()) {
+            pipe.source().read(received);
+        }
+
+        List<Class<?>> frames = new ArrayList<>();
+        new FrameProcessor().processData(received.array(), frame -> frames.add(frame.getClass()));
+        return frames;
+    }
+
+}
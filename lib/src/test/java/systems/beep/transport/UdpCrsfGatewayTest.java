@@ -0,0 +1,158 @@
+package systems.beep.transport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import systems.beep.crossfire.frame.BatteryFrame;
+import systems.beep.crossfire.frame.GPSFrame;
+import systems.beep.helper.FormatHelper;
+import systems.beep.processor.DecodeMode;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UdpCrsfGatewayTest {
+
+    private static final InetSocketAddress LOOPBACK = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+    private byte[] gpsFrame;
+
+    private byte[] batteryFrame;
+
+    @BeforeEach
+    void setUp() {
+        gpsFrame = FormatHelper.hexToByteArraySpaced("C8 11 02 00 00 00 00 00 00 00 00 00 00 00 00 03 E7 00 6E");
+        batteryFrame = FormatHelper.hexToByteArraySpaced("C8 0A 08 00 00 00 02 00 00 23 00 7C");
+    }
+
+    @Test
+    void sendersBecomeSeparateLinks() throws IOException {
+        List<String> received = new ArrayList<>();
+
+        try (UdpCrsfGateway gateway = UdpCrsfGateway.builder()
+                .setLocalAddress(LOOPBACK)
+                .setDecodeMode(DecodeMode.FLYWEIGHT)
+                .setFrameConsumer((linkId, frame) -> received.add(linkId + ":" + frame.getClass().getSimpleName()))
+                .build();
+             DatagramChannel first = DatagramChannel.open().bind(LOOPBACK);
+             DatagramChannel second = DatagramChannel.open().bind(LOOPBACK)) {
+            SocketAddress target = gateway.getLocalAddress();
+
+            // The first frame is split across two datagrams
+            first.send(ByteBuffer.wrap(Arrays.copyOfRange(gpsFrame, 0, 6)), target);
+            second.send(ByteBuffer.wrap(batteryFrame), target);
+            first.send(ByteBuffer.wrap(Arrays.copyOfRange(gpsFrame, 6, gpsFrame.length)), target);
+
+            pollUntil(gateway, 3);
+
+            int firstLink = gateway.getLinkId(first.getLocalAddress());
+            int secondLink = gateway.getLinkId(second.getLocalAddress());
+
+            assertEquals(2, gateway.getLinkCount());
+            assertNotEquals(firstLink, secondLink);
+            assertEquals(first.getLocalAddress(), gateway.getLinkAddress(firstLink));
+            assertEquals(1, gateway.getFrameProcessedCount(firstLink));
+            assertEquals(List.of(secondLink + ":" + BatteryFrame.class.getSimpleName(),
+                    firstLink + ":" + GPSFrame.class.getSimpleName()), received);
+        }
+    }
+
+    @Test
+    void sendReachesLink() throws IOException {
+        try (UdpCrsfGateway gateway = UdpCrsfGateway.builder()
+                .setLocalAddress(LOOPBACK)
+                .setFrameConsumer((linkId, frame) -> {
+                })
+                .build();
+             DatagramChannel drone = DatagramChannel.open().bind(LOOPBACK)) {
+            drone.send(ByteBuffer.wrap(gpsFrame), gateway.getLocalAddress());
+            pollUntil(gateway, 1);
+
+            assertEquals(batteryFrame.length, gateway.send(0, batteryFrame));
+
+            ByteBuffer reply = ByteBuffer.allocate(64);
+            drone.receive(reply);
+
+            assertArrayEquals(batteryFrame, Arrays.copyOf(reply.array(), reply.position()));
+            assertThrows(IllegalArgumentException.class, () -> gateway.send(1, batteryFrame));
+        }
+    }
+
+    @Test
+    void sendersBeyondLimitAreDropped() throws IOException {
+        List<Integer> links = new ArrayList<>();
+
+        try (UdpCrsfGateway gateway = UdpCrsfGateway.builder()
+                .setLocalAddress(LOOPBACK)
+                .setMaxLinks(1)
+                .setBatchSize(1)
+                .setFrameConsumer((linkId, frame) -> links.add(linkId))
+                .build();
+             DatagramChannel first = DatagramChannel.open().bind(LOOPBACK);
+             DatagramChannel second = DatagramChannel.open().bind(LOOPBACK)) {
+            first.send(ByteBuffer.wrap(gpsFrame), gateway.getLocalAddress());
+            pollUntil(gateway, 1);
+
+            second.send(ByteBuffer.wrap(gpsFrame), gateway.getLocalAddress());
+            first.send(ByteBuffer.wrap(gpsFrame), gateway.getLocalAddress());
+            pollUntil(gateway, 3);
+
+            assertEquals(1, gateway.getLinkCount());
+            assertEquals(1, gateway.getDroppedDatagramCount());
+            assertEquals(-1, gateway.getLinkId(second.getLocalAddress()));
+            assertEquals(List.of(0, 0), links);
+        }
+    }
+
+    @Test
+    void closeStopsRun() throws Exception {
+        CountDownLatch frames = new CountDownLatch(100);
+        UdpCrsfGateway gateway = UdpCrsfGateway.builder()
+                .setLocalAddress(LOOPBACK)
+                .setFrameConsumer((linkId, frame) -> frames.countDown())
+                .build();
+
+        Thread thread = new Thread(gateway);
+        thread.start();
+
+        try (DatagramChannel drone = DatagramChannel.open().bind(LOOPBACK)) {
+            for (int i = 0; i < 100; i++) {
+                drone.send(ByteBuffer.wrap(gpsFrame), gateway.getLocalAddress());
+            }
+
+            assertTrue(frames.await(5, TimeUnit.SECONDS));
+        }
+
+        gateway.close();
+        thread.join(5000);
+
+        assertFalse(thread.isAlive());
+        assertEquals(100, gateway.getDatagramCount());
+    }
+
+    private static void pollUntil(final UdpCrsfGateway gateway, final long datagrams) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (gateway.getDatagramCount() < datagrams && System.nanoTime() < deadline) {
+            gateway.poll(100);
+        }
+
+        assertEquals(datagrams, gateway.getDatagramCount());
+    }
+
+}